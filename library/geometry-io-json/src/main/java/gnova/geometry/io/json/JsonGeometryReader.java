@@ -2,108 +2,90 @@ package gnova.geometry.io.json;
 
 import gnova.core.json.JsonArray;
 import gnova.core.json.JsonObject;
-import gnova.core.json.JsonParseException;
 import gnova.core.json.JsonParser;
 import gnova.geometry.io.TextGeometryReader;
 import gnova.geometry.model.GeometryFactory;
 import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.GeometrySpliterator;
 import gnova.geometry.json.*;
 import gnova.geometry.model.*;
 
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * GeoJSON格式的几何对象读取器
+ *
+ * <p>从文本读取时，读取器使用拉取式的解析器逐个读取词法单元，
+ * 坐标值直接解码到{@link PackedCoordinateSequence 紧凑存储的坐标序列}中，
+ * 不会构造通用的{@link JsonObject JSON对象树}，也不会为每个坐标创建{@link Coordinate 坐标对象}。
+ * 对象中属性的顺序是任意的，未知的属性会被跳过。
+ *
+ * <p>读取要素集合（FeatureCollection）时，要素是逐个从输入中读取的，
+ * 因此无论要素集合有多大，占用的内存只与单个要素的大小有关。
+ *
+ * <p>读取器本身是无状态的，因此是线程安全的。
+ *
  * Created by Birderyu on 2017/6/21.
  */
 public class JsonGeometryReader
         implements TextGeometryReader {
 
-    private final GeometryFactory factory;
-    private final JsonParser parser;
-
-    public JsonGeometryReader(GeometryFactory factory, JsonParser parser) {
-        this.factory = factory;
-        this.parser = parser;
-    }
-
-    @Override
-    public Geometry read(String json) throws GeometryIOException {
-        return read(getJsonObject(json));
-    }
+    private static final String TYPE_FEATURECOLLECTION = "FeatureCollection";
+    private static final String FIELD_NAME_FEATURES = "features";
+    private static final String FIELD_NAME_GEOMETRY = "geometry";
 
-    @Override
-    public Point readPoint(String json) throws GeometryIOException {
-        return readPoint(getJsonObject(json), false);
-    }
+    /**
+     * 要素的几何对象为null时使用的记录
+     */
+    private static final String NULL_GEOMETRY = "null";
 
-    @Override
-    public LineString readLineString(String json) throws GeometryIOException {
-        return readLineString(getJsonObject(json), false);
-    }
+    private final GeometryFactory factory;
 
-    @Override
-    public Polygon readPolygon(String json) throws GeometryIOException {
-        return readPolygon(getJsonObject(json), false);
+    public JsonGeometryReader() {
+        this(FactoryFinder.getDefaultGeometryFactory());
     }
 
-    @Override
-    public GeometryCollection readGeometryCollection(String json) throws GeometryIOException {
-        return readGeometryCollection(getJsonObject(json), false);
+    public JsonGeometryReader(GeometryFactory factory) {
+        this.factory = factory;
     }
 
-    @Override
-    public MultiPoint readMultiPoint(String json) throws GeometryIOException {
-        return readMultiPoint(getJsonObject(json), false);
+    /**
+     * 构造一个GeoJSON格式的几何对象读取器
+     *
+     * @param factory 几何工厂，不允许为null
+     * @param parser JSON解析器，不会被使用
+     * @deprecated 文本由读取器自身的拉取式解析器解析，不再使用JSON解析器，该参数会被忽略，
+     * 请使用{@link #JsonGeometryReader(GeometryFactory)}
+     */
+    @Deprecated
+    public JsonGeometryReader(GeometryFactory factory, JsonParser parser) {
+        this(factory);
     }
 
-    @Override
-    public MultiLineString readMultiLineString(String json) throws GeometryIOException {
-        return readMultiLineString(getJsonObject(json), false);
+    public GeometryFactory getFactory() {
+        return factory;
     }
 
     @Override
-    public MultiPolygon readMultiPolygon(String json) throws GeometryIOException {
-        return readMultiPolygon(getJsonObject(json), false);
+    public Geometry read(String json) throws GeometryIOException {
+        JsonInput input = new JsonInput(json);
+        Geometry geometry = readGeometry(input);
+        if (input.peek() != -1) {
+            throw input.error("几何对象之后存在多余的内容");
+        }
+        return geometry;
     }
 
     @Override
     public Geometry read(Reader reader) throws GeometryIOException {
-        return read(getJsonObject(reader));
-    }
-
-    @Override
-    public Point readPoint(Reader reader) throws GeometryIOException {
-        return readPoint(getJsonObject(reader), false);
-    }
-
-    @Override
-    public LineString readLineString(Reader reader) throws GeometryIOException {
-        return readLineString(getJsonObject(reader), false);
-    }
-
-    @Override
-    public Polygon readPolygon(Reader reader) throws GeometryIOException {
-        return readPolygon(getJsonObject(reader), false);
-    }
-
-    @Override
-    public GeometryCollection readGeometryCollection(Reader reader) throws GeometryIOException {
-        return readGeometryCollection(getJsonObject(reader), false);
-    }
-
-    @Override
-    public MultiPoint readMultiPoint(Reader reader) throws GeometryIOException {
-        return readMultiPoint(getJsonObject(reader), false);
-    }
-
-    @Override
-    public MultiLineString readMultiLineString(Reader reader) throws GeometryIOException {
-        return readMultiLineString(getJsonObject(reader), false);
-    }
-
-    @Override
-    public MultiPolygon readMultiPolygon(Reader reader) throws GeometryIOException {
-        return readMultiPolygon(getJsonObject(reader), false);
+        return readGeometry(new JsonInput(reader));
     }
 
     public Geometry read(JsonObject jsonObject)
@@ -134,6 +116,141 @@ public class JsonGeometryReader
                 + GeometryJSON.FIELD_NAME_TYPE + "：" + jsonObject);
     }
 
+    /**
+     * 按顺序读取GeoJSON要素集合（FeatureCollection）中每个要素的几何对象
+     *
+     * @param reader 字符输入流，不允许为null
+     * @return 几何对象的迭代器，不会返回null，几何对象为null的要素将返回{@link Geometry#NONE}
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     * @see #readFeatureSpliterator(Reader)
+     */
+    public Iterator<Geometry> readFeatures(Reader reader) throws GeometryIOException {
+        return Spliterators.iterator(readFeatureSpliterator(reader));
+    }
+
+    /**
+     * 获取读取GeoJSON要素集合（FeatureCollection）中每个要素的几何对象的可分割迭代器
+     *
+     * <p>要素是逐个从输入中读取的，不会一次性读入整个要素集合。
+     * 顺序读取时，几何对象直接从输入中解码；切分时，每个要素的几何对象先以原始文本的形式切分出来，
+     * 再在切分出的迭代器中解码，因此可以在并行流中解码。
+     *
+     * <p>此方法只读取到要素数组的开始位置，要素集合的类型只有在位于要素数组之前时才会被检查。
+     *
+     * @param reader 字符输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null，几何对象为null的要素将返回{@link Geometry#NONE}
+     * @throws GeometryIOException 若读取失败或数据不是一个要素集合，则抛出此异常
+     */
+    public Spliterator<Geometry> readFeatureSpliterator(Reader reader) throws GeometryIOException {
+
+        JsonInput input = new JsonInput(reader);
+        input.expect('{');
+        boolean found = false;
+        if (!input.consume('}')) {
+            do {
+                String name = input.readString();
+                input.expect(':');
+                if (GeometryJSON.FIELD_NAME_TYPE.equals(name)) {
+                    String type = input.readNullableString();
+                    if (!TYPE_FEATURECOLLECTION.equals(type)) {
+                        throw input.error("类型应该为" + TYPE_FEATURECOLLECTION + "：" + type);
+                    }
+                } else if (FIELD_NAME_FEATURES.equals(name)) {
+                    found = true;
+                    break;
+                } else {
+                    input.skipValue();
+                }
+            } while (input.consume(','));
+        }
+        if (!found) {
+            throw input.error("未包含属性" + FIELD_NAME_FEATURES);
+        }
+        input.expect('[');
+
+        return new GeometrySpliterator<String>() {
+
+            private boolean first = true;
+            private boolean finished = false;
+
+            @Override
+            protected String nextRecord() throws GeometryIOException {
+                if (!beginFeature()) {
+                    return null;
+                }
+                String geometry = NULL_GEOMETRY;
+                if (!input.consume('}')) {
+                    do {
+                        String name = input.readString();
+                        input.expect(':');
+                        if (FIELD_NAME_GEOMETRY.equals(name)) {
+                            geometry = input.readRawValue();
+                        } else {
+                            input.skipValue();
+                        }
+                    } while (input.consume(','));
+                    input.expect('}');
+                }
+                return geometry;
+            }
+
+            @Override
+            protected Geometry decode(String geometry) throws GeometryIOException {
+                return NULL_GEOMETRY.equals(geometry) ? Geometry.NONE : read(geometry);
+            }
+
+            @Override
+            protected Geometry nextGeometry() throws GeometryIOException {
+                if (!beginFeature()) {
+                    return null;
+                }
+                Geometry geometry = Geometry.NONE;
+                if (!input.consume('}')) {
+                    do {
+                        String name = input.readString();
+                        input.expect(':');
+                        if (FIELD_NAME_GEOMETRY.equals(name) && input.peek() != 'n') {
+                            geometry = readGeometry(input);
+                        } else {
+                            input.skipValue();
+                        }
+                    } while (input.consume(','));
+                    input.expect('}');
+                }
+                return geometry;
+            }
+
+            /**
+             * 读取到下一个要素的开始位置
+             *
+             * @return 若存在下一个要素，则返回true，否则读取要素集合剩余的部分，并返回false
+             */
+            private boolean beginFeature() throws GeometryIOException {
+                if (finished) {
+                    return false;
+                }
+                if (first ? input.consume(']') : !input.consume(',')) {
+                    if (!first) {
+                        input.expect(']');
+                    }
+                    finished = true;
+                    // 跳过要素数组之后的属性
+                    while (input.consume(',')) {
+                        input.readString();
+                        input.expect(':');
+                        input.skipValue();
+                    }
+                    input.expect('}');
+                    return false;
+                }
+                first = false;
+                input.expect('{');
+                return true;
+            }
+
+        };
+    }
+
     public Point readPoint(JsonObject jsonObject)
             throws GeometryIOException {
         return readPoint(jsonObject, false);
@@ -418,32 +535,6 @@ public class JsonGeometryReader
         return new MultiPolygonJSON(positions).toMultiPolygon(factory);
     }
 
-    private JsonObject getJsonObject(String json) throws GeometryIOException {
-
-        try {
-            Object jsonObject = parser.parse(json);
-            if (jsonObject instanceof JsonArray) {
-                return (JsonObject) jsonObject;
-            }
-            throw new GeometryIOException("对象必须是一个json对象");
-
-        } catch (JsonParseException e) {
-            throw new GeometryIOException(e);
-        }
-    }
-
-    private JsonObject getJsonObject(Reader reader) throws GeometryIOException {
-        try {
-            Object jsonObject = parser.parse(reader);
-            if (jsonObject instanceof JsonObject) {
-                return (JsonObject) jsonObject;
-            }
-            throw new GeometryIOException("对象必须是一个java.io.Reader对象");
-        } catch (JsonParseException e) {
-            throw new GeometryIOException(e);
-        }
-    }
-
     private void checkField(JsonObject jsonObject, String fieldName, Object fieldValue)
             throws GeometryIOException {
         Object value = jsonObject.get(fieldName);
@@ -495,4 +586,240 @@ public class JsonGeometryReader
         return positions;
     }
 
+    ////////////////////////////////////
+    // 拉取式解析
+    ////////////////////////////////////
+
+    /**
+     * 从输入中读取一个几何对象
+     */
+    private Geometry readGeometry(JsonInput input) throws GeometryIOException {
+
+        input.expect('{');
+        String type = null;
+        Object coordinates = null;
+        List<Geometry> geometries = null;
+        if (!input.consume('}')) {
+            do {
+                String name = input.readString();
+                input.expect(':');
+                if (GeometryJSON.FIELD_NAME_TYPE.equals(name)) {
+                    type = input.readNullableString();
+                } else if (GeometryJSON.FIELD_NAME_COORDINATES.equals(name) && input.peek() == '[') {
+                    input.expect('[');
+                    coordinates = readCoordinates(input);
+                } else if (GeometryJSON.FIELD_NAME_GEOMETRIES.equals(name) && input.peek() == '[') {
+                    geometries = readGeometries(input);
+                } else {
+                    input.skipValue();
+                }
+            } while (input.consume(','));
+            input.expect('}');
+        }
+
+        if (type == null) {
+            throw input.error("未包含属性" + GeometryJSON.FIELD_NAME_TYPE);
+        }
+        if (GeometryJSON.TYPE_GEOMETRYCOLLECTION.equals(type)) {
+            if (geometries == null) {
+                throw input.error("未包含属性" + GeometryJSON.FIELD_NAME_GEOMETRIES);
+            }
+            return factory.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
+        }
+        if (coordinates == null) {
+            throw input.error("未包含属性" + GeometryJSON.FIELD_NAME_COORDINATES);
+        }
+        try {
+            switch (type) {
+                case GeometryJSON.TYPE_POINT:
+                    return toPoint(input, coordinates);
+                case GeometryJSON.TYPE_LINESTRING:
+                    return factory.createLineString(toSequence(input, coordinates, false));
+                case GeometryJSON.TYPE_POLYGON:
+                    return toPolygon(input, coordinates);
+                case GeometryJSON.TYPE_MULTIPOINT:
+                    return factory.createMultiPoint(toSequence(input, coordinates, false));
+                case GeometryJSON.TYPE_MULTILINESTRING: {
+                    List<?> children = toList(input, coordinates);
+                    LineString[] lineStrings = new LineString[children.size()];
+                    for (int i = 0; i < lineStrings.length; i++) {
+                        lineStrings[i] = factory.createLineString(toSequence(input, children.get(i), false));
+                    }
+                    return factory.createMultiLineString(lineStrings);
+                }
+                case GeometryJSON.TYPE_MULTIPOLYGON: {
+                    List<?> children = toList(input, coordinates);
+                    Polygon[] polygons = new Polygon[children.size()];
+                    for (int i = 0; i < polygons.length; i++) {
+                        polygons[i] = toPolygon(input, children.get(i));
+                    }
+                    return factory.createMultiPolygon(polygons);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new GeometryIOException(e);
+        }
+        throw input.error("无法解析的类型" + type);
+    }
+
+    private List<Geometry> readGeometries(JsonInput input) throws GeometryIOException {
+        input.expect('[');
+        List<Geometry> geometries = new ArrayList<>();
+        if (!input.consume(']')) {
+            do {
+                geometries.add(readGeometry(input));
+            } while (input.consume(','));
+            input.expect(']');
+        }
+        return geometries;
+    }
+
+    /**
+     * 读取一个已经读取了左括号的坐标数组
+     *
+     * @return 位置（double[]）、坐标序列（CoordinateSequence）或由它们组成的列表（List）
+     */
+    private Object readCoordinates(JsonInput input) throws GeometryIOException {
+
+        if (input.consume(']')) {
+            return Collections.emptyList();
+        }
+        if (input.peek() != '[') {
+            double[] position = new double[] {
+                    Double.NaN, Double.NaN,
+                    Coordinate.NULL_ORDINATE_VALUE, Coordinate.NULL_ORDINATE_VALUE};
+            readPosition(input, position, 0);
+            return position;
+        }
+        input.expect('[');
+        int c = input.peek();
+        if (c != '[' && c != ']') {
+            return readSequence(input);
+        }
+        List<Object> children = new ArrayList<>();
+        children.add(readCoordinates(input));
+        while (input.consume(',')) {
+            input.expect('[');
+            children.add(readCoordinates(input));
+        }
+        input.expect(']');
+        return children;
+    }
+
+    /**
+     * 读取一个已经读取了第一个位置的左括号的坐标序列
+     */
+    private CoordinateSequence readSequence(JsonInput input) throws GeometryIOException {
+
+        // 坐标先按XYZM暂存在输入的坐标缓冲区中
+        int size = 0;
+        int dimension = 2;
+        do {
+            if (size > 0) {
+                input.expect('[');
+            }
+            double[] ordinates = input.ordinates((size + 1) << 2);
+            int offset = size << 2;
+            ordinates[offset + 2] = Coordinate.NULL_ORDINATE_VALUE;
+            ordinates[offset + 3] = Coordinate.NULL_ORDINATE_VALUE;
+            dimension = Math.max(dimension, readPosition(input, ordinates, offset));
+            size++;
+        } while (input.consume(','));
+        input.expect(']');
+
+        double[] ordinates = input.ordinates(size << 2);
+        double[] packed = new double[size * dimension];
+        for (int i = 0, j = 0; i < size; i++, j += dimension) {
+            System.arraycopy(ordinates, i << 2, packed, j, dimension);
+        }
+        return new PackedCoordinateSequence(packed, dimension > 2, dimension > 3);
+    }
+
+    /**
+     * 读取一个已经读取了左括号的位置，位置中超过4个的数值会被忽略
+     *
+     * @return 位置中数值的个数，不超过4
+     */
+    private int readPosition(JsonInput input, double[] ordinates, int offset) throws GeometryIOException {
+        int count = 0;
+        do {
+            double value = input.readNumber();
+            if (count < 4) {
+                ordinates[offset + count] = value;
+            }
+            count++;
+        } while (input.consume(','));
+        input.expect(']');
+        if (count < 2) {
+            throw input.error("属性" + GeometryJSON.FIELD_NAME_COORDINATES + "中的元素太少");
+        }
+        return Math.min(count, 4);
+    }
+
+    private Point toPoint(JsonInput input, Object coordinates) throws GeometryIOException {
+        if (coordinates instanceof List) {
+            if (!((List<?>) coordinates).isEmpty()) {
+                throw mismatch(input, GeometryJSON.TYPE_POINT);
+            }
+            return factory.createPoint(Coordinate.NONE);
+        }
+        if (!(coordinates instanceof double[])) {
+            throw mismatch(input, GeometryJSON.TYPE_POINT);
+        }
+        double[] position = (double[]) coordinates;
+        return factory.createPoint(new Coordinate(position[0], position[1], position[2], position[3]));
+    }
+
+    private Polygon toPolygon(JsonInput input, Object coordinates) throws GeometryIOException {
+        List<?> rings = toList(input, coordinates);
+        if (rings.isEmpty()) {
+            return factory.createPolygon(null, null);
+        }
+        LinearRing shell = factory.createLinearRing(toSequence(input, rings.get(0), repairRings()));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = factory.createLinearRing(toSequence(input, rings.get(i + 1), repairRings()));
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    private List<?> toList(JsonInput input, Object coordinates) throws GeometryIOException {
+        if (coordinates instanceof List) {
+            return (List<?>) coordinates;
+        }
+        if (coordinates instanceof CoordinateSequence && ((CoordinateSequence) coordinates).isEmpty()) {
+            return Collections.emptyList();
+        }
+        throw input.error("属性" + GeometryJSON.FIELD_NAME_COORDINATES + "的嵌套层次不正确");
+    }
+
+    private CoordinateSequence toSequence(JsonInput input, Object coordinates, boolean closeRing)
+            throws GeometryIOException {
+        if (coordinates instanceof List && ((List<?>) coordinates).isEmpty()) {
+            return new PackedCoordinateSequence(new double[0], false, false);
+        }
+        if (!(coordinates instanceof PackedCoordinateSequence)) {
+            throw input.error("属性" + GeometryJSON.FIELD_NAME_COORDINATES + "的嵌套层次不正确");
+        }
+        PackedCoordinateSequence sequence = (PackedCoordinateSequence) coordinates;
+        int last = sequence.size() - 1;
+        if (closeRing && last >= 0
+                && (Double.compare(sequence.getXAt(0), sequence.getXAt(last)) != 0
+                || Double.compare(sequence.getYAt(0), sequence.getYAt(last)) != 0
+                || Double.compare(sequence.getZAt(0), sequence.getZAt(last)) != 0
+                || Double.compare(sequence.getMAt(0), sequence.getMAt(last)) != 0)) {
+            // 修复未闭合的线环
+            int dimension = sequence.getDimension();
+            double[] ordinates = sequence.toOrdinateArray();
+            double[] closed = Arrays.copyOf(ordinates, ordinates.length + dimension);
+            System.arraycopy(ordinates, 0, closed, ordinates.length, dimension);
+            return new PackedCoordinateSequence(closed, sequence.hasZ(), sequence.hasM());
+        }
+        return sequence;
+    }
+
+    private static GeometryIOException mismatch(JsonInput input, String type) {
+        return input.error("属性" + GeometryJSON.FIELD_NAME_COORDINATES + "的结构与类型" + type + "不匹配");
+    }
+
 }
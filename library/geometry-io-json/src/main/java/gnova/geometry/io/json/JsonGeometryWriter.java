@@ -6,142 +6,209 @@ import gnova.core.json.JsonObject;
 import gnova.core.json.JsonObjectBuilder;
 import gnova.geometry.io.GeometryIOException;
 import gnova.geometry.io.TextGeometryWriter;
+import gnova.geometry.io.TextOutput;
 import gnova.geometry.json.GeometryJSON;
 import gnova.geometry.model.*;
 import gnova.geometry.model.Geometry;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
+ * GeoJSON格式的几何对象写入器
+ *
+ * <p>写入器直接遍历几何对象的{@link CoordinateSequence 坐标序列}并将GeoJSON写入目标，
+ * 不会先构造{@link gnova.geometry.json.GeometryJSON}等中间对象。
+ * 数值使用能够精确还原的最短的十进制表示，也可以通过{@link #getMaximumFractionDigits() 最大小数位数}截断坐标精度。
+ *
+ * <p>数据先写入写入器持有的可重用的缓冲区，再批量写入目标，
+ * 因此写入器不是线程安全的，每个线程应使用独立的写入器。
+ *
  * Created by Birderyu on 2017/6/25.
  */
 public class JsonGeometryWriter
         implements TextGeometryWriter {
 
-    public String write(Geometry geometry) {
-        return GeometryJSON.fromGeometry(geometry).toString();
+    /**
+     * 不限制坐标的小数位数
+     */
+    public static final int FULL_PRECISION = TextOutput.FULL_PRECISION;
+
+    /**
+     * 默认的缓冲区大小
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final int maximumFractionDigits;
+
+    /**
+     * 写入时使用的缓冲区
+     */
+    private final char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+
+    public JsonGeometryWriter() {
+        this(FULL_PRECISION);
     }
 
-    public String writePoint(Point point) {
-        return GeometryJSON.fromPoint(point).toString();
+    /**
+     * 构造一个GeoJSON格式的几何对象写入器
+     *
+     * @param maximumFractionDigits 坐标的最大小数位数，超出的部分四舍五入，
+     *                              只能为{@link #FULL_PRECISION}或0到15之间的整数
+     * @throws IllegalArgumentException 若最大小数位数不合法，则抛出此异常
+     */
+    public JsonGeometryWriter(int maximumFractionDigits)
+            throws IllegalArgumentException {
+        TextOutput.checkFractionDigits(maximumFractionDigits);
+        this.maximumFractionDigits = maximumFractionDigits;
     }
 
-    public String writeLineString(LineString lineString) {
-        return GeometryJSON.fromLineString(lineString).toString();
+    /**
+     * 获取坐标的最大小数位数
+     *
+     * @return 最大小数位数，若不限制，则返回{@link #FULL_PRECISION}
+     */
+    public int getMaximumFractionDigits() {
+        return maximumFractionDigits;
     }
 
-    public String writeLinearRing(LinearRing linearRing) {
-        return writeLineString(linearRing);
+    @Override
+    public String write(Geometry geometry) throws GeometryIOException {
+        return toText(geometry);
     }
 
-    public String writePolygon(Polygon polygon) {
-        return GeometryJSON.fromPolygon(polygon).toString();
+    @Override
+    public String writePoint(Point point) throws GeometryIOException {
+        return toText(point);
     }
 
-    public String writeGeometryCollection(GeometryCollection geometries) {
-        switch (geometries.getType()) {
-            case MultiPoint:
-                return writeMultiPoint((MultiPoint) geometries);
-            case MultiLineString:
-                return writeMultiLineString((MultiLineString) geometries);
-            case MultiPolygon:
-                return writeMultiPolygon((MultiPolygon) geometries);
-        }
-        return GeometryJSON.fromGeometryCollection(geometries).toString();
+    @Override
+    public String writeLineString(LineString lineString) throws GeometryIOException {
+        return toText(lineString);
     }
 
-    public String writeMultiPoint(MultiPoint multiPoint) {
-        return GeometryJSON.fromMultiPoint(multiPoint).toString();
+    @Override
+    public String writeLinearRing(LinearRing linearRing) throws GeometryIOException {
+        return toText(linearRing);
     }
 
-    public String writeMultiLineString(MultiLineString multiLineString) {
-        return GeometryJSON.fromMultiLineString(multiLineString).toString();
+    @Override
+    public String writePolygon(Polygon polygon) throws GeometryIOException {
+        return toText(polygon);
     }
 
-    public String writeMultiPolygon(MultiPolygon multiPolygon) {
-        return GeometryJSON.fromMultiPolygon(multiPolygon).toString();
+    @Override
+    public String writeGeometryCollection(GeometryCollection geometries) throws GeometryIOException {
+        return toText(geometries);
     }
 
-    public void write(Geometry geometry, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(write(geometry));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public String writeMultiPoint(MultiPoint multiPoint) throws GeometryIOException {
+        return toText(multiPoint);
     }
 
-    public void writePoint(Point point, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(writePoint(point));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public String writeMultiLineString(MultiLineString multiLineString) throws GeometryIOException {
+        return toText(multiLineString);
     }
 
-    public void writeLineString(LineString lineString, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(writeLineString(lineString));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public String writeMultiPolygon(MultiPolygon multiPolygon) throws GeometryIOException {
+        return toText(multiPolygon);
     }
 
-    public void writeLinearRing(LinearRing linearRing, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(writeLinearRing(linearRing));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public void write(Geometry geometry, Writer writer) throws GeometryIOException {
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, writer));
     }
 
-    public void writePolygon(Polygon polygon, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(writePolygon(polygon));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public void writePoint(Point point, Writer writer) throws GeometryIOException {
+        write(point, writer);
     }
 
-    public void writeGeometryCollection(GeometryCollection geometries, Writer writer)
-            throws GeometryIOException {
-        try {
-            writer.write(writeGeometryCollection(geometries));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+    @Override
+    public void writeLineString(LineString lineString, Writer writer) throws GeometryIOException {
+        write(lineString, writer);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, Writer writer) throws GeometryIOException {
+        write(linearRing, writer);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, Writer writer) throws GeometryIOException {
+        write(polygon, writer);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, Writer writer) throws GeometryIOException {
+        write(geometries, writer);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, Writer writer) throws GeometryIOException {
+        write(multiPoint, writer);
+    }
+
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, Writer writer) throws GeometryIOException {
+        write(multiLineString, writer);
+    }
+
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, Writer writer) throws GeometryIOException {
+        write(multiPolygon, writer);
+    }
+
+    @Override
+    public void write(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, outputStream));
     }
 
-    public void writeMultiPoint(MultiPoint multiPoint, Writer writer)
+    @Override
+    public void writePoint(Point point, OutputStream outputStream) throws GeometryIOException {
+        write(point, outputStream);
+    }
+
+    @Override
+    public void writeLineString(LineString lineString, OutputStream outputStream) throws GeometryIOException {
+        write(lineString, outputStream);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, OutputStream outputStream) throws GeometryIOException {
+        write(linearRing, outputStream);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, OutputStream outputStream) throws GeometryIOException {
+        write(polygon, outputStream);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, OutputStream outputStream)
             throws GeometryIOException {
-        try {
-            writer.write(writeGeometryCollection(multiPoint));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+        write(geometries, outputStream);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, OutputStream outputStream) throws GeometryIOException {
+        write(multiPoint, outputStream);
     }
 
-    public void writeMultiLineString(MultiLineString multiLineString, Writer writer)
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, OutputStream outputStream)
             throws GeometryIOException {
-        try {
-            writer.write(writeMultiLineString(multiLineString));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+        write(multiLineString, outputStream);
     }
 
-    public void writeMultiPolygon(MultiPolygon multiPolygon, Writer writer)
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, OutputStream outputStream)
             throws GeometryIOException {
-        try {
-            writer.write(writeMultiPolygon(multiPolygon));
-        } catch (IOException e) {
-            throw new GeometryIOException(e);
-        }
+        write(multiPolygon, outputStream);
     }
 
     public JsonObject write(@NotNull JsonObjectBuilder job, @NotNull JsonArrayBuilder jab, Geometry geometry) {
@@ -188,4 +255,182 @@ public class JsonGeometryWriter
         return GeometryJSON.fromMultiPolygon(multiPolygon).toJsonObject(job, jab);
     }
 
+    private String toText(Geometry geometry) throws GeometryIOException {
+        StringBuilder builder = new StringBuilder();
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, builder));
+        return builder.toString();
+    }
+
+    private void writeTo(Geometry geometry, TextOutput output) throws GeometryIOException {
+        try {
+            writeGeometry(geometry, output);
+            output.flush();
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private void writeGeometry(Geometry geometry, TextOutput output)
+            throws GeometryIOException, IOException {
+        geometry = geometry.unwrap();
+        GeometryType type = geometry.getType();
+        if (type == GeometryType.None) {
+            output.write("{\"" + GeometryJSON.FIELD_NAME_TYPE + "\":null,\""
+                    + GeometryJSON.FIELD_NAME_COORDINATES + "\":null}");
+            return;
+        }
+        output.write("{\"" + GeometryJSON.FIELD_NAME_TYPE + "\":\"");
+        switch (type) {
+            case Point:
+                output.write(GeometryJSON.TYPE_POINT);
+                writeCoordinatesField(output);
+                writePointCoordinates((Point) geometry, output);
+                break;
+            case LineString:
+            case LinearRing:
+                output.write(GeometryJSON.TYPE_LINESTRING);
+                writeCoordinatesField(output);
+                writeSequence(((LineString) geometry).getCoordinateSequence(), output);
+                break;
+            case Polygon:
+                output.write(GeometryJSON.TYPE_POLYGON);
+                writeCoordinatesField(output);
+                writePolygonCoordinates((Polygon) geometry, output);
+                break;
+            case MultiPoint: {
+                MultiPoint multiPoint = (MultiPoint) geometry;
+                output.write(GeometryJSON.TYPE_MULTIPOINT);
+                writeCoordinatesField(output);
+                output.write('[');
+                for (int i = 0, count = multiPoint.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(',');
+                    }
+                    writePointCoordinates(multiPoint.getGeometryAt(i), output);
+                }
+                output.write(']');
+                break;
+            }
+            case MultiLineString: {
+                MultiLineString multiLineString = (MultiLineString) geometry;
+                output.write(GeometryJSON.TYPE_MULTILINESTRING);
+                writeCoordinatesField(output);
+                output.write('[');
+                for (int i = 0, count = multiLineString.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(',');
+                    }
+                    writeSequence(multiLineString.getGeometryAt(i).getCoordinateSequence(), output);
+                }
+                output.write(']');
+                break;
+            }
+            case MultiPolygon: {
+                MultiPolygon multiPolygon = (MultiPolygon) geometry;
+                output.write(GeometryJSON.TYPE_MULTIPOLYGON);
+                writeCoordinatesField(output);
+                output.write('[');
+                for (int i = 0, count = multiPolygon.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(',');
+                    }
+                    writePolygonCoordinates(multiPolygon.getGeometryAt(i), output);
+                }
+                output.write(']');
+                break;
+            }
+            case GeometryCollection: {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                output.write(GeometryJSON.TYPE_GEOMETRYCOLLECTION);
+                output.write("\",\"" + GeometryJSON.FIELD_NAME_GEOMETRIES + "\":[");
+                for (int i = 0, count = geometries.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(',');
+                    }
+                    writeGeometry(geometries.getGeometryAt(i), output);
+                }
+                output.write(']');
+                break;
+            }
+            default:
+                throw new GeometryIOException("不支持的几何类型：" + type);
+        }
+        output.write('}');
+    }
+
+    private static void writeCoordinatesField(TextOutput output) throws IOException {
+        output.write("\",\"" + GeometryJSON.FIELD_NAME_COORDINATES + "\":");
+    }
+
+    private static void writePointCoordinates(Point point, TextOutput output) throws IOException {
+        if (point.isEmpty()) {
+            output.write("[]");
+            return;
+        }
+        Coordinate coordinate = point.getCoordinate();
+        writePosition(coordinate.getX(), coordinate.getY(),
+                coordinate.getZ(), coordinate.getM(), output);
+    }
+
+    private static void writePolygonCoordinates(Polygon polygon, TextOutput output) throws IOException {
+        output.write('[');
+        if (!polygon.isEmpty()) {
+            writeSequence(polygon.getExteriorRing().getCoordinateSequence(), output);
+            for (int i = 0, count = polygon.getInteriorRingSize(); i < count; i++) {
+                output.write(',');
+                writeSequence(polygon.getInteriorRingAt(i).getCoordinateSequence(), output);
+            }
+        }
+        output.write(']');
+    }
+
+    private static void writeSequence(CoordinateSequence sequence, TextOutput output) throws IOException {
+        output.write('[');
+        boolean hasOrdinates = sequence.getDimension() > 2;
+        for (int i = 0, count = sequence.size(); i < count; i++) {
+            if (i > 0) {
+                output.write(',');
+            }
+            if (hasOrdinates) {
+                writePosition(sequence.getXAt(i), sequence.getYAt(i),
+                        sequence.getZAt(i), sequence.getMAt(i), output);
+            } else {
+                writePosition(sequence.getXAt(i), sequence.getYAt(i),
+                        Coordinate.NULL_ORDINATE_VALUE, Coordinate.NULL_ORDINATE_VALUE, output);
+            }
+        }
+        output.write(']');
+    }
+
+    /**
+     * 写入一个位置，Z值与M值只有在存在时才会写入，与{@link GeometryJSON}保持一致
+     */
+    private static void writePosition(double x, double y, double z, double m, TextOutput output)
+            throws IOException {
+        output.write('[');
+        writeNumber(x, output);
+        output.write(',');
+        writeNumber(y, output);
+        if (!Double.isNaN(z)) {
+            output.write(',');
+            writeNumber(z, output);
+        }
+        if (!Double.isNaN(m)) {
+            output.write(',');
+            writeNumber(m, output);
+        }
+        output.write(']');
+    }
+
+    /**
+     * 写入一个数值，JSON中没有NaN与无穷大，因此将它们写为null
+     */
+    private static void writeNumber(double value, TextOutput output) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            output.write("null");
+        } else {
+            output.writeNumber(value);
+        }
+    }
+
 }
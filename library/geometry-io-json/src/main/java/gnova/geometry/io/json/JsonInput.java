@@ -0,0 +1,176 @@
+package gnova.geometry.io.json;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.TextInput;
+
+import java.io.Reader;
+
+/**
+ * GeoJSON的字符输入
+ *
+ * <p>这是一个按词法单元（token）读取的拉取式解析器，不会构造通用的JSON对象树。
+ */
+final class JsonInput
+        extends TextInput {
+
+    private static final String FORMAT = "GeoJSON";
+
+    JsonInput(Reader reader) {
+        super(FORMAT, reader);
+    }
+
+    JsonInput(String json) {
+        super(FORMAT, json);
+    }
+
+    /**
+     * 读取一个字符串
+     *
+     * @return 字符串，不会返回null
+     * @throws GeometryIOException 若下一个值不是字符串或读取失败，则抛出此异常
+     */
+    String readString() throws GeometryIOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return text.toString();
+            } else if (c == '\\') {
+                c = next();
+                switch (c) {
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(next(), 16);
+                            if (digit < 0) {
+                                throw error("非法的Unicode转义字符");
+                            }
+                            code = (code << 4) | digit;
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        text.append(c);
+                        break;
+                }
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    /**
+     * 读取一个字符串，或null
+     *
+     * @return 字符串，若值为null，则返回null
+     * @throws GeometryIOException 若下一个值不是字符串或null，或读取失败，则抛出此异常
+     */
+    String readNullableString() throws GeometryIOException {
+        if (peek() == 'n') {
+            expect("null");
+            return null;
+        }
+        return readString();
+    }
+
+    /**
+     * 读取一个数值，null被读取为{@link Double#NaN}
+     *
+     * @return 数值
+     * @throws GeometryIOException 若下一个值不是数值或读取失败，则抛出此异常
+     */
+    @Override
+    public double readNumber() throws GeometryIOException {
+        if (peek() == 'n') {
+            expect("null");
+            return Double.NaN;
+        }
+        return super.readNumber();
+    }
+
+    /**
+     * 跳过下一个值
+     *
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    void skipValue() throws GeometryIOException {
+        int c = peek();
+        switch (c) {
+            case '{':
+            case '[':
+                int depth = 0;
+                do {
+                    c = peek();
+                    if (c == '"') {
+                        skipString();
+                        continue;
+                    }
+                    if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    } else if (c == -1) {
+                        throw error("输入意外结束");
+                    }
+                    next();
+                } while (depth > 0);
+                break;
+            case '"':
+                skipString();
+                break;
+            case 't':
+                expect("true");
+                break;
+            case 'f':
+                expect("false");
+                break;
+            case 'n':
+                expect("null");
+                break;
+            default:
+                readNumber();
+                break;
+        }
+    }
+
+    /**
+     * 读取下一个值的原始文本
+     *
+     * @return 原始文本，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    String readRawValue() throws GeometryIOException {
+        beginCapture();
+        skipValue();
+        return endCapture();
+    }
+
+    private void skipString() throws GeometryIOException {
+        next();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                next();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package gnova.geometry.io.json;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.impl.jts.GeometryFactoryAdaptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class JsonGeometryIOTest {
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    private static final String[] WKTS = {
+            "POINT (1 2)",
+            "POINT (1.5 -2.25 3)",
+            "LINESTRING (0 0, 1 1, 2 0.5)",
+            "LINESTRING (0 0 1, 1 1 2, 2 0.5 3)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 3, 3 3, 3 2, 2 2))",
+            "MULTIPOINT ((1 1), (2 2))",
+            "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3, 4 2))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+            "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 1 1), POLYGON ((0 0, 1 0, 1 1, 0 0)))"
+    };
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        JsonGeometryWriter writer = new JsonGeometryWriter();
+        JsonGeometryReader reader = new JsonGeometryReader(JTS);
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry expected = wktReader.read(wkt);
+            String json = writer.write(GeometryFactoryAdaptor.fromJtsGeometry(expected));
+            assertEquals(wkt, expected, reader.read(json));
+            assertEquals(wkt, expected, reader.read(new StringReader(json)));
+        }
+    }
+
+    @Test
+    public void testReadMatchesJts() throws Exception {
+        JsonGeometryReader reader = new JsonGeometryReader(JTS);
+        WKTReader wktReader = new WKTReader();
+        // 属性的顺序是任意的，未知的属性会被跳过
+        assertEquals("point", wktReader.read("POINT (1 2)"),
+                reader.read("{\"coordinates\": [1, 2], \"bbox\": [1, 2, 1, 2], \"type\": \"Point\"}"));
+        assertEquals("polygon", wktReader.read("POLYGON ((0 0, 1e3 0, 1e3 1e3, 0 0))"),
+                reader.read("{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[1E3,0],[1000.0,1000],[0,0]]]}"));
+    }
+
+    @Test
+    public void testReadFeatures() throws Exception {
+        String json = "{\"type\": \"FeatureCollection\", \"features\": ["
+                + "{\"type\": \"Feature\", \"properties\": {\"name\": \"a\"},"
+                + " \"geometry\": {\"type\": \"Point\", \"coordinates\": [1, 2]}},"
+                + "{\"type\": \"Feature\", \"geometry\": null},"
+                + "{\"type\": \"Feature\", \"geometry\": {\"type\": \"LineString\", \"coordinates\": [[0, 0], [1, 1]]}}"
+                + "]}";
+        Iterator<Geometry> features = new JsonGeometryReader(JTS).readFeatures(new StringReader(json));
+        List<Geometry> geometries = new ArrayList<>();
+        features.forEachRemaining(geometries::add);
+        Assert.assertEquals(3, geometries.size());
+        WKTReader wktReader = new WKTReader();
+        assertEquals("point", wktReader.read("POINT (1 2)"), geometries.get(0));
+        Assert.assertSame(Geometry.NONE, geometries.get(1));
+        assertEquals("line", wktReader.read("LINESTRING (0 0, 1 1)"), geometries.get(2));
+    }
+
+    @Test(expected = GeometryIOException.class)
+    public void testTrailingContent() throws Exception {
+        new JsonGeometryReader(JTS).read("{\"type\": \"Point\", \"coordinates\": [1, 2]} x");
+    }
+
+    private static void assertEquals(String message, org.locationtech.jts.geom.Geometry expected, Geometry actual) {
+        org.locationtech.jts.geom.Geometry jts = JTS.toJtsGeometry(actual);
+        Assert.assertTrue(message + " != " + jts, expected.equalsExact(jts));
+        if (!expected.isEmpty()) {
+            Assert.assertEquals(message, expected.getCoordinate().z, jts.getCoordinate().z, 0);
+        }
+    }
+
+}
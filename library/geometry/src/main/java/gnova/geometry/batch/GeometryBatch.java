@@ -0,0 +1,609 @@
+package gnova.geometry.batch;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.*;
+
+import java.util.Arrays;
+
+/**
+ * 列式存储的几何对象批
+ *
+ * <p>一个批中的N个几何对象共享同一组坐标列（X、Y以及可选的Z、M），
+ * 几何对象的结构通过三级偏移数组描述：几何对象→部件→线环→顶点。
+ * 部件是点、线串或多边形中的一种，单一几何对象只有一个部件（空的几何对象没有部件），
+ * 多几何对象与几何集合的每个元素是一个部件；点与线串的部件只有一个线环，多边形的部件的第一个线环为外环。
+ *
+ * <p>包围盒在构造时一次性计算，面积、长度、质心与包围盒过滤都直接在坐标列上循环，
+ * 不会创建{@link Geometry 几何对象}或{@link Coordinate 坐标对象}，也没有逐个顶点的接口调用。
+ * 需要使用完整的几何操作时，可以通过{@link #getGeometry(int, GeometryFactory)}将单个几何对象还原出来。
+ *
+ * <p>几何批是{@link Immutable 不可变的}，可以在多个线程中共享。
+ *
+ * @see GeometryBatchBuilder
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class GeometryBatch {
+
+    static final byte PART_POINT = 0;
+    static final byte PART_LINE = 1;
+    static final byte PART_POLYGON = 2;
+
+    private static final GeometryType[] TYPES = GeometryType.values();
+
+    private final int size;
+
+    /**
+     * 几何对象的类型，存放{@link GeometryType}的序号
+     */
+    private final byte[] types;
+
+    /**
+     * 几何对象的部件的起始位置，长度为几何对象的个数+1
+     */
+    private final int[] geometryOffsets;
+
+    /**
+     * 部件的种类
+     */
+    private final byte[] partKinds;
+
+    /**
+     * 部件的线环的起始位置，长度为部件的个数+1
+     */
+    private final int[] partOffsets;
+
+    /**
+     * 线环的顶点的起始位置，长度为线环的个数+1
+     */
+    private final int[] ringOffsets;
+
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Z坐标列，若没有Z坐标，则为null
+     */
+    private final double[] zs;
+
+    /**
+     * M值列，若没有M值，则为null
+     */
+    private final double[] ms;
+
+    /**
+     * 每个几何对象的包围盒，空的几何对象为NaN
+     */
+    private final double[] minXs;
+    private final double[] minYs;
+    private final double[] maxXs;
+    private final double[] maxYs;
+
+    GeometryBatch(int size, byte[] types, int[] geometryOffsets,
+                  byte[] partKinds, int[] partOffsets, int[] ringOffsets,
+                  double[] xs, double[] ys, double[] zs, double[] ms) {
+        this.size = size;
+        this.types = types;
+        this.geometryOffsets = geometryOffsets;
+        this.partKinds = partKinds;
+        this.partOffsets = partOffsets;
+        this.ringOffsets = ringOffsets;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        this.ms = ms;
+        this.minXs = new double[size];
+        this.minYs = new double[size];
+        this.maxXs = new double[size];
+        this.maxYs = new double[size];
+        computeBounds();
+    }
+
+    /**
+     * 获取几何对象的个数
+     *
+     * @return 几何对象的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取全部几何对象的顶点总数
+     *
+     * @return 顶点总数
+     */
+    public int getCoordinateCount() {
+        return xs.length;
+    }
+
+    /**
+     * 是否包含Z坐标值
+     *
+     * @return 若包含Z坐标值，则返回true，否则返回false
+     */
+    public boolean hasZ() {
+        return zs != null;
+    }
+
+    /**
+     * 是否包含度量值
+     *
+     * @return 若包含度量值，则返回true，否则返回false
+     */
+    public boolean hasM() {
+        return ms != null;
+    }
+
+    /**
+     * 获取几何对象的类型
+     *
+     * @param index 几何对象的序号
+     * @return 几何类型，不会返回null
+     */
+    @NotNull
+    public GeometryType getType(int index) {
+        return TYPES[types[index]];
+    }
+
+    /**
+     * 判断几何对象是否为空
+     *
+     * @param index 几何对象的序号
+     * @return 若几何对象没有顶点，则返回true，否则返回false
+     */
+    public boolean isEmpty(int index) {
+        return vertexStart(index) == vertexStart(index + 1);
+    }
+
+    public double getMinX(int index) {
+        return minXs[index];
+    }
+
+    public double getMinY(int index) {
+        return minYs[index];
+    }
+
+    public double getMaxX(int index) {
+        return maxXs[index];
+    }
+
+    public double getMaxY(int index) {
+        return maxYs[index];
+    }
+
+    /**
+     * 获取几何对象的包围盒
+     *
+     * @param index 几何对象的序号
+     * @return 包围盒，若几何对象为空，则返回{@link BoundingBox#NONE}，不会返回null
+     */
+    @NotNull
+    public BoundingBox getBoundingBox(int index) {
+        if (isEmpty(index)) {
+            return BoundingBox.NONE;
+        }
+        return new BoundingBox(minXs[index], maxXs[index], minYs[index], maxYs[index]);
+    }
+
+    /**
+     * 获取几何对象的面积，即其中多边形的外环面积减去内环面积之和
+     *
+     * @param index 几何对象的序号
+     * @return 面积，对于不包含多边形的几何对象，返回0
+     */
+    public double getArea(int index) {
+        double area = 0;
+        for (int p = geometryOffsets[index], end = geometryOffsets[index + 1]; p < end; p++) {
+            if (partKinds[p] == PART_POLYGON) {
+                area += polygonArea(p);
+            }
+        }
+        return area;
+    }
+
+    /**
+     * 获取几何对象的长度，即其中线串的长度与多边形的周长之和
+     *
+     * @param index 几何对象的序号
+     * @return 长度，对于点与多点，返回0
+     */
+    public double getLength(int index) {
+        double length = 0;
+        for (int p = geometryOffsets[index], end = geometryOffsets[index + 1]; p < end; p++) {
+            if (partKinds[p] != PART_POINT) {
+                for (int r = partOffsets[p], rings = partOffsets[p + 1]; r < rings; r++) {
+                    length += ringLength(r);
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 获取几何对象的质心
+     *
+     * <p>与JTS的规则相同，只有维度最高的部件参与计算：若存在面积不为0的多边形，则计算面积加权的质心；
+     * 否则若存在长度不为0的线，则计算长度加权的质心；否则计算全部顶点的平均值。
+     *
+     * @param index 几何对象的序号
+     * @return 质心，若几何对象为空，则返回{@link Coordinate#NONE}，不会返回null
+     */
+    @NotNull
+    public Coordinate getCentroid(int index) {
+        double[] centroid = new double[2];
+        if (!centroid(index, centroid, 0)) {
+            return Coordinate.NONE;
+        }
+        return new Coordinate(centroid[0], centroid[1]);
+    }
+
+    /**
+     * 计算全部几何对象的面积
+     *
+     * @return 面积数组，第i个元素为第i个几何对象的面积，不会返回null
+     * @see #getArea(int)
+     */
+    @NotNull
+    public double[] computeAreas() {
+        double[] areas = new double[size];
+        for (int i = 0; i < size; i++) {
+            areas[i] = getArea(i);
+        }
+        return areas;
+    }
+
+    /**
+     * 计算全部几何对象的长度
+     *
+     * @return 长度数组，第i个元素为第i个几何对象的长度，不会返回null
+     * @see #getLength(int)
+     */
+    @NotNull
+    public double[] computeLengths() {
+        double[] lengths = new double[size];
+        for (int i = 0; i < size; i++) {
+            lengths[i] = getLength(i);
+        }
+        return lengths;
+    }
+
+    /**
+     * 计算全部几何对象的质心
+     *
+     * @return 交错存储的质心坐标，第2i与2i+1个元素为第i个几何对象的质心的X与Y坐标值，
+     * 空的几何对象为NaN，不会返回null
+     * @see #getCentroid(int)
+     */
+    @NotNull
+    public double[] computeCentroids() {
+        double[] centroids = new double[size << 1];
+        for (int i = 0; i < size; i++) {
+            if (!centroid(i, centroids, i << 1)) {
+                centroids[i << 1] = Double.NaN;
+                centroids[(i << 1) + 1] = Double.NaN;
+            }
+        }
+        return centroids;
+    }
+
+    /**
+     * 查找包围盒与指定的包围盒相交的几何对象
+     *
+     * @param bbox 包围盒，不允许为null
+     * @return 几何对象的序号，按升序排列，不会返回null
+     */
+    @NotNull
+    public int[] filter(@NotNull BoundingBox bbox) {
+        if (bbox == BoundingBox.NONE) {
+            return new int[0];
+        }
+        return filter(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY());
+    }
+
+    /**
+     * 查找包围盒与指定的包围盒相交的几何对象，空的几何对象不会被选中
+     *
+     * @param minX 最小X坐标值
+     * @param minY 最小Y坐标值
+     * @param maxX 最大X坐标值
+     * @param maxY 最大Y坐标值
+     * @return 几何对象的序号，按升序排列，不会返回null
+     */
+    @NotNull
+    public int[] filter(double minX, double minY, double maxX, double maxY) {
+        int[] result = new int[Math.min(size, 16)];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            // 空的几何对象的包围盒为NaN，比较的结果总是false
+            if (minXs[i] <= maxX && maxXs[i] >= minX && minYs[i] <= maxY && maxYs[i] >= minY) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, Math.min(size, count << 1));
+                }
+                result[count++] = i;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 使用默认的几何工厂还原一个几何对象
+     *
+     * @param index 几何对象的序号
+     * @return 几何对象，不会返回null
+     */
+    @NotNull
+    public Geometry getGeometry(int index) {
+        return getGeometry(index, FactoryFinder.getDefaultGeometryFactory());
+    }
+
+    /**
+     * 还原一个几何对象
+     *
+     * <p>几何集合中嵌套的几何集合在构造几何批时已被展开，因此还原出的几何集合只包含点、线串与多边形。
+     *
+     * @param index 几何对象的序号
+     * @param factory 几何工厂，不允许为null
+     * @return 几何对象，不会返回null
+     * @throws IllegalArgumentException 若几何工厂拒绝创建几何对象，则抛出此异常
+     */
+    @NotNull
+    public Geometry getGeometry(int index, @NotNull GeometryFactory factory)
+            throws IllegalArgumentException {
+        int start = geometryOffsets[index];
+        int end = geometryOffsets[index + 1];
+        switch (getType(index)) {
+            case None:
+                return Geometry.NONE;
+            case Point:
+                return start == end ? factory.createPoint(Coordinate.NONE) : toPoint(start, factory);
+            case LineString:
+                return factory.createLineString(start == end ?
+                        toSequence(0, 0) : toSequence(partOffsets[start]));
+            case LinearRing:
+                return factory.createLinearRing(start == end ?
+                        toSequence(0, 0) : toSequence(partOffsets[start]));
+            case Polygon:
+                return start == end ? factory.createPolygon(null, null) : toPolygon(start, factory);
+            case MultiPoint: {
+                Point[] points = new Point[end - start];
+                for (int p = start; p < end; p++) {
+                    points[p - start] = toPoint(p, factory);
+                }
+                return factory.createMultiPoint(points);
+            }
+            case MultiLineString: {
+                LineString[] lineStrings = new LineString[end - start];
+                for (int p = start; p < end; p++) {
+                    lineStrings[p - start] = factory.createLineString(toSequence(partOffsets[p]));
+                }
+                return factory.createMultiLineString(lineStrings);
+            }
+            case MultiPolygon: {
+                Polygon[] polygons = new Polygon[end - start];
+                for (int p = start; p < end; p++) {
+                    polygons[p - start] = toPolygon(p, factory);
+                }
+                return factory.createMultiPolygon(polygons);
+            }
+            default: {
+                Geometry[] geometries = new Geometry[end - start];
+                for (int p = start; p < end; p++) {
+                    switch (partKinds[p]) {
+                        case PART_POINT:
+                            geometries[p - start] = toPoint(p, factory);
+                            break;
+                        case PART_LINE:
+                            geometries[p - start] = factory.createLineString(toSequence(partOffsets[p]));
+                            break;
+                        default:
+                            geometries[p - start] = toPolygon(p, factory);
+                            break;
+                    }
+                }
+                return factory.createGeometryCollection(geometries);
+            }
+        }
+    }
+
+    private Point toPoint(int part, GeometryFactory factory) {
+        int ring = partOffsets[part];
+        int vertex = ringOffsets[ring];
+        if (vertex == ringOffsets[ring + 1]) {
+            return factory.createPoint(Coordinate.NONE);
+        }
+        return factory.createPoint(new Coordinate(xs[vertex], ys[vertex],
+                zs == null ? Coordinate.NULL_ORDINATE_VALUE : zs[vertex],
+                ms == null ? Coordinate.NULL_ORDINATE_VALUE : ms[vertex]));
+    }
+
+    private Polygon toPolygon(int part, GeometryFactory factory) {
+        int start = partOffsets[part];
+        int end = partOffsets[part + 1];
+        if (start == end) {
+            return factory.createPolygon(null, null);
+        }
+        LinearRing shell = factory.createLinearRing(toSequence(start));
+        LinearRing[] holes = new LinearRing[end - start - 1];
+        for (int r = start + 1; r < end; r++) {
+            holes[r - start - 1] = factory.createLinearRing(toSequence(r));
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    private CoordinateSequence toSequence(int ring) {
+        return toSequence(ringOffsets[ring], ringOffsets[ring + 1]);
+    }
+
+    private CoordinateSequence toSequence(int start, int end) {
+        int dimension = 2 + (zs == null ? 0 : 1) + (ms == null ? 0 : 1);
+        double[] ordinates = new double[(end - start) * dimension];
+        for (int v = start, j = 0; v < end; v++) {
+            ordinates[j++] = xs[v];
+            ordinates[j++] = ys[v];
+            if (zs != null) {
+                ordinates[j++] = zs[v];
+            }
+            if (ms != null) {
+                ordinates[j++] = ms[v];
+            }
+        }
+        return new PackedCoordinateSequence(ordinates, zs != null, ms != null);
+    }
+
+    /**
+     * 获取几何对象的第一个顶点的位置，几何对象的顶点在坐标列中是连续的
+     */
+    private int vertexStart(int index) {
+        return ringOffsets[partOffsets[geometryOffsets[index]]];
+    }
+
+    private void computeBounds() {
+        for (int i = 0; i < size; i++) {
+            int start = vertexStart(i);
+            int end = vertexStart(i + 1);
+            if (start == end) {
+                minXs[i] = minYs[i] = maxXs[i] = maxYs[i] = Double.NaN;
+                continue;
+            }
+            double minX = xs[start], maxX = minX;
+            double minY = ys[start], maxY = minY;
+            for (int v = start + 1; v < end; v++) {
+                double x = xs[v];
+                double y = ys[v];
+                if (x < minX) {
+                    minX = x;
+                } else if (x > maxX) {
+                    maxX = x;
+                }
+                if (y < minY) {
+                    minY = y;
+                } else if (y > maxY) {
+                    maxY = y;
+                }
+            }
+            minXs[i] = minX;
+            minYs[i] = minY;
+            maxXs[i] = maxX;
+            maxYs[i] = maxY;
+        }
+    }
+
+    private double ringLength(int ring) {
+        double length = 0;
+        for (int v = ringOffsets[ring] + 1, end = ringOffsets[ring + 1]; v < end; v++) {
+            double dx = xs[v] - xs[v - 1];
+            double dy = ys[v] - ys[v - 1];
+            length += Math.sqrt(dx * dx + dy * dy);
+        }
+        return length;
+    }
+
+    private double ringSignedArea(int ring) {
+        int start = ringOffsets[ring];
+        int end = ringOffsets[ring + 1];
+        if (end - start < 3) {
+            return 0;
+        }
+        // 以第一个点为原点计算，以减小大坐标值带来的精度损失
+        double x0 = xs[start];
+        double sum = 0;
+        for (int v = start + 1; v < end - 1; v++) {
+            sum += (xs[v] - x0) * (ys[v + 1] - ys[v - 1]);
+        }
+        return sum / 2.0;
+    }
+
+    private double polygonArea(int part) {
+        int start = partOffsets[part];
+        int end = partOffsets[part + 1];
+        if (start == end) {
+            return 0;
+        }
+        double area = Math.abs(ringSignedArea(start));
+        for (int r = start + 1; r < end; r++) {
+            area -= Math.abs(ringSignedArea(r));
+        }
+        return area;
+    }
+
+    /**
+     * 计算几何对象的质心，并写入到目标数组中
+     *
+     * @return 若几何对象为空，则返回false
+     */
+    private boolean centroid(int index, double[] dest, int offset) {
+        int start = vertexStart(index);
+        int end = vertexStart(index + 1);
+        if (start == end) {
+            return false;
+        }
+        // 以第一个顶点为原点累加，以减小大坐标值带来的精度损失
+        double x0 = xs[start];
+        double y0 = ys[start];
+        int partStart = geometryOffsets[index];
+        int partEnd = geometryOffsets[index + 1];
+
+        double area = 0, areaX = 0, areaY = 0;
+        for (int p = partStart; p < partEnd; p++) {
+            if (partKinds[p] != PART_POLYGON) {
+                continue;
+            }
+            for (int r = partOffsets[p], rings = partOffsets[p + 1]; r < rings; r++) {
+                // 外环按正面积累加，内环按负面积累加，与线环的方向无关
+                double a = 0, cx = 0, cy = 0;
+                for (int v = ringOffsets[r], last = ringOffsets[r + 1] - 1; v < last; v++) {
+                    double x1 = xs[v] - x0, y1 = ys[v] - y0;
+                    double x2 = xs[v + 1] - x0, y2 = ys[v + 1] - y0;
+                    double cross = x1 * y2 - x2 * y1;
+                    a += cross;
+                    cx += (x1 + x2) * cross;
+                    cy += (y1 + y2) * cross;
+                }
+                double sign = (a < 0) == (r == partOffsets[p]) ? -1 : 1;
+                area += sign * a;
+                areaX += sign * cx;
+                areaY += sign * cy;
+            }
+        }
+        if (area != 0) {
+            dest[offset] = x0 + areaX / (3 * area);
+            dest[offset + 1] = y0 + areaY / (3 * area);
+            return true;
+        }
+
+        double length = 0, lengthX = 0, lengthY = 0;
+        for (int p = partStart; p < partEnd; p++) {
+            if (partKinds[p] == PART_POINT) {
+                continue;
+            }
+            for (int r = partOffsets[p], rings = partOffsets[p + 1]; r < rings; r++) {
+                for (int v = ringOffsets[r] + 1, last = ringOffsets[r + 1]; v < last; v++) {
+                    double dx = xs[v] - xs[v - 1];
+                    double dy = ys[v] - ys[v - 1];
+                    double segment = Math.sqrt(dx * dx + dy * dy);
+                    length += segment;
+                    lengthX += segment * ((xs[v] + xs[v - 1]) / 2 - x0);
+                    lengthY += segment * ((ys[v] + ys[v - 1]) / 2 - y0);
+                }
+            }
+        }
+        if (length != 0) {
+            dest[offset] = x0 + lengthX / length;
+            dest[offset + 1] = y0 + lengthY / length;
+            return true;
+        }
+
+        double sumX = 0, sumY = 0;
+        for (int v = start; v < end; v++) {
+            sumX += xs[v] - x0;
+            sumY += ys[v] - y0;
+        }
+        dest[offset] = x0 + sumX / (end - start);
+        dest[offset + 1] = y0 + sumY / (end - start);
+        return true;
+    }
+
+}
@@ -0,0 +1,436 @@
+package gnova.geometry.batch;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.*;
+
+import java.util.Arrays;
+
+/**
+ * 几何批的构造器
+ *
+ * <p>构造器可以逐个{@link #add(Geometry) 添加几何对象}，也可以通过底层的接口直接写入结构与坐标，
+ * 例如读取器在解码时按照以下的顺序调用，而不需要先创建几何对象：
+ * {@link #beginGeometry(GeometryType)}开始一个几何对象，{@link #beginPart(GeometryType)}开始其中的一个部件，
+ * 若部件为多边形，则通过{@link #beginRing()}开始其中的每一个线环，最后通过{@link #addCoordinate(double, double)}等方法写入坐标。
+ * 点与线串的部件只有一个线环，在开始部件时自动开始。
+ *
+ * <p>Z坐标与M值的列在第一次写入非NaN的值时才会创建，此前的顶点使用NaN填充。
+ * 构造之后，构造器可以继续使用，但已添加的数据会被清空。
+ *
+ * <p>此类不是线程安全的。
+ *
+ * @see GeometryBatch
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class GeometryBatchBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] types;
+    private int[] geometryOffsets;
+    private int geometryCount = 0;
+
+    private byte[] partKinds;
+    private int[] partOffsets;
+    private int partCount = 0;
+
+    private int[] ringOffsets;
+    private int ringCount = 0;
+
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private double[] ms;
+    private int vertexCount = 0;
+
+    /**
+     * 当前部件的种类，若尚未开始部件，则为-1
+     */
+    private byte currentKind = -1;
+
+    /**
+     * 当前是否可以写入坐标
+     */
+    private boolean ringOpen = false;
+
+    public GeometryBatchBuilder() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造一个几何批的构造器
+     *
+     * @param expectedSize 预计的几何对象的个数，用于预先分配数组
+     * @param expectedCoordinateCount 预计的顶点总数，用于预先分配数组
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public GeometryBatchBuilder(int expectedSize, int expectedCoordinateCount)
+            throws IllegalArgumentException {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("预计的几何对象的个数不能为负数：" + expectedSize);
+        }
+        if (expectedCoordinateCount < 0) {
+            throw new IllegalArgumentException("预计的顶点总数不能为负数：" + expectedCoordinateCount);
+        }
+        allocate(expectedSize, expectedCoordinateCount);
+    }
+
+    /**
+     * 添加一个几何对象，几何集合中嵌套的几何集合会被展开
+     *
+     * @param geometry 几何对象，不允许为null
+     * @return 构造器自身
+     * @throws IllegalArgumentException 若几何类型不受支持，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder add(@NotNull Geometry geometry) throws IllegalArgumentException {
+        geometry = geometry.unwrap();
+        GeometryType type = geometry.getType();
+        beginGeometry(type);
+        switch (type) {
+            case None:
+                break;
+            case Point:
+            case LineString:
+            case LinearRing:
+            case Polygon:
+                if (!geometry.isEmpty()) {
+                    addPart(geometry);
+                }
+                break;
+            default:
+                addParts((GeometryCollection<?>) geometry);
+                break;
+        }
+        return this;
+    }
+
+    /**
+     * 开始一个几何对象
+     *
+     * @param type 几何类型，不允许为null
+     * @return 构造器自身
+     */
+    @NotNull
+    public GeometryBatchBuilder beginGeometry(@NotNull GeometryType type) {
+        if (geometryCount + 1 >= types.length) {
+            int capacity = grow(types.length);
+            types = Arrays.copyOf(types, capacity);
+            geometryOffsets = Arrays.copyOf(geometryOffsets, capacity);
+        }
+        types[geometryCount] = (byte) type.ordinal();
+        geometryOffsets[geometryCount++] = partCount;
+        currentKind = -1;
+        ringOpen = false;
+        return this;
+    }
+
+    /**
+     * 在当前的几何对象中开始一个部件
+     *
+     * @param type 部件的几何类型，只能为点、线串、线环或多边形，不允许为null
+     * @return 构造器自身
+     * @throws IllegalArgumentException 若部件的几何类型不受支持，则抛出此异常
+     * @throws IllegalStateException 若尚未开始几何对象，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder beginPart(@NotNull GeometryType type)
+            throws IllegalArgumentException, IllegalStateException {
+        byte kind;
+        switch (type) {
+            case Point:
+                kind = GeometryBatch.PART_POINT;
+                break;
+            case LineString:
+            case LinearRing:
+                kind = GeometryBatch.PART_LINE;
+                break;
+            case Polygon:
+                kind = GeometryBatch.PART_POLYGON;
+                break;
+            default:
+                throw new IllegalArgumentException("部件只能为点、线串或多边形：" + type);
+        }
+        if (geometryCount == 0) {
+            throw new IllegalStateException("尚未开始几何对象");
+        }
+        if (partCount + 1 >= partKinds.length) {
+            int capacity = grow(partKinds.length);
+            partKinds = Arrays.copyOf(partKinds, capacity);
+            partOffsets = Arrays.copyOf(partOffsets, capacity);
+        }
+        partKinds[partCount] = kind;
+        partOffsets[partCount++] = ringCount;
+        currentKind = kind;
+        ringOpen = false;
+        if (kind != GeometryBatch.PART_POLYGON) {
+            openRing();
+        }
+        return this;
+    }
+
+    /**
+     * 在当前的多边形部件中开始一个线环，第一个线环为外环
+     *
+     * @return 构造器自身
+     * @throws IllegalStateException 若当前的部件不是多边形，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder beginRing() throws IllegalStateException {
+        if (currentKind != GeometryBatch.PART_POLYGON) {
+            throw new IllegalStateException("当前的部件不是多边形");
+        }
+        openRing();
+        return this;
+    }
+
+    /**
+     * 在当前的线环中写入一个坐标
+     *
+     * @param x X坐标值
+     * @param y Y坐标值
+     * @return 构造器自身
+     * @throws IllegalStateException 若尚未开始线环，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder addCoordinate(double x, double y) throws IllegalStateException {
+        ensureVertices(1);
+        xs[vertexCount] = x;
+        ys[vertexCount] = y;
+        if (zs != null) {
+            zs[vertexCount] = Coordinate.NULL_ORDINATE_VALUE;
+        }
+        if (ms != null) {
+            ms[vertexCount] = Coordinate.NULL_ORDINATE_VALUE;
+        }
+        vertexCount++;
+        return this;
+    }
+
+    /**
+     * 在当前的线环中写入一个坐标
+     *
+     * @param x X坐标值
+     * @param y Y坐标值
+     * @param z Z坐标值，若没有Z坐标值，则为NaN
+     * @param m M值，若没有M值，则为NaN
+     * @return 构造器自身
+     * @throws IllegalStateException 若尚未开始线环，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder addCoordinate(double x, double y, double z, double m)
+            throws IllegalStateException {
+        ensureVertices(1);
+        xs[vertexCount] = x;
+        ys[vertexCount] = y;
+        writeZM(vertexCount, z, m);
+        vertexCount++;
+        return this;
+    }
+
+    /**
+     * 在当前的线环中写入交错存储的多个坐标
+     *
+     * @param ordinates 交错存储的坐标值，不允许为null
+     * @param offset 第一个坐标在数组中的位置
+     * @param count 坐标的个数
+     * @param hasZ 坐标是否包含Z坐标值
+     * @param hasM 坐标是否包含M值
+     * @return 构造器自身
+     * @throws IllegalStateException 若尚未开始线环，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder addOrdinates(@NotNull double[] ordinates, int offset, int count,
+                                             boolean hasZ, boolean hasM)
+            throws IllegalStateException {
+        ensureVertices(count);
+        int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        for (int i = 0, j = offset; i < count; i++, j += dimension) {
+            int v = vertexCount + i;
+            xs[v] = ordinates[j];
+            ys[v] = ordinates[j + 1];
+            if (hasZ || hasM || zs != null || ms != null) {
+                writeZM(v,
+                        hasZ ? ordinates[j + 2] : Coordinate.NULL_ORDINATE_VALUE,
+                        hasM ? ordinates[j + (hasZ ? 3 : 2)] : Coordinate.NULL_ORDINATE_VALUE);
+            }
+        }
+        vertexCount += count;
+        return this;
+    }
+
+    /**
+     * 在当前的线环中写入坐标序列中的全部坐标
+     *
+     * @param coordinates 坐标序列，不允许为null
+     * @return 构造器自身
+     * @throws IllegalStateException 若尚未开始线环，则抛出此异常
+     */
+    @NotNull
+    public GeometryBatchBuilder addCoordinates(@NotNull CoordinateSequence coordinates)
+            throws IllegalStateException {
+        int count = coordinates.size();
+        ensureVertices(count);
+        for (int i = 0; i < count; i++) {
+            int v = vertexCount + i;
+            xs[v] = coordinates.getXAt(i);
+            ys[v] = coordinates.getYAt(i);
+            writeZM(v, coordinates.getZAt(i), coordinates.getMAt(i));
+        }
+        vertexCount += count;
+        return this;
+    }
+
+    /**
+     * 获取已添加的几何对象的个数
+     *
+     * @return 几何对象的个数
+     */
+    public int size() {
+        return geometryCount;
+    }
+
+    /**
+     * 构造几何批
+     *
+     * @return 几何批，不会返回null
+     */
+    @NotNull
+    public GeometryBatch build() {
+        geometryOffsets[geometryCount] = partCount;
+        partOffsets[partCount] = ringCount;
+        ringOffsets[ringCount] = vertexCount;
+        GeometryBatch batch = new GeometryBatch(geometryCount,
+                Arrays.copyOf(types, geometryCount),
+                Arrays.copyOf(geometryOffsets, geometryCount + 1),
+                Arrays.copyOf(partKinds, partCount),
+                Arrays.copyOf(partOffsets, partCount + 1),
+                Arrays.copyOf(ringOffsets, ringCount + 1),
+                Arrays.copyOf(xs, vertexCount),
+                Arrays.copyOf(ys, vertexCount),
+                zs == null ? null : Arrays.copyOf(zs, vertexCount),
+                ms == null ? null : Arrays.copyOf(ms, vertexCount));
+        allocate(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+        geometryCount = 0;
+        partCount = 0;
+        ringCount = 0;
+        vertexCount = 0;
+        currentKind = -1;
+        ringOpen = false;
+        return batch;
+    }
+
+    private void addParts(GeometryCollection<?> collection) {
+        for (int i = 0, size = collection.size(); i < size; i++) {
+            Geometry element = collection.getGeometryAt(i);
+            switch (element.getType()) {
+                case None:
+                    break;
+                case Point:
+                case LineString:
+                case LinearRing:
+                case Polygon:
+                    addPart(element);
+                    break;
+                default:
+                    addParts((GeometryCollection<?>) element);
+                    break;
+            }
+        }
+    }
+
+    private void addPart(Geometry part) {
+        GeometryType type = part.getType();
+        beginPart(type);
+        switch (type) {
+            case Point:
+                if (!part.isEmpty()) {
+                    Coordinate coordinate = part.getCoordinate();
+                    addCoordinate(coordinate.getX(), coordinate.getY(),
+                            coordinate.getZ(), coordinate.getM());
+                }
+                break;
+            case LineString:
+            case LinearRing:
+                addCoordinates(((LineString) part).getCoordinateSequence());
+                break;
+            default: {
+                Polygon polygon = (Polygon) part;
+                if (!polygon.isEmpty()) {
+                    beginRing().addCoordinates(polygon.getExteriorRing().getCoordinateSequence());
+                    for (int i = 0, size = polygon.getInteriorRingSize(); i < size; i++) {
+                        beginRing().addCoordinates(polygon.getInteriorRingAt(i).getCoordinateSequence());
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    private void openRing() {
+        if (ringCount + 1 >= ringOffsets.length) {
+            ringOffsets = Arrays.copyOf(ringOffsets, grow(ringOffsets.length));
+        }
+        ringOffsets[ringCount++] = vertexCount;
+        ringOpen = true;
+    }
+
+    private void writeZM(int v, double z, double m) {
+        if (zs == null && !Double.isNaN(z)) {
+            zs = newColumn(xs.length);
+        }
+        if (zs != null) {
+            zs[v] = z;
+        }
+        if (ms == null && !Double.isNaN(m)) {
+            ms = newColumn(xs.length);
+        }
+        if (ms != null) {
+            ms[v] = m;
+        }
+    }
+
+    private void ensureVertices(int n) throws IllegalStateException {
+        if (!ringOpen) {
+            throw new IllegalStateException("尚未开始线环");
+        }
+        if (vertexCount + n > xs.length) {
+            int capacity = Math.max(grow(xs.length), vertexCount + n);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            if (zs != null) {
+                zs = Arrays.copyOf(zs, capacity);
+            }
+            if (ms != null) {
+                ms = Arrays.copyOf(ms, capacity);
+            }
+        }
+    }
+
+    private void allocate(int expectedSize, int expectedCoordinateCount) {
+        types = new byte[expectedSize + 1];
+        geometryOffsets = new int[expectedSize + 1];
+        partKinds = new byte[expectedSize + 1];
+        partOffsets = new int[expectedSize + 1];
+        ringOffsets = new int[expectedSize + 1];
+        xs = new double[expectedCoordinateCount];
+        ys = new double[expectedCoordinateCount];
+        zs = null;
+        ms = null;
+    }
+
+    /**
+     * 创建一个新的Z坐标或M值列，已写入的顶点使用NaN填充
+     */
+    private static double[] newColumn(int capacity) {
+        double[] column = new double[capacity];
+        Arrays.fill(column, Coordinate.NULL_ORDINATE_VALUE);
+        return column;
+    }
+
+    private static int grow(int capacity) {
+        return Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+    }
+
+}
@@ -3,7 +3,9 @@ package gnova.geometry.index;
 import gnova.core.annotation.NotNull;
 import gnova.geometry.model.BoundingBox;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -74,10 +76,71 @@ public interface GeometryIndex<E> {
     /**
      * 根据包围盒查询数据
      *
+     * <p>若访问者返回false，则立即停止访问，剩余的数据不会再被访问。
+     * 访问者抛出的异常会原样抛出给调用者。
+     *
      * @param bbox 包围盒
-     * @param visitor 数据访问者
+     * @param visitor 数据访问者，若返回false，则停止访问
      */
     void query(@NotNull BoundingBox bbox, @NotNull Predicate<E> visitor);
 
+    /**
+     * 根据包围盒查询数据，最多返回limit条数据
+     *
+     * <p>找到足够的数据之后即停止查询。
+     *
+     * @param bbox 包围盒，不允许为null
+     * @param limit 数据的最大数量
+     * @return 数据的集合，不会返回null
+     */
+    @NotNull
+    default List<E> query(@NotNull BoundingBox bbox, int limit) {
+        List<E> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        query(bbox, (Predicate<E>) value -> {
+            result.add(value);
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    /**
+     * 根据包围盒统计数据的数量，不会创建数据的集合
+     *
+     * @param bbox 包围盒，不允许为null
+     * @return 数据的数量
+     */
+    default int count(@NotNull BoundingBox bbox) {
+        int[] count = {0};
+        query(bbox, (Consumer<E>) value -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * 查询距离指定点最近的k条数据
+     *
+     * <p>距离为点到数据包围盒的二维距离，点位于包围盒内部时距离为0。
+     *
+     * @param x X坐标值
+     * @param y Y坐标值
+     * @param k 数据的最大数量
+     * @return 按距离从近到远排列的数据，不会返回null
+     * @throws UnsupportedOperationException 若几何索引不支持最近邻查询，则抛出此异常
+     */
+    @NotNull
+    default List<E> nearest(double x, double y, int k) {
+        throw new UnsupportedOperationException("nearest");
+    }
+
+    /**
+     * 立即完成几何索引的构造
+     *
+     * <p>部分几何索引在插入数据之后，会延迟到下一次查询时才构造其内部结构，这样的构造不是线程安全的。
+     * 在多个线程中同时查询之前调用此方法，可以使构造提前完成。默认实现不做任何事情。
+     */
+    default void build() {
+    }
 
 }
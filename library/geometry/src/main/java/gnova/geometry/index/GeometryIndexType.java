@@ -19,4 +19,14 @@ public enum GeometryIndexType {
      * R树类型
      */
     RTree,
+
+    /**
+     * 紧凑的R树类型，节点按照Hilbert曲线排序后存储在连续的数组中
+     */
+    PackedRTree,
+
+    /**
+     * 支持并发读写的紧凑R树类型，查询不需要加锁
+     */
+    ConcurrentRTree,
 }
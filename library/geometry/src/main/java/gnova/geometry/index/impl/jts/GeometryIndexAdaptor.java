@@ -6,10 +6,20 @@ import gnova.geometry.index.GeometryIndexType;
 import gnova.geometry.index.GeometryIndex;
 import gnova.geometry.model.BoundingBox;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+/**
+ * JTS空间索引的适配器
+ *
+ * <p>对于R树，{@link #query(BoundingBox, Predicate)}直接遍历STRtree的节点，访问者返回false时立即停止；
+ * 对于四叉树，JTS没有公开其子节点，因此无法短路，停止之后只是不再调用访问者，
+ * 查询的代价与完整查询相同。需要短路的场景应使用R树或{@link gnova.geometry.index.impl.packed.PackedRTree}。
+ *
+ * @param <E> 几何索引中存储的数据元素的类型
+ */
 public class GeometryIndexAdaptor<E>
         implements GeometryIndex<E> {
 
@@ -65,16 +75,75 @@ public class GeometryIndexAdaptor<E>
 
     @Override
     public void query(BoundingBox bbox, Predicate<E> visitor) {
-        try {
-            jtsSpatialIndex.query(getJtsEnvelope(bbox), item -> {
-                if (!visitor.test((E) item)) {
-                    // 停止访问
-                    throw new RuntimeException("STOP");
+        org.locationtech.jts.geom.Envelope envelope = getJtsEnvelope(bbox);
+        if (type == GeometryIndexType.RTree) {
+            queryRTree((org.locationtech.jts.index.strtree.STRtree) jtsSpatialIndex, envelope, visitor);
+            return;
+        }
+        // JTS的四叉树没有公开其子节点，ItemVisitor也无法中止遍历，因此四叉树不能短路：
+        // 访问者返回false之后，遍历仍会进行到底，只是不再调用访问者
+        jtsSpatialIndex.query(envelope, new org.locationtech.jts.index.ItemVisitor() {
+
+            private boolean stopped = false;
+
+            @Override
+            public void visitItem(Object item) {
+                if (!stopped && !visitor.test((E) item)) {
+                    stopped = true;
                 }
-            });
-        } catch (RuntimeException ex) {
+            }
+
+        });
+    }
+
+    @Override
+    public void build() {
+        if (type == GeometryIndexType.RTree) {
+            ((org.locationtech.jts.index.strtree.STRtree) jtsSpatialIndex).build();
+        }
+    }
+
+    @Override
+    public int count(BoundingBox bbox) {
+        int[] count = {0};
+        jtsSpatialIndex.query(getJtsEnvelope(bbox), item -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * 遍历R树的节点，访问者返回false时立即停止遍历
+     */
+    private void queryRTree(org.locationtech.jts.index.strtree.STRtree tree,
+                            org.locationtech.jts.geom.Envelope envelope,
+                            Predicate<E> visitor) {
+        // 与STRtree.query相同，首次查询时构建树
+        tree.build();
+        if (tree.isEmpty()) {
             return;
         }
+        org.locationtech.jts.index.strtree.AbstractNode root = tree.getRoot();
+        if (!((org.locationtech.jts.geom.Envelope) root.getBounds()).intersects(envelope)) {
+            return;
+        }
+        ArrayList<org.locationtech.jts.index.strtree.AbstractNode> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            org.locationtech.jts.index.strtree.AbstractNode node = stack.remove(stack.size() - 1);
+            List children = node.getChildBoundables();
+            // 子节点插入到同一位置，使其按照原有顺序出栈，访问顺序与STRtree.query一致
+            for (int i = 0, pushed = stack.size(); i < children.size(); i++) {
+                org.locationtech.jts.index.strtree.Boundable child
+                        = (org.locationtech.jts.index.strtree.Boundable) children.get(i);
+                if (!((org.locationtech.jts.geom.Envelope) child.getBounds()).intersects(envelope)) {
+                    continue;
+                }
+                if (child instanceof org.locationtech.jts.index.strtree.AbstractNode) {
+                    stack.add(pushed, (org.locationtech.jts.index.strtree.AbstractNode) child);
+                } else if (!visitor.test((E) ((org.locationtech.jts.index.strtree.ItemBoundable) child).getItem())) {
+                    return;
+                }
+            }
+        }
     }
 
     private org.locationtech.jts.geom.Envelope getJtsEnvelope(BoundingBox bbox) {
@@ -0,0 +1,412 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.geometry.index.GeometryIndex;
+import gnova.geometry.index.GeometryIndexType;
+import gnova.geometry.model.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 支持并发读写的紧凑R树
+ *
+ * <p>索引由若干个不可变的{@link PackedRTree 紧凑R树}分段与一个只追加的尾部数组组成：
+ * <ul>
+ *     <li>新插入的数据追加到尾部数组中，尾部数组满时被打包为一个新的分段；</li>
+ *     <li>分段的大小按照几何级数递减，相邻分段的大小接近时会被合并，因此分段的数量为O(log n)；</li>
+ *     <li>删除分段中的数据时只记录被删除的位置，被删除的数据过多时重新打包该分段。</li>
+ * </ul>
+ *
+ * <p>所有修改都在写锁中生成一个新的快照，并通过volatile引用发布，已发布的快照不会再被修改。
+ * 查询只读取当前的快照，不需要加锁，也不会被写操作阻塞，查询期间发生的修改对该次查询不可见。
+ * 写操作之间是互斥的。
+ *
+ * @param <E> 几何索引中存储的数据元素的类型
+ * @see PackedRTree
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public class ConcurrentPackedRTree<E>
+        implements GeometryIndex<E> {
+
+    /**
+     * 尾部数组的默认容量
+     */
+    public static final int DEFAULT_TAIL_CAPACITY = 256;
+
+    private final int nodeSize;
+    private final int tailCapacity;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * 当前的快照
+     */
+    private volatile Snapshot snapshot;
+
+    public ConcurrentPackedRTree() {
+        this(PackedRTree.DEFAULT_NODE_SIZE, DEFAULT_TAIL_CAPACITY);
+    }
+
+    /**
+     * 构造一个空的并发紧凑R树
+     *
+     * @param nodeSize 节点的容量，不能小于2
+     * @param tailCapacity 尾部数组的容量，不能小于1
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public ConcurrentPackedRTree(int nodeSize, int tailCapacity) throws IllegalArgumentException {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("节点容量不能小于2：" + nodeSize);
+        }
+        if (tailCapacity < 1) {
+            throw new IllegalArgumentException("尾部缓冲区的容量不能小于1：" + tailCapacity);
+        }
+        this.nodeSize = nodeSize;
+        this.tailCapacity = tailCapacity;
+        this.snapshot = new Snapshot(new Segment[0],
+                new double[tailCapacity << 2], new Object[tailCapacity], 0, 0);
+    }
+
+    @Override
+    public GeometryIndexType getType() {
+        return GeometryIndexType.ConcurrentRTree;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size;
+    }
+
+    @Override
+    public void insert(@NotNull BoundingBox bbox, E value) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Segment[] segments = current.segments;
+            double[] tailBoxes = current.tailBoxes;
+            Object[] tailValues = current.tailValues;
+            int tailSize = current.tailSize;
+            if (tailSize == tailCapacity) {
+                segments = addSegment(segments, new Segment(pack(tailBoxes, tailValues, tailSize)));
+                tailBoxes = new double[tailCapacity << 2];
+                tailValues = new Object[tailCapacity];
+                tailSize = 0;
+            }
+            // 旧的快照只会读取tailSize之前的位置，因此可以直接写入共享的尾部数组
+            int i = tailSize << 2;
+            tailBoxes[i] = bbox.getMinX();
+            tailBoxes[i + 1] = bbox.getMinY();
+            tailBoxes[i + 2] = bbox.getMaxX();
+            tailBoxes[i + 3] = bbox.getMaxY();
+            tailValues[tailSize] = value;
+            snapshot = new Snapshot(segments, tailBoxes, tailValues, tailSize + 1, current.size + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(@NotNull BoundingBox bbox, E value) {
+        double minX = bbox.getMinX(), minY = bbox.getMinY();
+        double maxX = bbox.getMaxX(), maxY = bbox.getMaxY();
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+
+            // 优先在最新的数据中查找
+            for (int i = current.tailSize - 1; i >= 0; i--) {
+                if (matches(current.tailBoxes, i, minX, minY, maxX, maxY)
+                        && Objects.equals(current.tailValues[i], value)) {
+                    // 尾部数组可能正在被读取，因此复制之后再移除
+                    double[] tailBoxes = new double[tailCapacity << 2];
+                    Object[] tailValues = new Object[tailCapacity];
+                    System.arraycopy(current.tailBoxes, 0, tailBoxes, 0, i << 2);
+                    System.arraycopy(current.tailBoxes, (i + 1) << 2, tailBoxes, i << 2,
+                            (current.tailSize - i - 1) << 2);
+                    System.arraycopy(current.tailValues, 0, tailValues, 0, i);
+                    System.arraycopy(current.tailValues, i + 1, tailValues, i, current.tailSize - i - 1);
+                    snapshot = new Snapshot(current.segments, tailBoxes, tailValues,
+                            current.tailSize - 1, current.size - 1);
+                    return true;
+                }
+            }
+
+            Segment[] segments = current.segments;
+            for (int s = segments.length - 1; s >= 0; s--) {
+                Segment segment = segments[s];
+                double[] boxes = segment.tree.itemBoxes();
+                int[] found = {-1};
+                segment.tree.visitItems(minX, minY, maxX, maxY, i -> {
+                    if (matches(boxes, i, minX, minY, maxX, maxY)
+                            && !segment.isDeleted(i)
+                            && Objects.equals(segment.tree.valueAt(i), value)) {
+                        found[0] = i;
+                        return false;
+                    }
+                    return true;
+                });
+                if (found[0] < 0) {
+                    continue;
+                }
+                Segment[] updated = segments.clone();
+                Segment replacement = segment.delete(found[0]);
+                if (replacement.deleted.length << 2 > replacement.tree.size()) {
+                    // 被删除的数据过多，重新打包该分段
+                    replacement = replacement.compact(nodeSize);
+                }
+                if (replacement.liveSize() == 0) {
+                    updated = remove(updated, s);
+                } else {
+                    updated[s] = replacement;
+                }
+                snapshot = new Snapshot(updated, current.tailBoxes, current.tailValues,
+                        current.tailSize, current.size - 1);
+                return true;
+            }
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<E> query(@NotNull BoundingBox bbox) {
+        List<E> result = new ArrayList<>();
+        query(bbox, (Consumer<E>) result::add);
+        return result;
+    }
+
+    @Override
+    public void query(@NotNull BoundingBox bbox, @NotNull Consumer<E> visitor) {
+        query(bbox, (Predicate<E>) value -> {
+            visitor.accept(value);
+            return true;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void query(@NotNull BoundingBox bbox, @NotNull Predicate<E> visitor) {
+        double minX = bbox.getMinX(), minY = bbox.getMinY();
+        double maxX = bbox.getMaxX(), maxY = bbox.getMaxY();
+        Snapshot current = snapshot;
+        for (Segment segment : current.segments) {
+            boolean completed = segment.tree.visitItems(minX, minY, maxX, maxY,
+                    i -> segment.isDeleted(i) || visitor.test((E) segment.tree.valueAt(i)));
+            if (!completed) {
+                return;
+            }
+        }
+        for (int i = 0; i < current.tailSize; i++) {
+            if (PackedRTree.intersects(current.tailBoxes, i, minX, minY, maxX, maxY)
+                    && !visitor.test((E) current.tailValues[i])) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int count(@NotNull BoundingBox bbox) {
+        double minX = bbox.getMinX(), minY = bbox.getMinY();
+        double maxX = bbox.getMaxX(), maxY = bbox.getMaxY();
+        Snapshot current = snapshot;
+        int[] count = {0};
+        for (Segment segment : current.segments) {
+            segment.tree.visitItems(minX, minY, maxX, maxY, i -> {
+                if (!segment.isDeleted(i)) {
+                    count[0]++;
+                }
+                return true;
+            });
+        }
+        for (int i = 0; i < current.tailSize; i++) {
+            if (PackedRTree.intersects(current.tailBoxes, i, minX, minY, maxX, maxY)) {
+                count[0]++;
+            }
+        }
+        return count[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> nearest(double x, double y, int k) {
+        List<E> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        Snapshot current = snapshot;
+        // 每个分段各取k个候选，再与尾部数组中的数据一起按距离排序
+        List<Object> values = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (Segment segment : current.segments) {
+            double[] boxes = segment.tree.itemBoxes();
+            for (int i : segment.tree.nearestItems(x, y, k, Double.POSITIVE_INFINITY,
+                    i -> !segment.isDeleted(i))) {
+                values.add(segment.tree.valueAt(i));
+                distances.add(PackedRTree.distanceSquared(boxes, i, x, y));
+            }
+        }
+        for (int i = 0; i < current.tailSize; i++) {
+            double distance = PackedRTree.distanceSquared(current.tailBoxes, i, x, y);
+            if (!Double.isNaN(distance)) {
+                values.add(current.tailValues[i]);
+                distances.add(distance);
+            }
+        }
+        Integer[] order = new Integer[values.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(distances::get));
+        for (int i = 0; i < order.length && i < k; i++) {
+            result.add((E) values.get(order[i]));
+        }
+        return result;
+    }
+
+    private PackedRTree<Object> pack(double[] boxes, Object[] values, int size) {
+        PackedRTree<Object> tree = new PackedRTree<>(nodeSize,
+                Arrays.copyOf(boxes, size << 2), Arrays.copyOf(values, size), size);
+        tree.pack();
+        return tree;
+    }
+
+    /**
+     * 追加一个分段，并合并大小接近的相邻分段
+     */
+    private Segment[] addSegment(Segment[] segments, Segment segment) {
+        Segment[] result = Arrays.copyOf(segments, segments.length + 1);
+        result[segments.length] = segment;
+        int length = result.length;
+        while (length >= 2 && result[length - 2].liveSize() <= result[length - 1].liveSize() << 1) {
+            result[length - 2] = merge(result[length - 2], result[length - 1]);
+            length--;
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    private Segment merge(Segment first, Segment second) {
+        int size = first.liveSize() + second.liveSize();
+        double[] boxes = new double[size << 2];
+        Object[] values = new Object[size];
+        int n = first.copyLiveItems(boxes, values, 0);
+        second.copyLiveItems(boxes, values, n);
+        PackedRTree<Object> tree = new PackedRTree<>(nodeSize, boxes, values, size);
+        tree.pack();
+        return new Segment(tree);
+    }
+
+    private static Segment[] remove(Segment[] segments, int index) {
+        Segment[] result = new Segment[segments.length - 1];
+        System.arraycopy(segments, 0, result, 0, index);
+        System.arraycopy(segments, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static boolean matches(double[] boxes, int i,
+                                   double minX, double minY, double maxX, double maxY) {
+        int j = i << 2;
+        return boxes[j] == minX && boxes[j + 1] == minY && boxes[j + 2] == maxX && boxes[j + 3] == maxY;
+    }
+
+    /**
+     * 不可变的快照
+     */
+    private static final class Snapshot {
+
+        final Segment[] segments;
+        final double[] tailBoxes;
+        final Object[] tailValues;
+        final int tailSize;
+        final int size;
+
+        Snapshot(Segment[] segments, double[] tailBoxes, Object[] tailValues, int tailSize, int size) {
+            this.segments = segments;
+            this.tailBoxes = tailBoxes;
+            this.tailValues = tailValues;
+            this.tailSize = tailSize;
+            this.size = size;
+        }
+
+    }
+
+    /**
+     * 不可变的分段，由一个已打包的紧凑R树与已删除数据的位置组成
+     */
+    private static final class Segment {
+
+        private static final int[] NO_DELETED = new int[0];
+
+        final PackedRTree<Object> tree;
+
+        /**
+         * 已删除数据的位置，升序排列
+         */
+        final int[] deleted;
+
+        Segment(PackedRTree<Object> tree) {
+            this(tree, NO_DELETED);
+        }
+
+        Segment(PackedRTree<Object> tree, int[] deleted) {
+            this.tree = tree;
+            this.deleted = deleted;
+        }
+
+        int liveSize() {
+            return tree.size() - deleted.length;
+        }
+
+        boolean isDeleted(int i) {
+            return deleted.length != 0 && Arrays.binarySearch(deleted, i) >= 0;
+        }
+
+        Segment delete(int i) {
+            int position = -Arrays.binarySearch(deleted, i) - 1;
+            int[] updated = new int[deleted.length + 1];
+            System.arraycopy(deleted, 0, updated, 0, position);
+            updated[position] = i;
+            System.arraycopy(deleted, position, updated, position + 1, deleted.length - position);
+            return new Segment(tree, updated);
+        }
+
+        Segment compact(int nodeSize) {
+            int size = liveSize();
+            double[] boxes = new double[size << 2];
+            Object[] values = new Object[size];
+            copyLiveItems(boxes, values, 0);
+            PackedRTree<Object> packed = new PackedRTree<>(nodeSize, boxes, values, size);
+            packed.pack();
+            return new Segment(packed);
+        }
+
+        /**
+         * 将未删除的数据复制到数组中
+         *
+         * @return 复制之后的下一个位置
+         */
+        int copyLiveItems(double[] boxes, Object[] values, int offset) {
+            double[] source = tree.itemBoxes();
+            for (int i = 0, n = tree.size(); i < n; i++) {
+                if (isDeleted(i)) {
+                    continue;
+                }
+                System.arraycopy(source, i << 2, boxes, offset << 2, 4);
+                values[offset++] = tree.valueAt(i);
+            }
+            return offset;
+        }
+
+    }
+
+}
@@ -0,0 +1,434 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.core.annotation.Unsupported;
+import gnova.geometry.index.GeometryIndex;
+import gnova.geometry.index.GeometryIndexType;
+import gnova.geometry.model.BoundingBox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 通过内存映射访问的紧凑R树索引文件
+ *
+ * <p>索引文件保存了一棵{@link PackedRTree 紧凑R树}的全部节点，以及每条数据对应的一个long类型的载荷，
+ * 例如数据在{@link gnova.geometry.io.wkb.MappedWkbFile WKB记录文件}中的偏移量。
+ * 文件由{@link #write}写出，由{@link #open}打开，打开时只映射文件而不读取节点，
+ * 查询直接在映射的内存上进行，因此不需要反序列化，也不会占用Java堆。
+ *
+ * <p>文件的格式如下，所有数值均为小端字节序：
+ * <pre>
+ *     文件头，共32字节：魔数"GPRT"、版本号、节点容量、层数、数据的数量、节点的数量，各4字节，以及8字节的保留位
+ *     各层节点的结束位置：每层4字节，补齐至8字节的整数倍
+ *     数据的包围盒：每条数据32字节，按照minX、minY、maxX、maxY的顺序存储
+ *     节点的包围盒：每个节点32字节
+ *     数据的载荷：每条数据8字节
+ * </pre>
+ *
+ * <p>索引是只读的，在文件被关闭之前，所有查询都是线程安全的。
+ *
+ * @see PackedRTree
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public class MappedPackedRTree
+        implements GeometryIndex<Long>, Closeable {
+
+    /**
+     * 文件的魔数，即ASCII编码的"GPRT"
+     */
+    static final int MAGIC = 0x47505254;
+
+    /**
+     * 文件格式的版本号
+     */
+    static final int VERSION = 1;
+
+    /**
+     * 文件头的字节数
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * 每个内存映射块的大小
+     */
+    private static final long CHUNK_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final int nodeSize;
+    private final int size;
+    private final int[] levelBounds;
+    private final MappedSection itemBoxes;
+    private final MappedSection nodeBoxes;
+    private final MappedSection payloads;
+
+    private MappedPackedRTree(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long length = channel.size();
+        if (length < HEADER_SIZE) {
+            throw new IOException("不是紧凑R树文件：文件长度不足");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("不是紧凑R树文件：文件标识不匹配");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("不支持的紧凑R树文件版本：" + header.getInt(4));
+        }
+        this.nodeSize = header.getInt(8);
+        int levelCount = header.getInt(12);
+        this.size = header.getInt(16);
+        int nodeCount = header.getInt(20);
+        if (nodeSize < 2 || levelCount < 0 || size < 0 || nodeCount < 0) {
+            throw new IOException("紧凑R树文件头已损坏");
+        }
+
+        long levelOffset = HEADER_SIZE;
+        long itemOffset = levelOffset + align8((long) levelCount << 2);
+        long nodeOffset = itemOffset + ((long) size << 5);
+        long payloadOffset = nodeOffset + ((long) nodeCount << 5);
+        long end = payloadOffset + ((long) size << 3);
+        if (end != length) {
+            throw new IOException("紧凑R树文件已损坏：应为" + end
+                    + "字节，实际为" + length + "字节");
+        }
+
+        this.levelBounds = new int[levelCount];
+        if (levelCount > 0) {
+            ByteBuffer levels = channel.map(FileChannel.MapMode.READ_ONLY,
+                    levelOffset, (long) levelCount << 2).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < levelCount; i++) {
+                levelBounds[i] = levels.getInt(i << 2);
+            }
+            if (levelBounds[levelCount - 1] != nodeCount) {
+                throw new IOException("紧凑R树文件已损坏：层级边界与节点个数不一致");
+            }
+        }
+        this.itemBoxes = new MappedSection(channel, itemOffset, (long) size << 5);
+        this.nodeBoxes = new MappedSection(channel, nodeOffset, (long) nodeCount << 5);
+        this.payloads = new MappedSection(channel, payloadOffset, (long) size << 3);
+    }
+
+    /**
+     * 打开一个索引文件
+     *
+     * @param path 文件路径，不允许为null
+     * @return 索引，不会返回null
+     * @throws IOException 若文件不存在或格式不合法，则抛出此异常
+     */
+    @NotNull
+    public static MappedPackedRTree open(@NotNull Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedPackedRTree(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 将一棵紧凑R树写出为索引文件
+     *
+     * @param tree 紧凑R树，不允许为null
+     * @param payload 获取数据对应的载荷的函数，不允许为null
+     * @param path 文件路径，不允许为null，若文件已存在，则会被覆盖
+     * @param <E> 紧凑R树中存储的数据元素的类型
+     * @throws IOException 若写出失败，则抛出此异常
+     */
+    public static <E> void write(@NotNull PackedRTree<E> tree,
+                                 @NotNull ToLongFunction<? super E> payload,
+                                 @NotNull Path path) throws IOException {
+        tree.compact();
+        int size = tree.size();
+        int[] levelBounds = tree.levelBounds();
+        double[] items = tree.itemBoxes();
+        double[] nodes = tree.nodeBoxes();
+        int nodeCount = nodes.length >> 2;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(tree.getNodeSize())
+                    .putInt(levelBounds.length).putInt(size).putInt(nodeCount).putLong(0);
+            for (int bound : levelBounds) {
+                buffer = ensureRemaining(channel, buffer, 4).putInt(bound);
+            }
+            if ((levelBounds.length & 1) == 1) {
+                buffer = ensureRemaining(channel, buffer, 4).putInt(0);
+            }
+            for (int i = 0, n = size << 2; i < n; i++) {
+                buffer = ensureRemaining(channel, buffer, 8).putDouble(items[i]);
+            }
+            for (double value : nodes) {
+                buffer = ensureRemaining(channel, buffer, 8).putDouble(value);
+            }
+            for (int i = 0; i < size; i++) {
+                buffer = ensureRemaining(channel, buffer, 8).putLong(payload.applyAsLong(tree.valueAt(i)));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * 获取节点的容量
+     *
+     * @return 节点的容量
+     */
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    @Override
+    public GeometryIndexType getType() {
+        return GeometryIndexType.PackedRTree;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 索引文件是只读的，不支持插入数据，调用此方法会抛出异常
+     *
+     * @throws UnsupportedOperationException 一定会抛出此异常
+     */
+    @Override
+    @Unsupported
+    public void insert(@NotNull BoundingBox bbox, Long value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("内存映射的紧凑R树是只读的");
+    }
+
+    /**
+     * 索引文件是只读的，不支持删除数据，调用此方法会抛出异常
+     *
+     * @throws UnsupportedOperationException 一定会抛出此异常
+     */
+    @Override
+    @Unsupported
+    public boolean delete(@NotNull BoundingBox bbox, Long value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("内存映射的紧凑R树是只读的");
+    }
+
+    @Override
+    public Collection<Long> query(@NotNull BoundingBox bbox) {
+        List<Long> result = new ArrayList<>();
+        queryIds(bbox, result::add);
+        return result;
+    }
+
+    @Override
+    public void query(@NotNull BoundingBox bbox, @NotNull Consumer<Long> visitor) {
+        queryIds(bbox, payload -> {
+            visitor.accept(payload);
+            return true;
+        });
+    }
+
+    @Override
+    public void query(@NotNull BoundingBox bbox, @NotNull Predicate<Long> visitor) {
+        queryIds(bbox, visitor::test);
+    }
+
+    /**
+     * 根据包围盒查询数据的载荷，不会创建包装对象
+     *
+     * <p>此方法与{@link #query(BoundingBox, Predicate)}的名称不同，因此lambda表达式不会产生重载的歧义。
+     *
+     * @param bbox 包围盒，不允许为null
+     * @param visitor 载荷的访问者，若返回false，则停止访问
+     */
+    public void queryIds(@NotNull BoundingBox bbox, @NotNull LongPredicate visitor) {
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(),
+                i -> visitor.test(payloads.getLong(i)));
+    }
+
+    @Override
+    public int count(@NotNull BoundingBox bbox) {
+        int[] count = {0};
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), i -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    @Override
+    public List<Long> nearest(double x, double y, int k) {
+        List<Long> result = new ArrayList<>();
+        if (size == 0 || k <= 0) {
+            return result;
+        }
+        PackedRTree.DistanceQueue queue = new PackedRTree.DistanceQueue();
+        // 队列中的编号：数据为(i << 1) | 1，节点为(j << 1)
+        queue.push((levelBounds[levelBounds.length - 1] - 1) << 1, 0);
+        while (!queue.isEmpty()) {
+            int id = queue.pop();
+            if ((id & 1) == 1) {
+                result.add(payloads.getLong(id >>> 1));
+                if (result.size() == k) {
+                    break;
+                }
+                continue;
+            }
+            int node = id >>> 1;
+            int level = levelOf(node);
+            int first = (node - levelStart(level)) * nodeSize;
+            if (level == 0) {
+                int end = Math.min(first + nodeSize, size);
+                for (int i = first; i < end; i++) {
+                    double d = itemBoxes.distanceSquared(i, x, y);
+                    if (!Double.isNaN(d)) {
+                        queue.push((i << 1) | 1, d);
+                    }
+                }
+            } else {
+                int begin = levelStart(level - 1) + first;
+                int end = Math.min(begin + nodeSize, levelBounds[level - 1]);
+                for (int j = begin; j < end; j++) {
+                    double d = nodeBoxes.distanceSquared(j, x, y);
+                    if (!Double.isNaN(d)) {
+                        queue.push(j << 1, d);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 访问包围盒与查询范围相交的数据，遍历方式与{@link PackedRTree}相同
+     */
+    private boolean visitItems(double minX, double minY, double maxX, double maxY, IntPredicate action) {
+        if (size == 0) {
+            return true;
+        }
+        int[] stack = new int[levelBounds.length * nodeSize + 1];
+        int top = 0;
+        stack[top++] = levelBounds[levelBounds.length - 1] - 1;
+        while (top > 0) {
+            int node = stack[--top];
+            int level = levelOf(node);
+            int first = (node - levelStart(level)) * nodeSize;
+            if (level == 0) {
+                int end = Math.min(first + nodeSize, size);
+                for (int i = first; i < end; i++) {
+                    if (itemBoxes.intersects(i, minX, minY, maxX, maxY) && !action.test(i)) {
+                        return false;
+                    }
+                }
+            } else {
+                int begin = levelStart(level - 1) + first;
+                int end = Math.min(begin + nodeSize, levelBounds[level - 1]);
+                for (int j = end - 1; j >= begin; j--) {
+                    if (nodeBoxes.intersects(j, minX, minY, maxX, maxY)) {
+                        stack[top++] = j;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private int levelOf(int node) {
+        int level = 0;
+        while (node >= levelBounds[level]) {
+            level++;
+        }
+        return level;
+    }
+
+    private int levelStart(int level) {
+        return level == 0 ? 0 : levelBounds[level - 1];
+    }
+
+    private static long align8(long n) {
+        return (n + 7) & ~7L;
+    }
+
+    private static ByteBuffer ensureRemaining(FileChannel channel, ByteBuffer buffer, int n)
+            throws IOException {
+        if (buffer.remaining() < n) {
+            flush(channel, buffer);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 文件中一段连续的8字节数值，按块映射，因此可以超过2GB
+     */
+    private static final class MappedSection {
+
+        private final ByteBuffer[] chunks;
+
+        MappedSection(FileChannel channel, long offset, long length) throws IOException {
+            this.chunks = new ByteBuffer[(int) ((length + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = i * CHUNK_SIZE;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + position,
+                        Math.min(CHUNK_SIZE, length - position)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        double getDouble(long index) {
+            long position = index << 3;
+            return chunks[(int) (position / CHUNK_SIZE)].getDouble((int) (position % CHUNK_SIZE));
+        }
+
+        long getLong(long index) {
+            long position = index << 3;
+            return chunks[(int) (position / CHUNK_SIZE)].getLong((int) (position % CHUNK_SIZE));
+        }
+
+        boolean intersects(int i, double minX, double minY, double maxX, double maxY) {
+            long j = (long) i << 2;
+            return getDouble(j) <= maxX && getDouble(j + 1) <= maxY
+                    && getDouble(j + 2) >= minX && getDouble(j + 3) >= minY;
+        }
+
+        double distanceSquared(int i, double x, double y) {
+            long j = (long) i << 2;
+            double minX = getDouble(j), minY = getDouble(j + 1);
+            double maxX = getDouble(j + 2), maxY = getDouble(j + 3);
+            if (!(minX <= maxX && minY <= maxY)) {
+                return Double.NaN;
+            }
+            double dx = x < minX ? minX - x : (x > maxX ? x - maxX : 0);
+            double dy = y < minY ? minY - y : (y > maxY ? y - maxY : 0);
+            return dx * dx + dy * dy;
+        }
+
+    }
+
+}
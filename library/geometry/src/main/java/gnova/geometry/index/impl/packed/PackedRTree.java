@@ -0,0 +1,728 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.index.GeometryIndex;
+import gnova.geometry.index.GeometryIndexType;
+import gnova.geometry.model.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 紧凑的R树
+ *
+ * <p>数据按照其包围盒中心点的Hilbert值排序后，自底向上地逐层打包，每个节点最多包含{@link #getNodeSize()}个子节点。
+ * 数据的包围盒与各层节点的包围盒分别存储在连续的double数组中，节点之间的关系由其在数组中的位置计算得出，
+ * 因此不会为每个节点创建对象，每条数据只占用4个double与一个引用。
+ *
+ * <p>插入只会修改数据数组，并在下一次查询时重新打包整棵树，因此适用于批量构建、大量查询的场景。
+ * 批量构建时应使用{@link PackedRTreeBuilder}。
+ * 删除不会重新打包：被删除的数据会被标记为墓碑，其包围盒被置为空，并沿路径收缩所在叶节点及其祖先节点的包围盒。
+ * 墓碑在下一次重新打包时被清除，当墓碑的数量超过数据位置的一半时，下一次查询会重新打包。
+ *
+ * <p>此类不是线程安全的。在树被打包之后（例如由{@link PackedRTreeBuilder#build()}构建，或调用了{@link #build()}），
+ * 若不再修改，则可以在多个线程中同时查询。
+ *
+ * @param <E> 几何索引中存储的数据元素的类型
+ * @see PackedRTreeBuilder
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class PackedRTree<E>
+        implements GeometryIndex<E> {
+
+    /**
+     * 节点的默认容量
+     */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private static final double[] EMPTY_BOXES = new double[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    /**
+     * 被删除的数据的标记
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * Hilbert曲线在每个维度上的最大值
+     */
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+
+    private final int nodeSize;
+
+    /**
+     * 数据位置的数量，包括被标记为墓碑的位置
+     */
+    private int size;
+
+    /**
+     * 被标记为墓碑的位置的数量
+     */
+    private int deleted;
+
+    /**
+     * 数据的包围盒，按照minX、minY、maxX、maxY的顺序存储，打包之后按照Hilbert值排序
+     */
+    private double[] itemBoxes;
+
+    /**
+     * 数据，与itemBoxes一一对应
+     */
+    private Object[] values;
+
+    /**
+     * 各层节点的包围盒，由底层至根节点依次存储，根节点位于最后
+     */
+    private double[] nodeBoxes;
+
+    /**
+     * 各层节点在nodeBoxes中的结束位置（以节点为单位）
+     */
+    private int[] levelBounds;
+
+    /**
+     * 树是否已打包
+     */
+    private boolean packed;
+
+    public PackedRTree() {
+        this(DEFAULT_NODE_SIZE);
+    }
+
+    /**
+     * 构造一个空的紧凑R树
+     *
+     * @param nodeSize 节点的容量，不能小于2
+     * @throws IllegalArgumentException 若节点的容量不合法，则抛出此异常
+     */
+    public PackedRTree(int nodeSize) throws IllegalArgumentException {
+        this(nodeSize, EMPTY_BOXES, EMPTY_VALUES, 0);
+    }
+
+    /**
+     * 使用已收集的数据构造一个紧凑R树，数组不会被复制
+     *
+     * @param nodeSize 节点的容量，不能小于2
+     * @param itemBoxes 数据的包围盒
+     * @param values 数据
+     * @param size 数据的数量
+     */
+    PackedRTree(int nodeSize, double[] itemBoxes, Object[] values, int size)
+            throws IllegalArgumentException {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("节点容量不能小于2：" + nodeSize);
+        }
+        this.nodeSize = nodeSize;
+        this.itemBoxes = itemBoxes;
+        this.values = values;
+        this.size = size;
+        this.nodeBoxes = EMPTY_BOXES;
+        this.levelBounds = EMPTY_INTS;
+        this.packed = size == 0;
+    }
+
+    /**
+     * 获取节点的容量
+     *
+     * @return 节点的容量
+     */
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    @Override
+    public GeometryIndexType getType() {
+        return GeometryIndexType.PackedRTree;
+    }
+
+    @Override
+    public int size() {
+        return size - deleted;
+    }
+
+    @Override
+    public void insert(@NotNull BoundingBox bbox, E value) {
+        if (size == values.length) {
+            int capacity = Math.max(DEFAULT_NODE_SIZE, size + (size >> 1));
+            itemBoxes = Arrays.copyOf(itemBoxes, capacity << 2);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int i = size << 2;
+        itemBoxes[i] = bbox.getMinX();
+        itemBoxes[i + 1] = bbox.getMinY();
+        itemBoxes[i + 2] = bbox.getMaxX();
+        itemBoxes[i + 3] = bbox.getMaxY();
+        values[size++] = value;
+        packed = false;
+    }
+
+    @Override
+    public boolean delete(@NotNull BoundingBox bbox, E value) {
+        double minX = bbox.getMinX(), minY = bbox.getMinY();
+        double maxX = bbox.getMaxX(), maxY = bbox.getMaxY();
+        int[] found = {-1};
+        visitItems(minX, minY, maxX, maxY, i -> {
+            int j = i << 2;
+            if (itemBoxes[j] == minX && itemBoxes[j + 1] == minY
+                    && itemBoxes[j + 2] == maxX && itemBoxes[j + 3] == maxY
+                    && Objects.equals(values[i], value)) {
+                found[0] = i;
+                return false;
+            }
+            return true;
+        });
+        if (found[0] < 0) {
+            return false;
+        }
+        // visitItems已打包整棵树，将该位置标记为墓碑，并收缩路径上的节点
+        int i = found[0];
+        Arrays.fill(itemBoxes, i << 2, (i << 2) + 4, Double.NaN);
+        values[i] = TOMBSTONE;
+        deleted++;
+        if (deleted << 1 > size) {
+            packed = false;
+        } else {
+            shrink(i / nodeSize);
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<E> query(@NotNull BoundingBox bbox) {
+        List<E> result = new ArrayList<>();
+        query(bbox, (Consumer<E>) result::add);
+        return result;
+    }
+
+    @Override
+    public void query(@NotNull BoundingBox bbox, @NotNull Consumer<E> visitor) {
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), i -> {
+            visitor.accept(valueAt(i));
+            return true;
+        });
+    }
+
+    @Override
+    public void query(@NotNull BoundingBox bbox, @NotNull Predicate<E> visitor) {
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(),
+                i -> visitor.test(valueAt(i)));
+    }
+
+    @Override
+    public List<E> query(@NotNull BoundingBox bbox, int limit) {
+        List<E> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), i -> {
+            result.add(valueAt(i));
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    @Override
+    public int count(@NotNull BoundingBox bbox) {
+        int[] count = {0};
+        visitItems(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), i -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    @Override
+    public List<E> nearest(double x, double y, int k) {
+        return nearest(x, y, k, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 若树尚未打包，则立即打包
+     */
+    @Override
+    public void build() {
+        pack();
+    }
+
+    /**
+     * 查询距离指定点最近的k条数据
+     *
+     * <p>距离为点到数据包围盒的二维距离，点位于包围盒内部时距离为0。
+     * 查询按照距离由近到远的顺序访问节点，找到k条数据后即停止。
+     *
+     * @param x X坐标值
+     * @param y Y坐标值
+     * @param k 数据的最大数量
+     * @param maxDistance 最大距离，距离大于此值的数据将被忽略
+     * @return 按距离从近到远排列的数据，不会返回null
+     */
+    @NotNull
+    public List<E> nearest(double x, double y, int k, double maxDistance) {
+        int[] items = nearestItems(x, y, k, maxDistance * maxDistance, null);
+        List<E> result = new ArrayList<>(items.length);
+        for (int i : items) {
+            result.add(valueAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * 查询距离指定点最近的k条数据的位置
+     *
+     * @param x X坐标值
+     * @param y Y坐标值
+     * @param k 数据的最大数量
+     * @param maxDistanceSquared 最大距离的平方
+     * @param filter 数据的过滤器，参数为数据的位置，若返回false，则跳过该数据，可以为null
+     * @return 按距离从近到远排列的数据的位置，不会返回null
+     */
+    int[] nearestItems(double x, double y, int k, double maxDistanceSquared, IntPredicate filter) {
+        pack();
+        if (size == 0 || k <= 0) {
+            return EMPTY_INTS;
+        }
+        int[] result = new int[Math.min(k, size - deleted)];
+        int count = 0;
+        DistanceQueue queue = new DistanceQueue();
+        // 队列中的编号：数据为(i << 1) | 1，节点为(j << 1)
+        int root = (nodeBoxes.length >> 2) - 1;
+        queue.push(root << 1, 0);
+        while (!queue.isEmpty() && count < result.length) {
+            if (queue.peekDistance() > maxDistanceSquared) {
+                break;
+            }
+            int id = queue.pop();
+            if ((id & 1) == 1) {
+                result[count++] = id >>> 1;
+                continue;
+            }
+            int node = id >>> 1;
+            int level = levelOf(node);
+            int first = (node - levelStart(level)) * nodeSize;
+            if (level == 0) {
+                int end = Math.min(first + nodeSize, size);
+                for (int i = first; i < end; i++) {
+                    double d = distanceSquared(itemBoxes, i, x, y);
+                    if (d <= maxDistanceSquared && (filter == null || filter.test(i))) {
+                        queue.push((i << 1) | 1, d);
+                    }
+                }
+            } else {
+                int begin = levelStart(level - 1) + first;
+                int end = Math.min(begin + nodeSize, levelBounds[level - 1]);
+                for (int j = begin; j < end; j++) {
+                    double d = distanceSquared(nodeBoxes, j, x, y);
+                    if (d <= maxDistanceSquared) {
+                        queue.push(j << 1, d);
+                    }
+                }
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 访问包围盒与查询范围相交的数据
+     *
+     * @param minX 查询范围的最小X坐标值
+     * @param minY 查询范围的最小Y坐标值
+     * @param maxX 查询范围的最大X坐标值
+     * @param maxY 查询范围的最大Y坐标值
+     * @param action 数据访问者，参数为数据的位置，若返回false，则停止访问
+     * @return 若访问了全部相交的数据，则返回true，若访问被中止，则返回false
+     */
+    boolean visitItems(double minX, double minY, double maxX, double maxY, IntPredicate action) {
+        pack();
+        if (size == 0) {
+            return true;
+        }
+        int[] stack = new int[levelBounds.length * nodeSize + 1];
+        int top = 0;
+        stack[top++] = (nodeBoxes.length >> 2) - 1;
+        while (top > 0) {
+            int node = stack[--top];
+            int level = levelOf(node);
+            int first = (node - levelStart(level)) * nodeSize;
+            if (level == 0) {
+                int end = Math.min(first + nodeSize, size);
+                for (int i = first; i < end; i++) {
+                    if (intersects(itemBoxes, i, minX, minY, maxX, maxY) && !action.test(i)) {
+                        return false;
+                    }
+                }
+            } else {
+                // 逆序入栈，使子节点按照Hilbert顺序出栈
+                int begin = levelStart(level - 1) + first;
+                int end = Math.min(begin + nodeSize, levelBounds[level - 1]);
+                for (int j = end - 1; j >= begin; j--) {
+                    if (intersects(nodeBoxes, j, minX, minY, maxX, maxY)) {
+                        stack[top++] = j;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    E valueAt(int i) {
+        return (E) values[i];
+    }
+
+    /**
+     * 获取各层节点的包围盒数组，数组不会被复制，调用者不允许修改
+     *
+     * @return 按照minX、minY、maxX、maxY的顺序存储的包围盒
+     */
+    double[] nodeBoxes() {
+        return nodeBoxes;
+    }
+
+    /**
+     * 获取各层节点的结束位置，数组不会被复制，调用者不允许修改
+     *
+     * @return 各层节点的结束位置
+     */
+    int[] levelBounds() {
+        return levelBounds;
+    }
+
+    /**
+     * 获取数据的包围盒数组，数组不会被复制，调用者不允许修改
+     *
+     * @return 按照minX、minY、maxX、maxY的顺序存储的包围盒
+     */
+    double[] itemBoxes() {
+        return itemBoxes;
+    }
+
+    /**
+     * 打包整棵树，并清除所有的墓碑，使数据位置的数量与数据的数量相等
+     */
+    void compact() {
+        if (deleted > 0) {
+            packed = false;
+        }
+        pack();
+    }
+
+    /**
+     * 若树尚未打包，则清除墓碑，按照Hilbert值对数据排序并逐层构建节点
+     */
+    void pack() {
+        if (packed) {
+            return;
+        }
+        if (deleted > 0) {
+            removeTombstones();
+        }
+        if (size == 0) {
+            itemBoxes = EMPTY_BOXES;
+            values = EMPTY_VALUES;
+            nodeBoxes = EMPTY_BOXES;
+            levelBounds = EMPTY_INTS;
+            packed = true;
+            return;
+        }
+        sortByHilbert();
+
+        int levelCount = 0;
+        int nodeCount = 0;
+        int count = size;
+        do {
+            count = (count + nodeSize - 1) / nodeSize;
+            nodeCount += count;
+            levelCount++;
+        } while (count > 1);
+
+        nodeBoxes = new double[nodeCount << 2];
+        levelBounds = new int[levelCount];
+        int position = 0;
+        double[] source = itemBoxes;
+        int sourceStart = 0;
+        int sourceEnd = size;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = sourceStart; i < sourceEnd; i += nodeSize) {
+                union(source, i, Math.min(i + nodeSize, sourceEnd), position++);
+            }
+            levelBounds[level] = position;
+            source = nodeBoxes;
+            sourceStart = level == 0 ? 0 : levelBounds[level - 1];
+            sourceEnd = position;
+        }
+        packed = true;
+    }
+
+    /**
+     * 计算source中[start, end)范围内包围盒的并集，写入nodeBoxes的指定位置
+     *
+     * @return 若该位置的包围盒发生了变化，则返回true
+     */
+    private boolean union(double[] source, int start, int end, int position) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int j = start << 2, last = end << 2; j < last; j += 4) {
+            // 空包围盒的坐标值为NaN，比较时会被忽略
+            if (source[j] < minX) minX = source[j];
+            if (source[j + 1] < minY) minY = source[j + 1];
+            if (source[j + 2] > maxX) maxX = source[j + 2];
+            if (source[j + 3] > maxY) maxY = source[j + 3];
+        }
+        int p = position << 2;
+        boolean changed = nodeBoxes[p] != minX || nodeBoxes[p + 1] != minY
+                || nodeBoxes[p + 2] != maxX || nodeBoxes[p + 3] != maxY;
+        nodeBoxes[p] = minX;
+        nodeBoxes[p + 1] = minY;
+        nodeBoxes[p + 2] = maxX;
+        nodeBoxes[p + 3] = maxY;
+        return changed;
+    }
+
+    /**
+     * 自指定的叶节点开始，逐层向上重新计算节点的包围盒，直到包围盒不再变化
+     *
+     * @param node 叶节点在nodeBoxes中的位置
+     */
+    private void shrink(int node) {
+        int start = node * nodeSize;
+        if (!union(itemBoxes, start, Math.min(start + nodeSize, size), node)) {
+            return;
+        }
+        for (int level = 1; level < levelBounds.length; level++) {
+            int childStart = levelStart(level - 1);
+            int parent = levelStart(level) + (node - childStart) / nodeSize;
+            int first = childStart + (parent - levelStart(level)) * nodeSize;
+            if (!union(nodeBoxes, first, Math.min(first + nodeSize, levelBounds[level - 1]), parent)) {
+                return;
+            }
+            node = parent;
+        }
+    }
+
+    /**
+     * 清除被标记为墓碑的位置，剩余的数据保持原有的顺序
+     */
+    private void removeTombstones() {
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i] == TOMBSTONE) {
+                continue;
+            }
+            if (live != i) {
+                System.arraycopy(itemBoxes, i << 2, itemBoxes, live << 2, 4);
+                values[live] = values[i];
+            }
+            live++;
+        }
+        Arrays.fill(values, live, size, null);
+        size = live;
+        deleted = 0;
+    }
+
+    /**
+     * 按照包围盒中心点的Hilbert值对数据排序，同时去除数组中多余的容量
+     */
+    private void sortByHilbert() {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0, last = size << 2; i < last; i += 4) {
+            if (itemBoxes[i] < minX) minX = itemBoxes[i];
+            if (itemBoxes[i + 1] < minY) minY = itemBoxes[i + 1];
+            if (itemBoxes[i + 2] > maxX) maxX = itemBoxes[i + 2];
+            if (itemBoxes[i + 3] > maxY) maxY = itemBoxes[i + 3];
+        }
+        double scaleX = maxX > minX ? HILBERT_MAX / (maxX - minX) : 0;
+        double scaleY = maxY > minY ? HILBERT_MAX / (maxY - minY) : 0;
+
+        // 高32位为Hilbert值，低32位为数据的原始位置，排序时不会创建对象
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            int j = i << 2;
+            double centerX = (itemBoxes[j] + itemBoxes[j + 2]) / 2;
+            double centerY = (itemBoxes[j + 1] + itemBoxes[j + 3]) / 2;
+            int hx = clampHilbert(scaleX * (centerX - minX));
+            int hy = clampHilbert(scaleY * (centerY - minY));
+            keys[i] = ((hilbert(hx, hy) & 0xFFFFFFFFL) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        double[] sortedBoxes = new double[size << 2];
+        Object[] sortedValues = new Object[size];
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            System.arraycopy(itemBoxes, from << 2, sortedBoxes, i << 2, 4);
+            sortedValues[i] = values[from];
+        }
+        itemBoxes = sortedBoxes;
+        values = sortedValues;
+    }
+
+    /**
+     * 获取节点所在的层，0为最底层
+     */
+    private int levelOf(int node) {
+        int level = 0;
+        while (node >= levelBounds[level]) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * 获取一层节点在nodeBoxes中的起始位置
+     */
+    private int levelStart(int level) {
+        return level == 0 ? 0 : levelBounds[level - 1];
+    }
+
+    static boolean intersects(double[] boxes, int i,
+                                      double minX, double minY, double maxX, double maxY) {
+        int j = i << 2;
+        // 任何一个坐标值为NaN时都不相交
+        return boxes[j] <= maxX && boxes[j + 1] <= maxY && boxes[j + 2] >= minX && boxes[j + 3] >= minY;
+    }
+
+    /**
+     * 计算点到包围盒的距离的平方，若包围盒为空，则返回NaN
+     */
+    static double distanceSquared(double[] boxes, int i, double x, double y) {
+        int j = i << 2;
+        if (!(boxes[j] <= boxes[j + 2] && boxes[j + 1] <= boxes[j + 3])) {
+            return Double.NaN;
+        }
+        double dx = x < boxes[j] ? boxes[j] - x : (x > boxes[j + 2] ? x - boxes[j + 2] : 0);
+        double dy = y < boxes[j + 1] ? boxes[j + 1] - y : (y > boxes[j + 3] ? y - boxes[j + 3] : 0);
+        return dx * dx + dy * dy;
+    }
+
+    private static int clampHilbert(double value) {
+        if (!(value > 0)) {
+            return 0;
+        }
+        return value >= HILBERT_MAX ? HILBERT_MAX : (int) value;
+    }
+
+    /**
+     * 计算16位坐标在Hilbert曲线上的位置
+     *
+     * @param x X坐标，介于0到65535之间
+     * @param y Y坐标，介于0到65535之间
+     * @return Hilbert值，应被视为无符号整数
+     */
+    static int hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int A = a | (b >> 1);
+        int B = (a >> 1) ^ a;
+        int C = ((c >> 1) ^ (b & (d >> 1))) ^ c;
+        int D = ((a & (c >> 1)) ^ (d >> 1)) ^ d;
+
+        a = A; b = B; c = C; d = D;
+        A = (a & (a >> 2)) ^ (b & (b >> 2));
+        B = (a & (b >> 2)) ^ (b & ((a ^ b) >> 2));
+        C ^= (a & (c >> 2)) ^ (b & (d >> 2));
+        D ^= (b & (c >> 2)) ^ ((a ^ b) & (d >> 2));
+
+        a = A; b = B; c = C; d = D;
+        A = (a & (a >> 4)) ^ (b & (b >> 4));
+        B = (a & (b >> 4)) ^ (b & ((a ^ b) >> 4));
+        C ^= (a & (c >> 4)) ^ (b & (d >> 4));
+        D ^= (b & (c >> 4)) ^ ((a ^ b) & (d >> 4));
+
+        a = A; b = B; c = C; d = D;
+        C ^= (a & (c >> 8)) ^ (b & (d >> 8));
+        D ^= (b & (c >> 8)) ^ ((a ^ b) & (d >> 8));
+
+        a = C ^ (C >> 1);
+        b = D ^ (D >> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+
+        i0 = (i0 | (i0 << 8)) & 0x00FF00FF;
+        i0 = (i0 | (i0 << 4)) & 0x0F0F0F0F;
+        i0 = (i0 | (i0 << 2)) & 0x33333333;
+        i0 = (i0 | (i0 << 1)) & 0x55555555;
+
+        i1 = (i1 | (i1 << 8)) & 0x00FF00FF;
+        i1 = (i1 | (i1 << 4)) & 0x0F0F0F0F;
+        i1 = (i1 | (i1 << 2)) & 0x33333333;
+        i1 = (i1 | (i1 << 1)) & 0x55555555;
+
+        return (i1 << 1) | i0;
+    }
+
+    /**
+     * 按距离排序的最小堆，元素为节点或数据的编号
+     */
+    static final class DistanceQueue {
+
+        private int[] ids = new int[64];
+        private double[] distances = new double[64];
+        private int length = 0;
+
+        boolean isEmpty() {
+            return length == 0;
+        }
+
+        void push(int id, double distance) {
+            if (length == ids.length) {
+                ids = Arrays.copyOf(ids, length << 1);
+                distances = Arrays.copyOf(distances, length << 1);
+            }
+            int pos = length++;
+            while (pos > 0) {
+                int parent = (pos - 1) >> 1;
+                if (distances[parent] <= distance) {
+                    break;
+                }
+                ids[pos] = ids[parent];
+                distances[pos] = distances[parent];
+                pos = parent;
+            }
+            ids[pos] = id;
+            distances[pos] = distance;
+        }
+
+        double peekDistance() {
+            return distances[0];
+        }
+
+        int pop() {
+            int top = ids[0];
+            int id = ids[--length];
+            double distance = distances[length];
+            int pos = 0;
+            int half = length >> 1;
+            while (pos < half) {
+                int child = (pos << 1) + 1;
+                int right = child + 1;
+                if (right < length && distances[right] < distances[child]) {
+                    child = right;
+                }
+                if (distances[child] >= distance) {
+                    break;
+                }
+                ids[pos] = ids[child];
+                distances[pos] = distances[child];
+                pos = child;
+            }
+            ids[pos] = id;
+            distances[pos] = distance;
+            return top;
+        }
+
+    }
+
+}
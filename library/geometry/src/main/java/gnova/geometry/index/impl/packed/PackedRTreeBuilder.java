@@ -0,0 +1,130 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.index.GeometryIndexBuilder;
+import gnova.geometry.model.BoundingBox;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 紧凑R树的批量构造器
+ *
+ * <p>构造器将数据的包围盒直接收集到double数组中，{@link #build()}时一次性排序并打包，
+ * 不会为每条数据创建中间对象。构造之后，构造器可以继续使用，但已添加的数据会被清空。
+ *
+ * <p>此类不是线程安全的。
+ *
+ * @param <E> 几何索引中存储的数据元素的类型
+ * @see PackedRTree
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class PackedRTreeBuilder<E>
+        implements GeometryIndexBuilder<E> {
+
+    private final int nodeSize;
+    private double[] itemBoxes;
+    private Object[] values;
+    private int size = 0;
+
+    public PackedRTreeBuilder() {
+        this(PackedRTree.DEFAULT_NODE_SIZE, 0);
+    }
+
+    /**
+     * 构造一个紧凑R树的构造器
+     *
+     * @param nodeSize 节点的容量，不能小于2
+     * @param expectedSize 预计的数据数量，用于预先分配数组
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public PackedRTreeBuilder(int nodeSize, int expectedSize) throws IllegalArgumentException {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("节点容量不能小于2：" + nodeSize);
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("预计的数据个数不能为负数：" + expectedSize);
+        }
+        this.nodeSize = nodeSize;
+        this.itemBoxes = new double[expectedSize << 2];
+        this.values = new Object[expectedSize];
+    }
+
+    /**
+     * 添加一条数据
+     *
+     * @param bbox 包围盒，不允许为null
+     * @param value 数据
+     * @return 构造器自身
+     */
+    @NotNull
+    public PackedRTreeBuilder<E> add(@NotNull BoundingBox bbox, E value) {
+        return add(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), value);
+    }
+
+    /**
+     * 添加一条数据
+     *
+     * @param minX 最小X坐标值
+     * @param minY 最小Y坐标值
+     * @param maxX 最大X坐标值
+     * @param maxY 最大Y坐标值
+     * @param value 数据
+     * @return 构造器自身
+     */
+    @NotNull
+    public PackedRTreeBuilder<E> add(double minX, double minY, double maxX, double maxY, E value) {
+        if (size == values.length) {
+            int capacity = Math.max(PackedRTree.DEFAULT_NODE_SIZE, size + (size >> 1));
+            itemBoxes = Arrays.copyOf(itemBoxes, capacity << 2);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int i = size << 2;
+        itemBoxes[i] = minX;
+        itemBoxes[i + 1] = minY;
+        itemBoxes[i + 2] = maxX;
+        itemBoxes[i + 3] = maxY;
+        values[size++] = value;
+        return this;
+    }
+
+    /**
+     * 添加多条数据
+     *
+     * @param entries 包围盒与数据组成的键值对，不允许为null
+     * @return 构造器自身
+     */
+    @NotNull
+    public PackedRTreeBuilder<E> addAll(@NotNull Iterable<? extends Map.Entry<BoundingBox, ? extends E>> entries) {
+        for (Map.Entry<BoundingBox, ? extends E> entry : entries) {
+            add(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * 获取已添加的数据的数量
+     *
+     * @return 数据的数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 构造一个已打包的紧凑R树
+     *
+     * @return 紧凑R树，不会返回null
+     */
+    @Override
+    public PackedRTree<E> build() {
+        PackedRTree<E> tree = new PackedRTree<>(nodeSize, itemBoxes, values, size);
+        tree.pack();
+        itemBoxes = new double[0];
+        values = new Object[0];
+        size = 0;
+        return tree;
+    }
+
+}
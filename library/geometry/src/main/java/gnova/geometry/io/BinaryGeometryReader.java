@@ -5,8 +5,12 @@ import gnova.core.annotation.Unsupported;
 import gnova.geometry.model.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
 
 /**
  * 二进制几何对象输入接口
@@ -40,6 +44,64 @@ public interface BinaryGeometryReader
         return read(new ByteArrayInputStream(binaries));
     }
 
+    /**
+     * 从字节缓冲区中读取一个几何对象
+     *
+     * <p>读取从缓冲区的当前位置开始，读取完成后，缓冲区的位置将被移动到已读取的数据之后，
+     * 缓冲区的字节顺序不会被改变。缓冲区可以是一个{@link java.nio.MappedByteBuffer 内存映射缓冲区}。
+     *
+     * <p>默认的实现会将缓冲区中剩余的全部数据复制到一个字节数组中再进行读取，
+     * 实现类应尽可能直接从缓冲区中解码，以避免复制。
+     *
+     * @param buffer 字节缓冲区，不允许为null
+     * @return 几何对象，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    @NotNull
+    default Geometry read(@NotNull ByteBuffer buffer) throws GeometryIOException {
+        byte[] binaries = new byte[buffer.remaining()];
+        buffer.get(binaries);
+        return read(binaries);
+    }
+
+    /**
+     * 获取从字节输入流中读取全部几何对象的可分割迭代器
+     *
+     * <p>默认的实现假定数据是若干个连续的二进制几何对象，并反复调用{@link #read(InputStream)}直到输入流的末尾，
+     * 因此要求{@link #read(InputStream)}恰好读取一个几何对象的数据。
+     * 默认的实现在切分时会顺序地完成解码，实现类可以重写此方法，只在切分时识别记录的边界，以便并行解码。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     */
+    @Override
+    @NotNull
+    default Spliterator<Geometry> readSpliterator(@NotNull InputStream inputStream) {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 1);
+        return new GeometrySpliterator<Geometry>() {
+
+            @Override
+            protected Geometry nextRecord() throws GeometryIOException {
+                try {
+                    int next = pushbackInputStream.read();
+                    if (next < 0) {
+                        return null;
+                    }
+                    pushbackInputStream.unread(next);
+                } catch (IOException e) {
+                    throw new GeometryIOException(e);
+                }
+                return read(pushbackInputStream);
+            }
+
+            @Override
+            protected Geometry decode(Geometry record) {
+                return record;
+            }
+
+        };
+    }
+
     /**
      * 将二进制对象转换为几何对象
      *
@@ -49,7 +111,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default Point readPoint(@NotNull byte[] binaries) throws GeometryIOException {
-        return readPoint(new ByteArrayInputStream(binaries));
+        try {
+            return (Point) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -61,7 +127,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default LineString readLineString(@NotNull byte[] binaries) throws GeometryIOException {
-        return readLineString(new ByteArrayInputStream(binaries));
+        try {
+            return (LineString) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -73,7 +143,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default LinearRing readLinearRing(@NotNull byte[] binaries) throws GeometryIOException {
-        return readLinearRing(new ByteArrayInputStream(binaries));
+        try {
+            return (LinearRing) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -85,7 +159,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default Polygon readPolygon(@NotNull byte[] binaries) throws GeometryIOException {
-        return readPolygon(new ByteArrayInputStream(binaries));
+        try {
+            return (Polygon) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -97,7 +175,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default GeometryCollection readGeometryCollection(@NotNull byte[] binaries) throws GeometryIOException {
-        return readGeometryCollection(new ByteArrayInputStream(binaries));
+        try {
+            return (GeometryCollection) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -109,7 +191,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default MultiPoint readMultiPoint(@NotNull byte[] binaries) throws GeometryIOException {
-        return readMultiPoint(new ByteArrayInputStream(binaries));
+        try {
+            return (MultiPoint) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -121,7 +207,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default MultiLineString readMultiLineString(@NotNull byte[] binaries) throws GeometryIOException {
-        return readMultiLineString(new ByteArrayInputStream(binaries));
+        try {
+            return (MultiLineString) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
@@ -133,7 +223,11 @@ public interface BinaryGeometryReader
      */
     @NotNull
     default MultiPolygon readMultiPolygon(@NotNull byte[] binaries) throws GeometryIOException {
-        return readMultiPolygon(new ByteArrayInputStream(binaries));
+        try {
+            return (MultiPolygon) read(binaries);
+        } catch (ClassCastException e) {
+            throw new GeometryIOException(e);
+        }
     }
 
     /**
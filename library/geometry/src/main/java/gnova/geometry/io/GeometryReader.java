@@ -1,10 +1,18 @@
 package gnova.geometry.io;
 
 import gnova.core.annotation.NotNull;
+import gnova.geometry.batch.GeometryBatch;
+import gnova.geometry.batch.GeometryBatchBuilder;
 import gnova.geometry.model.*;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 几何对象输入接口
@@ -472,4 +480,74 @@ public interface GeometryReader<T> extends GeometryIOSettings {
         }
     }
 
+    /**
+     * 从字节输入流中按顺序读取全部几何对象
+     *
+     * <p>数据源被视为一系列连续的记录，记录的格式由实现类决定，例如连续的WKB或逐行的WKT。
+     * 若读取失败，迭代器将抛出{@link java.io.UncheckedIOException}。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何对象的迭代器，不会返回null
+     * @throws UnsupportedOperationException 若不支持此方法，则抛出此异常
+     */
+    @NotNull
+    default Iterator<Geometry> readAll(@NotNull InputStream inputStream)
+            throws UnsupportedOperationException {
+        return Spliterators.iterator(readSpliterator(inputStream));
+    }
+
+    /**
+     * 获取从字节输入流中读取全部几何对象的可分割迭代器
+     *
+     * <p>可分割迭代器在记录的边界上进行切分，因此可以在并行流中使用。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     * @throws UnsupportedOperationException 若不支持此方法，则抛出此异常
+     * @see GeometrySpliterator
+     */
+    @NotNull
+    Spliterator<Geometry> readSpliterator(@NotNull InputStream inputStream)
+            throws UnsupportedOperationException;
+
+    /**
+     * 获取从字节输入流中读取全部几何对象的流
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @param parallel 是否为并行流
+     * @return 几何对象的流，不会返回null
+     * @throws UnsupportedOperationException 若不支持此方法，则抛出此异常
+     */
+    @NotNull
+    default Stream<Geometry> readStream(@NotNull InputStream inputStream, boolean parallel)
+            throws UnsupportedOperationException {
+        return StreamSupport.stream(readSpliterator(inputStream), parallel);
+    }
+
+    /**
+     * 从字节输入流中读取全部几何对象，并存放到一个列式存储的几何批中
+     *
+     * <p>默认的实现逐个读取几何对象，再将其坐标复制到几何批中；
+     * 实现类可以重写此方法，将数据直接解码到{@link GeometryBatchBuilder 几何批的构造器}中，而不创建中间的几何对象。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何批，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     * @throws UnsupportedOperationException 若不支持此方法，则抛出此异常
+     */
+    @NotNull
+    default GeometryBatch readBatch(@NotNull InputStream inputStream)
+            throws GeometryIOException, UnsupportedOperationException {
+        GeometryBatchBuilder builder = new GeometryBatchBuilder();
+        try {
+            readAll(inputStream).forEachRemaining(builder::add);
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof GeometryIOException) {
+                throw (GeometryIOException) e.getCause();
+            }
+            throw new GeometryIOException(e.getCause());
+        }
+        return builder.build();
+    }
+
 }
@@ -0,0 +1,180 @@
+package gnova.geometry.io;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.Geometry;
+
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 按记录读取几何对象的可分割迭代器
+ *
+ * <p>数据源被视为一系列连续的记录（例如连续的WKB、逐行的WKT），读取分为两个步骤：
+ * <ol>
+ *     <li>{@link #nextRecord() 切分记录}：从数据源中顺序地取出一条未解码的记录，此步骤必须是顺序执行的；</li>
+ *     <li>{@link #decode(Object) 解码记录}：将一条记录解码为几何对象，此步骤可以并行执行。</li>
+ * </ol>
+ *
+ * <p>{@link #trySplit()}会在记录的边界上顺序地切分出一批记录，并返回一个负责解码这批记录的迭代器，
+ * 因此在{@link java.util.stream.Stream#parallel() 并行流}中，解码会分布在多个线程上执行。
+ * 每次切分的批量会逐步增大，直到{@link #MAX_BATCH_SIZE 最大批量}。
+ * 在并行流中使用时，{@link #decode(Object)}必须是线程安全的。
+ *
+ * <p>由于{@link Spliterator}的方法不能抛出受检异常，读取失败时将抛出{@link UncheckedIOException}，
+ * 其原因为{@link GeometryIOException}。
+ *
+ * @param <R> 未解码的记录的类型
+ * @author birderyu
+ * @version 1.0.0
+ */
+public abstract class GeometrySpliterator<R>
+        implements Spliterator<Geometry> {
+
+    /**
+     * 每次切分时批量增加的记录数
+     */
+    public static final int BATCH_UNIT = 1 << 8;
+
+    /**
+     * 每次切分的最大记录数
+     */
+    public static final int MAX_BATCH_SIZE = 1 << 14;
+
+    /**
+     * 上一次切分的记录数
+     */
+    private int batchSize = 0;
+
+    /**
+     * 从数据源中取出下一条未解码的记录
+     *
+     * @return 记录，若已到达数据源的末尾，则返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    protected abstract R nextRecord() throws GeometryIOException;
+
+    /**
+     * 将一条记录解码为几何对象
+     *
+     * @param record 记录，不允许为null
+     * @return 几何对象，不会返回null
+     * @throws GeometryIOException 若解码失败，则抛出此异常
+     */
+    @NotNull
+    protected abstract Geometry decode(@NotNull R record) throws GeometryIOException;
+
+    /**
+     * 顺序地读取下一个几何对象
+     *
+     * <p>默认的实现为先切分再解码，若数据源支持边读取边解码，子类可以重写此方法以避免中间记录的创建。
+     *
+     * @return 几何对象，若已到达数据源的末尾，则返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    protected Geometry nextGeometry() throws GeometryIOException {
+        R record = nextRecord();
+        return record == null ? null : decode(record);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Geometry> action) {
+        Geometry geometry;
+        try {
+            geometry = nextGeometry();
+        } catch (GeometryIOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (geometry == null) {
+            return false;
+        }
+        action.accept(geometry);
+        return true;
+    }
+
+    @Override
+    public Spliterator<Geometry> trySplit() {
+        int size = Math.min(batchSize + BATCH_UNIT, MAX_BATCH_SIZE);
+        Object[] records = new Object[size];
+        int count = 0;
+        try {
+            R record;
+            while (count < size && (record = nextRecord()) != null) {
+                records[count++] = record;
+            }
+        } catch (GeometryIOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (count == 0) {
+            return null;
+        }
+        batchSize = count;
+        return new BatchSpliterator(records, 0, count);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * 一批已切分但尚未解码的记录
+     */
+    private final class BatchSpliterator
+            implements Spliterator<Geometry> {
+
+        private final Object[] records;
+        private int index;
+        private final int fence;
+
+        BatchSpliterator(Object[] records, int origin, int fence) {
+            this.records = records;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super Geometry> action) {
+            if (index >= fence) {
+                return false;
+            }
+            R record = (R) records[index];
+            records[index++] = null;
+            try {
+                action.accept(decode(record));
+            } catch (GeometryIOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<Geometry> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            BatchSpliterator prefix = new BatchSpliterator(records, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | SIZED | SUBSIZED;
+        }
+
+    }
+
+}
@@ -23,6 +23,8 @@ public interface GeometryWriter<T> extends GeometryIOSettings {
      */
     @NotNull
     default T write(@NotNull Geometry geometry) throws GeometryIOException {
+        // 延迟解码的几何对象不实现具体的几何类型的接口，需要先解码
+        geometry = geometry.unwrap();
         switch (geometry.getType()) {
             case Point:
                 return writePoint((Point) geometry);
@@ -135,6 +137,7 @@ public interface GeometryWriter<T> extends GeometryIOSettings {
     default void write(@NotNull Geometry geometry, @NotNull OutputStream outputStream)
             throws GeometryIOException, UnsupportedOperationException {
 
+        geometry = geometry.unwrap();
         switch (geometry.getType()) {
             case Point:
                 writePoint((Point) geometry, outputStream);
@@ -265,6 +268,7 @@ public interface GeometryWriter<T> extends GeometryIOSettings {
     default void write(@NotNull Geometry geometry, @NotNull Writer writer)
             throws GeometryIOException, UnsupportedOperationException {
 
+        geometry = geometry.unwrap();
         switch (geometry.getType()) {
             case Point:
                 writePoint((Point) geometry, writer);
@@ -0,0 +1,511 @@
+package gnova.geometry.io;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.core.json.JsonArrayBuilder;
+import gnova.core.json.JsonObject;
+import gnova.core.json.JsonObjectBuilder;
+import gnova.geometry.model.AbstractGeometry;
+import gnova.geometry.model.AffineTransform;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Coordinate;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryFactory;
+import gnova.geometry.model.GeometryType;
+import gnova.geometry.model.Point;
+import gnova.geometry.model.PreparedGeometry;
+import gnova.geometry.model.operator.SimplifierFunction;
+
+import java.io.UncheckedIOException;
+
+/**
+ * 延迟解码的几何对象
+ *
+ * <p>延迟解码的几何对象只持有编码后的数据（例如WKB的字节数组）、几何类型与预先计算的包围盒，
+ * 获取类型、包围盒、判断是否为空时不需要解码。只有在第一次访问坐标或调用空间操作时，
+ * 才会使用{@link GeometryReader 读取器}解码，解码的结果会被缓存，之后的调用都委托给解码后的几何对象。
+ *
+ * <p>空间关系的判断会先比较包围盒，若包围盒已经可以确定结果（例如包围盒不相交时，{@link #intersects(Geometry)}必然为false），
+ * 则不会解码。因此只需要包围盒进行过滤的查询，被过滤掉的候选对象都不需要解码。
+ *
+ * <p>延迟解码的几何对象并不实现{@link Point}、{@link gnova.geometry.model.Polygon}等具体类型的接口，
+ * 若需要按照几何类型进行强制类型转换，需要先通过{@link #getGeometry()}获取解码后的几何对象，
+ * 或使用{@link #unwrap()}。
+ *
+ * <p>解码失败时，抛出{@link UncheckedIOException}异常。
+ *
+ * @param <T> 编码后的数据的类型
+ * @see gnova.geometry.io.wkb.WkbGeometryReader#readLazy(byte[])
+ * @see gnova.geometry.io.twkb.TwkbGeometryReader#readLazy(byte[])
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public final class LazyGeometry<T> extends AbstractGeometry {
+
+    private final T encoded;
+    private final GeometryReader<T> reader;
+    private final GeometryType type;
+    private final BoundingBox boundingBox;
+
+    /**
+     * 解码后的几何对象，在第一次解码时创建
+     */
+    private volatile Geometry geometry;
+
+    /**
+     * 构造一个延迟解码的几何对象
+     *
+     * <p>几何类型与包围盒必须与解码后的几何对象一致，构造时不会检查。
+     *
+     * @param encoded 编码后的数据，不允许为null
+     * @param reader 解码使用的读取器，不允许为null
+     * @param type 几何类型，不允许为null
+     * @param boundingBox 包围盒，若几何对象为空，则为{@link BoundingBox#NONE}，不允许为null
+     * @param factory 几何工厂，应与读取器使用的几何工厂相同，不允许为null
+     */
+    public LazyGeometry(@NotNull T encoded, @NotNull GeometryReader<T> reader,
+                        @NotNull GeometryType type, @NotNull BoundingBox boundingBox,
+                        @NotNull GeometryFactory factory) {
+        super(factory);
+        this.encoded = encoded;
+        this.reader = reader;
+        this.type = type;
+        this.boundingBox = boundingBox;
+    }
+
+    /**
+     * 获取解码后的几何对象
+     *
+     * @return 解码后的几何对象，不会返回null
+     * @throws UncheckedIOException 若解码失败，则抛出此异常
+     */
+    @Override
+    @NotNull
+    public Geometry unwrap() throws UncheckedIOException {
+        return getGeometry();
+    }
+
+    /**
+     * 获取编码后的数据
+     *
+     * @return 编码后的数据，不会返回null
+     */
+    @NotNull
+    public T getEncoded() {
+        return encoded;
+    }
+
+    /**
+     * 判断是否已经解码
+     *
+     * @return 若已经解码，则返回true，否则返回false
+     */
+    public boolean isDecoded() {
+        return geometry != null;
+    }
+
+    /**
+     * 获取解码后的几何对象，若尚未解码，则先解码
+     *
+     * @return 解码后的几何对象，不会返回null
+     * @throws UncheckedIOException 若解码失败，则抛出此异常
+     */
+    @NotNull
+    public Geometry getGeometry() throws UncheckedIOException {
+        Geometry result = geometry;
+        if (result == null) {
+            synchronized (this) {
+                result = geometry;
+                if (result == null) {
+                    try {
+                        result = reader.read(encoded);
+                    } catch (GeometryIOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    geometry = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断两个包围盒在X、Y方向上是否不相交
+     *
+     * <p>若任一几何对象为空，则返回false，由解码后的几何对象决定结果。
+     */
+    private boolean boundsDisjoint(Geometry other) {
+        return other.getMaxX() < getMinX() || other.getMinX() > getMaxX()
+                || other.getMaxY() < getMinY() || other.getMinY() > getMaxY();
+    }
+
+    /**
+     * 判断包围盒inner在X、Y方向上是否不被包围盒outer覆盖
+     *
+     * <p>若任一几何对象为空，则返回false，由解码后的几何对象决定结果。
+     */
+    private static boolean boundsNotCovered(Geometry outer, Geometry inner) {
+        return inner.getMinX() < outer.getMinX() || inner.getMaxX() > outer.getMaxX()
+                || inner.getMinY() < outer.getMinY() || inner.getMaxY() > outer.getMaxY();
+    }
+
+    @Override
+    public GeometryType getType() {
+        return type;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+
+    @Override
+    public double getMinX() {
+        return boundingBox.getMinX();
+    }
+
+    @Override
+    public double getMaxX() {
+        return boundingBox.getMaxX();
+    }
+
+    @Override
+    public double getMinY() {
+        return boundingBox.getMinY();
+    }
+
+    @Override
+    public double getMaxY() {
+        return boundingBox.getMaxY();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return Double.isNaN(boundingBox.getMinX());
+    }
+
+    @Override
+    public int getDimension() {
+        return getGeometry().getDimension();
+    }
+
+    @Override
+    public int getBoundaryDimension() {
+        return getGeometry().getBoundaryDimension();
+    }
+
+    @Override
+    public int getCoordinateDimension() {
+        return getGeometry().getCoordinateDimension();
+    }
+
+    @Override
+    public boolean isSimple() {
+        return getGeometry().isSimple();
+    }
+
+    @Override
+    public boolean isValid() {
+        return getGeometry().isValid();
+    }
+
+    @Override
+    public Coordinate getCoordinate() {
+        return getGeometry().getCoordinate();
+    }
+
+    @Override
+    public Iterable<Coordinate> getCoordinates() {
+        return getGeometry().getCoordinates();
+    }
+
+    @Override
+    public Geometry reverse() {
+        return getGeometry().reverse();
+    }
+
+    @Override
+    public Geometry normalize() {
+        return getGeometry().normalize();
+    }
+
+    @Override
+    public PreparedGeometry prepare() {
+        return getGeometry().prepare();
+    }
+
+    @Override
+    public String toGeometryJSON() {
+        return getGeometry().toGeometryJSON();
+    }
+
+    @Override
+    public JsonObject toGeometryJSON(JsonObjectBuilder job, JsonArrayBuilder jab) {
+        return getGeometry().toGeometryJSON(job, jab);
+    }
+
+    @Override
+    public boolean exactlyEquals(Geometry other) {
+        return getGeometry().exactlyEquals(other.unwrap());
+    }
+
+    @Override
+    public boolean exactlyEquals(Geometry other, double tolerance) {
+        return getGeometry().exactlyEquals(other.unwrap(), tolerance);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof Geometry && getGeometry().equals(((Geometry) obj).unwrap());
+    }
+
+    @Override
+    public int hashCode() {
+        return getGeometry().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getGeometry().toString();
+    }
+
+    @Override
+    public int compareTo(Geometry other) {
+        return getGeometry().compareTo(other.unwrap());
+    }
+
+    ////////////////////////////////////
+    // RelationalOperator
+    ////////////////////////////////////
+    @Override
+    public boolean contains(Geometry other) {
+        return !boundsNotCovered(this, other) && getGeometry().contains(other);
+    }
+
+    @Override
+    public boolean crosses(Geometry other) {
+        return !boundsDisjoint(other) && getGeometry().crosses(other);
+    }
+
+    @Override
+    public boolean topologicallyEquals(Geometry other) {
+        return !boundsNotCovered(this, other) && !boundsNotCovered(other, this)
+                && getGeometry().topologicallyEquals(other);
+    }
+
+    @Override
+    public boolean touches(Geometry other) {
+        return !boundsDisjoint(other) && getGeometry().touches(other);
+    }
+
+    @Override
+    public boolean intersects(Geometry other) {
+        return !boundsDisjoint(other) && getGeometry().intersects(other);
+    }
+
+    @Override
+    public boolean disjoint(Geometry other) {
+        return boundsDisjoint(other) || getGeometry().disjoint(other);
+    }
+
+    @Override
+    public boolean within(Geometry other) {
+        return !boundsNotCovered(other, this) && getGeometry().within(other);
+    }
+
+    @Override
+    public boolean overlaps(Geometry other) {
+        return !boundsDisjoint(other) && getGeometry().overlaps(other);
+    }
+
+    @Override
+    public boolean covers(Geometry other) {
+        return !boundsNotCovered(this, other) && getGeometry().covers(other);
+    }
+
+    @Override
+    public boolean coveredBy(Geometry other) {
+        return !boundsNotCovered(other, this) && getGeometry().coveredBy(other);
+    }
+
+    ////////////////////////////////////
+    // ProximityOperator
+    ////////////////////////////////////
+    @Override
+    public double distance(Geometry other) {
+        return getGeometry().distance(other);
+    }
+
+    @Override
+    public boolean isWithinDistance(Geometry other, double distance) {
+        double dx = Math.max(0, Math.max(other.getMinX() - getMaxX(), getMinX() - other.getMaxX()));
+        double dy = Math.max(0, Math.max(other.getMinY() - getMaxY(), getMinY() - other.getMaxY()));
+        if (dx * dx + dy * dy > distance * distance) {
+            // 包围盒之间的距离是几何对象之间的距离的下界
+            return false;
+        }
+        return getGeometry().isWithinDistance(other, distance);
+    }
+
+    @Override
+    public Coordinate[] nearestPoints(Geometry other) {
+        return getGeometry().nearestPoints(other);
+    }
+
+    ////////////////////////////////////
+    // TopologicalOperator
+    ////////////////////////////////////
+    @Override
+    public Geometry getBoundary() {
+        return getGeometry().getBoundary();
+    }
+
+    @Override
+    public Point getCentroid() {
+        return getGeometry().getCentroid();
+    }
+
+    @Override
+    public Point getInterior() {
+        return getGeometry().getInterior();
+    }
+
+    @Override
+    public Geometry convexHull() {
+        return getGeometry().convexHull();
+    }
+
+    @Override
+    public Geometry clip(BoundingBox bbox) {
+        if (isEmpty() || Double.isNaN(bbox.getMinX()) || Double.isNaN(bbox.getMinY())
+                || bbox.getMaxX() < getMinX() || bbox.getMinX() > getMaxX()
+                || bbox.getMaxY() < getMinY() || bbox.getMinY() > getMaxY()) {
+            return Geometry.NONE;
+        }
+        if (bbox.getMinX() <= getMinX() && bbox.getMaxX() >= getMaxX()
+                && bbox.getMinY() <= getMinY() && bbox.getMaxY() >= getMaxY()) {
+            // 包围盒完全覆盖几何对象，不需要解码
+            return this;
+        }
+        return getGeometry().clip(bbox);
+    }
+
+    @Override
+    public Geometry split(Geometry bladeIn) {
+        return getGeometry().split(bladeIn);
+    }
+
+    @Override
+    public Geometry cut(Geometry bladeIn) {
+        return getGeometry().cut(bladeIn);
+    }
+
+    @Override
+    public Geometry buffer(double distance) {
+        return getGeometry().buffer(distance);
+    }
+
+    @Override
+    public Geometry buffer(double distance, int quadrantSegments) {
+        return getGeometry().buffer(distance, quadrantSegments);
+    }
+
+    @Override
+    public Geometry buffer(double distance, int quadrantSegments, int endCapStyle) {
+        return getGeometry().buffer(distance, quadrantSegments, endCapStyle);
+    }
+
+    @Override
+    public Geometry intersection(Geometry other) {
+        return getGeometry().intersection(other);
+    }
+
+    @Override
+    public Geometry union(Geometry other) {
+        return getGeometry().union(other);
+    }
+
+    @Override
+    public Geometry difference(Geometry other) {
+        return getGeometry().difference(other);
+    }
+
+    @Override
+    public Geometry symmetricDifference(Geometry other) {
+        return getGeometry().symmetricDifference(other);
+    }
+
+    @Override
+    public Geometry triangulation(double distanceTolerance, GeometryType resultType) {
+        return getGeometry().triangulation(distanceTolerance, resultType);
+    }
+
+    ////////////////////////////////////
+    // SimplifierOperator
+    ////////////////////////////////////
+    @Override
+    public Geometry simplify(SimplifierFunction function, double distanceTolerance) {
+        return getGeometry().simplify(function, distanceTolerance);
+    }
+
+    ////////////////////////////////////
+    // AffineOperator
+    ////////////////////////////////////
+    @Override
+    public Geometry translate(double offsetX, double offsetY) {
+        return getGeometry().translate(offsetX, offsetY);
+    }
+
+    @Override
+    public Geometry scale(double baseX, double baseY, double scaleX, double scaleY) {
+        return getGeometry().scale(baseX, baseY, scaleX, scaleY);
+    }
+
+    @Override
+    public Geometry scale(double scaleX, double scaleY) {
+        return getGeometry().scale(scaleX, scaleY);
+    }
+
+    @Override
+    public Geometry rotate(double baseX, double baseY, double angle) {
+        return getGeometry().rotate(baseX, baseY, angle);
+    }
+
+    @Override
+    public Geometry rotate(double angle) {
+        return getGeometry().rotate(angle);
+    }
+
+    @Override
+    public Geometry shear(double shearX, double shearY) {
+        return getGeometry().shear(shearX, shearY);
+    }
+
+    @Override
+    public Geometry reflection(double baseX, double baseY, double x, double y) {
+        return getGeometry().reflection(baseX, baseY, x, y);
+    }
+
+    @Override
+    public Geometry reflection(double x, double y) {
+        return getGeometry().reflection(x, y);
+    }
+
+    @Override
+    public Geometry transform(AffineTransform transform, boolean inPlace) {
+        // 原地变换会修改解码后的几何对象，与其他几何对象一样，当前对象随之失效
+        return getGeometry().transform(transform, inPlace);
+    }
+
+    /**
+     * 序列化时写出解码后的几何对象
+     */
+    private Object writeReplace() {
+        return getGeometry();
+    }
+
+}
@@ -3,10 +3,17 @@ package gnova.geometry.io;
 import gnova.core.annotation.NotNull;
 import gnova.geometry.model.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 文本几何对象输入接口
@@ -251,4 +258,72 @@ public interface TextGeometryReader
         return readMultiPolygon(new InputStreamReader(inputStream));
     }
 
+    /**
+     * 从字符输入流中按顺序读取全部几何对象
+     *
+     * @param reader 字符输入流，不允许为null
+     * @return 几何对象的迭代器，不会返回null
+     * @see #readSpliterator(Reader)
+     */
+    @NotNull
+    default Iterator<Geometry> readAll(@NotNull Reader reader) {
+        return Spliterators.iterator(readSpliterator(reader));
+    }
+
+    @Override
+    @NotNull
+    default Spliterator<Geometry> readSpliterator(@NotNull InputStream inputStream) {
+        return readSpliterator(new InputStreamReader(inputStream));
+    }
+
+    /**
+     * 获取从字符输入流中读取全部几何对象的可分割迭代器
+     *
+     * <p>默认的实现将输入视为逐行的文本，每个非空行为一个几何对象（例如逐行的WKT或GeoJSON），
+     * 切分时只识别行的边界，解码通过{@link #read(String)}完成，因此可以在并行流中解码。
+     *
+     * @param reader 字符输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     */
+    @NotNull
+    default Spliterator<Geometry> readSpliterator(@NotNull Reader reader) {
+        BufferedReader bufferedReader = reader instanceof BufferedReader ?
+                (BufferedReader) reader : new BufferedReader(reader);
+        return new GeometrySpliterator<String>() {
+
+            @Override
+            protected String nextRecord() throws GeometryIOException {
+                try {
+                    String line;
+                    while ((line = bufferedReader.readLine()) != null) {
+                        if (!line.trim().isEmpty()) {
+                            return line;
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new GeometryIOException(e);
+                }
+            }
+
+            @Override
+            protected Geometry decode(String record) throws GeometryIOException {
+                return read(record);
+            }
+
+        };
+    }
+
+    /**
+     * 获取从字符输入流中读取全部几何对象的流
+     *
+     * @param reader 字符输入流，不允许为null
+     * @param parallel 是否为并行流
+     * @return 几何对象的流，不会返回null
+     */
+    @NotNull
+    default Stream<Geometry> readStream(@NotNull Reader reader, boolean parallel) {
+        return StreamSupport.stream(readSpliterator(reader), parallel);
+    }
+
 }
@@ -0,0 +1,373 @@
+package gnova.geometry.io;
+
+import gnova.core.annotation.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * 文本格式的几何数据的字符输入
+ *
+ * <p>这是文本格式（例如WKT、GeoJSON）的拉取式解析器的基础，字符从{@link Reader}中批量读入缓冲区，
+ * 因此无论输入有多大，占用的内存都是固定的。数值直接从缓冲区中解析，不会创建子字符串。
+ *
+ * <p>输入同时持有一个可重用的{@link #ordinates(int) 坐标缓冲区}，用于在读取坐标序列时暂存坐标值，
+ * 因此一个输入对象只能在一个线程中使用。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class TextInput {
+
+    /**
+     * 默认的缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 可以精确计算的最大的10的幂次
+     */
+    private static final int MAX_EXACT_POWER = 22;
+
+    /**
+     * 2的53次方，不大于该值的整数可以用double精确表示
+     */
+    private static final long MAX_EXACT_INTEGER = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+
+    static {
+        double power = 1.0;
+        for (int i = 0; i <= MAX_EXACT_POWER; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10.0;
+        }
+    }
+
+    /**
+     * 格式的名称，用于错误信息
+     */
+    private final String format;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position = 0;
+    private int limit = 0;
+
+    /**
+     * 已经从缓冲区中移出的字符数，用于在错误信息中给出位置
+     */
+    private long offset = 0;
+
+    /**
+     * 正在捕获的原始文本，若为null，则表示没有在捕获
+     */
+    private StringBuilder capture;
+
+    /**
+     * 捕获的起始位置
+     */
+    private int captureStart;
+
+    /**
+     * 读取坐标序列时使用的可重用的坐标缓冲区
+     */
+    private double[] ordinates = new double[256];
+
+    /**
+     * 用于读取单词、字符串和数值的可重用的字符缓冲区
+     */
+    protected final StringBuilder text = new StringBuilder();
+
+    /**
+     * 构造一个从字符输入流读取的输入
+     *
+     * @param format 格式的名称，用于错误信息
+     * @param reader 字符输入流，不允许为null
+     */
+    public TextInput(String format, @NotNull Reader reader) {
+        this.format = format;
+        this.reader = reader;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * 构造一个从字符串读取的输入
+     *
+     * @param format 格式的名称，用于错误信息
+     * @param text 字符串，不允许为null
+     */
+    public TextInput(String format, @NotNull String text) {
+        this.format = format;
+        this.reader = null;
+        this.buffer = text.toCharArray();
+        this.limit = buffer.length;
+    }
+
+    /**
+     * 获取下一个非空白字符，但不读取它
+     *
+     * @return 下一个非空白字符，若已到达输入的末尾，则返回-1
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    public int peek() throws GeometryIOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * 若下一个非空白字符为指定的字符，则读取它
+     *
+     * @param c 字符
+     * @return 若读取了该字符，则返回true，否则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    public boolean consume(char c) throws GeometryIOException {
+        if (peek() == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 读取指定的字符
+     *
+     * @param c 字符
+     * @throws GeometryIOException 若下一个非空白字符不是该字符或读取失败，则抛出此异常
+     */
+    public void expect(char c) throws GeometryIOException {
+        if (!consume(c)) {
+            throw error("应该为'" + c + "'");
+        }
+    }
+
+    /**
+     * 读取指定的字面量，字面量区分大小写
+     *
+     * @param literal 字面量，不允许为null
+     * @throws GeometryIOException 若接下来的字符不是该字面量或读取失败，则抛出此异常
+     */
+    public void expect(@NotNull String literal) throws GeometryIOException {
+        peek();
+        for (int i = 0; i < literal.length(); i++) {
+            if (peekChar() != literal.charAt(i)) {
+                throw error("应该为" + literal);
+            }
+            position++;
+        }
+    }
+
+    /**
+     * 读取一个数值
+     *
+     * <p>有效数字不超过2的53次方、且10的指数不超过22的数值直接计算（结果是精确的），
+     * 其他数值交给{@link Double#parseDouble(String)}解析。除了十进制数之外，还可以读取NaN。
+     *
+     * @return 数值
+     * @throws GeometryIOException 若下一个值不是数值或读取失败，则抛出此异常
+     */
+    public double readNumber() throws GeometryIOException {
+        int c = peek();
+        if (c == 'N') {
+            expect("NaN");
+            return Double.NaN;
+        }
+        text.setLength(0);
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            text.append(next());
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean exact = true;
+        boolean empty = true;
+        // 整数部分
+        while ((c = peekChar()) >= '0' && c <= '9') {
+            text.append(next());
+            empty = false;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exact = false;
+            }
+        }
+        // 小数部分
+        if (c == '.') {
+            text.append(next());
+            while ((c = peekChar()) >= '0' && c <= '9') {
+                text.append(next());
+                empty = false;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    scale--;
+                } else {
+                    exact = false;
+                }
+            }
+        }
+        if (empty) {
+            throw error("应该为数值");
+        }
+        // 指数部分
+        if (c == 'e' || c == 'E') {
+            text.append(next());
+            c = peekChar();
+            if (c == '+' || c == '-') {
+                text.append(next());
+            }
+            exact = false;
+            while ((c = peekChar()) >= '0' && c <= '9') {
+                text.append(next());
+            }
+        }
+        if (exact && mantissa <= MAX_EXACT_INTEGER && -scale <= MAX_EXACT_POWER) {
+            // 分子和分母都能用double精确表示，除法是正确舍入的，因此结果与parseDouble相同
+            double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[-scale];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("非法的数值" + text);
+        }
+    }
+
+    /**
+     * 读取一个由字母组成的单词
+     *
+     * @return 单词，若下一个字符不是字母，则返回空字符串
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    @NotNull
+    public String readWord() throws GeometryIOException {
+        peek();
+        text.setLength(0);
+        int c;
+        while ((c = peekChar()) >= 0 && Character.isLetter(c)) {
+            text.append(next());
+        }
+        return text.toString();
+    }
+
+    /**
+     * 开始捕获原始文本，之后读取的所有字符（包括空白字符）都将被记录下来
+     *
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     * @see #endCapture()
+     */
+    public void beginCapture() throws GeometryIOException {
+        peek();
+        capture = new StringBuilder();
+        captureStart = position;
+    }
+
+    /**
+     * 结束捕获原始文本
+     *
+     * @return 自{@link #beginCapture()}以来读取的原始文本，不会返回null
+     */
+    @NotNull
+    public String endCapture() {
+        capture.append(buffer, captureStart, position - captureStart);
+        String captured = capture.toString();
+        capture = null;
+        return captured;
+    }
+
+    /**
+     * 获取坐标缓冲区，其长度至少为指定的长度，原有的内容会被保留
+     *
+     * @param length 长度
+     * @return 坐标缓冲区，不会返回null
+     */
+    @NotNull
+    public double[] ordinates(int length) {
+        if (ordinates.length < length) {
+            ordinates = Arrays.copyOf(ordinates, Math.max(length, ordinates.length << 1));
+        }
+        return ordinates;
+    }
+
+    /**
+     * 创建一个格式错误的异常，异常信息中包含当前的位置
+     *
+     * @param message 异常信息
+     * @return 异常，不会返回null
+     */
+    @NotNull
+    public GeometryIOException error(String message) {
+        return new GeometryIOException(format + "格式错误，位置" + (offset + position) + "：" + message);
+    }
+
+    /**
+     * 读取下一个字符，包括空白字符
+     *
+     * @return 字符
+     * @throws GeometryIOException 若已到达输入的末尾或读取失败，则抛出此异常
+     */
+    protected char next() throws GeometryIOException {
+        if (position == limit && !fill()) {
+            throw error("输入意外结束");
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * 获取下一个字符，包括空白字符，但不读取它
+     *
+     * @return 字符，若已到达输入的末尾，则返回-1
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    protected int peekChar() throws GeometryIOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws GeometryIOException {
+        if (reader == null) {
+            return false;
+        }
+        if (capture != null) {
+            capture.append(buffer, captureStart, position - captureStart);
+            captureStart = 0;
+        }
+        offset += limit;
+        position = 0;
+        limit = 0;
+        try {
+            int n;
+            do {
+                n = reader.read(buffer, 0, buffer.length);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+}
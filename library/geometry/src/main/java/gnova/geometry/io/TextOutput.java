@@ -0,0 +1,258 @@
+package gnova.geometry.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * 文本格式的几何数据的字符输出
+ *
+ * <p>字符先写入缓冲区，缓冲区满或调用{@link #flush()}时再批量写入目标，
+ * 目标可以是{@link Writer}、{@link OutputStream}或{@link StringBuilder}。
+ * 写入字节输出流时，字符直接按ASCII编码，因此只能写入ASCII字符。
+ *
+ * <p>数值使用能够精确还原该浮点数的最短的十进制小数表示，
+ * 若设置了最大小数位数，则先将数值四舍五入到该位数。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class TextOutput {
+
+    /**
+     * 不限制小数位数
+     */
+    public static final int FULL_PRECISION = -1;
+
+    /**
+     * 支持的最大小数位数
+     */
+    public static final int MAX_FRACTION_DIGITS = 15;
+
+    /**
+     * 2的53次方，绝对值小于该值的整数可以用double精确表示
+     */
+    private static final double MAX_EXACT_INTEGER = 9007199254740992.0;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_FRACTION_DIGITS + 1];
+
+    private static final long[] LONG_POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+
+    static {
+        double power = 1.0;
+        long longPower = 1L;
+        for (int i = 0; i <= MAX_FRACTION_DIGITS; i++) {
+            POWERS_OF_TEN[i] = power;
+            LONG_POWERS_OF_TEN[i] = longPower;
+            power *= 10.0;
+            longPower *= 10L;
+        }
+    }
+
+    private final char[] buffer;
+    private final int maximumFractionDigits;
+    private final Writer writer;
+    private final OutputStream outputStream;
+    private final StringBuilder builder;
+
+    /**
+     * 写入字节输出流时使用的字节缓冲区
+     */
+    private byte[] bytes;
+
+    private int position = 0;
+
+    /**
+     * 构造一个写入字符输出流的输出
+     *
+     * @param buffer 缓冲区，长度不能小于32，不允许为null
+     * @param maximumFractionDigits 最大小数位数，若不限制，则为{@link #FULL_PRECISION}
+     * @param writer 字符输出流，不允许为null
+     */
+    public TextOutput(char[] buffer, int maximumFractionDigits, Writer writer) {
+        this(buffer, maximumFractionDigits, writer, null, null);
+    }
+
+    /**
+     * 构造一个写入字节输出流的输出
+     *
+     * @param buffer 缓冲区，长度不能小于32，不允许为null
+     * @param maximumFractionDigits 最大小数位数，若不限制，则为{@link #FULL_PRECISION}
+     * @param outputStream 字节输出流，不允许为null
+     */
+    public TextOutput(char[] buffer, int maximumFractionDigits, OutputStream outputStream) {
+        this(buffer, maximumFractionDigits, null, outputStream, null);
+    }
+
+    /**
+     * 构造一个写入字符串构造器的输出
+     *
+     * @param buffer 缓冲区，长度不能小于32，不允许为null
+     * @param maximumFractionDigits 最大小数位数，若不限制，则为{@link #FULL_PRECISION}
+     * @param builder 字符串构造器，不允许为null
+     */
+    public TextOutput(char[] buffer, int maximumFractionDigits, StringBuilder builder) {
+        this(buffer, maximumFractionDigits, null, null, builder);
+    }
+
+    /**
+     * 检查最大小数位数是否合法
+     *
+     * @param maximumFractionDigits 最大小数位数
+     * @throws IllegalArgumentException 若最大小数位数不是{@link #FULL_PRECISION}或0到15之间的整数，则抛出此异常
+     */
+    public static void checkFractionDigits(int maximumFractionDigits) throws IllegalArgumentException {
+        if (maximumFractionDigits != FULL_PRECISION
+                && (maximumFractionDigits < 0 || maximumFractionDigits > MAX_FRACTION_DIGITS)) {
+            throw new IllegalArgumentException("最大小数位数只能为-1或0到15之间的整数：" + maximumFractionDigits);
+        }
+    }
+
+    private TextOutput(char[] buffer, int maximumFractionDigits,
+                       Writer writer, OutputStream outputStream, StringBuilder builder) {
+        this.buffer = buffer;
+        this.maximumFractionDigits = maximumFractionDigits;
+        this.writer = writer;
+        this.outputStream = outputStream;
+        this.builder = builder;
+    }
+
+    public void write(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    public void write(String s) throws IOException {
+        int length = s.length();
+        int offset = 0;
+        while (offset < length) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int n = Math.min(length - offset, buffer.length - position);
+            s.getChars(offset, offset + n, buffer, position);
+            position += n;
+            offset += n;
+        }
+    }
+
+    /**
+     * 写入一个数值，NaN与无穷大按照{@link Double#toString(double)}写入
+     *
+     * @param value 数值
+     * @throws IOException 若写入失败，则抛出此异常
+     */
+    public void writeNumber(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            write(Double.toString(value));
+            return;
+        }
+        if (maximumFractionDigits >= 0) {
+            double scaled = value * POWERS_OF_TEN[maximumFractionDigits];
+            if (Math.abs(scaled) < MAX_EXACT_INTEGER) {
+                writeDecimal(round(scaled), maximumFractionDigits);
+                return;
+            }
+        } else {
+            // 寻找最少的小数位数k，使得 round(value * 10^k) / 10^k 能够精确还原value，
+            // 由于分子和分母都能用double精确表示，且除法和解析都是正确舍入的，因此该判断是精确的
+            for (int k = 0; k <= MAX_FRACTION_DIGITS; k++) {
+                double scaled = value * POWERS_OF_TEN[k];
+                if (Math.abs(scaled) >= MAX_EXACT_INTEGER) {
+                    break;
+                }
+                long unscaled = round(scaled);
+                if (unscaled / POWERS_OF_TEN[k] == value) {
+                    writeDecimal(unscaled, k);
+                    return;
+                }
+            }
+        }
+        // 数值过大或过小，使用Java的表示方法，其结果也能精确还原
+        write(Double.toString(value));
+    }
+
+    /**
+     * 将缓冲区中的字符写入目标，并刷新目标
+     *
+     * @throws IOException 若写入失败，则抛出此异常
+     */
+    public void flush() throws IOException {
+        drain();
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    private void writeDecimal(long unscaled, int fractionDigits) throws IOException {
+        if (unscaled < 0) {
+            write('-');
+            unscaled = -unscaled;
+        }
+        long power = LONG_POWERS_OF_TEN[fractionDigits];
+        writeDigits(unscaled / power, 1);
+        long fraction = unscaled % power;
+        if (fraction != 0) {
+            int digits = fractionDigits;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            write('.');
+            writeDigits(fraction, digits);
+        }
+    }
+
+    /**
+     * 写入一个非负整数，不足指定位数时在左侧补0
+     */
+    private void writeDigits(long value, int minDigits) throws IOException {
+        int digits = 1;
+        long power = 10;
+        while (digits < 19 && power <= value) {
+            digits++;
+            power *= 10;
+        }
+        digits = Math.max(digits, minDigits);
+        if (buffer.length - position < digits) {
+            drain();
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (writer != null) {
+            writer.write(buffer, 0, position);
+        } else if (outputStream != null) {
+            if (bytes == null) {
+                bytes = new byte[buffer.length];
+            }
+            for (int i = 0; i < position; i++) {
+                bytes[i] = (byte) buffer[i];
+            }
+            outputStream.write(bytes, 0, position);
+        } else {
+            builder.append(buffer, 0, position);
+        }
+        position = 0;
+    }
+
+    /**
+     * 四舍五入，正负数对称
+     */
+    private static long round(double value) {
+        return value < 0 ? -Math.round(-value) : Math.round(value);
+    }
+
+}
@@ -0,0 +1,98 @@
+package gnova.geometry.io.twkb;
+
+/**
+ * TWKB编码中使用的常量
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class TwkbConstants {
+
+    static final int TWKB_POINT = 1;
+    static final int TWKB_LINESTRING = 2;
+    static final int TWKB_POLYGON = 3;
+    static final int TWKB_MULTIPOINT = 4;
+    static final int TWKB_MULTILINESTRING = 5;
+    static final int TWKB_MULTIPOLYGON = 6;
+    static final int TWKB_GEOMETRYCOLLECTION = 7;
+
+    /**
+     * 元数据头中表示包含外包框的标识位
+     */
+    static final int BBOX_FLAG = 0x01;
+
+    /**
+     * 元数据头中表示包含数据长度的标识位
+     */
+    static final int SIZE_FLAG = 0x02;
+
+    /**
+     * 元数据头中表示包含标识列表的标识位
+     */
+    static final int ID_LIST_FLAG = 0x04;
+
+    /**
+     * 元数据头中表示包含扩展维度的标识位
+     */
+    static final int EXTENDED_DIMENSIONS_FLAG = 0x08;
+
+    /**
+     * 元数据头中表示空几何对象的标识位
+     */
+    static final int EMPTY_FLAG = 0x10;
+
+    /**
+     * 扩展维度中表示包含Z坐标的标识位
+     */
+    static final int Z_FLAG = 0x01;
+
+    /**
+     * 扩展维度中表示包含M值的标识位
+     */
+    static final int M_FLAG = 0x02;
+
+    /**
+     * XY坐标的最小精度（小数位数）
+     */
+    static final int MIN_PRECISION = -8;
+
+    /**
+     * XY坐标的最大精度（小数位数）
+     */
+    static final int MAX_PRECISION = 7;
+
+    /**
+     * Z坐标与M值的最大精度（小数位数），其最小精度为0
+     */
+    static final int MAX_ZM_PRECISION = 7;
+
+    private TwkbConstants() {
+
+    }
+
+    /**
+     * 获取精度（小数位数）对应的缩放系数
+     *
+     * @param precision 精度
+     * @return 缩放系数，坐标值乘以该系数后取整即为编码的整数
+     */
+    static double scaleOf(int precision) {
+        return Math.pow(10, precision);
+    }
+
+    /**
+     * 将编码的整数还原为坐标值
+     *
+     * <p>对于非负的精度，使用除法还原，由于除数是精确的10的幂次，
+     * 结果与{@link gnova.geometry.model.Precision#makePrecise(double)}的结果相同。
+     *
+     * @param value 编码的整数
+     * @param precision 精度
+     * @param factor 精度对应的10的幂次的绝对值，即10的|precision|次方
+     * @return 坐标值
+     */
+    static double toOrdinate(long value, int precision, double factor) {
+        return precision >= 0 ? value / factor : value * factor;
+    }
+
+}
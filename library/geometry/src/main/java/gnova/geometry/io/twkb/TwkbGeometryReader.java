@@ -0,0 +1,484 @@
+package gnova.geometry.io.twkb;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.io.BinaryGeometryReader;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.GeometrySpliterator;
+import gnova.geometry.io.LazyGeometry;
+import gnova.geometry.model.*;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * TWKB（Tiny Well-known Binary）格式的几何对象读取器
+ *
+ * <p>支持TWKB的全部特性，包括外包框、数据长度、标识列表（读取但不使用）与扩展维度。
+ * 坐标值直接解码到{@link PackedCoordinateSequence 紧凑存储的坐标序列}中，
+ * 解码过程中不会为每个坐标创建{@link Coordinate 坐标对象}。
+ *
+ * <p>读取器本身是无状态的，因此是线程安全的。
+ *
+ * @see TwkbGeometryWriter
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class TwkbGeometryReader
+        implements BinaryGeometryReader {
+
+    private final GeometryFactory factory;
+
+    public TwkbGeometryReader() {
+        this(FactoryFinder.getDefaultGeometryFactory());
+    }
+
+    public TwkbGeometryReader(GeometryFactory factory) {
+        this.factory = factory;
+    }
+
+    public GeometryFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Geometry read(InputStream inputStream) throws GeometryIOException {
+        return read(new TwkbInput(inputStream));
+    }
+
+    @Override
+    public Geometry read(byte[] binaries) throws GeometryIOException {
+        return read(new TwkbInput(binaries));
+    }
+
+    @Override
+    public Geometry read(ByteBuffer buffer) throws GeometryIOException {
+        return read(new TwkbInput(buffer));
+    }
+
+    /**
+     * 读取几何对象的外包框
+     *
+     * <p>若数据中包含外包框，则只解码头部，不会解码坐标；否则解码整个几何对象并计算其外包框。
+     * 返回的外包框是量化后的，与读取出的几何对象的外包框相同。
+     *
+     * @param binaries TWKB数据，不允许为null
+     * @return 外包框，若几何对象为空，则返回{@link BoundingBox#NONE}，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    @NotNull
+    public BoundingBox readBoundingBox(@NotNull byte[] binaries) throws GeometryIOException {
+        TwkbInput input = new TwkbInput(binaries);
+        Header header = readHeader(input);
+        if ((header.metadata & TwkbConstants.EMPTY_FLAG) != 0) {
+            return BoundingBox.NONE;
+        }
+        if ((header.metadata & TwkbConstants.BBOX_FLAG) == 0) {
+            return read(binaries).getBoundingBox();
+        }
+        if ((header.metadata & TwkbConstants.SIZE_FLAG) != 0) {
+            input.readUnsignedVarLong();
+        }
+        long minX = input.readVarLong();
+        long maxX = minX + input.readVarLong();
+        long minY = input.readVarLong();
+        long maxY = minY + input.readVarLong();
+        return new BoundingBox(header.toOrdinate(minX, 0), header.toOrdinate(maxX, 0),
+                header.toOrdinate(minY, 1), header.toOrdinate(maxY, 1));
+    }
+
+    /**
+     * 延迟读取一个几何对象
+     *
+     * <p>只解码头部以获取几何类型与外包框，坐标在第一次访问时才会被解码。
+     * 若数据中不包含外包框，则需要解码整个几何对象以计算外包框，因此延迟读取的数据在写出时应包含外包框。
+     *
+     * @param binaries TWKB数据，不允许为null，在延迟解码前不能被修改
+     * @return 延迟解码的几何对象，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     * @see TwkbGeometryWriter
+     */
+    @NotNull
+    public LazyGeometry<byte[]> readLazy(@NotNull byte[] binaries) throws GeometryIOException {
+        Header header = readHeader(new TwkbInput(binaries));
+        GeometryType type;
+        switch (header.type) {
+            case TwkbConstants.TWKB_POINT:
+                type = GeometryType.Point;
+                break;
+            case TwkbConstants.TWKB_LINESTRING:
+                type = GeometryType.LineString;
+                break;
+            case TwkbConstants.TWKB_POLYGON:
+                type = GeometryType.Polygon;
+                break;
+            case TwkbConstants.TWKB_MULTIPOINT:
+                type = GeometryType.MultiPoint;
+                break;
+            case TwkbConstants.TWKB_MULTILINESTRING:
+                type = GeometryType.MultiLineString;
+                break;
+            case TwkbConstants.TWKB_MULTIPOLYGON:
+                type = GeometryType.MultiPolygon;
+                break;
+            case TwkbConstants.TWKB_GEOMETRYCOLLECTION:
+                type = GeometryType.GeometryCollection;
+                break;
+            default:
+                throw new GeometryIOException("不支持的TWKB几何类型：" + header.type);
+        }
+        return new LazyGeometry<>(binaries, this, type, readBoundingBox(binaries), factory);
+    }
+
+    /**
+     * 获取从字节输入流中读取连续的TWKB数据的可分割迭代器
+     *
+     * <p>顺序读取时直接解码；切分时只解析TWKB的结构以识别几何对象的边界，
+     * 并将原始字节交给切分出的迭代器，在并行流中解码。若数据中包含长度，则识别边界时会直接跳过整个几何对象。
+     *
+     * <p>迭代器独占输入流，并会从中预读数据。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     */
+    @Override
+    public Spliterator<Geometry> readSpliterator(InputStream inputStream) {
+        TwkbInput input = new TwkbInput(inputStream, true);
+        return new GeometrySpliterator<byte[]>() {
+
+            @Override
+            protected byte[] nextRecord() throws GeometryIOException {
+                if (!input.hasRemaining()) {
+                    return null;
+                }
+                input.beginCapture();
+                skipGeometry(input);
+                return input.endCapture();
+            }
+
+            @Override
+            protected Geometry decode(byte[] record) throws GeometryIOException {
+                return read(record);
+            }
+
+            @Override
+            protected Geometry nextGeometry() throws GeometryIOException {
+                return input.hasRemaining() ? read(input) : null;
+            }
+
+        };
+    }
+
+    private Geometry read(TwkbInput input) throws GeometryIOException {
+        try {
+            return readGeometry(input);
+        } catch (IllegalArgumentException e) {
+            // 几何工厂拒绝创建几何对象，例如线串的点数不足
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private Geometry readGeometry(TwkbInput input) throws GeometryIOException {
+
+        Header header = readHeader(input);
+        if ((header.metadata & TwkbConstants.SIZE_FLAG) != 0) {
+            input.readUnsignedVarLong();
+        }
+        boolean empty = (header.metadata & TwkbConstants.EMPTY_FLAG) != 0;
+        if (!empty && (header.metadata & TwkbConstants.BBOX_FLAG) != 0) {
+            for (int i = 0; i < header.dimension << 1; i++) {
+                input.readVarLong();
+            }
+        }
+
+        switch (header.type) {
+            case TwkbConstants.TWKB_POINT:
+                if (empty) {
+                    return factory.createPoint(Coordinate.NONE);
+                }
+                double[] ordinates = readCoordinates(input, header, new double[4], 1, 4);
+                return factory.createPoint(new Coordinate(ordinates[0], ordinates[1],
+                        header.hasZ ? ordinates[2] : Coordinate.NULL_ORDINATE_VALUE,
+                        header.hasM ? ordinates[header.dimension - 1] : Coordinate.NULL_ORDINATE_VALUE));
+            case TwkbConstants.TWKB_LINESTRING:
+                return factory.createLineString(empty ?
+                        new PackedCoordinateSequence(new double[0], header.hasZ, header.hasM) :
+                        readCoordinateSequence(input, header, false));
+            case TwkbConstants.TWKB_POLYGON:
+                return empty ? factory.createPolygon(null, null) : readPolygon(input, header);
+            case TwkbConstants.TWKB_MULTIPOINT: {
+                if (empty) {
+                    return factory.createMultiPoint(new Point[0]);
+                }
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                return factory.createMultiPoint(readCoordinateSequence(input, header, count, false));
+            }
+            case TwkbConstants.TWKB_MULTILINESTRING: {
+                if (empty) {
+                    return factory.createMultiLineString(new LineString[0]);
+                }
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                LineString[] lineStrings = new LineString[input.initialCapacity(count)];
+                for (int i = 0; i < count; i++) {
+                    lineStrings = grow(lineStrings, i, count);
+                    lineStrings[i] = factory.createLineString(readCoordinateSequence(input, header, false));
+                }
+                return factory.createMultiLineString(lineStrings);
+            }
+            case TwkbConstants.TWKB_MULTIPOLYGON: {
+                if (empty) {
+                    return factory.createMultiPolygon(new Polygon[0]);
+                }
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                Polygon[] polygons = new Polygon[input.initialCapacity(count)];
+                for (int i = 0; i < count; i++) {
+                    polygons = grow(polygons, i, count);
+                    polygons[i] = readPolygon(input, header);
+                }
+                return factory.createMultiPolygon(polygons);
+            }
+            case TwkbConstants.TWKB_GEOMETRYCOLLECTION: {
+                if (empty) {
+                    return factory.createGeometryCollection(new Geometry[0]);
+                }
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                Geometry[] geometries = new Geometry[input.initialCapacity(count)];
+                for (int i = 0; i < count; i++) {
+                    geometries = grow(geometries, i, count);
+                    geometries[i] = readGeometry(input);
+                }
+                return factory.createGeometryCollection(geometries);
+            }
+        }
+        throw new GeometryIOException("不支持的TWKB几何类型：" + header.type);
+    }
+
+    private Polygon readPolygon(TwkbInput input, Header header) throws GeometryIOException {
+        int ringSize = input.readCount();
+        if (ringSize == 0) {
+            return factory.createPolygon(null, null);
+        }
+        LinearRing shell = factory.createLinearRing(readCoordinateSequence(input, header, repairRings()));
+        int holeSize = ringSize - 1;
+        LinearRing[] holes = new LinearRing[input.initialCapacity(holeSize)];
+        for (int i = 0; i < holeSize; i++) {
+            holes = grow(holes, i, holeSize);
+            holes[i] = factory.createLinearRing(readCoordinateSequence(input, header, repairRings()));
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    private CoordinateSequence readCoordinateSequence(TwkbInput input, Header header, boolean closeRing)
+            throws GeometryIOException {
+        return readCoordinateSequence(input, header, input.readCount(), closeRing);
+    }
+
+    private CoordinateSequence readCoordinateSequence(TwkbInput input, Header header, int size,
+                                                      boolean closeRing)
+            throws GeometryIOException {
+
+        int dimension = header.dimension;
+        if ((long) size * dimension > Integer.MAX_VALUE - dimension) {
+            throw new GeometryIOException("TWKB格式错误，坐标个数过大：" + size);
+        }
+        int length = size * dimension;
+        boolean close = closeRing && size > 0;
+        int capacity = close ? length + dimension : length;
+        double[] ordinates = readCoordinates(input, header,
+                new double[input.initialCapacity(capacity)], size, capacity);
+        if (close) {
+            if (ordinates[0] == ordinates[length - dimension]
+                    && ordinates[1] == ordinates[length - dimension + 1]) {
+                ordinates = Arrays.copyOf(ordinates, length);
+            } else {
+                // 修复未闭合的线环
+                System.arraycopy(ordinates, 0, ordinates, length, dimension);
+            }
+        }
+        return new PackedCoordinateSequence(ordinates, header.hasZ, header.hasM);
+    }
+
+    /**
+     * 读取多个坐标的差值，并将其还原为坐标值
+     *
+     * @param ordinates 存放坐标值的数组，容量不足时会随着读取到的坐标增长，直到达到capacity
+     * @return 存放坐标值的数组
+     */
+    private double[] readCoordinates(TwkbInput input, Header header, double[] ordinates, int size,
+                                     int capacity)
+            throws GeometryIOException {
+        int dimension = header.dimension;
+        long[] last = header.last;
+        for (int i = 0, offset = 0; i < size; i++) {
+            if (offset + dimension > ordinates.length) {
+                ordinates = Arrays.copyOf(ordinates,
+                        (int) Math.min(capacity, Math.max(offset + dimension, (long) ordinates.length << 1)));
+            }
+            for (int d = 0; d < dimension; d++) {
+                long value = last[d] + input.readVarLong();
+                last[d] = value;
+                ordinates[offset++] = header.toOrdinate(value, d);
+            }
+        }
+        return ordinates.length < capacity ? Arrays.copyOf(ordinates, capacity) : ordinates;
+    }
+
+    /**
+     * 在写入第index个元素之前确保数组的容量，数组随着读取到的元素增长，直到达到count
+     */
+    private static <T> T[] grow(T[] array, int index, int count) {
+        return index < array.length ? array : Arrays.copyOf(array, (int) Math.min(count, (long) index << 1));
+    }
+
+    private static void skipIdList(TwkbInput input, Header header, int count) throws GeometryIOException {
+        if ((header.metadata & TwkbConstants.ID_LIST_FLAG) != 0) {
+            for (int i = 0; i < count; i++) {
+                input.readVarLong();
+            }
+        }
+    }
+
+    private static Header readHeader(TwkbInput input) throws GeometryIOException {
+        int typeAndPrecision = input.readByte();
+        int metadata = input.readByte();
+        int dimensions = (metadata & TwkbConstants.EXTENDED_DIMENSIONS_FLAG) != 0 ? input.readByte() : 0;
+        return new Header(typeAndPrecision, metadata, dimensions);
+    }
+
+    /**
+     * 跳过一个几何对象，只识别其边界
+     */
+    private static void skipGeometry(TwkbInput input) throws GeometryIOException {
+        Header header = readHeader(input);
+        if ((header.metadata & TwkbConstants.SIZE_FLAG) != 0) {
+            input.skip(input.readUnsignedVarLong());
+            return;
+        }
+        if ((header.metadata & TwkbConstants.EMPTY_FLAG) != 0) {
+            return;
+        }
+        if ((header.metadata & TwkbConstants.BBOX_FLAG) != 0) {
+            skipVarLongs(input, (long) header.dimension << 1);
+        }
+        switch (header.type) {
+            case TwkbConstants.TWKB_POINT:
+                skipVarLongs(input, header.dimension);
+                break;
+            case TwkbConstants.TWKB_LINESTRING:
+                skipVarLongs(input, (long) input.readCount() * header.dimension);
+                break;
+            case TwkbConstants.TWKB_POLYGON:
+                skipRings(input, header);
+                break;
+            case TwkbConstants.TWKB_MULTIPOINT: {
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                skipVarLongs(input, (long) count * header.dimension);
+                break;
+            }
+            case TwkbConstants.TWKB_MULTILINESTRING: {
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                for (int i = 0; i < count; i++) {
+                    skipVarLongs(input, (long) input.readCount() * header.dimension);
+                }
+                break;
+            }
+            case TwkbConstants.TWKB_MULTIPOLYGON: {
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                for (int i = 0; i < count; i++) {
+                    skipRings(input, header);
+                }
+                break;
+            }
+            case TwkbConstants.TWKB_GEOMETRYCOLLECTION: {
+                int count = input.readCount();
+                skipIdList(input, header, count);
+                for (int i = 0; i < count; i++) {
+                    skipGeometry(input);
+                }
+                break;
+            }
+            default:
+                throw new GeometryIOException("不支持的TWKB几何类型：" + header.type);
+        }
+    }
+
+    private static void skipRings(TwkbInput input, Header header) throws GeometryIOException {
+        int ringSize = input.readCount();
+        for (int i = 0; i < ringSize; i++) {
+            skipVarLongs(input, (long) input.readCount() * header.dimension);
+        }
+    }
+
+    private static void skipVarLongs(TwkbInput input, long count) throws GeometryIOException {
+        for (long i = 0; i < count; i++) {
+            input.readUnsignedVarLong();
+        }
+    }
+
+    /**
+     * TWKB几何对象的头部，同时保存解码坐标差值时的状态
+     */
+    private static final class Header {
+
+        final int type;
+        final int metadata;
+        final boolean hasZ;
+        final boolean hasM;
+
+        /**
+         * 每个坐标中数值的个数
+         */
+        final int dimension;
+
+        /**
+         * 各维度的精度（小数位数），按坐标中数值的顺序存放
+         */
+        final int[] precisions = new int[4];
+
+        /**
+         * 各维度的10的|精度|次方，按坐标中数值的顺序存放
+         */
+        final double[] factors = new double[4];
+
+        /**
+         * 上一个坐标的整数值，同一个几何对象中的所有坐标依次累加
+         */
+        final long[] last = new long[4];
+
+        Header(int typeAndPrecision, int metadata, int dimensions) {
+            this.type = typeAndPrecision & 0x0F;
+            this.metadata = metadata;
+            int zigZag = typeAndPrecision >>> 4;
+            int precision = (zigZag >>> 1) ^ -(zigZag & 1);
+            this.hasZ = (dimensions & TwkbConstants.Z_FLAG) != 0;
+            this.hasM = (dimensions & TwkbConstants.M_FLAG) != 0;
+            int d = 0;
+            precisions[d++] = precision;
+            precisions[d++] = precision;
+            if (hasZ) {
+                precisions[d++] = (dimensions >>> 2) & 0x07;
+            }
+            if (hasM) {
+                precisions[d++] = (dimensions >>> 5) & 0x07;
+            }
+            this.dimension = d;
+            for (int i = 0; i < d; i++) {
+                factors[i] = Math.pow(10, Math.abs(precisions[i]));
+            }
+        }
+
+        double toOrdinate(long value, int dimension) {
+            return TwkbConstants.toOrdinate(value, precisions[dimension], factors[dimension]);
+        }
+
+    }
+
+}
@@ -0,0 +1,533 @@
+package gnova.geometry.io.twkb;
+
+import gnova.geometry.io.BinaryGeometryWriter;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.*;
+
+import java.io.OutputStream;
+
+/**
+ * TWKB（Tiny Well-known Binary）格式的几何对象写入器
+ *
+ * <p>坐标值按照精度（小数位数）量化为整数，同一个几何对象中相邻的坐标只记录其差值，
+ * 差值再经过ZigZag编码并以变长整数存储。对于折线这类相邻坐标相近的数据，编码结果通常只有WKB的1/4到1/8。
+ * 量化时坐标值乘以10的精度次幂后四舍五入，超出精度的部分会丢失。
+ *
+ * <p>XY坐标的精度可以在构造时指定，也可以由几何对象自身的{@link Geometry#getPrecision() 精度}决定，
+ * 由于TWKB只能表示10的幂次的缩放系数，规则如下：
+ * <ul>
+ *     <li>{@link PrecisionMode#CustomScale 固定精度}且缩放系数为10的幂次时，精度为其指数，
+ *     读取后的坐标值与{@link Precision#makePrecise(double)}的结果相同；</li>
+ *     <li>固定精度且缩放系数不是10的幂次时，精度为ceil(log10(缩放系数))，即向上取整到能够容纳该缩放系数的小数位数，
+ *     读取后的坐标值不低于几何对象的精度，但与{@link Precision#makePrecise(double)}的结果不同；</li>
+ *     <li>浮点精度（包括单精度浮点）时，精度为{@link #DEFAULT_PRECISION 默认精度}，坐标值会被量化，是有损的；</li>
+ *     <li>精度超出-8到7的范围时，被截断到该范围内。</li>
+ * </ul>
+ * 若需要无损或确定的结果，应在构造时显式地指定精度。
+ *
+ * <p>写入器可以在几何对象之前写入量化后的外包框，读取方可以只解码外包框以进行快速过滤，
+ * 见{@link TwkbGeometryReader#readBoundingBox(byte[])}；
+ * 还可以写入数据的长度，使读取方能够在不解码的情况下跳过整个几何对象。
+ *
+ * <p>写入器持有可重用的缓冲区，因此不是线程安全的，每个线程应使用独立的写入器。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class TwkbGeometryWriter
+        implements BinaryGeometryWriter {
+
+    /**
+     * 表示由几何对象自身的精度决定XY坐标的精度
+     */
+    public static final int PRECISION_FROM_GEOMETRY = Integer.MIN_VALUE;
+
+    /**
+     * 几何对象使用浮点精度时，XY坐标的默认精度（小数位数），对于经纬度坐标约为1厘米
+     */
+    public static final int DEFAULT_PRECISION = 7;
+
+    /**
+     * 缓冲区的初始大小
+     */
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /**
+     * XY坐标的精度，或{@link #PRECISION_FROM_GEOMETRY}
+     */
+    private final int precision;
+
+    private final int zPrecision;
+    private final int mPrecision;
+
+    /**
+     * 输出维度，2表示XY，3表示XYZ，4表示XYZM
+     */
+    private final int outputDimension;
+
+    /**
+     * 是否写入外包框
+     */
+    private final boolean includeBbox;
+
+    /**
+     * 是否写入数据的长度
+     */
+    private final boolean includeSize;
+
+    private final TwkbOutput output = new TwkbOutput(INITIAL_BUFFER_SIZE);
+
+    /**
+     * 上一个坐标量化后的整数值，按XYZM的顺序存放
+     */
+    private final long[] last = new long[4];
+
+    /**
+     * 当前几何对象各维度的缩放系数，按XYZM的顺序存放
+     */
+    private final double[] scales = new double[4];
+
+    /**
+     * 构造一个由几何对象自身的精度决定XY坐标的精度的写入器，
+     * 对于浮点精度的几何对象，使用{@link #DEFAULT_PRECISION 默认精度}，见类的说明
+     */
+    public TwkbGeometryWriter() {
+        this(PRECISION_FROM_GEOMETRY);
+    }
+
+    public TwkbGeometryWriter(int precision) {
+        this(precision, false);
+    }
+
+    public TwkbGeometryWriter(int precision, boolean includeBbox) {
+        this(precision, 2, 0, 0, includeBbox, false);
+    }
+
+    /**
+     * 构造一个TWKB格式的几何对象写入器
+     *
+     * @param precision XY坐标的精度（小数位数），只能为-8到7之间的整数，
+     *                  或{@link #PRECISION_FROM_GEOMETRY}，此时精度的计算规则见类的说明
+     * @param outputDimension 输出维度，只能为2、3或4
+     * @param zPrecision Z坐标的精度（小数位数），只能为0到7之间的整数
+     * @param mPrecision M值的精度（小数位数），只能为0到7之间的整数
+     * @param includeBbox 是否写入外包框
+     * @param includeSize 是否写入数据的长度
+     * @throws IllegalArgumentException 若精度或输出维度不合法，则抛出此异常
+     */
+    public TwkbGeometryWriter(int precision, int outputDimension, int zPrecision, int mPrecision,
+                              boolean includeBbox, boolean includeSize)
+            throws IllegalArgumentException {
+        if (precision != PRECISION_FROM_GEOMETRY
+                && (precision < TwkbConstants.MIN_PRECISION || precision > TwkbConstants.MAX_PRECISION)) {
+            throw new IllegalArgumentException("XY坐标的精度只能为-8到7之间的整数：" + precision);
+        }
+        if (outputDimension < 2 || outputDimension > 4) {
+            throw new IllegalArgumentException("输出维度只能为2、3或4：" + outputDimension);
+        }
+        if (zPrecision < 0 || zPrecision > TwkbConstants.MAX_ZM_PRECISION) {
+            throw new IllegalArgumentException("Z坐标的精度只能为0到7之间的整数：" + zPrecision);
+        }
+        if (mPrecision < 0 || mPrecision > TwkbConstants.MAX_ZM_PRECISION) {
+            throw new IllegalArgumentException("M值的精度只能为0到7之间的整数：" + mPrecision);
+        }
+        this.precision = precision;
+        this.outputDimension = outputDimension;
+        this.zPrecision = zPrecision;
+        this.mPrecision = mPrecision;
+        this.includeBbox = includeBbox;
+        this.includeSize = includeSize;
+    }
+
+    /**
+     * 获取XY坐标的精度
+     *
+     * @return 精度（小数位数），若由几何对象自身的精度决定，则返回{@link #PRECISION_FROM_GEOMETRY}
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getOutputDimension() {
+        return outputDimension;
+    }
+
+    public int getZPrecision() {
+        return zPrecision;
+    }
+
+    public int getMPrecision() {
+        return mPrecision;
+    }
+
+    public boolean isIncludeBbox() {
+        return includeBbox;
+    }
+
+    public boolean isIncludeSize() {
+        return includeSize;
+    }
+
+    @Override
+    public byte[] writePoint(Point point) throws GeometryIOException {
+        return toBinaries(point);
+    }
+
+    @Override
+    public byte[] writeLineString(LineString lineString) throws GeometryIOException {
+        return toBinaries(lineString);
+    }
+
+    @Override
+    public byte[] writeLinearRing(LinearRing linearRing) throws GeometryIOException {
+        return toBinaries(linearRing);
+    }
+
+    @Override
+    public byte[] writePolygon(Polygon polygon) throws GeometryIOException {
+        return toBinaries(polygon);
+    }
+
+    @Override
+    public byte[] writeGeometryCollection(GeometryCollection geometries) throws GeometryIOException {
+        return toBinaries(geometries);
+    }
+
+    @Override
+    public byte[] writeMultiPoint(MultiPoint multiPoint) throws GeometryIOException {
+        return toBinaries(multiPoint);
+    }
+
+    @Override
+    public byte[] writeMultiLineString(MultiLineString multiLineString) throws GeometryIOException {
+        return toBinaries(multiLineString);
+    }
+
+    @Override
+    public byte[] writeMultiPolygon(MultiPolygon multiPolygon) throws GeometryIOException {
+        return toBinaries(multiPolygon);
+    }
+
+    @Override
+    public void write(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        writeTo(geometry, outputStream);
+    }
+
+    @Override
+    public void writePoint(Point point, OutputStream outputStream) throws GeometryIOException {
+        writeTo(point, outputStream);
+    }
+
+    @Override
+    public void writeLineString(LineString lineString, OutputStream outputStream) throws GeometryIOException {
+        writeTo(lineString, outputStream);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, OutputStream outputStream) throws GeometryIOException {
+        writeTo(linearRing, outputStream);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, OutputStream outputStream) throws GeometryIOException {
+        writeTo(polygon, outputStream);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(geometries, outputStream);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, OutputStream outputStream) throws GeometryIOException {
+        writeTo(multiPoint, outputStream);
+    }
+
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(multiLineString, outputStream);
+    }
+
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(multiPolygon, outputStream);
+    }
+
+    private byte[] toBinaries(Geometry geometry) throws GeometryIOException {
+        output.reset();
+        writeGeometry(geometry, precisionOf(geometry));
+        return output.toByteArray();
+    }
+
+    private void writeTo(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        output.reset();
+        writeGeometry(geometry, precisionOf(geometry));
+        output.writeTo(outputStream);
+    }
+
+    /**
+     * 获取写入几何对象时使用的XY坐标的精度，规则见类的说明
+     */
+    private int precisionOf(Geometry geometry) {
+        if (precision != PRECISION_FROM_GEOMETRY) {
+            return precision;
+        }
+        Precision geometryPrecision = geometry.getPrecision();
+        if (geometryPrecision.getMode() != PrecisionMode.CustomScale) {
+            return DEFAULT_PRECISION;
+        }
+        // 缩放系数不是10的幂次时，向上取整以保留全部的精度
+        int digits = (int) Math.ceil(Math.log10(geometryPrecision.getScale()) - 1e-9);
+        return Math.max(TwkbConstants.MIN_PRECISION, Math.min(TwkbConstants.MAX_PRECISION, digits));
+    }
+
+    private void writeGeometry(Geometry geometry, int xyPrecision) throws GeometryIOException {
+
+        geometry = geometry.unwrap();
+        int type = toTwkbType(geometry.getType());
+        boolean empty = geometry.isEmpty();
+        output.writeByte((zigZag(xyPrecision) << 4) | type);
+        int metadata = 0;
+        if (includeBbox && !empty) {
+            metadata |= TwkbConstants.BBOX_FLAG;
+        }
+        if (includeSize) {
+            metadata |= TwkbConstants.SIZE_FLAG;
+        }
+        if (outputDimension > 2) {
+            metadata |= TwkbConstants.EXTENDED_DIMENSIONS_FLAG;
+        }
+        if (empty) {
+            metadata |= TwkbConstants.EMPTY_FLAG;
+        }
+        output.writeByte(metadata);
+        if (outputDimension > 2) {
+            int dimensions = TwkbConstants.Z_FLAG | (zPrecision << 2);
+            if (outputDimension == 4) {
+                dimensions |= TwkbConstants.M_FLAG | (mPrecision << 5);
+            }
+            output.writeByte(dimensions);
+        }
+
+        int mark = output.position();
+        if (!empty) {
+            scales[0] = scales[1] = TwkbConstants.scaleOf(xyPrecision);
+            scales[2] = TwkbConstants.scaleOf(zPrecision);
+            scales[3] = TwkbConstants.scaleOf(mPrecision);
+            if (includeBbox) {
+                writeBoundingBox(geometry);
+            }
+            last[0] = last[1] = last[2] = last[3] = 0;
+            writeBody(geometry, xyPrecision);
+        }
+        if (includeSize) {
+            // 数据的长度不包括长度字段本身
+            output.insertUnsignedVarLong(mark, output.position() - mark);
+        }
+    }
+
+    private void writeBody(Geometry geometry, int xyPrecision) throws GeometryIOException {
+        switch (geometry.getType()) {
+            case Point: {
+                Coordinate coordinate = geometry.getCoordinate();
+                writeCoordinate(coordinate.getX(), coordinate.getY(), coordinate.getZ(), coordinate.getM());
+                break;
+            }
+            case LineString:
+            case LinearRing:
+                writeCoordinateSequence(((LineString) geometry).getCoordinateSequence());
+                break;
+            case Polygon:
+                writePolygonBody((Polygon) geometry);
+                break;
+            case MultiPoint: {
+                // TWKB的多点中无法表示空点，空点会被忽略
+                MultiPoint multiPoint = (MultiPoint) geometry;
+                int count = 0;
+                for (int i = 0; i < multiPoint.size(); i++) {
+                    if (!multiPoint.getGeometryAt(i).isEmpty()) {
+                        count++;
+                    }
+                }
+                output.writeUnsignedVarLong(count);
+                for (int i = 0; i < multiPoint.size(); i++) {
+                    Point point = multiPoint.getGeometryAt(i);
+                    if (!point.isEmpty()) {
+                        Coordinate coordinate = point.getCoordinate();
+                        writeCoordinate(coordinate.getX(), coordinate.getY(), coordinate.getZ(), coordinate.getM());
+                    }
+                }
+                break;
+            }
+            case MultiLineString: {
+                MultiLineString multiLineString = (MultiLineString) geometry;
+                output.writeUnsignedVarLong(multiLineString.size());
+                for (int i = 0; i < multiLineString.size(); i++) {
+                    writeCoordinateSequence(multiLineString.getGeometryAt(i).getCoordinateSequence());
+                }
+                break;
+            }
+            case MultiPolygon: {
+                MultiPolygon multiPolygon = (MultiPolygon) geometry;
+                output.writeUnsignedVarLong(multiPolygon.size());
+                for (int i = 0; i < multiPolygon.size(); i++) {
+                    writePolygonBody(multiPolygon.getGeometryAt(i));
+                }
+                break;
+            }
+            default: {
+                // 几何集合中的每个几何对象都是完整的TWKB，各自从原点开始计算差值
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                output.writeUnsignedVarLong(geometries.size());
+                for (int i = 0; i < geometries.size(); i++) {
+                    writeGeometry(geometries.getGeometryAt(i), xyPrecision);
+                }
+                break;
+            }
+        }
+    }
+
+    private void writePolygonBody(Polygon polygon) {
+        if (polygon.isEmpty()) {
+            output.writeUnsignedVarLong(0);
+            return;
+        }
+        int interiorRingSize = polygon.getInteriorRingSize();
+        output.writeUnsignedVarLong(interiorRingSize + 1);
+        writeCoordinateSequence(polygon.getExteriorRing().getCoordinateSequence());
+        for (int i = 0; i < interiorRingSize; i++) {
+            writeCoordinateSequence(polygon.getInteriorRingAt(i).getCoordinateSequence());
+        }
+    }
+
+    private void writeCoordinateSequence(CoordinateSequence coordinates) {
+        int size = coordinates.size();
+        output.writeUnsignedVarLong(size);
+        for (int i = 0; i < size; i++) {
+            writeCoordinate(coordinates.getXAt(i), coordinates.getYAt(i),
+                    outputDimension > 2 ? coordinates.getZAt(i) : Coordinate.NULL_ORDINATE_VALUE,
+                    outputDimension > 3 ? coordinates.getMAt(i) : Coordinate.NULL_ORDINATE_VALUE);
+        }
+    }
+
+    /**
+     * 写入一个坐标与上一个坐标的差值，不存在的Z坐标与M值按0写入
+     */
+    private void writeCoordinate(double x, double y, double z, double m) {
+        writeDelta(0, x);
+        writeDelta(1, y);
+        if (outputDimension > 2) {
+            writeDelta(2, z);
+        }
+        if (outputDimension > 3) {
+            writeDelta(3, m);
+        }
+    }
+
+    private void writeDelta(int dimension, double value) {
+        long quantized = Math.round(value * scales[dimension]);
+        output.writeVarLong(quantized - last[dimension]);
+        last[dimension] = quantized;
+    }
+
+    /**
+     * 写入量化后的外包框，每个维度依次写入最小值与最大值减最小值的差
+     */
+    private void writeBoundingBox(Geometry geometry) {
+        // 量化是单调的，因此量化后的外包框即为外包框的量化
+        long minX = Math.round(geometry.getMinX() * scales[0]);
+        long minY = Math.round(geometry.getMinY() * scales[1]);
+        output.writeVarLong(minX);
+        output.writeVarLong(Math.round(geometry.getMaxX() * scales[0]) - minX);
+        output.writeVarLong(minY);
+        output.writeVarLong(Math.round(geometry.getMaxY() * scales[1]) - minY);
+        if (outputDimension > 2) {
+            long[] bounds = {Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+            scanZmBounds(geometry, bounds);
+            output.writeVarLong(bounds[0]);
+            output.writeVarLong(bounds[1] - bounds[0]);
+            if (outputDimension > 3) {
+                output.writeVarLong(bounds[2]);
+                output.writeVarLong(bounds[3] - bounds[2]);
+            }
+        }
+    }
+
+    /**
+     * 计算几何对象量化后的Z坐标与M值的范围，按Z最小值、Z最大值、M最小值、M最大值的顺序存放
+     */
+    private void scanZmBounds(Geometry geometry, long[] bounds) {
+        switch (geometry.getType()) {
+            case Point:
+                if (!geometry.isEmpty()) {
+                    Coordinate coordinate = geometry.getCoordinate();
+                    includeZm(coordinate.getZ(), coordinate.getM(), bounds);
+                }
+                break;
+            case LineString:
+            case LinearRing: {
+                CoordinateSequence coordinates = ((LineString) geometry).getCoordinateSequence();
+                for (int i = 0, size = coordinates.size(); i < size; i++) {
+                    includeZm(coordinates.getZAt(i),
+                            outputDimension > 3 ? coordinates.getMAt(i) : Coordinate.NULL_ORDINATE_VALUE, bounds);
+                }
+                break;
+            }
+            case Polygon: {
+                Polygon polygon = (Polygon) geometry;
+                if (!polygon.isEmpty()) {
+                    scanZmBounds(polygon.getExteriorRing(), bounds);
+                    for (int i = 0; i < polygon.getInteriorRingSize(); i++) {
+                        scanZmBounds(polygon.getInteriorRingAt(i), bounds);
+                    }
+                }
+                break;
+            }
+            default: {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                for (int i = 0; i < geometries.size(); i++) {
+                    scanZmBounds(geometries.getGeometryAt(i), bounds);
+                }
+                break;
+            }
+        }
+    }
+
+    private void includeZm(double z, double m, long[] bounds) {
+        long quantizedZ = Math.round(z * scales[2]);
+        bounds[0] = Math.min(bounds[0], quantizedZ);
+        bounds[1] = Math.max(bounds[1], quantizedZ);
+        long quantizedM = Math.round(m * scales[3]);
+        bounds[2] = Math.min(bounds[2], quantizedM);
+        bounds[3] = Math.max(bounds[3], quantizedM);
+    }
+
+    private static int zigZag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0x0F;
+    }
+
+    private static int toTwkbType(GeometryType type) throws GeometryIOException {
+        switch (type) {
+            case Point:
+                return TwkbConstants.TWKB_POINT;
+            case LineString:
+            case LinearRing:
+                return TwkbConstants.TWKB_LINESTRING;
+            case Polygon:
+                return TwkbConstants.TWKB_POLYGON;
+            case MultiPoint:
+                return TwkbConstants.TWKB_MULTIPOINT;
+            case MultiLineString:
+                return TwkbConstants.TWKB_MULTILINESTRING;
+            case MultiPolygon:
+                return TwkbConstants.TWKB_MULTIPOLYGON;
+            case GeometryCollection:
+                return TwkbConstants.TWKB_GEOMETRYCOLLECTION;
+        }
+        throw new GeometryIOException("不支持的几何类型：" + type);
+    }
+
+}
@@ -0,0 +1,270 @@
+package gnova.geometry.io.twkb;
+
+import gnova.geometry.io.GeometryIOException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * TWKB数据的读取器
+ *
+ * <p>数据可以来自一块完整的内存，也可以来自一个字节输入流。
+ * 当数据来自字节输入流时，默认只会从流中读取当前需要的字节数，
+ * 因此在读取完一个几何对象之后，输入流恰好停留在下一个几何对象的起始位置；
+ * 若输入流由读取器独占，则可以使用{@link #TwkbInput(InputStream, boolean) 预读}模式，批量读取数据。
+ *
+ * <p>读取器可以{@link #beginCapture() 捕获}读取过的原始字节，用于在不解码的情况下切分连续的几何对象。
+ *
+ * <p>读取器不是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class TwkbInput {
+
+    /**
+     * 从字节输入流读取数据时，缓冲区的默认大小
+     */
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 从字节输入流读取数组时，数组的初始容量的上限
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * 字节输入流，若数据来自一块完整的内存，则为null
+     */
+    private final InputStream inputStream;
+
+    /**
+     * 是否允许从字节输入流中预读超出当前需要的数据
+     */
+    private final boolean readAhead;
+
+    /**
+     * 缓冲区，其中[position, limit)为尚未读取的数据
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 正在捕获的原始字节，若为null，则表示没有在捕获
+     */
+    private byte[] capture;
+    private int captureSize;
+
+    TwkbInput(InputStream inputStream) {
+        this(inputStream, false);
+    }
+
+    /**
+     * 构造一个从字节输入流中读取数据的读取器
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @param readAhead 是否允许预读，若为true，则读取器会读取超出当前几何对象的数据
+     */
+    TwkbInput(InputStream inputStream, boolean readAhead) {
+        this.inputStream = inputStream;
+        this.readAhead = readAhead;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * 构造一个从字节缓冲区中读取数据的读取器
+     *
+     * @param buffer 字节缓冲区，不允许为null，读取器将从其当前位置开始读取
+     */
+    TwkbInput(ByteBuffer buffer) {
+        this.inputStream = null;
+        this.readAhead = false;
+        this.buffer = buffer;
+    }
+
+    TwkbInput(byte[] binaries) {
+        this(ByteBuffer.wrap(binaries));
+    }
+
+    /**
+     * 是否还有尚未读取的数据
+     *
+     * @return 若还有尚未读取的数据，则返回true，否则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    boolean hasRemaining() throws GeometryIOException {
+        return buffer.hasRemaining() || (inputStream != null && fill(1));
+    }
+
+    /**
+     * 读取一个字节
+     *
+     * @return 字节的无符号值
+     * @throws GeometryIOException 若已到达数据的末尾或读取失败，则抛出此异常
+     */
+    int readByte() throws GeometryIOException {
+        if (!buffer.hasRemaining() && (inputStream == null || !fill(1))) {
+            throw new GeometryIOException("TWKB数据不完整，已到达数据的末尾");
+        }
+        int value = buffer.get() & 0xFF;
+        if (capture != null) {
+            if (captureSize == capture.length) {
+                capture = Arrays.copyOf(capture, captureSize << 1);
+            }
+            capture[captureSize++] = (byte) value;
+        }
+        return value;
+    }
+
+    /**
+     * 读取一个无符号的变长整数
+     *
+     * @return 整数
+     * @throws GeometryIOException 若数据不完整、整数超过64位或读取失败，则抛出此异常
+     */
+    long readUnsignedVarLong() throws GeometryIOException {
+        if (capture == null && buffer.hasArray() && buffer.remaining() >= 10) {
+            // 缓冲区中的数据足够容纳最长的变长整数，直接在数组上解码
+            byte[] array = buffer.array();
+            int start = buffer.arrayOffset() + buffer.position();
+            int index = start;
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = array[index++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    buffer.position(buffer.position() + index - start);
+                    return value;
+                }
+            }
+            throw new GeometryIOException("TWKB格式错误，变长整数超过了64位");
+        }
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new GeometryIOException("TWKB格式错误，变长整数超过了64位");
+    }
+
+    /**
+     * 读取一个ZigZag编码的有符号的变长整数
+     *
+     * @return 整数
+     * @throws GeometryIOException 若数据不完整、整数超过64位或读取失败，则抛出此异常
+     */
+    long readVarLong() throws GeometryIOException {
+        long value = readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 读取一个表示元素个数的无符号的变长整数
+     *
+     * @return 元素个数
+     * @throws GeometryIOException 若元素个数不合法或读取失败，则抛出此异常
+     */
+    int readCount() throws GeometryIOException {
+        long count = readUnsignedVarLong();
+        // 每个元素至少占用一个字节
+        if (count > Integer.MAX_VALUE
+                || (inputStream == null && count > buffer.remaining())) {
+            throw new GeometryIOException("TWKB格式错误，元素个数超出了数据的长度：" + count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * 获取即将读取的数组的初始容量
+     *
+     * <p>来自字节输入流的数据的长度无法预先检查，此时初始容量不超过一个块，数组需要随着读取到的元素增长，
+     * 因此错误的元素个数不会导致分配过多的内存。
+     *
+     * @param capacity 数组最终的容量
+     * @return 初始容量
+     */
+    int initialCapacity(int capacity) {
+        return inputStream == null ? capacity : Math.min(capacity, CHUNK_SIZE);
+    }
+
+    /**
+     * 跳过指定的字节数，若正在捕获，则跳过的字节也会被捕获
+     *
+     * @param length 字节数
+     * @throws GeometryIOException 若数据不完整或读取失败，则抛出此异常
+     */
+    void skip(long length) throws GeometryIOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining() && (inputStream == null || !fill(length))) {
+                throw new GeometryIOException("TWKB数据不完整，已到达数据的末尾");
+            }
+            int n = (int) Math.min(length, buffer.remaining());
+            if (capture != null) {
+                if (captureSize + n > capture.length) {
+                    capture = Arrays.copyOf(capture, Math.max(capture.length << 1, captureSize + n));
+                }
+                buffer.get(capture, captureSize, n);
+                captureSize += n;
+            } else {
+                buffer.position(buffer.position() + n);
+            }
+            length -= n;
+        }
+    }
+
+    /**
+     * 开始捕获原始字节
+     *
+     * @see #endCapture()
+     */
+    void beginCapture() {
+        capture = new byte[64];
+        captureSize = 0;
+    }
+
+    /**
+     * 结束捕获原始字节
+     *
+     * @return 自{@link #beginCapture()}以来读取的原始字节，不会返回null
+     */
+    byte[] endCapture() {
+        byte[] captured = Arrays.copyOf(capture, captureSize);
+        capture = null;
+        return captured;
+    }
+
+    /**
+     * 从字节输入流中读取数据，直到缓冲区中至少有一个尚未读取的字节
+     *
+     * <p>若不允许预读，则最多读取指定的字节数。
+     *
+     * @param wanted 当前需要的字节数
+     * @return 若读取成功，则返回true，若已到达输入流的末尾，则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    private boolean fill(long wanted) throws GeometryIOException {
+        buffer.clear();
+        try {
+            int read;
+            do {
+                read = readAhead ?
+                        inputStream.read(buffer.array(), 0, buffer.capacity()) :
+                        inputStream.read(buffer.array(), 0, (int) Math.min(wanted, buffer.capacity()));
+            } while (read == 0);
+            if (read < 0) {
+                buffer.limit(0);
+                return false;
+            }
+            buffer.limit(read);
+            return true;
+        } catch (IOException e) {
+            buffer.limit(0);
+            throw new GeometryIOException(e);
+        }
+    }
+
+}
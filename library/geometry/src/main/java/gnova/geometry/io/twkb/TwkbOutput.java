@@ -0,0 +1,113 @@
+package gnova.geometry.io.twkb;
+
+import gnova.geometry.io.GeometryIOException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * TWKB数据的写入器
+ *
+ * <p>数据写入一个可增长的缓冲区，缓冲区可以在多次写入之间重用。
+ * 由于数据长度字段位于数据之前，且其本身是变长编码的，
+ * 写入器支持在已经写入的数据中{@link #insertUnsignedVarLong(int, long) 插入}一个变长整数。
+ *
+ * <p>写入器不是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class TwkbOutput {
+
+    private byte[] buffer;
+    private int position = 0;
+
+    TwkbOutput(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * 清空已经写入的数据，以便重用缓冲区
+     */
+    void reset() {
+        position = 0;
+    }
+
+    int position() {
+        return position;
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 写入一个无符号的变长整数，每个字节的低7位为数据，最高位表示是否还有后续字节
+     *
+     * @param value 整数，按无符号数处理
+     */
+    void writeUnsignedVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 写入一个有符号的变长整数，先进行ZigZag编码，使绝对值较小的负数也只占用较少的字节
+     *
+     * @param value 整数
+     */
+    void writeVarLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 在指定的位置插入一个无符号的变长整数，该位置之后的数据向后移动
+     *
+     * @param offset 位置
+     * @param value 整数，按无符号数处理
+     */
+    void insertUnsignedVarLong(int offset, long value) {
+        int end = position;
+        writeUnsignedVarLong(value);
+        int length = position - end;
+        byte[] encoded = Arrays.copyOfRange(buffer, end, position);
+        System.arraycopy(buffer, offset, buffer, offset + length, end - offset);
+        System.arraycopy(encoded, 0, buffer, offset, length);
+    }
+
+    /**
+     * 获取已经写入的数据的副本
+     *
+     * @return 数据，不会返回null
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * 将已经写入的数据写入到字节输出流
+     *
+     * @param outputStream 字节输出流，不允许为null
+     * @throws GeometryIOException 若写入失败，则抛出此异常
+     */
+    void writeTo(OutputStream outputStream) throws GeometryIOException {
+        try {
+            outputStream.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private void ensure(int n) {
+        if (position + n > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + n));
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.BinaryGeometryReader;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.GeometrySpliterator;
+import gnova.geometry.model.Geometry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+/**
+ * 通过内存映射访问的WKB记录文件
+ *
+ * <p>文件由若干条连续的记录组成，每条记录由一个4字节的长度值与紧随其后的WKB数据组成，
+ * 长度值不包含其自身所占用的4个字节，此类文件可以由{@link WkbGeometryWriter#writeRecord}写出。
+ * 记录使用其在文件中的偏移量来定位，几何对象只有在被访问时才会被解码。
+ *
+ * <p>文件被划分为多个内存映射段，因此可以访问超过2GB的文件，数据不会被读入Java堆中。
+ * 跨越两个映射段的记录会被单独映射。
+ *
+ * <p>在文件被关闭之前，{@link #read(long)}与{@link #getRecord(long)}是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class MappedWkbFile
+        implements Closeable, Iterable<Geometry> {
+
+    /**
+     * 每个内存映射段的大小
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long length;
+    private final MappedByteBuffer[] segments;
+    private final BinaryGeometryReader reader;
+    private final ByteOrder order;
+
+    public MappedWkbFile(Path path) throws GeometryIOException {
+        this(path, new WkbGeometryReader(), Endian.BIG_ENDIAN);
+    }
+
+    /**
+     * 打开一个WKB记录文件
+     *
+     * @param path 文件路径，不允许为null
+     * @param reader 用于解码记录的二进制几何对象读取器，不允许为null
+     * @param endian 记录长度值的字节顺序，不允许为null
+     * @throws GeometryIOException 若打开文件失败，则抛出此异常
+     */
+    public MappedWkbFile(Path path, BinaryGeometryReader reader, Endian endian)
+            throws GeometryIOException {
+        this.reader = reader;
+        this.order = endian == Endian.LITTLE_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.length = channel.size();
+            this.segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(SEGMENT_SIZE, length - position));
+                segments[i].order(order);
+            }
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    /**
+     * 获取文件的字节数
+     *
+     * @return 文件的字节数
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * 获取位于偏移量处的记录中WKB数据的字节数
+     *
+     * @param offset 记录的偏移量
+     * @return WKB数据的字节数
+     * @throws GeometryIOException 若偏移量或记录不合法，则抛出此异常
+     */
+    public int getRecordLength(long offset) throws GeometryIOException {
+        checkRange(offset, 4);
+        MappedByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+        int position = (int) (offset % SEGMENT_SIZE);
+        int recordLength = position + 4 <= segment.capacity() ?
+                segment.getInt(position) :
+                region(offset, 4).order(order).getInt(0);
+        if (recordLength < 0) {
+            throw new GeometryIOException("记录的长度不合法：" + recordLength + "，偏移量：" + offset);
+        }
+        return recordLength;
+    }
+
+    /**
+     * 获取下一条记录的偏移量
+     *
+     * @param offset 当前记录的偏移量
+     * @return 下一条记录的偏移量，若当前记录为最后一条记录，则返回值等于{@link #length()}
+     * @throws GeometryIOException 若偏移量或记录不合法，则抛出此异常
+     */
+    public long nextOffset(long offset) throws GeometryIOException {
+        return offset + 4 + getRecordLength(offset);
+    }
+
+    /**
+     * 获取位于偏移量处的记录中的WKB数据，数据不会被复制
+     *
+     * @param offset 记录的偏移量
+     * @return 只读的字节缓冲区，不会返回null
+     * @throws GeometryIOException 若偏移量或记录不合法，则抛出此异常
+     */
+    public ByteBuffer getRecord(long offset) throws GeometryIOException {
+        int recordLength = getRecordLength(offset);
+        checkRange(offset + 4, recordLength);
+        return region(offset + 4, recordLength);
+    }
+
+    /**
+     * 读取位于偏移量处的几何对象
+     *
+     * @param offset 记录的偏移量
+     * @return 几何对象，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    public Geometry read(long offset) throws GeometryIOException {
+        return reader.read(getRecord(offset));
+    }
+
+    /**
+     * 按顺序遍历文件中的所有几何对象
+     *
+     * <p>若读取失败，迭代器将抛出{@link UncheckedIOException}。
+     *
+     * @return 迭代器，不会返回null
+     */
+    @Override
+    public Iterator<Geometry> iterator() {
+        return new Iterator<Geometry>() {
+
+            private long offset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return offset < length;
+            }
+
+            @Override
+            public Geometry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    Geometry geometry = read(offset);
+                    offset = nextOffset(offset);
+                    return geometry;
+                } catch (GeometryIOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+        };
+    }
+
+    /**
+     * 获取遍历文件中所有几何对象的可分割迭代器
+     *
+     * <p>切分时只读取记录的长度值并创建指向映射内存的缓冲区，解码在切分出的迭代器中进行，
+     * 因此可以在并行流中解码。若读取失败，迭代器将抛出{@link UncheckedIOException}。
+     *
+     * @return 可分割迭代器，不会返回null
+     */
+    @Override
+    public Spliterator<Geometry> spliterator() {
+        return new GeometrySpliterator<ByteBuffer>() {
+
+            private long offset = 0;
+
+            @Override
+            protected ByteBuffer nextRecord() throws GeometryIOException {
+                if (offset >= length) {
+                    return null;
+                }
+                ByteBuffer record = getRecord(offset);
+                offset = nextOffset(offset);
+                return record;
+            }
+
+            @Override
+            protected Geometry decode(ByteBuffer record) throws GeometryIOException {
+                return reader.read(record);
+            }
+
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer region(long offset, int size) throws GeometryIOException {
+        MappedByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+        int position = (int) (offset % SEGMENT_SIZE);
+        if (position + size <= segment.capacity()) {
+            ByteBuffer duplicate = segment.duplicate();
+            duplicate.position(position);
+            duplicate.limit(position + size);
+            return duplicate.slice().asReadOnlyBuffer();
+        }
+        // 跨越映射段的记录单独映射
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private void checkRange(long offset, int size) throws GeometryIOException {
+        if (offset < 0 || offset + size > length) {
+            throw new GeometryIOException("偏移量超出了文件的范围：" + offset);
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.GeometryIOException;
+
+/**
+ * WKB/EWKB编码中使用的常量
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class WkbConstants {
+
+    /**
+     * 大端字节序标识（XDR）
+     */
+    static final byte XDR = 0;
+
+    /**
+     * 小端字节序标识（NDR）
+     */
+    static final byte NDR = 1;
+
+    static final int WKB_POINT = 1;
+    static final int WKB_LINESTRING = 2;
+    static final int WKB_POLYGON = 3;
+    static final int WKB_MULTIPOINT = 4;
+    static final int WKB_MULTILINESTRING = 5;
+    static final int WKB_MULTIPOLYGON = 6;
+    static final int WKB_GEOMETRYCOLLECTION = 7;
+
+    /**
+     * EWKB中表示包含Z坐标的标识位
+     */
+    static final int EWKB_Z_FLAG = 0x80000000;
+
+    /**
+     * EWKB中表示包含M值的标识位
+     */
+    static final int EWKB_M_FLAG = 0x40000000;
+
+    /**
+     * EWKB中表示包含空间参考标识的标识位
+     */
+    static final int EWKB_SRID_FLAG = 0x20000000;
+
+    /**
+     * 几何类型值中除去EWKB标识位之后的部分
+     */
+    static final int EWKB_TYPE_MASK = 0x0FFFFFFF;
+
+    private WkbConstants() {
+
+    }
+
+    /**
+     * 将WKB中的字节序标识转换为字节顺序
+     *
+     * @param flag 字节序标识
+     * @return 字节顺序，不会返回null
+     * @throws GeometryIOException 若字节序标识不合法，则抛出此异常
+     */
+    static Endian toEndian(byte flag) throws GeometryIOException {
+        if (flag == XDR) {
+            return Endian.BIG_ENDIAN;
+        } else if (flag == NDR) {
+            return Endian.LITTLE_ENDIAN;
+        }
+        throw new GeometryIOException("未知的字节序标识：" + flag);
+    }
+
+    /**
+     * 几何类型值是否表示包含Z坐标，同时支持EWKB标识位与ISO类型值
+     *
+     * @param typeInt WKB中的几何类型值
+     * @return 若包含Z坐标，则返回true，否则返回false
+     */
+    static boolean hasZ(int typeInt) {
+        int iso = (typeInt & EWKB_TYPE_MASK) / 1000;
+        return (typeInt & EWKB_Z_FLAG) != 0 || iso == 1 || iso == 3;
+    }
+
+    /**
+     * 几何类型值是否表示包含M值，同时支持EWKB标识位与ISO类型值
+     *
+     * @param typeInt WKB中的几何类型值
+     * @return 若包含M值，则返回true，否则返回false
+     */
+    static boolean hasM(int typeInt) {
+        int iso = (typeInt & EWKB_TYPE_MASK) / 1000;
+        return (typeInt & EWKB_M_FLAG) != 0 || iso == 2 || iso == 3;
+    }
+
+    /**
+     * 几何类型值是否表示包含空间参考标识
+     *
+     * @param typeInt WKB中的几何类型值
+     * @return 若包含空间参考标识，则返回true，否则返回false
+     */
+    static boolean hasSrid(int typeInt) {
+        return (typeInt & EWKB_SRID_FLAG) != 0;
+    }
+
+    /**
+     * 获取几何类型值中的基本几何类型，即{@link #WKB_POINT}至{@link #WKB_GEOMETRYCOLLECTION}
+     *
+     * @param typeInt WKB中的几何类型值
+     * @return 基本几何类型
+     */
+    static int baseType(int typeInt) {
+        return (typeInt & EWKB_TYPE_MASK) % 1000;
+    }
+
+    /**
+     * 获取每个坐标的维度
+     *
+     * @param typeInt WKB中的几何类型值
+     * @return 坐标的维度，介于2到4之间
+     */
+    static int dimension(int typeInt) {
+        return 2 + (hasZ(typeInt) ? 1 : 0) + (hasM(typeInt) ? 1 : 0);
+    }
+
+    /**
+     * 将字节顺序转换为WKB中的字节序标识
+     *
+     * @param endian 字节顺序，不允许为null
+     * @return 字节序标识
+     */
+    static byte fromEndian(Endian endian) {
+        return endian == Endian.LITTLE_ENDIAN ? NDR : XDR;
+    }
+
+}
@@ -0,0 +1,515 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.batch.GeometryBatch;
+import gnova.geometry.batch.GeometryBatchBuilder;
+import gnova.geometry.io.BinaryGeometryReader;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.GeometrySpliterator;
+import gnova.geometry.io.LazyGeometry;
+import gnova.geometry.model.*;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * WKB/EWKB格式的几何对象读取器
+ *
+ * <p>支持OGC WKB（包括ISO的Z/M/ZM类型值）与PostGIS EWKB（包括Z/M/SRID标识位）。
+ * 每个几何对象的字节顺序由其自身的字节序标识决定。
+ * 坐标值直接解码到{@link PackedCoordinateSequence 紧凑存储的坐标序列}中，再交给{@link GeometryFactory 几何工厂}创建几何对象，
+ * 解码过程中不会为每个坐标创建{@link Coordinate 坐标对象}。
+ *
+ * 读取{@link #readBatch(InputStream) 几何批}时，坐标值直接解码到几何批的坐标列中，不会创建任何几何对象。
+ * {@link #readLazy(byte[]) 延迟读取}时只扫描几何类型与包围盒，坐标在第一次访问时才会被解码。
+ *
+ * <p>EWKB中的空间参考标识会被读取但不会被使用，几何对象的空间参考由几何工厂决定。
+ *
+ * <p>读取器本身是无状态的，因此是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class WkbGeometryReader
+        implements BinaryGeometryReader {
+
+    private final GeometryFactory factory;
+
+    public WkbGeometryReader() {
+        this(FactoryFinder.getDefaultGeometryFactory());
+    }
+
+    public WkbGeometryReader(GeometryFactory factory) {
+        this.factory = factory;
+    }
+
+    public GeometryFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Geometry read(InputStream inputStream) throws GeometryIOException {
+        return read(new WkbInput(inputStream));
+    }
+
+    @Override
+    public Geometry read(byte[] binaries) throws GeometryIOException {
+        return read(new WkbInput(binaries));
+    }
+
+    @Override
+    public Geometry read(ByteBuffer buffer) throws GeometryIOException {
+        // 使用副本解码，以免改变调用者的字节顺序
+        ByteBuffer duplicate = buffer.duplicate();
+        Geometry geometry = read(new WkbInput(duplicate));
+        buffer.position(duplicate.position());
+        return geometry;
+    }
+
+    /**
+     * 延迟读取一个几何对象
+     *
+     * <p>只扫描WKB数据以获取几何类型与包围盒，不会创建任何坐标或几何对象，
+     * 坐标在第一次访问时才会被解码。扫描时会校验数据的结构，但几何工厂对几何对象的校验（例如线串的点数）要到解码时才会进行。
+     *
+     * @param binaries WKB数据，不允许为null，在延迟解码前不能被修改
+     * @return 延迟解码的几何对象，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    @NotNull
+    public LazyGeometry<byte[]> readLazy(@NotNull byte[] binaries) throws GeometryIOException {
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        GeometryType type = scanGeometry(new WkbInput(binaries), bounds, 0);
+        BoundingBox boundingBox = bounds[0] > bounds[2] ? BoundingBox.NONE :
+                new BoundingBox(bounds[0], bounds[2], bounds[1], bounds[3]);
+        return new LazyGeometry<>(binaries, this, type, boundingBox, factory);
+    }
+
+    /**
+     * 获取从字节输入流中读取连续的WKB数据的可分割迭代器
+     *
+     * <p>顺序读取时直接解码；切分时只解析WKB的结构以识别几何对象的边界，
+     * 并将原始字节交给切分出的迭代器，在并行流中解码。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     */
+    @Override
+    public Spliterator<Geometry> readSpliterator(InputStream inputStream) {
+        WkbInput input = new WkbInput(inputStream);
+        return new GeometrySpliterator<byte[]>() {
+
+            @Override
+            protected byte[] nextRecord() throws GeometryIOException {
+                return input.hasRemaining() ? input.readGeometryBytes() : null;
+            }
+
+            @Override
+            protected Geometry decode(byte[] record) throws GeometryIOException {
+                return read(record);
+            }
+
+            @Override
+            protected Geometry nextGeometry() throws GeometryIOException {
+                return input.hasRemaining() ? read(input) : null;
+            }
+
+        };
+    }
+
+    /**
+     * 从字节输入流中读取连续的WKB数据，并直接解码到几何批中
+     *
+     * <p>与逐个读取几何对象不同，几何批不经过几何工厂，因此空的线串等几何工厂拒绝创建的几何对象也可以被读取。
+     *
+     * @param inputStream 字节输入流，不允许为null
+     * @return 几何批，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    @Override
+    public GeometryBatch readBatch(InputStream inputStream) throws GeometryIOException {
+        WkbInput input = new WkbInput(inputStream);
+        BatchDecoder decoder = new BatchDecoder(input, new GeometryBatchBuilder());
+        while (input.hasRemaining()) {
+            decoder.decode(false, 0);
+        }
+        return decoder.builder.build();
+    }
+
+    /**
+     * 从WKB数据的读取器中读取一个几何对象
+     *
+     * @param input WKB数据的读取器，不允许为null
+     * @return 几何对象，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    Geometry read(WkbInput input) throws GeometryIOException {
+        try {
+            return readGeometry(input);
+        } catch (IllegalArgumentException e) {
+            // 几何工厂拒绝创建几何对象，例如线串的点数不足
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private Geometry readGeometry(WkbInput input) throws GeometryIOException {
+
+        input.setEndian(WkbConstants.toEndian(input.readByte()));
+        int typeInt = input.readInt();
+
+        boolean hasZ = WkbConstants.hasZ(typeInt);
+        boolean hasM = WkbConstants.hasM(typeInt);
+        if (WkbConstants.hasSrid(typeInt)) {
+            input.readInt();
+        }
+
+        switch (WkbConstants.baseType(typeInt)) {
+            case WkbConstants.WKB_POINT:
+                return readPoint(input, hasZ, hasM);
+            case WkbConstants.WKB_LINESTRING:
+                return factory.createLineString(readCoordinateSequence(input, hasZ, hasM, false));
+            case WkbConstants.WKB_POLYGON:
+                return readPolygon(input, hasZ, hasM);
+            case WkbConstants.WKB_MULTIPOINT:
+                return factory.createMultiPoint(readGeometries(input, readCount(input), new Point[0]));
+            case WkbConstants.WKB_MULTILINESTRING:
+                return factory.createMultiLineString(readGeometries(input, readCount(input), new LineString[0]));
+            case WkbConstants.WKB_MULTIPOLYGON:
+                return factory.createMultiPolygon(readGeometries(input, readCount(input), new Polygon[0]));
+            case WkbConstants.WKB_GEOMETRYCOLLECTION:
+                return factory.createGeometryCollection(readGeometries(input, readCount(input), new Geometry[0]));
+        }
+        throw new GeometryIOException("不支持的WKB几何类型：" + typeInt);
+    }
+
+    private Point readPoint(WkbInput input, boolean hasZ, boolean hasM)
+            throws GeometryIOException {
+
+        double x = input.readDouble();
+        double y = input.readDouble();
+        double z = hasZ ? input.readDouble() : Coordinate.NULL_ORDINATE_VALUE;
+        double m = hasM ? input.readDouble() : Coordinate.NULL_ORDINATE_VALUE;
+        if (Double.isNaN(x) && Double.isNaN(y)) {
+            // 空点使用NaN坐标表示
+            return factory.createPoint(Coordinate.NONE);
+        }
+        return factory.createPoint(new Coordinate(x, y, z, m));
+    }
+
+    private Polygon readPolygon(WkbInput input, boolean hasZ, boolean hasM)
+            throws GeometryIOException {
+
+        int ringSize = readCount(input);
+        if (ringSize == 0) {
+            return factory.createPolygon(null, null);
+        }
+        CoordinateSequence shellCoordinates = readCoordinateSequence(input, hasZ, hasM, repairRings());
+        if (shellCoordinates.isEmpty() && ringSize == 1) {
+            // 部分实现使用一个空的外环表示空多边形
+            return factory.createPolygon(null, null);
+        }
+        LinearRing shell = factory.createLinearRing(shellCoordinates);
+        int holeSize = ringSize - 1;
+        LinearRing[] holes = new LinearRing[input.initialCapacity(holeSize)];
+        for (int i = 0; i < holeSize; i++) {
+            if (i == holes.length) {
+                holes = Arrays.copyOf(holes, (int) Math.min(holeSize, (long) i << 1));
+            }
+            holes[i] = factory.createLinearRing(
+                    readCoordinateSequence(input, hasZ, hasM, repairRings()));
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    private <G extends Geometry> G[] readGeometries(WkbInput input, int count, G[] geometries)
+            throws GeometryIOException {
+
+        Class<?> componentType = geometries.getClass().getComponentType();
+        geometries = Arrays.copyOf(geometries, input.initialCapacity(count));
+        for (int i = 0; i < count; i++) {
+            if (i == geometries.length) {
+                // 来自字节输入流时，数组随着读取到的几何对象增长
+                geometries = Arrays.copyOf(geometries, (int) Math.min(count, (long) i << 1));
+            }
+            Geometry geometry = readGeometry(input);
+            if (!componentType.isInstance(geometry)) {
+                throw new GeometryIOException("WKB格式错误，集合中的几何类型不匹配："
+                        + geometry.getType());
+            }
+            geometries[i] = (G) geometry;
+        }
+        return geometries;
+    }
+
+    private CoordinateSequence readCoordinateSequence(WkbInput input,
+                                                      boolean hasZ, boolean hasM,
+                                                      boolean closeRing)
+            throws GeometryIOException {
+
+        int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        int size = input.readInt();
+        input.checkCount(size, dimension << 3);
+        int length = size * dimension;
+        double[] ordinates = input.readOrdinates(length);
+        if (closeRing && size > 0 && !isClosed(ordinates, length, dimension)) {
+            // 修复未闭合的线环
+            double[] closed = new double[length + dimension];
+            System.arraycopy(ordinates, 0, closed, 0, length);
+            System.arraycopy(ordinates, 0, closed, length, dimension);
+            ordinates = closed;
+        }
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+    private int readCount(WkbInput input) throws GeometryIOException {
+        int count = input.readInt();
+        input.checkCount(count, 4);
+        return count;
+    }
+
+    private static boolean isClosed(double[] ordinates, int length, int dimension) {
+        int last = length - dimension;
+        return ordinates[0] == ordinates[last] && ordinates[1] == ordinates[last + 1];
+    }
+
+    /**
+     * 扫描一个几何对象，将其坐标的X、Y范围合并到bounds中
+     *
+     * @param bounds 依次为最小X、最小Y、最大X、最大Y坐标值
+     * @param expectedType 期望的WKB几何类型，若为0，则不限制
+     * @return 几何类型
+     */
+    private static GeometryType scanGeometry(WkbInput input, double[] bounds, int expectedType)
+            throws GeometryIOException {
+
+        input.setEndian(WkbConstants.toEndian(input.readByte()));
+        int typeInt = input.readInt();
+
+        int dimension = 2 + (WkbConstants.hasZ(typeInt) ? 1 : 0) + (WkbConstants.hasM(typeInt) ? 1 : 0);
+        if (WkbConstants.hasSrid(typeInt)) {
+            input.readInt();
+        }
+        int baseType = WkbConstants.baseType(typeInt);
+        if (expectedType != 0 && baseType != expectedType) {
+            throw new GeometryIOException("WKB格式错误，集合中的几何类型不匹配：" + typeInt);
+        }
+
+        switch (baseType) {
+            case WkbConstants.WKB_POINT:
+                scanCoordinates(input, bounds, 1, dimension);
+                return GeometryType.Point;
+            case WkbConstants.WKB_LINESTRING:
+                scanCoordinates(input, bounds, input.readInt(), dimension);
+                return GeometryType.LineString;
+            case WkbConstants.WKB_POLYGON:
+                scanRings(input, bounds, dimension);
+                return GeometryType.Polygon;
+            case WkbConstants.WKB_MULTIPOINT:
+                scanGeometries(input, bounds, WkbConstants.WKB_POINT);
+                return GeometryType.MultiPoint;
+            case WkbConstants.WKB_MULTILINESTRING:
+                scanGeometries(input, bounds, WkbConstants.WKB_LINESTRING);
+                return GeometryType.MultiLineString;
+            case WkbConstants.WKB_MULTIPOLYGON:
+                scanGeometries(input, bounds, WkbConstants.WKB_POLYGON);
+                return GeometryType.MultiPolygon;
+            case WkbConstants.WKB_GEOMETRYCOLLECTION:
+                scanGeometries(input, bounds, 0);
+                return GeometryType.GeometryCollection;
+        }
+        throw new GeometryIOException("不支持的WKB几何类型：" + typeInt);
+    }
+
+    private static void scanGeometries(WkbInput input, double[] bounds, int expectedType)
+            throws GeometryIOException {
+
+        int count = input.readInt();
+        input.checkCount(count, 4);
+        for (int i = 0; i < count; i++) {
+            scanGeometry(input, bounds, expectedType);
+        }
+    }
+
+    private static void scanRings(WkbInput input, double[] bounds, int dimension)
+            throws GeometryIOException {
+
+        int count = input.readInt();
+        input.checkCount(count, 4);
+        for (int i = 0; i < count; i++) {
+            scanCoordinates(input, bounds, input.readInt(), dimension);
+        }
+    }
+
+    private static void scanCoordinates(WkbInput input, double[] bounds, int size, int dimension)
+            throws GeometryIOException {
+
+        input.checkCount(size, dimension << 3);
+        for (int i = 0; i < size; i++) {
+            double x = input.readDouble();
+            double y = input.readDouble();
+            for (int j = 2; j < dimension; j++) {
+                input.readDouble();
+            }
+            // 空点使用NaN坐标表示，NaN不会改变范围
+            if (x < bounds[0]) bounds[0] = x;
+            if (y < bounds[1]) bounds[1] = y;
+            if (x > bounds[2]) bounds[2] = x;
+            if (y > bounds[3]) bounds[3] = y;
+        }
+    }
+
+    /**
+     * 将WKB数据直接解码到几何批的构造器中
+     */
+    private final class BatchDecoder {
+
+        private final WkbInput input;
+        private final GeometryBatchBuilder builder;
+
+        /**
+         * 用于解码坐标序列的可重用的数组
+         */
+        private double[] ordinates = new double[256];
+
+        BatchDecoder(WkbInput input, GeometryBatchBuilder builder) {
+            this.input = input;
+            this.builder = builder;
+        }
+
+        /**
+         * 解码一个几何对象
+         *
+         * @param element 是否为集合中的元素，若为true，则解码为当前几何对象的部件，否则开始一个新的几何对象
+         * @param expectedType 期望的WKB几何类型，若为0，则不限制
+         */
+        void decode(boolean element, int expectedType) throws GeometryIOException {
+
+            input.setEndian(WkbConstants.toEndian(input.readByte()));
+            int typeInt = input.readInt();
+
+            boolean hasZ = WkbConstants.hasZ(typeInt);
+            boolean hasM = WkbConstants.hasM(typeInt);
+            if (WkbConstants.hasSrid(typeInt)) {
+                input.readInt();
+            }
+            int baseType = WkbConstants.baseType(typeInt);
+            if (expectedType != 0 && baseType != expectedType) {
+                throw new GeometryIOException("WKB格式错误，集合中的几何类型不匹配：" + typeInt);
+            }
+
+            switch (baseType) {
+                case WkbConstants.WKB_POINT: {
+                    double x = input.readDouble();
+                    double y = input.readDouble();
+                    double z = hasZ ? input.readDouble() : Coordinate.NULL_ORDINATE_VALUE;
+                    double m = hasM ? input.readDouble() : Coordinate.NULL_ORDINATE_VALUE;
+                    boolean empty = Double.isNaN(x) && Double.isNaN(y);
+                    if (!element) {
+                        builder.beginGeometry(GeometryType.Point);
+                    }
+                    if (element || !empty) {
+                        builder.beginPart(GeometryType.Point);
+                    }
+                    if (!empty) {
+                        builder.addCoordinate(x, y, z, m);
+                    }
+                    return;
+                }
+                case WkbConstants.WKB_LINESTRING: {
+                    if (!element) {
+                        builder.beginGeometry(GeometryType.LineString);
+                    }
+                    int size = readRingSize(hasZ, hasM);
+                    if (element || size > 0) {
+                        builder.beginPart(GeometryType.LineString);
+                    }
+                    addRing(size, hasZ, hasM, false);
+                    return;
+                }
+                case WkbConstants.WKB_POLYGON: {
+                    if (!element) {
+                        builder.beginGeometry(GeometryType.Polygon);
+                    }
+                    int ringSize = readCount(input);
+                    if (ringSize == 0) {
+                        if (element) {
+                            builder.beginPart(GeometryType.Polygon);
+                        }
+                        return;
+                    }
+                    int size = readRingSize(hasZ, hasM);
+                    // 部分实现使用一个空的外环表示空多边形
+                    boolean empty = size == 0 && ringSize == 1;
+                    if (element || !empty) {
+                        builder.beginPart(GeometryType.Polygon);
+                    }
+                    if (!empty) {
+                        builder.beginRing();
+                        addRing(size, hasZ, hasM, repairRings());
+                        for (int i = 1; i < ringSize; i++) {
+                            builder.beginRing();
+                            addRing(readRingSize(hasZ, hasM), hasZ, hasM, repairRings());
+                        }
+                    }
+                    return;
+                }
+                case WkbConstants.WKB_MULTIPOINT:
+                    decodeCollection(element, GeometryType.MultiPoint, WkbConstants.WKB_POINT);
+                    return;
+                case WkbConstants.WKB_MULTILINESTRING:
+                    decodeCollection(element, GeometryType.MultiLineString, WkbConstants.WKB_LINESTRING);
+                    return;
+                case WkbConstants.WKB_MULTIPOLYGON:
+                    decodeCollection(element, GeometryType.MultiPolygon, WkbConstants.WKB_POLYGON);
+                    return;
+                case WkbConstants.WKB_GEOMETRYCOLLECTION:
+                    decodeCollection(element, GeometryType.GeometryCollection, 0);
+                    return;
+            }
+            throw new GeometryIOException("不支持的WKB几何类型：" + typeInt);
+        }
+
+        private void decodeCollection(boolean element, GeometryType type, int elementType)
+                throws GeometryIOException {
+            // 嵌套的几何集合被展开到外层几何对象的部件中
+            if (!element) {
+                builder.beginGeometry(type);
+            }
+            int count = readCount(input);
+            for (int i = 0; i < count; i++) {
+                decode(true, elementType);
+            }
+        }
+
+        /**
+         * 读取坐标序列的坐标个数，并将坐标值读取到可重用的数组中
+         */
+        private int readRingSize(boolean hasZ, boolean hasM) throws GeometryIOException {
+            int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+            int size = input.readInt();
+            input.checkCount(size, dimension << 3);
+            int length = size * dimension;
+            ordinates = input.readOrdinates(ordinates, length, length + dimension);
+            return size;
+        }
+
+        private void addRing(int size, boolean hasZ, boolean hasM, boolean closeRing) {
+            if (size == 0) {
+                return;
+            }
+            int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+            int length = size * dimension;
+            if (closeRing && !isClosed(ordinates, length, dimension)) {
+                // 修复未闭合的线环
+                System.arraycopy(ordinates, 0, ordinates, length, dimension);
+                size++;
+            }
+            builder.addOrdinates(ordinates, 0, size, hasZ, hasM);
+        }
+
+    }
+
+}
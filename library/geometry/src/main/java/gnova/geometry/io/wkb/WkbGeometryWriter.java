@@ -0,0 +1,358 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.BinaryGeometryWriter;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.*;
+
+import java.io.OutputStream;
+
+/**
+ * WKB/EWKB格式的几何对象写入器
+ *
+ * <p>写入器使用{@link #getEndian() 字节顺序}编码所有的数值，
+ * 当输出维度大于2或需要写入空间参考标识时，使用PostGIS EWKB的标识位表示，
+ * 否则写出的数据即为标准的OGC WKB。线环按照线串写出，空点使用NaN坐标表示。
+ *
+ * <p>写入到字节输出流时，数据先写入写入器持有的可重用的缓冲区，再批量写入字节输出流，
+ * 因此写入器不是线程安全的，每个线程应使用独立的写入器。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class WkbGeometryWriter
+        implements BinaryGeometryWriter {
+
+    private final Endian endian;
+
+    /**
+     * 输出维度，2表示XY，3表示XYZ，4表示XYZM
+     */
+    private final int outputDimension;
+
+    /**
+     * 是否写入空间参考标识
+     */
+    private final boolean includeSrid;
+
+    /**
+     * 写入字节输出流时使用的缓冲区
+     */
+    private final byte[] buffer = new byte[WkbInput.DEFAULT_BUFFER_SIZE];
+
+    public WkbGeometryWriter() {
+        this(Endian.BIG_ENDIAN);
+    }
+
+    public WkbGeometryWriter(Endian endian) {
+        this(endian, 2);
+    }
+
+    public WkbGeometryWriter(Endian endian, int outputDimension) {
+        this(endian, outputDimension, false);
+    }
+
+    /**
+     * 构造一个WKB/EWKB格式的几何对象写入器
+     *
+     * @param endian 字节顺序，不允许为null
+     * @param outputDimension 输出维度，只能为2、3或4
+     * @param includeSrid 是否写入空间参考标识（EWKB）
+     * @throws IllegalArgumentException 若输出维度不合法，则抛出此异常
+     */
+    public WkbGeometryWriter(Endian endian, int outputDimension, boolean includeSrid)
+            throws IllegalArgumentException {
+        if (outputDimension < 2 || outputDimension > 4) {
+            throw new IllegalArgumentException("输出维度只能为2、3或4：" + outputDimension);
+        }
+        this.endian = endian;
+        this.outputDimension = outputDimension;
+        this.includeSrid = includeSrid;
+    }
+
+    @Override
+    public Endian getEndian() {
+        return endian;
+    }
+
+    public int getOutputDimension() {
+        return outputDimension;
+    }
+
+    public boolean isIncludeSrid() {
+        return includeSrid;
+    }
+
+    @Override
+    public byte[] writePoint(Point point) throws GeometryIOException {
+        return toBinaries(point);
+    }
+
+    @Override
+    public byte[] writeLineString(LineString lineString) throws GeometryIOException {
+        return toBinaries(lineString);
+    }
+
+    @Override
+    public byte[] writeLinearRing(LinearRing linearRing) throws GeometryIOException {
+        return toBinaries(linearRing);
+    }
+
+    @Override
+    public byte[] writePolygon(Polygon polygon) throws GeometryIOException {
+        return toBinaries(polygon);
+    }
+
+    @Override
+    public byte[] writeGeometryCollection(GeometryCollection geometries) throws GeometryIOException {
+        return toBinaries(geometries);
+    }
+
+    @Override
+    public byte[] writeMultiPoint(MultiPoint multiPoint) throws GeometryIOException {
+        return toBinaries(multiPoint);
+    }
+
+    @Override
+    public byte[] writeMultiLineString(MultiLineString multiLineString) throws GeometryIOException {
+        return toBinaries(multiLineString);
+    }
+
+    @Override
+    public byte[] writeMultiPolygon(MultiPolygon multiPolygon) throws GeometryIOException {
+        return toBinaries(multiPolygon);
+    }
+
+    @Override
+    public void write(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        writeTo(geometry, outputStream);
+    }
+
+    @Override
+    public void writePoint(Point point, OutputStream outputStream) throws GeometryIOException {
+        writeTo(point, outputStream);
+    }
+
+    @Override
+    public void writeLineString(LineString lineString, OutputStream outputStream) throws GeometryIOException {
+        writeTo(lineString, outputStream);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, OutputStream outputStream) throws GeometryIOException {
+        writeTo(linearRing, outputStream);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, OutputStream outputStream) throws GeometryIOException {
+        writeTo(polygon, outputStream);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(geometries, outputStream);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, OutputStream outputStream) throws GeometryIOException {
+        writeTo(multiPoint, outputStream);
+    }
+
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(multiLineString, outputStream);
+    }
+
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, OutputStream outputStream)
+            throws GeometryIOException {
+        writeTo(multiPolygon, outputStream);
+    }
+
+    /**
+     * 将一个几何对象作为带长度前缀的记录写入到字节输出流
+     *
+     * <p>记录由一个4字节的长度值与紧随其后的WKB数据组成，长度值使用{@link #getEndian() 字节顺序}编码，
+     * 不包含其自身所占用的4个字节。这样的记录可以使用{@link MappedWkbFile}读取。
+     *
+     * @param geometry 几何对象，不允许为null
+     * @param outputStream 字节输出流，不允许为null
+     * @throws GeometryIOException 若写入失败，则抛出此异常
+     */
+    public void writeRecord(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        WkbOutput output = new WkbOutput(buffer, outputStream, endian);
+        output.writeInt(sizeOf(geometry));
+        writeGeometry(geometry, output, includeSrid);
+        output.flush();
+    }
+
+    /**
+     * 计算几何对象编码后的字节数
+     *
+     * @param geometry 几何对象，不允许为null
+     * @return 字节数
+     * @throws GeometryIOException 若几何类型不受支持，则抛出此异常
+     */
+    public int sizeOf(Geometry geometry) throws GeometryIOException {
+        return sizeOf(geometry, includeSrid);
+    }
+
+    private byte[] toBinaries(Geometry geometry) throws GeometryIOException {
+        WkbOutput output = new WkbOutput(new byte[sizeOf(geometry)], null, endian);
+        writeGeometry(geometry, output, includeSrid);
+        return output.getBuffer();
+    }
+
+    private void writeTo(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        WkbOutput output = new WkbOutput(buffer, outputStream, endian);
+        writeGeometry(geometry, output, includeSrid);
+        output.flush();
+    }
+
+    private void writeGeometry(Geometry geometry, WkbOutput output, boolean withSrid)
+            throws GeometryIOException {
+
+        geometry = geometry.unwrap();
+        int type = toWkbType(geometry.getType());
+        output.writeByte(WkbConstants.fromEndian(endian));
+        if (outputDimension >= 3) {
+            type |= WkbConstants.EWKB_Z_FLAG;
+        }
+        if (outputDimension == 4) {
+            type |= WkbConstants.EWKB_M_FLAG;
+        }
+        if (withSrid) {
+            type |= WkbConstants.EWKB_SRID_FLAG;
+        }
+        output.writeInt(type);
+        if (withSrid) {
+            output.writeInt(geometry.getSrid());
+        }
+
+        switch (geometry.getType()) {
+            case Point:
+                writeCoordinate(geometry.isEmpty() ? Coordinate.NONE : geometry.getCoordinate(), output);
+                break;
+            case LineString:
+            case LinearRing:
+                writeCoordinateSequence(((LineString) geometry).getCoordinateSequence(), output);
+                break;
+            case Polygon:
+            {
+                Polygon polygon = (Polygon) geometry;
+                if (polygon.isEmpty()) {
+                    output.writeInt(0);
+                    break;
+                }
+                int interiorRingSize = polygon.getInteriorRingSize();
+                output.writeInt(interiorRingSize + 1);
+                writeCoordinateSequence(polygon.getExteriorRing().getCoordinateSequence(), output);
+                for (int i = 0; i < interiorRingSize; i++) {
+                    writeCoordinateSequence(polygon.getInteriorRingAt(i).getCoordinateSequence(), output);
+                }
+                break;
+            }
+            default:
+            {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                int size = geometries.size();
+                output.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    writeGeometry(geometries.getGeometryAt(i), output, false);
+                }
+            }
+        }
+    }
+
+    private void writeCoordinate(Coordinate coordinate, WkbOutput output) throws GeometryIOException {
+        output.writeDouble(coordinate.getX());
+        output.writeDouble(coordinate.getY());
+        if (outputDimension >= 3) {
+            output.writeDouble(coordinate.getZ());
+        }
+        if (outputDimension == 4) {
+            output.writeDouble(coordinate.getM());
+        }
+    }
+
+    private void writeCoordinateSequence(CoordinateSequence coordinates, WkbOutput output)
+            throws GeometryIOException {
+
+        int size = coordinates.size();
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeDouble(coordinates.getXAt(i));
+            output.writeDouble(coordinates.getYAt(i));
+            if (outputDimension >= 3) {
+                output.writeDouble(coordinates.getZAt(i));
+            }
+            if (outputDimension == 4) {
+                output.writeDouble(coordinates.getMAt(i));
+            }
+        }
+    }
+
+    private int sizeOf(Geometry geometry, boolean withSrid) throws GeometryIOException {
+
+        geometry = geometry.unwrap();
+        int coordinateSize = outputDimension << 3;
+        int size = 5 + (withSrid ? 4 : 0);
+        switch (geometry.getType()) {
+            case Point:
+                return size + coordinateSize;
+            case LineString:
+            case LinearRing:
+                return size + 4 + ((LineString) geometry).size() * coordinateSize;
+            case Polygon:
+            {
+                Polygon polygon = (Polygon) geometry;
+                size += 4;
+                if (polygon.isEmpty()) {
+                    return size;
+                }
+                size += 4 + polygon.getExteriorRing().size() * coordinateSize;
+                for (int i = 0; i < polygon.getInteriorRingSize(); i++) {
+                    size += 4 + polygon.getInteriorRingAt(i).size() * coordinateSize;
+                }
+                return size;
+            }
+            case MultiPoint:
+            case MultiLineString:
+            case MultiPolygon:
+            case GeometryCollection:
+            {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                size += 4;
+                for (int i = 0; i < geometries.size(); i++) {
+                    size += sizeOf(geometries.getGeometryAt(i), false);
+                }
+                return size;
+            }
+        }
+        throw new GeometryIOException("不支持的几何类型：" + geometry.getType());
+    }
+
+    private static int toWkbType(GeometryType type) throws GeometryIOException {
+        switch (type) {
+            case Point:
+                return WkbConstants.WKB_POINT;
+            case LineString:
+            case LinearRing:
+                return WkbConstants.WKB_LINESTRING;
+            case Polygon:
+                return WkbConstants.WKB_POLYGON;
+            case MultiPoint:
+                return WkbConstants.WKB_MULTIPOINT;
+            case MultiLineString:
+                return WkbConstants.WKB_MULTILINESTRING;
+            case MultiPolygon:
+                return WkbConstants.WKB_MULTIPOLYGON;
+            case GeometryCollection:
+                return WkbConstants.WKB_GEOMETRYCOLLECTION;
+        }
+        throw new GeometryIOException("不支持的几何类型：" + type);
+    }
+
+}
@@ -0,0 +1,365 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.GeometryIOException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * WKB数据的读取器
+ *
+ * <p>数据可以来自一块完整的内存，也可以来自一个字节输入流。
+ * 当数据来自字节输入流时，读取器只会从流中读取当前需要的字节数，
+ * 因此在读取完一个几何对象之后，输入流恰好停留在下一个几何对象的起始位置。
+ *
+ * <p>读取器不是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class WkbInput {
+
+    /**
+     * 从字节输入流读取数据时，缓冲区的默认大小
+     */
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 从字节输入流读取数组时，数组每次至多增长的元素个数
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * 字节输入流，若数据来自一块完整的内存，则为null
+     */
+    private final InputStream inputStream;
+
+    /**
+     * 缓冲区，其中[position, limit)为尚未读取的数据
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 构造一个从字节输入流中读取数据的读取器
+     *
+     * @param inputStream 字节输入流，不允许为null
+     */
+    WkbInput(InputStream inputStream) {
+        this.inputStream = inputStream;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * 构造一个从字节缓冲区中读取数据的读取器
+     *
+     * @param buffer 字节缓冲区，不允许为null，读取器将从其当前位置开始读取
+     */
+    WkbInput(ByteBuffer buffer) {
+        this.inputStream = null;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 构造一个从字节数组中读取数据的读取器
+     *
+     * @param binaries 字节数组，不允许为null
+     */
+    WkbInput(byte[] binaries) {
+        this(ByteBuffer.wrap(binaries));
+    }
+
+    /**
+     * 设置后续读取数值时使用的字节顺序
+     *
+     * @param endian 字节顺序，不允许为null
+     */
+    void setEndian(Endian endian) {
+        buffer.order(endian == Endian.LITTLE_ENDIAN ?
+                ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * 是否还有尚未读取的数据
+     *
+     * @return 若还有尚未读取的数据，则返回true，否则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    boolean hasRemaining() throws GeometryIOException {
+        if (buffer.hasRemaining()) {
+            return true;
+        }
+        return inputStream != null && fill(1);
+    }
+
+    /**
+     * 获取当前在数据中的位置，仅对来自内存的数据有意义
+     *
+     * @return 当前位置
+     */
+    int position() {
+        return buffer.position();
+    }
+
+    byte readByte() throws GeometryIOException {
+        require(1);
+        return buffer.get();
+    }
+
+    int readInt() throws GeometryIOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    double readDouble() throws GeometryIOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    /**
+     * 连续读取多个双精度浮点数
+     *
+     * @param dest 存放数据的数组，不允许为null
+     * @param offset 数组中的起始位置
+     * @param length 读取的个数
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    void readDoubles(double[] dest, int offset, int length) throws GeometryIOException {
+        while (length > 0) {
+            if (buffer.remaining() < 8) {
+                require((int) Math.min((long) length << 3, buffer.capacity() & ~7));
+            }
+            int count = Math.min(buffer.remaining() >>> 3, length);
+            for (int i = 0; i < count; i++) {
+                dest[offset++] = buffer.getDouble();
+            }
+            length -= count;
+        }
+    }
+
+    /**
+     * 读取多个双精度浮点数，返回的数组的长度恰好为读取的个数
+     *
+     * @param length 读取的个数，必须已通过{@link #checkCount(int, int)}的检查
+     * @return 存放数据的数组，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     * @see #readOrdinates(double[], int, int)
+     */
+    double[] readOrdinates(int length) throws GeometryIOException {
+        return readOrdinates(new double[0], length, length);
+    }
+
+    /**
+     * 读取多个双精度浮点数，存放在数组的起始位置
+     *
+     * <p>若数组的容量足够，则直接使用该数组，否则使用一个新的数组。
+     * 来自字节输入流的数据的长度无法预先检查，此时新的数组按块增长，
+     * 只有在数据确实存在时才会扩大，因此错误的元素个数不会导致分配过多的内存。
+     *
+     * @param dest 可重用的数组，不允许为null
+     * @param length 读取的个数，必须已通过{@link #checkCount(int, int)}的检查
+     * @param capacity 返回的数组至少具有的容量，不能小于length
+     * @return 存放数据的数组，可能是dest本身，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    double[] readOrdinates(double[] dest, int length, int capacity) throws GeometryIOException {
+        if (dest.length < capacity && inputStream == null) {
+            // 来自内存的数据的长度已经检查过
+            dest = new double[capacity];
+        }
+        if (dest.length >= capacity) {
+            readDoubles(dest, 0, length);
+            return dest;
+        }
+        double[] result = new double[Math.min(capacity, CHUNK_SIZE)];
+        int count = 0;
+        while (count < length) {
+            int n = Math.min(length - count, CHUNK_SIZE);
+            if (count + n > result.length) {
+                result = Arrays.copyOf(result,
+                        (int) Math.min(capacity, Math.max(count + n, (long) result.length << 1)));
+            }
+            readDoubles(result, count, n);
+            count += n;
+        }
+        return result.length < capacity ? Arrays.copyOf(result, capacity) : result;
+    }
+
+    /**
+     * 获取即将读取的数组的初始容量
+     *
+     * <p>来自字节输入流的数据的长度无法预先检查，此时初始容量不超过一个块，数组需要随着读取到的元素增长。
+     *
+     * @param count 元素的个数，必须已通过{@link #checkCount(int, int)}的检查
+     * @return 初始容量
+     */
+    int initialCapacity(int count) {
+        return inputStream == null ? count : Math.min(count, CHUNK_SIZE);
+    }
+
+    /**
+     * 读取一个完整的几何对象的原始字节，只解析其结构，不解码坐标
+     *
+     * @return 几何对象的WKB数据，不会返回null
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    byte[] readGeometryBytes() throws GeometryIOException {
+        RawBytes raw = new RawBytes();
+        copyGeometry(raw);
+        return raw.toByteArray();
+    }
+
+    private void copyGeometry(RawBytes raw) throws GeometryIOException {
+        require(1);
+        byte flag = buffer.get(buffer.position());
+        setEndian(WkbConstants.toEndian(flag));
+        copy(raw, 1);
+        int typeInt = copyInt(raw);
+        if (WkbConstants.hasSrid(typeInt)) {
+            copy(raw, 4);
+        }
+        int coordinateSize = WkbConstants.dimension(typeInt) << 3;
+        switch (WkbConstants.baseType(typeInt)) {
+            case WkbConstants.WKB_POINT:
+                copy(raw, coordinateSize);
+                break;
+            case WkbConstants.WKB_LINESTRING:
+                copy(raw, (long) copyCount(raw, coordinateSize) * coordinateSize);
+                break;
+            case WkbConstants.WKB_POLYGON:
+            {
+                int ringSize = copyCount(raw, 4);
+                for (int i = 0; i < ringSize; i++) {
+                    copy(raw, (long) copyCount(raw, coordinateSize) * coordinateSize);
+                }
+                break;
+            }
+            case WkbConstants.WKB_MULTIPOINT:
+            case WkbConstants.WKB_MULTILINESTRING:
+            case WkbConstants.WKB_MULTIPOLYGON:
+            case WkbConstants.WKB_GEOMETRYCOLLECTION:
+            {
+                int size = copyCount(raw, 5);
+                for (int i = 0; i < size; i++) {
+                    copyGeometry(raw);
+                }
+                break;
+            }
+            default:
+                throw new GeometryIOException("不支持的WKB几何类型：" + typeInt);
+        }
+    }
+
+    private int copyInt(RawBytes raw) throws GeometryIOException {
+        require(4);
+        int value = buffer.getInt(buffer.position());
+        copy(raw, 4);
+        return value;
+    }
+
+    private int copyCount(RawBytes raw, int bytesPerElement) throws GeometryIOException {
+        int count = copyInt(raw);
+        checkCount(count, bytesPerElement);
+        return count;
+    }
+
+    private void copy(RawBytes raw, long length) throws GeometryIOException {
+        int chunkSize = inputStream == null ? Integer.MAX_VALUE : buffer.capacity();
+        while (length > 0) {
+            int n = (int) Math.min(length, chunkSize);
+            require(Math.min(n, buffer.capacity()));
+            n = Math.min(n, buffer.remaining());
+            raw.write(buffer, n);
+            length -= n;
+        }
+    }
+
+    /**
+     * 可增长的字节数组
+     */
+    private static final class RawBytes {
+
+        private byte[] bytes = new byte[64];
+        private int size = 0;
+
+        void write(ByteBuffer source, int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + length));
+            }
+            source.get(bytes, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+        }
+
+    }
+
+    /**
+     * 检查即将读取的数组的长度是否合法
+     *
+     * @param count 元素的个数
+     * @param bytesPerElement 每个元素至少占用的字节数
+     * @throws GeometryIOException 若长度不合法，则抛出此异常
+     */
+    void checkCount(int count, int bytesPerElement) throws GeometryIOException {
+        if (count < 0) {
+            throw new GeometryIOException("WKB格式错误，元素个数不能为负数：" + count);
+        }
+        if ((long) count * bytesPerElement > Integer.MAX_VALUE) {
+            // 元素占用的字节数超出了数组的范围，坐标个数与维度的乘积也会溢出
+            throw new GeometryIOException("WKB格式错误，元素个数过大：" + count);
+        }
+        if (inputStream == null && (long) count * bytesPerElement > buffer.remaining()) {
+            throw new GeometryIOException("WKB格式错误，元素个数超出了数据的长度：" + count);
+        }
+    }
+
+    /**
+     * 确保缓冲区中至少有n个尚未读取的字节
+     *
+     * @param n 字节数，不能超过缓冲区的容量
+     * @throws GeometryIOException 若数据不足，则抛出此异常
+     */
+    private void require(int n) throws GeometryIOException {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        if (inputStream == null || !fill(n)) {
+            throw new GeometryIOException("WKB数据不完整，已到达数据的末尾");
+        }
+    }
+
+    /**
+     * 从字节输入流中读取数据，直到缓冲区中至少有n个尚未读取的字节
+     *
+     * @param n 字节数
+     * @return 若读取成功，则返回true，若已到达输入流的末尾，则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    private boolean fill(int n) throws GeometryIOException {
+        buffer.compact();
+        try {
+            while (buffer.position() < n) {
+                int length = n - buffer.position();
+                int read = inputStream.read(buffer.array(),
+                        buffer.arrayOffset() + buffer.position(), length);
+                if (read < 0) {
+                    return false;
+                }
+                buffer.position(buffer.position() + read);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        } finally {
+            buffer.flip();
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.GeometryIOException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * WKB数据的写入器
+ *
+ * <p>数据先写入缓冲区，若存在字节输出流，则在缓冲区写满或调用{@link #flush()}时写入字节输出流；
+ * 若不存在字节输出流，则缓冲区即为最终的结果，调用者需要保证缓冲区的大小足够。
+ *
+ * <p>写入器不是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class WkbOutput {
+
+    private final byte[] buffer;
+    private final OutputStream outputStream;
+    private final boolean bigEndian;
+    private int position = 0;
+
+    WkbOutput(byte[] buffer, OutputStream outputStream, Endian endian) {
+        this.buffer = buffer;
+        this.outputStream = outputStream;
+        this.bigEndian = endian != Endian.LITTLE_ENDIAN;
+    }
+
+    void writeByte(byte value) throws GeometryIOException {
+        ensure(1);
+        buffer[position++] = value;
+    }
+
+    void writeInt(int value) throws GeometryIOException {
+        ensure(4);
+        if (bigEndian) {
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        } else {
+            buffer[position++] = (byte) value;
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 24);
+        }
+    }
+
+    void writeDouble(double value) throws GeometryIOException {
+        ensure(8);
+        long bits = Double.doubleToRawLongBits(value);
+        if (bigEndian) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        } else {
+            for (int shift = 0; shift < 64; shift += 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+    }
+
+    /**
+     * 将缓冲区中的数据写入到字节输出流
+     *
+     * @throws GeometryIOException 若写入失败，则抛出此异常
+     */
+    void flush() throws GeometryIOException {
+        if (outputStream == null || position == 0) {
+            return;
+        }
+        try {
+            outputStream.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+        position = 0;
+    }
+
+    /**
+     * 获取缓冲区，仅在不存在字节输出流时使用
+     *
+     * @return 缓冲区
+     */
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    private void ensure(int n) throws GeometryIOException {
+        if (position + n > buffer.length) {
+            if (outputStream == null) {
+                throw new GeometryIOException("WKB缓冲区的空间不足");
+            }
+            flush();
+        }
+    }
+
+}
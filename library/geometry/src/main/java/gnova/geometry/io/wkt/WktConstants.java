@@ -0,0 +1,48 @@
+package gnova.geometry.io.wkt;
+
+/**
+ * WKT/EWKT编码中使用的常量
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class WktConstants {
+
+    static final String FORMAT = "WKT";
+
+    static final String POINT = "POINT";
+    static final String LINESTRING = "LINESTRING";
+    static final String LINEARRING = "LINEARRING";
+    static final String POLYGON = "POLYGON";
+    static final String MULTIPOINT = "MULTIPOINT";
+    static final String MULTILINESTRING = "MULTILINESTRING";
+    static final String MULTIPOLYGON = "MULTIPOLYGON";
+    static final String GEOMETRYCOLLECTION = "GEOMETRYCOLLECTION";
+
+    static final String EMPTY = "EMPTY";
+
+    /**
+     * 表示包含Z坐标的维度标识
+     */
+    static final String Z = "Z";
+
+    /**
+     * 表示包含M值的维度标识
+     */
+    static final String M = "M";
+
+    /**
+     * 表示包含Z坐标与M值的维度标识
+     */
+    static final String ZM = "ZM";
+
+    /**
+     * EWKT中空间参考标识的前缀
+     */
+    static final String SRID = "SRID";
+
+    private WktConstants() {
+
+    }
+
+}
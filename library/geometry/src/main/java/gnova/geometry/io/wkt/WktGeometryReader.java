@@ -0,0 +1,416 @@
+package gnova.geometry.io.wkt;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.GeometrySpliterator;
+import gnova.geometry.io.TextGeometryReader;
+import gnova.geometry.model.*;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+
+/**
+ * WKT/EWKT格式的几何对象读取器
+ *
+ * <p>支持OGC WKT（包括ISO的Z/M/ZM维度标识，如<code>POINT Z (1 2 3)</code>或<code>POINTZ (1 2 3)</code>）
+ * 与PostGIS EWKT（<code>SRID=4326;POINT (1 2)</code>）。关键字不区分大小写。
+ * 未声明维度时，根据坐标中数值的个数判断维度：3个数值为XYZ，4个数值为XYZM。
+ * 多点中的点既可以带括号，也可以不带括号。
+ *
+ * <p>数值直接从字符缓冲区中解析，不会创建子字符串；坐标值直接解码到
+ * {@link PackedCoordinateSequence 紧凑存储的坐标序列}中，不会为每个坐标创建{@link Coordinate 坐标对象}。
+ *
+ * <p>EWKT中的空间参考标识会被读取但不会被使用，几何对象的空间参考由几何工厂决定。
+ *
+ * <p>读取器本身是无状态的，因此是线程安全的。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class WktGeometryReader
+        implements TextGeometryReader {
+
+    private final GeometryFactory factory;
+
+    public WktGeometryReader() {
+        this(FactoryFinder.getDefaultGeometryFactory());
+    }
+
+    public WktGeometryReader(GeometryFactory factory) {
+        this.factory = factory;
+    }
+
+    public GeometryFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Geometry read(String wkt) throws GeometryIOException {
+        WktInput input = new WktInput(wkt);
+        Geometry geometry = read(input);
+        if (input.peek() != -1) {
+            throw input.error("几何对象之后存在多余的内容");
+        }
+        return geometry;
+    }
+
+    @Override
+    public Geometry read(Reader reader) throws GeometryIOException {
+        return read(new WktInput(reader));
+    }
+
+    /**
+     * 获取从字符输入流中读取连续的WKT的可分割迭代器
+     *
+     * <p>几何对象之间使用空白字符（通常是换行符）分隔，因此可以用于读取逐行的WKT文件，
+     * 单个几何对象也可以跨越多行。
+     * 顺序读取时直接解码；切分时只识别几何对象的边界（配对的括号），
+     * 并将原始文本交给切分出的迭代器，在并行流中解码。
+     *
+     * @param reader 字符输入流，不允许为null
+     * @return 几何对象的可分割迭代器，不会返回null
+     */
+    @Override
+    public Spliterator<Geometry> readSpliterator(Reader reader) {
+        WktInput input = new WktInput(reader);
+        return new GeometrySpliterator<String>() {
+
+            @Override
+            protected String nextRecord() throws GeometryIOException {
+                if (input.peek() == -1) {
+                    return null;
+                }
+                input.beginCapture();
+                skipGeometry(input);
+                return input.endCapture();
+            }
+
+            @Override
+            protected Geometry decode(String record) throws GeometryIOException {
+                return read(record);
+            }
+
+            @Override
+            protected Geometry nextGeometry() throws GeometryIOException {
+                return input.peek() == -1 ? null : read(input);
+            }
+
+        };
+    }
+
+    private Geometry read(WktInput input) throws GeometryIOException {
+        String word = input.readWord();
+        if (WktConstants.SRID.equalsIgnoreCase(word)) {
+            input.expect('=');
+            input.readNumber();
+            input.expect(';');
+            word = input.readWord();
+        }
+        try {
+            return readGeometry(input, word);
+        } catch (IllegalArgumentException e) {
+            // 几何工厂拒绝创建几何对象，例如线串的点数不足
+            throw new GeometryIOException(e);
+        }
+    }
+
+    /**
+     * 读取一个已经读取了类型关键字的几何对象
+     */
+    private Geometry readGeometry(WktInput input, String word) throws GeometryIOException {
+
+        String keyword = word.toUpperCase(Locale.ROOT);
+        String type = null;
+        String dimension = "";
+        for (String candidate : new String[] {
+                WktConstants.POINT, WktConstants.LINESTRING, WktConstants.LINEARRING, WktConstants.POLYGON,
+                WktConstants.MULTIPOINT, WktConstants.MULTILINESTRING, WktConstants.MULTIPOLYGON,
+                WktConstants.GEOMETRYCOLLECTION}) {
+            if (keyword.startsWith(candidate)) {
+                type = candidate;
+                // 例如POINTZ、POINTM
+                dimension = keyword.substring(candidate.length());
+                break;
+            }
+        }
+        if (type == null) {
+            throw input.error("无法解析的类型" + word);
+        }
+        boolean empty = false;
+        if (input.isWordNext()) {
+            String next = input.readWord().toUpperCase(Locale.ROOT);
+            if (WktConstants.EMPTY.equals(next)) {
+                empty = true;
+            } else if (dimension.isEmpty()) {
+                dimension = next;
+                if (input.isWordNext()) {
+                    if (!WktConstants.EMPTY.equalsIgnoreCase(input.readWord())) {
+                        throw input.error("应该为" + WktConstants.EMPTY);
+                    }
+                    empty = true;
+                }
+            } else {
+                throw input.error("无法解析的单词" + next);
+            }
+        }
+        Dimension dim;
+        switch (dimension) {
+            case "":
+                dim = Dimension.UNDECLARED;
+                break;
+            case WktConstants.Z:
+                dim = Dimension.XYZ;
+                break;
+            case WktConstants.M:
+                dim = Dimension.XYM;
+                break;
+            case WktConstants.ZM:
+                dim = Dimension.XYZM;
+                break;
+            default:
+                throw input.error("无法解析的维度标识" + dimension);
+        }
+
+        switch (type) {
+            case WktConstants.POINT:
+                return empty ? factory.createPoint(Coordinate.NONE) : readPoint(input, dim);
+            case WktConstants.LINESTRING:
+                return factory.createLineString(empty ? emptySequence() : readSequence(input, dim, false));
+            case WktConstants.LINEARRING:
+                return factory.createLinearRing(empty ? emptySequence() : readSequence(input, dim, repairRings()));
+            case WktConstants.POLYGON:
+                return empty ? factory.createPolygon(null, null) : readPolygon(input, dim);
+            case WktConstants.MULTIPOINT:
+                return empty ? factory.createMultiPoint(new Point[0]) : readMultiPoint(input, dim);
+            case WktConstants.MULTILINESTRING: {
+                if (empty) {
+                    return factory.createMultiLineString(new LineString[0]);
+                }
+                List<LineString> lineStrings = new ArrayList<>();
+                input.expect('(');
+                do {
+                    lineStrings.add(factory.createLineString(input.isWordNext() ?
+                            readEmpty(input, emptySequence()) : readSequence(input, dim, false)));
+                } while (input.consume(','));
+                input.expect(')');
+                return factory.createMultiLineString(lineStrings.toArray(new LineString[lineStrings.size()]));
+            }
+            case WktConstants.MULTIPOLYGON: {
+                if (empty) {
+                    return factory.createMultiPolygon(new Polygon[0]);
+                }
+                List<Polygon> polygons = new ArrayList<>();
+                input.expect('(');
+                do {
+                    if (input.isWordNext()) {
+                        readEmpty(input, null);
+                        polygons.add(factory.createPolygon(null, null));
+                    } else {
+                        polygons.add(readPolygon(input, dim));
+                    }
+                } while (input.consume(','));
+                input.expect(')');
+                return factory.createMultiPolygon(polygons.toArray(new Polygon[polygons.size()]));
+            }
+            default: {
+                if (empty) {
+                    return factory.createGeometryCollection(new Geometry[0]);
+                }
+                List<Geometry> geometries = new ArrayList<>();
+                input.expect('(');
+                do {
+                    geometries.add(readGeometry(input, input.readWord()));
+                } while (input.consume(','));
+                input.expect(')');
+                return factory.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
+            }
+        }
+    }
+
+    private Point readPoint(WktInput input, Dimension dim) throws GeometryIOException {
+        input.expect('(');
+        double[] ordinates = input.ordinates(4);
+        int count = readPosition(input, ordinates, 0);
+        input.expect(')');
+        boolean hasZ = dim.hasZ(count);
+        boolean hasM = dim.hasM(count);
+        return factory.createPoint(new Coordinate(ordinates[0], ordinates[1],
+                hasZ ? ordinates[2] : Coordinate.NULL_ORDINATE_VALUE,
+                hasM ? ordinates[hasZ ? 3 : 2] : Coordinate.NULL_ORDINATE_VALUE));
+    }
+
+    private Polygon readPolygon(WktInput input, Dimension dim) throws GeometryIOException {
+        input.expect('(');
+        LinearRing shell = factory.createLinearRing(readSequence(input, dim, repairRings()));
+        List<LinearRing> holes = new ArrayList<>();
+        while (input.consume(',')) {
+            holes.add(factory.createLinearRing(readSequence(input, dim, repairRings())));
+        }
+        input.expect(')');
+        return factory.createPolygon(shell, holes.toArray(new LinearRing[holes.size()]));
+    }
+
+    private MultiPoint readMultiPoint(WktInput input, Dimension dim) throws GeometryIOException {
+        input.expect('(');
+        if (input.isNumberNext()) {
+            // 不带括号的点：MULTIPOINT (1 2, 3 4)
+            return factory.createMultiPoint(readPositions(input, dim, false));
+        }
+        List<Point> points = new ArrayList<>();
+        do {
+            if (input.isWordNext()) {
+                points.add(readEmpty(input, factory.createPoint(Coordinate.NONE)));
+            } else {
+                points.add(readPoint(input, dim));
+            }
+        } while (input.consume(','));
+        input.expect(')');
+        return factory.createMultiPoint(points.toArray(new Point[points.size()]));
+    }
+
+    /**
+     * 读取一个由括号包围的坐标序列
+     */
+    private CoordinateSequence readSequence(WktInput input, Dimension dim, boolean closeRing)
+            throws GeometryIOException {
+        input.expect('(');
+        return readPositions(input, dim, closeRing);
+    }
+
+    /**
+     * 读取一个已经读取了左括号的、由逗号分隔的坐标序列，直到右括号
+     */
+    private CoordinateSequence readPositions(WktInput input, Dimension dim, boolean closeRing)
+            throws GeometryIOException {
+
+        // 坐标先按XYZM暂存在输入的坐标缓冲区中
+        int size = 0;
+        int maxCount = 2;
+        do {
+            double[] ordinates = input.ordinates((size + 2) << 2);
+            maxCount = Math.max(maxCount, readPosition(input, ordinates, size << 2));
+            size++;
+        } while (input.consume(','));
+        input.expect(')');
+
+        boolean hasZ = dim.hasZ(maxCount);
+        boolean hasM = dim.hasM(maxCount);
+        double[] ordinates = input.ordinates((size + 1) << 2);
+        if (closeRing && !isClosed(ordinates, size)) {
+            // 修复未闭合的线环
+            System.arraycopy(ordinates, 0, ordinates, size << 2, 4);
+            size++;
+        }
+        int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        // 未声明维度时第3个数值为Z，只声明了M时第3个数值为M
+        int mOffset = hasZ || dim == Dimension.UNDECLARED ? 3 : 2;
+        double[] packed = new double[size * dimension];
+        for (int i = 0, j = 0; i < size; i++) {
+            int offset = i << 2;
+            packed[j++] = ordinates[offset];
+            packed[j++] = ordinates[offset + 1];
+            if (hasZ) {
+                packed[j++] = ordinates[offset + 2];
+            }
+            if (hasM) {
+                packed[j++] = ordinates[offset + mOffset];
+            }
+        }
+        return new PackedCoordinateSequence(packed, hasZ, hasM);
+    }
+
+    /**
+     * 读取一个坐标，坐标中超过4个的数值会被忽略，缺少的数值为NaN
+     *
+     * @return 坐标中数值的个数，不超过4
+     */
+    private int readPosition(WktInput input, double[] ordinates, int offset) throws GeometryIOException {
+        int count = 0;
+        while (input.isNumberNext()) {
+            double value = input.readNumber();
+            if (count < 4) {
+                ordinates[offset + count] = value;
+            }
+            count++;
+        }
+        if (count < 2) {
+            throw input.error("坐标中的数值太少");
+        }
+        for (int i = count; i < 4; i++) {
+            ordinates[offset + i] = Coordinate.NULL_ORDINATE_VALUE;
+        }
+        return Math.min(count, 4);
+    }
+
+    /**
+     * 读取集合中的一个EMPTY元素
+     */
+    private <T> T readEmpty(WktInput input, T empty) throws GeometryIOException {
+        if (!WktConstants.EMPTY.equalsIgnoreCase(input.readWord())) {
+            throw input.error("应该为" + WktConstants.EMPTY);
+        }
+        return empty;
+    }
+
+    private static CoordinateSequence emptySequence() {
+        return new PackedCoordinateSequence(new double[0], false, false);
+    }
+
+    private static boolean isClosed(double[] ordinates, int size) {
+        int last = (size - 1) << 2;
+        for (int i = 0; i < 4; i++) {
+            if (Double.compare(ordinates[i], ordinates[last + i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过一个几何对象，只识别其边界
+     */
+    private static void skipGeometry(WktInput input) throws GeometryIOException {
+        String word = input.readWord();
+        if (WktConstants.SRID.equalsIgnoreCase(word)) {
+            input.expect('=');
+            input.readNumber();
+            input.expect(';');
+            word = input.readWord();
+        }
+        if (word.isEmpty()) {
+            throw input.error("应该为几何类型");
+        }
+        while (input.isWordNext()) {
+            if (WktConstants.EMPTY.equalsIgnoreCase(input.readWord())) {
+                return;
+            }
+        }
+        input.skipParentheses();
+    }
+
+    /**
+     * 坐标的维度
+     */
+    private enum Dimension {
+
+        /**
+         * 未声明维度，根据数值的个数判断
+         */
+        UNDECLARED,
+        XYZ,
+        XYM,
+        XYZM;
+
+        boolean hasZ(int count) {
+            return this == XYZ || this == XYZM || (this == UNDECLARED && count >= 3);
+        }
+
+        boolean hasM(int count) {
+            return this == XYM || this == XYZM || (this == UNDECLARED && count >= 4);
+        }
+
+    }
+
+}
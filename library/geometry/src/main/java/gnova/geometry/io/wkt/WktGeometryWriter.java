@@ -0,0 +1,451 @@
+package gnova.geometry.io.wkt;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.TextGeometryWriter;
+import gnova.geometry.io.TextOutput;
+import gnova.geometry.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Iterator;
+
+/**
+ * WKT/EWKT格式的几何对象写入器
+ *
+ * <p>写出的文本使用ISO的维度标记，例如<code>POINT (1 2)</code>、<code>POINT Z (1 2 3)</code>、<code>POINT ZM (1 2 3 4)</code>，
+ * 当需要写入空间参考标识时，使用PostGIS EWKT的前缀表示，例如<code>SRID=4326;POINT (1 2)</code>。
+ * 每个几何对象只写出其自身具有的维度，且不超过{@link #getOutputDimension() 输出维度}：
+ * 与JTS 1.16的WKTWriter相同，是否具有Z值（或M值）由几何对象的第一个坐标决定，
+ * 因此二维的几何对象在输出维度为3时仍写作<code>POINT (1 2)</code>，而不会写出NaN的Z值。
+ * 与JTS不同的是，维度标记与括号之间有一个空格（JTS写作<code>POINT Z(1 2 3)</code>），
+ * 几何集合本身不写维度标记，其中的几何对象各自声明维度。
+ * 数值使用能够精确还原的最短的十进制表示，也可以通过{@link #getMaximumFractionDigits() 最大小数位数}截断坐标精度。
+ * 空的几何对象写作<code>GEOMETRYCOLLECTION EMPTY</code>。
+ *
+ * <p>写入器直接遍历几何对象的{@link CoordinateSequence 坐标序列}，
+ * 数据先写入写入器持有的可重用的缓冲区，再批量写入目标，
+ * 因此写入器不是线程安全的，每个线程应使用独立的写入器。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class WktGeometryWriter
+        implements TextGeometryWriter {
+
+    /**
+     * 不限制坐标的小数位数
+     */
+    public static final int FULL_PRECISION = TextOutput.FULL_PRECISION;
+
+    /**
+     * 默认的缓冲区大小
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 输出维度，2表示XY，3表示XYZ，4表示XYZM
+     */
+    private final int outputDimension;
+
+    /**
+     * 是否写入空间参考标识
+     */
+    private final boolean includeSrid;
+
+    private final int maximumFractionDigits;
+
+    /**
+     * 写入时使用的缓冲区
+     */
+    private final char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+
+    public WktGeometryWriter() {
+        this(2);
+    }
+
+    public WktGeometryWriter(int outputDimension) {
+        this(outputDimension, false);
+    }
+
+    public WktGeometryWriter(int outputDimension, boolean includeSrid) {
+        this(outputDimension, includeSrid, FULL_PRECISION);
+    }
+
+    /**
+     * 构造一个WKT/EWKT格式的几何对象写入器
+     *
+     * @param outputDimension 输出维度，只能为2、3或4
+     * @param includeSrid 是否写入空间参考标识（EWKT）
+     * @param maximumFractionDigits 坐标的最大小数位数，超出的部分四舍五入，
+     *                              只能为{@link #FULL_PRECISION}或0到15之间的整数
+     * @throws IllegalArgumentException 若输出维度或最大小数位数不合法，则抛出此异常
+     */
+    public WktGeometryWriter(int outputDimension, boolean includeSrid, int maximumFractionDigits)
+            throws IllegalArgumentException {
+        if (outputDimension < 2 || outputDimension > 4) {
+            throw new IllegalArgumentException("输出维度只能为2、3或4：" + outputDimension);
+        }
+        TextOutput.checkFractionDigits(maximumFractionDigits);
+        this.outputDimension = outputDimension;
+        this.includeSrid = includeSrid;
+        this.maximumFractionDigits = maximumFractionDigits;
+    }
+
+    public int getOutputDimension() {
+        return outputDimension;
+    }
+
+    public boolean isIncludeSrid() {
+        return includeSrid;
+    }
+
+    /**
+     * 获取坐标的最大小数位数
+     *
+     * @return 最大小数位数，若不限制，则返回{@link #FULL_PRECISION}
+     */
+    public int getMaximumFractionDigits() {
+        return maximumFractionDigits;
+    }
+
+    @Override
+    public String write(Geometry geometry) throws GeometryIOException {
+        return toText(geometry);
+    }
+
+    @Override
+    public String writePoint(Point point) throws GeometryIOException {
+        return toText(point);
+    }
+
+    @Override
+    public String writeLineString(LineString lineString) throws GeometryIOException {
+        return toText(lineString);
+    }
+
+    @Override
+    public String writeLinearRing(LinearRing linearRing) throws GeometryIOException {
+        return toText(linearRing);
+    }
+
+    @Override
+    public String writePolygon(Polygon polygon) throws GeometryIOException {
+        return toText(polygon);
+    }
+
+    @Override
+    public String writeGeometryCollection(GeometryCollection geometries) throws GeometryIOException {
+        return toText(geometries);
+    }
+
+    @Override
+    public String writeMultiPoint(MultiPoint multiPoint) throws GeometryIOException {
+        return toText(multiPoint);
+    }
+
+    @Override
+    public String writeMultiLineString(MultiLineString multiLineString) throws GeometryIOException {
+        return toText(multiLineString);
+    }
+
+    @Override
+    public String writeMultiPolygon(MultiPolygon multiPolygon) throws GeometryIOException {
+        return toText(multiPolygon);
+    }
+
+    @Override
+    public void write(Geometry geometry, Writer writer) throws GeometryIOException {
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, writer));
+    }
+
+    @Override
+    public void writePoint(Point point, Writer writer) throws GeometryIOException {
+        write(point, writer);
+    }
+
+    @Override
+    public void writeLineString(LineString lineString, Writer writer) throws GeometryIOException {
+        write(lineString, writer);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, Writer writer) throws GeometryIOException {
+        write(linearRing, writer);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, Writer writer) throws GeometryIOException {
+        write(polygon, writer);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, Writer writer) throws GeometryIOException {
+        write(geometries, writer);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, Writer writer) throws GeometryIOException {
+        write(multiPoint, writer);
+    }
+
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, Writer writer) throws GeometryIOException {
+        write(multiLineString, writer);
+    }
+
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, Writer writer) throws GeometryIOException {
+        write(multiPolygon, writer);
+    }
+
+    @Override
+    public void write(Geometry geometry, OutputStream outputStream) throws GeometryIOException {
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, outputStream));
+    }
+
+    @Override
+    public void writePoint(Point point, OutputStream outputStream) throws GeometryIOException {
+        write(point, outputStream);
+    }
+
+    @Override
+    public void writeLineString(LineString lineString, OutputStream outputStream) throws GeometryIOException {
+        write(lineString, outputStream);
+    }
+
+    @Override
+    public void writeLinearRing(LinearRing linearRing, OutputStream outputStream) throws GeometryIOException {
+        write(linearRing, outputStream);
+    }
+
+    @Override
+    public void writePolygon(Polygon polygon, OutputStream outputStream) throws GeometryIOException {
+        write(polygon, outputStream);
+    }
+
+    @Override
+    public void writeGeometryCollection(GeometryCollection geometries, OutputStream outputStream)
+            throws GeometryIOException {
+        write(geometries, outputStream);
+    }
+
+    @Override
+    public void writeMultiPoint(MultiPoint multiPoint, OutputStream outputStream) throws GeometryIOException {
+        write(multiPoint, outputStream);
+    }
+
+    @Override
+    public void writeMultiLineString(MultiLineString multiLineString, OutputStream outputStream)
+            throws GeometryIOException {
+        write(multiLineString, outputStream);
+    }
+
+    @Override
+    public void writeMultiPolygon(MultiPolygon multiPolygon, OutputStream outputStream)
+            throws GeometryIOException {
+        write(multiPolygon, outputStream);
+    }
+
+    /**
+     * 将多个几何对象逐行写入到字符输出流，每个几何对象占一行
+     *
+     * <p>写出的文本可以由{@link WktGeometryReader#readSpliterator(java.io.Reader)}流式读取。
+     *
+     * @param geometries 几何对象的迭代器，不允许为null
+     * @param writer 字符输出流，不允许为null
+     * @throws GeometryIOException 若写入失败，则抛出此异常
+     */
+    public void writeAll(@NotNull Iterator<? extends Geometry> geometries, @NotNull Writer writer)
+            throws GeometryIOException {
+        TextOutput output = new TextOutput(buffer, maximumFractionDigits, writer);
+        try {
+            while (geometries.hasNext()) {
+                writeGeometry(geometries.next(), output, includeSrid);
+                output.write('\n');
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private String toText(Geometry geometry) throws GeometryIOException {
+        StringBuilder builder = new StringBuilder();
+        writeTo(geometry, new TextOutput(buffer, maximumFractionDigits, builder));
+        return builder.toString();
+    }
+
+    private void writeTo(Geometry geometry, TextOutput output) throws GeometryIOException {
+        try {
+            writeGeometry(geometry, output, includeSrid);
+            output.flush();
+        } catch (IOException e) {
+            throw new GeometryIOException(e);
+        }
+    }
+
+    private void writeGeometry(Geometry geometry, TextOutput output, boolean withSrid)
+            throws GeometryIOException, IOException {
+
+        geometry = geometry.unwrap();
+        if (withSrid) {
+            output.write(WktConstants.SRID);
+            output.write('=');
+            output.write(Integer.toString(geometry.getSrid()));
+            output.write(';');
+        }
+        GeometryType type = geometry.getType();
+        switch (type) {
+            case None:
+                output.write(WktConstants.GEOMETRYCOLLECTION);
+                output.write(' ');
+                output.write(WktConstants.EMPTY);
+                return;
+            case Point:
+                output.write(WktConstants.POINT);
+                break;
+            case LineString:
+                output.write(WktConstants.LINESTRING);
+                break;
+            case LinearRing:
+                output.write(WktConstants.LINEARRING);
+                break;
+            case Polygon:
+                output.write(WktConstants.POLYGON);
+                break;
+            case MultiPoint:
+                output.write(WktConstants.MULTIPOINT);
+                break;
+            case MultiLineString:
+                output.write(WktConstants.MULTILINESTRING);
+                break;
+            case MultiPolygon:
+                output.write(WktConstants.MULTIPOLYGON);
+                break;
+            case GeometryCollection:
+                output.write(WktConstants.GEOMETRYCOLLECTION);
+                break;
+            default:
+                throw new GeometryIOException("不支持的几何类型：" + type);
+        }
+        if (geometry.isEmpty()) {
+            output.write(' ');
+            output.write(WktConstants.EMPTY);
+            return;
+        }
+        boolean hasZ = false;
+        boolean hasM = false;
+        if (type != GeometryType.GeometryCollection) {
+            // 几何集合的维度由其中的几何对象各自声明
+            Coordinate first = geometry.getCoordinate();
+            hasZ = outputDimension >= 3 && first.hasZ();
+            hasM = outputDimension == 4 && first.hasM();
+            if (hasZ || hasM) {
+                output.write(' ');
+                output.write(hasZ ? (hasM ? WktConstants.ZM : WktConstants.Z) : WktConstants.M);
+            }
+        }
+        output.write(' ');
+        writeText(geometry, output, hasZ, hasM);
+    }
+
+    /**
+     * 写入几何对象的括号及坐标部分，不包括类型关键字
+     */
+    private void writeText(Geometry geometry, TextOutput output, boolean hasZ, boolean hasM)
+            throws GeometryIOException, IOException {
+
+        switch (geometry.getType()) {
+            case Point: {
+                Coordinate coordinate = geometry.getCoordinate();
+                output.write('(');
+                writePosition(coordinate.getX(), coordinate.getY(), coordinate.getZ(), coordinate.getM(),
+                        hasZ, hasM, output);
+                output.write(')');
+                break;
+            }
+            case LineString:
+            case LinearRing:
+                writeSequence(((LineString) geometry).getCoordinateSequence(), output, hasZ, hasM);
+                break;
+            case Polygon: {
+                Polygon polygon = (Polygon) geometry;
+                output.write('(');
+                writeSequence(polygon.getExteriorRing().getCoordinateSequence(), output, hasZ, hasM);
+                for (int i = 0, count = polygon.getInteriorRingSize(); i < count; i++) {
+                    output.write(", ");
+                    writeSequence(polygon.getInteriorRingAt(i).getCoordinateSequence(), output, hasZ, hasM);
+                }
+                output.write(')');
+                break;
+            }
+            case MultiPoint:
+            case MultiLineString:
+            case MultiPolygon: {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                output.write('(');
+                for (int i = 0, count = geometries.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(", ");
+                    }
+                    Geometry element = geometries.getGeometryAt(i);
+                    if (element.isEmpty()) {
+                        output.write(WktConstants.EMPTY);
+                    } else {
+                        writeText(element, output, hasZ, hasM);
+                    }
+                }
+                output.write(')');
+                break;
+            }
+            default: {
+                GeometryCollection<?> geometries = (GeometryCollection<?>) geometry;
+                output.write('(');
+                for (int i = 0, count = geometries.size(); i < count; i++) {
+                    if (i > 0) {
+                        output.write(", ");
+                    }
+                    writeGeometry(geometries.getGeometryAt(i), output, false);
+                }
+                output.write(')');
+                break;
+            }
+        }
+    }
+
+    private void writeSequence(CoordinateSequence sequence, TextOutput output, boolean hasZ, boolean hasM)
+            throws IOException {
+        output.write('(');
+        for (int i = 0, count = sequence.size(); i < count; i++) {
+            if (i > 0) {
+                output.write(", ");
+            }
+            writePosition(sequence.getXAt(i), sequence.getYAt(i),
+                    hasZ ? sequence.getZAt(i) : Coordinate.NULL_ORDINATE_VALUE,
+                    hasM ? sequence.getMAt(i) : Coordinate.NULL_ORDINATE_VALUE,
+                    hasZ, hasM, output);
+        }
+        output.write(')');
+    }
+
+    /**
+     * 写入一个位置，几何对象的第一个坐标具有Z值（或M值）时，其余坐标中缺少的Z值（或M值）写作NaN
+     */
+    private void writePosition(double x, double y, double z, double m,
+                               boolean hasZ, boolean hasM, TextOutput output) throws IOException {
+        output.writeNumber(x);
+        output.write(' ');
+        output.writeNumber(y);
+        if (hasZ) {
+            output.write(' ');
+            output.writeNumber(z);
+        }
+        if (hasM) {
+            output.write(' ');
+            output.writeNumber(m);
+        }
+    }
+
+}
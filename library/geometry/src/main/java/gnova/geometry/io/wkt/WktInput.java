@@ -0,0 +1,65 @@
+package gnova.geometry.io.wkt;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.io.TextInput;
+
+import java.io.Reader;
+
+/**
+ * WKT的字符输入
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class WktInput
+        extends TextInput {
+
+    WktInput(Reader reader) {
+        super(WktConstants.FORMAT, reader);
+    }
+
+    WktInput(String wkt) {
+        super(WktConstants.FORMAT, wkt);
+    }
+
+    /**
+     * 判断下一个非空白字符是否为一个数值的开始
+     *
+     * @return 若是，则返回true，否则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    boolean isNumberNext() throws GeometryIOException {
+        int c = peek();
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'N';
+    }
+
+    /**
+     * 判断下一个非空白字符是否为一个字母
+     *
+     * @return 若是，则返回true，否则返回false
+     * @throws GeometryIOException 若读取失败，则抛出此异常
+     */
+    boolean isWordNext() throws GeometryIOException {
+        int c = peek();
+        return c >= 0 && Character.isLetter(c);
+    }
+
+    /**
+     * 跳过一组配对的括号及其中的全部内容
+     *
+     * @throws GeometryIOException 若括号不配对或读取失败，则抛出此异常
+     */
+    void skipParentheses() throws GeometryIOException {
+        expect('(');
+        int depth = 1;
+        while (depth > 0) {
+            char c = next();
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+    }
+
+}
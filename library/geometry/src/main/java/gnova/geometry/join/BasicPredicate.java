@@ -0,0 +1,91 @@
+package gnova.geometry.join;
+
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryType;
+import gnova.geometry.model.PreparedGeometry;
+
+/**
+ * 基于拓扑关系的空间谓词
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+enum BasicPredicate implements SpatialPredicate {
+
+    INTERSECTS {
+        @Override
+        public boolean test(Geometry left, Geometry right) {
+            // 点与面的判断，使用被多次探测的面缓存的预备几何对象
+            return left.getType() == GeometryType.Point && right.getType() != GeometryType.Point ?
+                    right.prepare().intersects(left) : left.intersects(right);
+        }
+
+        @Override
+        public boolean test(PreparedGeometry left, Geometry right) {
+            return left.intersects(right);
+        }
+    },
+
+    CONTAINS {
+        @Override
+        public boolean filter(BoundingBox left, BoundingBox right) {
+            return covers2D(left, right);
+        }
+
+        @Override
+        public boolean test(Geometry left, Geometry right) {
+            return left.contains(right);
+        }
+
+        @Override
+        public boolean test(PreparedGeometry left, Geometry right) {
+            return left.contains(right);
+        }
+    },
+
+    WITHIN {
+        @Override
+        public boolean filter(BoundingBox left, BoundingBox right) {
+            return covers2D(right, left);
+        }
+
+        @Override
+        public boolean test(Geometry left, Geometry right) {
+            // 右侧通常是被多次探测的面，使用其缓存的预备几何对象进行包含判断
+            return right.getType() == GeometryType.Point ?
+                    left.within(right) : right.prepare().contains(left);
+        }
+
+        @Override
+        public boolean test(PreparedGeometry left, Geometry right) {
+            return test(left.getGeometry(), right);
+        }
+    },
+
+    COVERS {
+        @Override
+        public boolean filter(BoundingBox left, BoundingBox right) {
+            return covers2D(left, right);
+        }
+
+        @Override
+        public boolean test(Geometry left, Geometry right) {
+            return left.covers(right);
+        }
+
+        @Override
+        public boolean test(PreparedGeometry left, Geometry right) {
+            return left.covers(right);
+        }
+    };
+
+    /**
+     * 只比较XY平面的包围盒覆盖判断，以免Z坐标的有无影响过滤的结果
+     */
+    private static boolean covers2D(BoundingBox a, BoundingBox b) {
+        return b.getMinX() >= a.getMinX() && b.getMaxX() <= a.getMaxX() &&
+                b.getMinY() >= a.getMinY() && b.getMaxY() <= a.getMaxY();
+    }
+
+}
@@ -0,0 +1,43 @@
+package gnova.geometry.join;
+
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+
+/**
+ * 基于距离的空间谓词
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class DistancePredicate implements SpatialPredicate {
+
+    private final double distance;
+
+    DistancePredicate(double distance) {
+        this.distance = distance;
+    }
+
+    @Override
+    public double getDistance() {
+        return distance;
+    }
+
+    @Override
+    public boolean filter(BoundingBox left, BoundingBox right) {
+        // 只比较XY平面的距离，以免Z坐标的有无影响过滤的结果
+        double dx = Math.max(0, Math.max(left.getMinX() - right.getMaxX(), right.getMinX() - left.getMaxX()));
+        double dy = Math.max(0, Math.max(left.getMinY() - right.getMaxY(), right.getMinY() - left.getMaxY()));
+        return dx * dx + dy * dy <= distance * distance;
+    }
+
+    @Override
+    public boolean test(Geometry left, Geometry right) {
+        return left.isWithinDistance(right, distance);
+    }
+
+    @Override
+    public String toString() {
+        return "withinDistance(" + distance + ")";
+    }
+
+}
@@ -0,0 +1,67 @@
+package gnova.geometry.join;
+
+import gnova.core.annotation.Immutable;
+
+import java.util.Objects;
+
+/**
+ * 空间连接的结果，由满足空间谓词的左侧元素与右侧元素组成
+ *
+ * @param <L> 左侧元素的类型
+ * @param <R> 右侧元素的类型
+ * @see SpatialJoin
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class JoinPair<L, R> {
+
+    private final L left;
+    private final R right;
+
+    public JoinPair(L left, R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * 获取左侧元素
+     *
+     * @return 左侧元素
+     */
+    public L getLeft() {
+        return left;
+    }
+
+    /**
+     * 获取右侧元素
+     *
+     * @return 右侧元素
+     */
+    public R getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof JoinPair)) {
+            return false;
+        }
+        JoinPair<?, ?> other = (JoinPair<?, ?>) obj;
+        return Objects.equals(left, other.left) && Objects.equals(right, other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(left, right);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + ", " + right + ")";
+    }
+
+}
@@ -0,0 +1,206 @@
+package gnova.geometry.join;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.index.GeometryIndex;
+import gnova.geometry.index.impl.packed.PackedRTree;
+import gnova.geometry.index.impl.packed.PackedRTreeBuilder;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryType;
+import gnova.geometry.model.PreparedGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 空间连接
+ *
+ * <p>空间连接找出两组元素中满足{@link SpatialPredicate 空间谓词}的全部元素对，使用索引嵌套循环的方式实现：
+ * 右侧的元素存放在{@link GeometryIndex 几何索引}中（若右侧为普通的集合，则先批量构造一个{@link PackedRTree 紧凑R树}），
+ * 左侧的每个元素作为一次探测，在索引中查找包围盒相交的候选元素，再依次进行包围盒过滤与精确的判断。
+ * 当一次探测的候选元素较多时，左侧的几何对象会被{@link Geometry#prepare() 预备}，以加速重复的判断；
+ * 点与面之间的相交判断与内部判断则使用右侧几何对象的预备几何对象，预备几何对象缓存在几何对象中，在多次探测之间共享。
+ *
+ * <p>结果以流的形式返回，是惰性计算的。若使用并行流，左侧的元素按照其{@link Iterable#spliterator() 可分割迭代器}
+ * 切分成多个分区，在{@link java.util.concurrent.ForkJoinPool}中并行探测；
+ * 默认使用公共的线程池，若在自定义的ForkJoinPool的任务中执行终端操作，则使用该线程池。
+ * 左侧为{@link java.util.ArrayList}等可以高效切分的集合时，并行的效果最好。
+ * 每个满足谓词的元素对只会出现一次，但在并行流中出现的顺序是不确定的。
+ *
+ * <p>在并行探测之前，会在当前线程中对索引执行一次查询，使延迟构造的索引（例如未打包的紧凑R树）完成构造，
+ * 此后的并发查询都是只读的。在结果的流被消费完之前，不应修改右侧的索引。
+ *
+ * @see SpatialPredicate
+ * @see JoinPair
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class SpatialJoin {
+
+    /**
+     * 候选元素的个数达到此值时，预备左侧的几何对象
+     */
+    static final int PREPARE_THRESHOLD = 8;
+
+    private SpatialJoin() {
+    }
+
+    /**
+     * 连接两组几何对象
+     *
+     * @param left 左侧的几何对象，不允许为null
+     * @param right 右侧的几何对象，不允许为null
+     * @param predicate 空间谓词，不允许为null
+     * @param parallel 是否并行执行
+     * @param <L> 左侧几何对象的类型
+     * @param <R> 右侧几何对象的类型
+     * @return 满足空间谓词的几何对象对的流，不会返回null
+     */
+    @NotNull
+    public static <L extends Geometry, R extends Geometry> Stream<JoinPair<L, R>> join(
+            @NotNull Iterable<L> left, @NotNull Iterable<R> right,
+            @NotNull SpatialPredicate predicate, boolean parallel) {
+        return join(left, Function.identity(), right, Function.identity(), predicate, parallel);
+    }
+
+    /**
+     * 连接一组几何对象与一个存放几何对象的几何索引
+     *
+     * @param left 左侧的几何对象，不允许为null
+     * @param right 存放右侧的几何对象的几何索引，不允许为null
+     * @param predicate 空间谓词，不允许为null
+     * @param parallel 是否并行执行
+     * @param <L> 左侧几何对象的类型
+     * @param <R> 右侧几何对象的类型
+     * @return 满足空间谓词的几何对象对的流，不会返回null
+     */
+    @NotNull
+    public static <L extends Geometry, R extends Geometry> Stream<JoinPair<L, R>> join(
+            @NotNull Iterable<L> left, @NotNull GeometryIndex<R> right,
+            @NotNull SpatialPredicate predicate, boolean parallel) {
+        return join(left, Function.identity(), right, Function.identity(), predicate, parallel);
+    }
+
+    /**
+     * 连接两组元素
+     *
+     * <p>右侧的元素会被批量构造为一个紧凑R树，没有几何对象或几何对象为空的元素不会出现在结果中。
+     *
+     * @param left 左侧的元素，不允许为null
+     * @param leftGeometry 获取左侧元素的几何对象的函数，不允许为null
+     * @param right 右侧的元素，不允许为null
+     * @param rightGeometry 获取右侧元素的几何对象的函数，不允许为null
+     * @param predicate 空间谓词，不允许为null
+     * @param parallel 是否并行执行
+     * @param <L> 左侧元素的类型
+     * @param <R> 右侧元素的类型
+     * @return 满足空间谓词的元素对的流，不会返回null
+     */
+    @NotNull
+    public static <L, R> Stream<JoinPair<L, R>> join(
+            @NotNull Iterable<L> left, @NotNull Function<? super L, ? extends Geometry> leftGeometry,
+            @NotNull Iterable<R> right, @NotNull Function<? super R, ? extends Geometry> rightGeometry,
+            @NotNull SpatialPredicate predicate, boolean parallel) {
+        PackedRTreeBuilder<Entry<R>> builder = new PackedRTreeBuilder<>();
+        for (R value : right) {
+            Geometry geometry = rightGeometry.apply(value);
+            if (geometry != null && !geometry.isEmpty()) {
+                builder.add(geometry.getBoundingBox(), new Entry<>(value, geometry));
+            }
+        }
+        return join(left, leftGeometry, builder.build(), entry -> entry.geometry, entry -> entry.value,
+                predicate, parallel);
+    }
+
+    /**
+     * 连接一组元素与一个几何索引中的元素
+     *
+     * @param left 左侧的元素，不允许为null
+     * @param leftGeometry 获取左侧元素的几何对象的函数，不允许为null
+     * @param right 存放右侧元素的几何索引，不允许为null
+     * @param rightGeometry 获取右侧元素的几何对象的函数，不允许为null
+     * @param predicate 空间谓词，不允许为null
+     * @param parallel 是否并行执行
+     * @param <L> 左侧元素的类型
+     * @param <R> 右侧元素的类型
+     * @return 满足空间谓词的元素对的流，不会返回null
+     */
+    @NotNull
+    public static <L, R> Stream<JoinPair<L, R>> join(
+            @NotNull Iterable<L> left, @NotNull Function<? super L, ? extends Geometry> leftGeometry,
+            @NotNull GeometryIndex<R> right, @NotNull Function<? super R, ? extends Geometry> rightGeometry,
+            @NotNull SpatialPredicate predicate, boolean parallel) {
+        return join(left, leftGeometry, right, rightGeometry, Function.identity(), predicate, parallel);
+    }
+
+    private static <L, T, R> Stream<JoinPair<L, R>> join(
+            Iterable<L> left, Function<? super L, ? extends Geometry> leftGeometry,
+            GeometryIndex<T> right, Function<? super T, ? extends Geometry> rightGeometry,
+            Function<? super T, ? extends R> rightValue,
+            SpatialPredicate predicate, boolean parallel) {
+        // 使延迟构造的索引在并行查询之前完成构造
+        right.build();
+        return StreamSupport.stream(left.spliterator(), parallel)
+                .flatMap(value -> probe(value, leftGeometry.apply(value),
+                        right, rightGeometry, rightValue, predicate));
+    }
+
+    /**
+     * 使用一个左侧元素在索引中探测
+     */
+    private static <L, T, R> Stream<JoinPair<L, R>> probe(
+            L value, Geometry geometry,
+            GeometryIndex<T> right, Function<? super T, ? extends Geometry> rightGeometry,
+            Function<? super T, ? extends R> rightValue,
+            SpatialPredicate predicate) {
+        if (geometry == null || geometry.isEmpty()) {
+            return Stream.empty();
+        }
+        BoundingBox bbox = geometry.getBoundingBox();
+        double distance = predicate.getDistance();
+        BoundingBox query = distance > 0 ?
+                new BoundingBox(bbox.getMinX() - distance, bbox.getMaxX() + distance,
+                        bbox.getMinY() - distance, bbox.getMaxY() + distance) :
+                bbox;
+        List<T> candidates = new ArrayList<>();
+        right.query(query, (Consumer<T>) candidates::add);
+        if (candidates.isEmpty()) {
+            return Stream.empty();
+        }
+
+        PreparedGeometry prepared = candidates.size() >= PREPARE_THRESHOLD
+                && geometry.getType() != GeometryType.Point ? geometry.prepare() : null;
+        List<JoinPair<L, R>> result = new ArrayList<>();
+        for (T candidate : candidates) {
+            Geometry other = rightGeometry.apply(candidate);
+            if (other == null || other.isEmpty()
+                    || !predicate.filter(bbox, other.getBoundingBox())) {
+                continue;
+            }
+            if (prepared != null ? predicate.test(prepared, other) : predicate.test(geometry, other)) {
+                result.add(new JoinPair<>(value, rightValue.apply(candidate)));
+            }
+        }
+        return result.stream();
+    }
+
+    /**
+     * 批量构造索引时，右侧的元素与其几何对象
+     */
+    private static final class Entry<R> {
+
+        final R value;
+        final Geometry geometry;
+
+        Entry(R value, Geometry geometry) {
+            this.value = value;
+            this.geometry = geometry;
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package gnova.geometry.join;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.PreparedGeometry;
+
+/**
+ * 空间连接中使用的空间谓词
+ *
+ * <p>空间连接先使用{@link #getDistance() 扩展后的}包围盒在索引中查找候选的右侧元素，
+ * 再通过{@link #filter(BoundingBox, BoundingBox)}进行包围盒的过滤，最后才调用精确的判断。
+ * 当左侧几何对象需要与较多的候选几何对象判断时，空间连接会使用{@link PreparedGeometry 预备几何对象}进行判断。
+ *
+ * <p>空间谓词会在多个线程中同时使用，因此必须是线程安全的。
+ *
+ * @see SpatialJoin
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public interface SpatialPredicate {
+
+    /**
+     * 获取查找候选元素时包围盒扩展的距离
+     *
+     * @return 距离，默认为0
+     */
+    default double getDistance() {
+        return 0;
+    }
+
+    /**
+     * 使用包围盒进行过滤
+     *
+     * @param left 左侧几何对象的包围盒，不允许为null
+     * @param right 右侧几何对象的包围盒，不允许为null
+     * @return 若两个几何对象可能满足谓词，则返回true，若一定不满足，则返回false
+     */
+    default boolean filter(@NotNull BoundingBox left, @NotNull BoundingBox right) {
+        return true;
+    }
+
+    /**
+     * 判断两个几何对象是否满足谓词
+     *
+     * @param left 左侧几何对象，不允许为null
+     * @param right 右侧几何对象，不允许为null
+     * @return 若满足谓词，则返回true，否则返回false
+     */
+    boolean test(@NotNull Geometry left, @NotNull Geometry right);
+
+    /**
+     * 使用预备几何对象判断两个几何对象是否满足谓词
+     *
+     * @param left 左侧的预备几何对象，不允许为null
+     * @param right 右侧几何对象，不允许为null
+     * @return 若满足谓词，则返回true，否则返回false
+     */
+    default boolean test(@NotNull PreparedGeometry left, @NotNull Geometry right) {
+        return test(left.getGeometry(), right);
+    }
+
+    /**
+     * 获取相交判断的谓词
+     *
+     * @return 空间谓词，不会返回null
+     * @see gnova.geometry.model.operator.RelationalOperator#intersects(Geometry)
+     */
+    @NotNull
+    static SpatialPredicate intersects() {
+        return BasicPredicate.INTERSECTS;
+    }
+
+    /**
+     * 获取包含判断的谓词，即左侧几何对象包含右侧几何对象
+     *
+     * @return 空间谓词，不会返回null
+     * @see gnova.geometry.model.operator.RelationalOperator#contains(Geometry)
+     */
+    @NotNull
+    static SpatialPredicate contains() {
+        return BasicPredicate.CONTAINS;
+    }
+
+    /**
+     * 获取内部判断的谓词，即左侧几何对象位于右侧几何对象的内部
+     *
+     * @return 空间谓词，不会返回null
+     * @see gnova.geometry.model.operator.RelationalOperator#within(Geometry)
+     */
+    @NotNull
+    static SpatialPredicate within() {
+        return BasicPredicate.WITHIN;
+    }
+
+    /**
+     * 获取覆盖判断的谓词，即左侧几何对象覆盖右侧几何对象
+     *
+     * @return 空间谓词，不会返回null
+     * @see gnova.geometry.model.operator.RelationalOperator#covers(Geometry)
+     */
+    @NotNull
+    static SpatialPredicate covers() {
+        return BasicPredicate.COVERS;
+    }
+
+    /**
+     * 获取距离判断的谓词，即两个几何对象之间的距离不大于指定的距离
+     *
+     * @param distance 距离，不能小于0
+     * @return 空间谓词，不会返回null
+     * @throws IllegalArgumentException 若距离小于0或不是一个数值，则抛出此异常
+     * @see gnova.geometry.model.operator.ProximityOperator#isWithinDistance(Geometry, double)
+     */
+    @NotNull
+    static SpatialPredicate withinDistance(double distance) throws IllegalArgumentException {
+        if (!(distance >= 0)) {
+            throw new IllegalArgumentException("距离不能小于0：" + distance);
+        }
+        return new DistancePredicate(distance);
+    }
+
+}
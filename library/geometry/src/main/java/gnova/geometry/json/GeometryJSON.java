@@ -153,6 +153,7 @@ public abstract class GeometryJSON
      */
     public static GeometryJSON fromGeometry(@NotNull Geometry geometry) {
 
+        geometry = geometry.unwrap();
         switch (geometry.getType()) {
             case None:
                 return GeometryJSON.NONE;
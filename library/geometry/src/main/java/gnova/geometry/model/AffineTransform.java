@@ -0,0 +1,393 @@
+package gnova.geometry.model;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+
+import java.io.Serializable;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 二维仿射变换
+ *
+ * <p>仿射变换使用一个2×3的矩阵表示：
+ * <pre>
+ *     | x' |   | m00 m01 m02 |   | x |
+ *     | y' | = | m10 m11 m12 | × | y |
+ *                                | 1 |
+ * </pre>
+ * 多个仿射变换可以通过{@link #then(AffineTransform)}等方法组合为一个仿射变换，
+ * 组合后只需要遍历一次坐标，而不是每个变换都复制一次几何对象。Z坐标与M值不会被变换。
+ *
+ * <p>与{@link gnova.geometry.model.operator.AffineOperator}一致，旋转的角度使用角度值，逆时针为正。
+ *
+ * @see gnova.geometry.model.operator.AffineOperator#transform(AffineTransform)
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class AffineTransform implements Serializable {
+
+    private static final AffineTransform IDENTITY = new AffineTransform(1, 0, 0, 0, 1, 0);
+
+    private final double m00, m01, m02;
+    private final double m10, m11, m12;
+
+    /**
+     * 构造一个仿射变换
+     *
+     * @param m00 矩阵第一行第一列的值
+     * @param m01 矩阵第一行第二列的值
+     * @param m02 矩阵第一行第三列的值，即X方向的平移量
+     * @param m10 矩阵第二行第一列的值
+     * @param m11 矩阵第二行第二列的值
+     * @param m12 矩阵第二行第三列的值，即Y方向的平移量
+     */
+    public AffineTransform(double m00, double m01, double m02,
+                           double m10, double m11, double m12) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+    }
+
+    /**
+     * 获取恒等变换
+     *
+     * @return 恒等变换，不会返回null
+     */
+    @NotNull
+    public static AffineTransform identity() {
+        return IDENTITY;
+    }
+
+    @NotNull
+    public static AffineTransform translation(double offsetX, double offsetY) {
+        return new AffineTransform(1, 0, offsetX, 0, 1, offsetY);
+    }
+
+    @NotNull
+    public static AffineTransform scaling(double scaleX, double scaleY) {
+        return new AffineTransform(scaleX, 0, 0, 0, scaleY, 0);
+    }
+
+    /**
+     * 获取以指定的点为基点的缩放变换
+     *
+     * @param baseX 基点的X坐标值
+     * @param baseY 基点的Y坐标值
+     * @param scaleX X方向的缩放比例
+     * @param scaleY Y方向的缩放比例
+     * @return 缩放变换，不会返回null
+     */
+    @NotNull
+    public static AffineTransform scaling(double baseX, double baseY, double scaleX, double scaleY) {
+        return new AffineTransform(scaleX, 0, baseX - scaleX * baseX,
+                0, scaleY, baseY - scaleY * baseY);
+    }
+
+    /**
+     * 获取以原点为基点的旋转变换
+     *
+     * @param angle 角度值，逆时针为正
+     * @return 旋转变换，不会返回null
+     */
+    @NotNull
+    public static AffineTransform rotation(double angle) {
+        return rotation(0, 0, angle);
+    }
+
+    /**
+     * 获取以指定的点为基点的旋转变换
+     *
+     * @param baseX 基点的X坐标值
+     * @param baseY 基点的Y坐标值
+     * @param angle 角度值，逆时针为正
+     * @return 旋转变换，不会返回null
+     */
+    @NotNull
+    public static AffineTransform rotation(double baseX, double baseY, double angle) {
+        double radian = Math.toRadians(angle);
+        double sin = Math.sin(radian);
+        double cos = Math.cos(radian);
+        return new AffineTransform(cos, -sin, baseX - cos * baseX + sin * baseY,
+                sin, cos, baseY - sin * baseX - cos * baseY);
+    }
+
+    @NotNull
+    public static AffineTransform shearing(double shearX, double shearY) {
+        return new AffineTransform(1, shearX, 0, shearY, 1, 0);
+    }
+
+    /**
+     * 获取以经过原点与指定点的直线为轴的镜像变换
+     *
+     * @param x 直线上的点的X坐标值
+     * @param y 直线上的点的Y坐标值
+     * @return 镜像变换，不会返回null
+     * @throws IllegalArgumentException 若指定的点为原点，则抛出此异常
+     */
+    @NotNull
+    public static AffineTransform reflection(double x, double y) throws IllegalArgumentException {
+        return reflection(0, 0, x, y);
+    }
+
+    /**
+     * 获取以经过两个点的直线为轴的镜像变换
+     *
+     * @param baseX 直线上的第一个点的X坐标值
+     * @param baseY 直线上的第一个点的Y坐标值
+     * @param x 直线上的第二个点的X坐标值
+     * @param y 直线上的第二个点的Y坐标值
+     * @return 镜像变换，不会返回null
+     * @throws IllegalArgumentException 若两个点重合，则抛出此异常
+     */
+    @NotNull
+    public static AffineTransform reflection(double baseX, double baseY, double x, double y)
+            throws IllegalArgumentException {
+        double dx = x - baseX;
+        double dy = y - baseY;
+        double d = dx * dx + dy * dy;
+        if (d == 0) {
+            throw new IllegalArgumentException("镜像轴的两个点不能重合");
+        }
+        double a = (dx * dx - dy * dy) / d;
+        double b = 2 * dx * dy / d;
+        return new AffineTransform(a, b, baseX - a * baseX - b * baseY,
+                b, -a, baseY - b * baseX + a * baseY);
+    }
+
+    public double getM00() {
+        return m00;
+    }
+
+    public double getM01() {
+        return m01;
+    }
+
+    public double getM02() {
+        return m02;
+    }
+
+    public double getM10() {
+        return m10;
+    }
+
+    public double getM11() {
+        return m11;
+    }
+
+    public double getM12() {
+        return m12;
+    }
+
+    /**
+     * 是否为恒等变换
+     *
+     * @return 若为恒等变换，则返回true，否则返回false
+     */
+    public boolean isIdentity() {
+        return m00 == 1 && m01 == 0 && m02 == 0 && m10 == 0 && m11 == 1 && m12 == 0;
+    }
+
+    /**
+     * 组合另一个仿射变换，组合后的变换等价于先进行当前的变换，再进行另一个变换
+     *
+     * @param next 另一个仿射变换，不允许为null
+     * @return 组合后的仿射变换，不会返回null
+     */
+    @NotNull
+    public AffineTransform then(@NotNull AffineTransform next) {
+        return new AffineTransform(
+                next.m00 * m00 + next.m01 * m10,
+                next.m00 * m01 + next.m01 * m11,
+                next.m00 * m02 + next.m01 * m12 + next.m02,
+                next.m10 * m00 + next.m11 * m10,
+                next.m10 * m01 + next.m11 * m11,
+                next.m10 * m02 + next.m11 * m12 + next.m12);
+    }
+
+    @NotNull
+    public AffineTransform translate(double offsetX, double offsetY) {
+        return then(translation(offsetX, offsetY));
+    }
+
+    @NotNull
+    public AffineTransform scale(double scaleX, double scaleY) {
+        return then(scaling(scaleX, scaleY));
+    }
+
+    @NotNull
+    public AffineTransform scale(double baseX, double baseY, double scaleX, double scaleY) {
+        return then(scaling(baseX, baseY, scaleX, scaleY));
+    }
+
+    @NotNull
+    public AffineTransform rotate(double angle) {
+        return then(rotation(angle));
+    }
+
+    @NotNull
+    public AffineTransform rotate(double baseX, double baseY, double angle) {
+        return then(rotation(baseX, baseY, angle));
+    }
+
+    @NotNull
+    public AffineTransform shear(double shearX, double shearY) {
+        return then(shearing(shearX, shearY));
+    }
+
+    @NotNull
+    public AffineTransform reflect(double x, double y) throws IllegalArgumentException {
+        return then(reflection(x, y));
+    }
+
+    @NotNull
+    public AffineTransform reflect(double baseX, double baseY, double x, double y)
+            throws IllegalArgumentException {
+        return then(reflection(baseX, baseY, x, y));
+    }
+
+    /**
+     * 变换一个坐标
+     *
+     * @param coordinate 坐标，不允许为null
+     * @return 变换后的坐标，不会返回null
+     */
+    @NotNull
+    public Coordinate transform(@NotNull Coordinate coordinate) {
+        double x = coordinate.getX();
+        double y = coordinate.getY();
+        return new Coordinate(m00 * x + m01 * y + m02, m10 * x + m11 * y + m12,
+                coordinate.getZ(), coordinate.getM());
+    }
+
+    /**
+     * 变换一个坐标序列，只遍历一次坐标
+     *
+     * @param coordinates 坐标序列，不允许为null
+     * @return 变换后的{@link PackedCoordinateSequence 紧凑存储的坐标序列}，不会返回null
+     */
+    @NotNull
+    public CoordinateSequence transform(@NotNull CoordinateSequence coordinates) {
+        boolean hasZ = coordinates.getDimension() > 2 && hasOrdinate(coordinates, true);
+        boolean hasM = coordinates.getDimension() > 2 && hasOrdinate(coordinates, false);
+        int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        int size = coordinates.size();
+        double[] ordinates = new double[size * dimension];
+        for (int i = 0, j = 0; i < size; i++, j += dimension) {
+            double x = coordinates.getXAt(i);
+            double y = coordinates.getYAt(i);
+            ordinates[j] = m00 * x + m01 * y + m02;
+            ordinates[j + 1] = m10 * x + m11 * y + m12;
+            if (hasZ) {
+                ordinates[j + 2] = coordinates.getZAt(i);
+            }
+            if (hasM) {
+                ordinates[j + (hasZ ? 3 : 2)] = coordinates.getMAt(i);
+            }
+        }
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+    /**
+     * 变换交错存储的坐标值
+     *
+     * <p>源数组与目标数组可以是同一个数组，此时坐标在原位被变换。
+     *
+     * @param source 源数组，不允许为null
+     * @param sourceOffset 第一个坐标在源数组中的位置
+     * @param target 目标数组，不允许为null
+     * @param targetOffset 第一个坐标在目标数组中的位置
+     * @param count 坐标的个数
+     * @param dimension 每个坐标的坐标值个数，不能小于2，除X、Y以外的坐标值会被原样复制
+     * @throws IllegalArgumentException 若维度值小于2，则抛出此异常
+     */
+    public void transform(@NotNull double[] source, int sourceOffset,
+                          @NotNull double[] target, int targetOffset,
+                          int count, int dimension) throws IllegalArgumentException {
+        if (dimension < 2) {
+            throw new IllegalArgumentException("维度值不能小于2：" + dimension);
+        }
+        boolean copyExtra = dimension > 2 && (source != target || sourceOffset != targetOffset);
+        for (int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += dimension, t += dimension) {
+            double x = source[s];
+            double y = source[s + 1];
+            target[t] = m00 * x + m01 * y + m02;
+            target[t + 1] = m10 * x + m11 * y + m12;
+            if (copyExtra) {
+                System.arraycopy(source, s + 2, target, t + 2, dimension - 2);
+            }
+        }
+    }
+
+    /**
+     * 变换一个几何对象
+     *
+     * @param geometry 几何对象，不允许为null
+     * @return 变换后的几何对象，不会返回null
+     * @see gnova.geometry.model.operator.AffineOperator#transform(AffineTransform)
+     */
+    @NotNull
+    public Geometry transform(@NotNull Geometry geometry) {
+        return geometry.transform(this);
+    }
+
+    /**
+     * 变换多个几何对象
+     *
+     * <p>结果以流的形式返回，是惰性计算的。若使用并行流，则在{@link java.util.concurrent.ForkJoinPool}中并行变换，
+     * 结果的顺序与输入的顺序一致。
+     *
+     * @param geometries 几何对象，不允许为null
+     * @param parallel 是否并行执行
+     * @return 变换后的几何对象的流，不会返回null
+     */
+    @NotNull
+    public Stream<Geometry> transform(@NotNull Iterable<? extends Geometry> geometries, boolean parallel) {
+        return StreamSupport.stream(geometries.spliterator(), parallel)
+                .map(geometry -> geometry.transform(this));
+    }
+
+    private static boolean hasOrdinate(CoordinateSequence coordinates, boolean z) {
+        for (int i = 0, size = coordinates.size(); i < size; i++) {
+            if (!Double.isNaN(z ? coordinates.getZAt(i) : coordinates.getMAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AffineTransform)) {
+            return false;
+        }
+        AffineTransform other = (AffineTransform) obj;
+        return Double.compare(m00, other.m00) == 0 && Double.compare(m01, other.m01) == 0 &&
+                Double.compare(m02, other.m02) == 0 && Double.compare(m10, other.m10) == 0 &&
+                Double.compare(m11, other.m11) == 0 && Double.compare(m12, other.m12) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m02);
+        result = 31 * result + Double.hashCode(m10);
+        result = 31 * result + Double.hashCode(m11);
+        result = 31 * result + Double.hashCode(m12);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[[" + m00 + ", " + m01 + ", " + m02 + "], [" + m10 + ", " + m11 + ", " + m12 + "]]";
+    }
+
+}
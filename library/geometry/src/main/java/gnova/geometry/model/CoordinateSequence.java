@@ -53,11 +53,66 @@ public interface CoordinateSequence
 
     @NotNull
     default BoundingBox getBoundingBox() {
-        BoundingBox bbox = new BoundingBox();
-        for (Coordinate coord : this) {
-            bbox = bbox.expandToInclude(coord);
+        int size = size();
+        if (size == 0) {
+            return BoundingBox.NONE;
         }
-        return bbox;
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            double x = getXAt(i), y = getYAt(i);
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        return new BoundingBox(minX, maxX, minY, maxY);
+    }
+
+    /**
+     * 获取坐标序列作为折线时的二维长度
+     *
+     * @return 长度，若坐标的个数小于2，则返回0
+     */
+    default double getLength() {
+        double length = 0;
+        int size = size();
+        for (int i = 1; i < size; i++) {
+            double dx = getXAt(i) - getXAt(i - 1);
+            double dy = getYAt(i) - getYAt(i - 1);
+            length += Math.sqrt(dx * dx + dy * dy);
+        }
+        return length;
+    }
+
+    /**
+     * 获取坐标序列作为闭合线环时的二维有向面积
+     *
+     * <p>线环的首尾坐标应该相同，逆时针方向的线环面积为正，顺时针方向的线环面积为负。
+     *
+     * @return 有向面积，若坐标的个数小于3，则返回0
+     */
+    default double getSignedArea() {
+        int size = size();
+        if (size < 3) {
+            return 0;
+        }
+        // 以第一个点为原点计算，以减小大坐标值带来的精度损失
+        double x0 = getXAt(0);
+        double sum = 0;
+        for (int i = 1; i < size - 1; i++) {
+            sum += (getXAt(i) - x0) * (getYAt(i + 1) - getYAt(i - 1));
+        }
+        return sum / 2.0;
+    }
+
+    /**
+     * 获取坐标序列作为闭合线环时的二维面积
+     *
+     * @return 面积，不会小于0
+     */
+    default double getArea() {
+        return Math.abs(getSignedArea());
     }
 
     @Override
@@ -76,6 +76,50 @@ public interface Geometry
     @NotNull
     BoundingBox getBoundingBox();
 
+    /**
+     * 获取几何对象包围盒的最小X坐标值
+     *
+     * <p>默认通过{@link #getBoundingBox()}获取，实现可以直接读取已缓存的范围，以避免创建包围盒对象。
+     *
+     * @return 最小X坐标值，若几何对象为空，则返回{@link Double#NaN}
+     */
+    default double getMinX() {
+        return getBoundingBox().getMinX();
+    }
+
+    /**
+     * 获取几何对象包围盒的最大X坐标值
+     *
+     * <p>默认通过{@link #getBoundingBox()}获取，实现可以直接读取已缓存的范围，以避免创建包围盒对象。
+     *
+     * @return 最大X坐标值，若几何对象为空，则返回{@link Double#NaN}
+     */
+    default double getMaxX() {
+        return getBoundingBox().getMaxX();
+    }
+
+    /**
+     * 获取几何对象包围盒的最小Y坐标值
+     *
+     * <p>默认通过{@link #getBoundingBox()}获取，实现可以直接读取已缓存的范围，以避免创建包围盒对象。
+     *
+     * @return 最小Y坐标值，若几何对象为空，则返回{@link Double#NaN}
+     */
+    default double getMinY() {
+        return getBoundingBox().getMinY();
+    }
+
+    /**
+     * 获取几何对象包围盒的最大Y坐标值
+     *
+     * <p>默认通过{@link #getBoundingBox()}获取，实现可以直接读取已缓存的范围，以避免创建包围盒对象。
+     *
+     * @return 最大Y坐标值，若几何对象为空，则返回{@link Double#NaN}
+     */
+    default double getMaxY() {
+        return getBoundingBox().getMaxY();
+    }
+
     /**
      * 获取创建该几何对象的工厂接口
      *
@@ -191,6 +235,30 @@ public interface Geometry
     @NotNull
     Geometry normalize();
 
+    /**
+     * 对几何对象进行预处理，以加速之后以其作为左侧的空间关系判断
+     *
+     * <p>预处理的结果会被缓存，多次调用此方法将返回同一个对象。
+     *
+     * @return 预处理的几何对象，不会返回null
+     * @see PreparedGeometry
+     */
+    @NotNull
+    PreparedGeometry prepare();
+
+    /**
+     * 获取实际的几何对象
+     *
+     * <p>包装了其他几何对象的实现（例如延迟解码的几何对象）返回被包装的几何对象，
+     * 以便按照具体的几何类型进行强制类型转换，其他几何对象直接返回自身。
+     *
+     * @return 几何对象，不会返回null
+     */
+    @NotNull
+    default Geometry unwrap() {
+        return this;
+    }
+
     /**
      * 将几何对象转化为JSON字符串
      *
@@ -310,4 +310,25 @@ public interface GeometryFactory extends Serializable {
         return new Circle2D(centre.getX(), centre.getY(), radius, this);
     }
 
+    /**
+     * 将多个几何对象融合成一个几何对象
+     *
+     * <p>输入只会被遍历一次。默认实现依次对几何对象两两融合，具体的工厂可以提供更高效的实现，
+     * 例如默认的几何工厂使用并行的级联融合。
+     *
+     * @param geometries 几何对象，不允许为null，其中为null或为空的几何对象会被忽略
+     * @return 几何对象，若没有任何非空的几何对象，则返回{@link Geometry#NONE}，不会返回null
+     */
+    @NotNull
+    default Geometry union(@NotNull Iterable<? extends Geometry> geometries) {
+        Geometry result = Geometry.NONE;
+        for (Geometry geometry : geometries) {
+            if (geometry == null || geometry.isEmpty()) {
+                continue;
+            }
+            result = result == Geometry.NONE ? geometry : result.union(geometry);
+        }
+        return result;
+    }
+
 }
@@ -12,6 +12,78 @@ public final class NullGeometry extends AbstractGeometry implements Geometry {
 
     public static final Geometry NONE = new NullGeometry(FactoryFinder.getDefaultGeometryFactory());
 
+    /**
+     * 空几何对象的预处理结果，所有判断均返回false
+     */
+    private static final PreparedGeometry PREPARED = new PreparedGeometry() {
+
+        @Override
+        public Geometry getGeometry() {
+            return NONE;
+        }
+
+        @Override
+        public boolean containsProperly(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean intersects(double x, double y) {
+            return false;
+        }
+
+        @Override
+        public boolean contains(double x, double y) {
+            return false;
+        }
+
+        @Override
+        public boolean contains(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean crosses(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean touches(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean intersects(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean disjoint(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean within(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean overlaps(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean covers(Geometry other) {
+            return false;
+        }
+
+        @Override
+        public boolean coveredBy(Geometry other) {
+            return false;
+        }
+
+    };
+
     private NullGeometry(GeometryFactory factory) {
         super(factory);
     }
@@ -126,6 +198,11 @@ public final class NullGeometry extends AbstractGeometry implements Geometry {
         return new Coordinate[0];
     }
 
+    @Override
+    public PreparedGeometry prepare() {
+        return PREPARED;
+    }
+
     @Override
     public boolean contains(Geometry other) {
         return false;
@@ -291,6 +368,11 @@ public final class NullGeometry extends AbstractGeometry implements Geometry {
         return NONE;
     }
 
+    @Override
+    public Geometry transform(AffineTransform transform, boolean inPlace) {
+        return NONE;
+    }
+
     @Override
     public int compareTo(Geometry o) {
         return o == NONE ? 0 : 1;
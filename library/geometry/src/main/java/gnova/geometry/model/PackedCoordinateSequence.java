@@ -0,0 +1,192 @@
+package gnova.geometry.model;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑存储的坐标序列
+ *
+ * <p>坐标值按照XY、XYZ、XYM或XYZM的顺序交错地存储在一个double数组中，
+ * 读取坐标值、计算包围盒、长度与面积时都不会创建{@link Coordinate 坐标对象}，
+ * 适用于顶点数量很多的线串与多边形。
+ * <p>坐标序列是一个{@link Immutable 不可变的}对象，构造之后不允许再修改其坐标值数组。
+ *
+ * @see PackedCoordinateSequenceFactory
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class PackedCoordinateSequence
+        implements CoordinateSequence {
+
+    /**
+     * 交错存储的坐标值
+     */
+    private final double[] ordinates;
+
+    /**
+     * 每个坐标的坐标值个数
+     */
+    private final int dimension;
+
+    private final boolean hasZ;
+
+    private final boolean hasM;
+
+    /**
+     * 构造一个坐标序列，坐标值数组不会被复制
+     *
+     * @param ordinates 交错存储的坐标值，不允许为null，其长度必须是维度值的整数倍
+     * @param hasZ 是否包含Z坐标值
+     * @param hasM 是否包含度量值
+     * @throws IllegalArgumentException 若坐标值数组的长度不合法，则抛出此异常
+     */
+    public PackedCoordinateSequence(@NotNull double[] ordinates, boolean hasZ, boolean hasM)
+            throws IllegalArgumentException {
+        this.dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        if (ordinates.length % dimension != 0) {
+            throw new IllegalArgumentException("ordinates length must be a multiple of " + dimension);
+        }
+        this.ordinates = ordinates;
+        this.hasZ = hasZ;
+        this.hasM = hasM;
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * 是否包含Z坐标值
+     *
+     * @return 若包含Z坐标值，则返回true，否则返回false
+     */
+    public boolean hasZ() {
+        return hasZ;
+    }
+
+    /**
+     * 是否包含度量值
+     *
+     * @return 若包含度量值，则返回true，否则返回false
+     */
+    public boolean hasM() {
+        return hasM;
+    }
+
+    @Override
+    public Coordinate getCoordinateAt(int n) {
+        int i = n * dimension;
+        return new Coordinate(ordinates[i], ordinates[i + 1],
+                hasZ ? ordinates[i + 2] : Coordinate.NULL_ORDINATE_VALUE,
+                hasM ? ordinates[i + dimension - 1] : Coordinate.NULL_ORDINATE_VALUE);
+    }
+
+    @Override
+    public double getXAt(int n) {
+        return ordinates[n * dimension];
+    }
+
+    @Override
+    public double getYAt(int n) {
+        return ordinates[n * dimension + 1];
+    }
+
+    @Override
+    public double getZAt(int n) {
+        return hasZ ? ordinates[n * dimension + 2] : Coordinate.NULL_ORDINATE_VALUE;
+    }
+
+    @Override
+    public double getMAt(int n) {
+        return hasM ? ordinates[n * dimension + dimension - 1] : Coordinate.NULL_ORDINATE_VALUE;
+    }
+
+    @Override
+    public double getOrdinateAt(int n, int ordinateId) {
+        switch (ordinateId) {
+            case Coordinate.ORDINATE_X:
+                return getXAt(n);
+            case Coordinate.ORDINATE_Y:
+                return getYAt(n);
+            case Coordinate.ORDINATE_Z:
+                return getZAt(n);
+            case Coordinate.ORDINATE_M:
+                return getMAt(n);
+        }
+        throw new IllegalArgumentException("invalid ordinate id: " + ordinateId);
+    }
+
+    @Override
+    public int size() {
+        return ordinates.length / dimension;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (ordinates.length == 0) {
+            return BoundingBox.NONE;
+        }
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < ordinates.length; i += dimension) {
+            double x = ordinates[i], y = ordinates[i + 1];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        return new BoundingBox(minX, maxX, minY, maxY);
+    }
+
+    @Override
+    public double getLength() {
+        double length = 0;
+        for (int i = dimension; i < ordinates.length; i += dimension) {
+            double dx = ordinates[i] - ordinates[i - dimension];
+            double dy = ordinates[i + 1] - ordinates[i - dimension + 1];
+            length += Math.sqrt(dx * dx + dy * dy);
+        }
+        return length;
+    }
+
+    @Override
+    public double getSignedArea() {
+        if (ordinates.length < 3 * dimension) {
+            return 0;
+        }
+        // 以第一个点为原点计算，以减小大坐标值带来的精度损失
+        double x0 = ordinates[0], y0 = ordinates[1];
+        double sum = 0;
+        for (int i = dimension; i + dimension < ordinates.length; i += dimension) {
+            double x = ordinates[i] - x0;
+            sum += x * (ordinates[i + dimension + 1] - ordinates[i - dimension + 1]);
+        }
+        return sum / 2.0;
+    }
+
+    /**
+     * 获取坐标值数组的一个拷贝
+     *
+     * @return 交错存储的坐标值，不会返回null
+     */
+    @NotNull
+    public double[] toOrdinateArray() {
+        return ordinates.clone();
+    }
+
+    @Override
+    public CoordinateSequence clone() {
+        // 坐标序列是不可变的，因此可以共享坐标值数组
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
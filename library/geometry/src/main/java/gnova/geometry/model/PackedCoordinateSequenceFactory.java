@@ -0,0 +1,131 @@
+package gnova.geometry.model;
+
+import gnova.core.annotation.NotNull;
+
+/**
+ * 紧凑存储的坐标序列工厂
+ *
+ * <p>工厂创建的坐标序列均为{@link PackedCoordinateSequence}，其维度由工厂决定：
+ * 创建时多余的坐标值会被忽略，缺少的坐标值使用{@link Coordinate#NULL_ORDINATE_VALUE}填充。
+ *
+ * @see PackedCoordinateSequence
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class PackedCoordinateSequenceFactory
+        implements CoordinateSequenceFactory {
+
+    /**
+     * 创建XY坐标序列的工厂
+     */
+    public static final PackedCoordinateSequenceFactory XY
+            = new PackedCoordinateSequenceFactory(false, false);
+
+    /**
+     * 创建XYZ坐标序列的工厂
+     */
+    public static final PackedCoordinateSequenceFactory XYZ
+            = new PackedCoordinateSequenceFactory(true, false);
+
+    /**
+     * 创建XYM坐标序列的工厂
+     */
+    public static final PackedCoordinateSequenceFactory XYM
+            = new PackedCoordinateSequenceFactory(false, true);
+
+    /**
+     * 创建XYZM坐标序列的工厂
+     */
+    public static final PackedCoordinateSequenceFactory XYZM
+            = new PackedCoordinateSequenceFactory(true, true);
+
+    private final boolean hasZ;
+
+    private final boolean hasM;
+
+    private PackedCoordinateSequenceFactory(boolean hasZ, boolean hasM) {
+        this.hasZ = hasZ;
+        this.hasM = hasM;
+    }
+
+    /**
+     * 获取创建指定维度的坐标序列的工厂
+     *
+     * @param hasZ 是否包含Z坐标值
+     * @param hasM 是否包含度量值
+     * @return 坐标序列工厂，不会返回null
+     */
+    @NotNull
+    public static PackedCoordinateSequenceFactory of(boolean hasZ, boolean hasM) {
+        if (hasZ) {
+            return hasM ? XYZM : XYZ;
+        }
+        return hasM ? XYM : XY;
+    }
+
+    /**
+     * 获取工厂创建的坐标序列的维度值
+     *
+     * @return 维度值，介于2到4之间
+     */
+    public int getDimension() {
+        return 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+    }
+
+    @Override
+    public PackedCoordinateSequence create(Coordinate[] coordinates) {
+        int dimension = getDimension();
+        double[] ordinates = new double[coordinates.length * dimension];
+        for (int n = 0, i = 0; n < coordinates.length; n++, i += dimension) {
+            Coordinate coordinate = coordinates[n];
+            ordinates[i] = coordinate.getX();
+            ordinates[i + 1] = coordinate.getY();
+            if (hasZ) {
+                ordinates[i + 2] = coordinate.getZ();
+            }
+            if (hasM) {
+                ordinates[i + dimension - 1] = coordinate.getM();
+            }
+        }
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+    @Override
+    public PackedCoordinateSequence create(CoordinateSequence coordinates) {
+        if (coordinates instanceof PackedCoordinateSequence) {
+            PackedCoordinateSequence packed = (PackedCoordinateSequence) coordinates;
+            if (packed.hasZ() == hasZ && packed.hasM() == hasM) {
+                // 坐标序列是不可变的，可以直接共享
+                return packed;
+            }
+        }
+        int dimension = getDimension();
+        int size = coordinates.size();
+        double[] ordinates = new double[size * dimension];
+        for (int n = 0, i = 0; n < size; n++, i += dimension) {
+            ordinates[i] = coordinates.getXAt(n);
+            ordinates[i + 1] = coordinates.getYAt(n);
+            if (hasZ) {
+                ordinates[i + 2] = coordinates.getZAt(n);
+            }
+            if (hasM) {
+                ordinates[i + dimension - 1] = coordinates.getMAt(n);
+            }
+        }
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+    /**
+     * 使用交错存储的坐标值创建一个坐标序列，坐标值数组不会被复制，创建之后不允许再修改
+     *
+     * @param ordinates 交错存储的坐标值，不允许为null，其长度必须是维度值的整数倍
+     * @return 坐标序列，不会返回null
+     * @throws IllegalArgumentException 若坐标值数组的长度不合法，则抛出此异常
+     */
+    @NotNull
+    public PackedCoordinateSequence create(@NotNull double[] ordinates)
+            throws IllegalArgumentException {
+        return new PackedCoordinateSequence(ordinates, hasZ, hasM);
+    }
+
+}
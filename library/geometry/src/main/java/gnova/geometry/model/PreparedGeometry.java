@@ -0,0 +1,77 @@
+package gnova.geometry.model;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.geometry.model.operator.RelationalOperator;
+
+/**
+ * 预处理的几何对象
+ *
+ * <p>预处理的几何对象在第一次使用时为其线段建立索引，对于多边形还会建立点在面内的定位器，
+ * 之后的{@link RelationalOperator 空间关系判断}都会复用这些索引。
+ * 当同一个几何对象（例如一个很大的行政区划多边形）需要与大量其他几何对象进行判断时，应该先对其进行预处理。
+ *
+ * <p>预处理的几何对象总是作为空间关系判断的左侧，其判断结果与{@link #getGeometry() 原几何对象}的判断结果相同。
+ * 预处理的几何对象是线程安全的，可以在多个线程中共享。
+ *
+ * @see Geometry#prepare()
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public interface PreparedGeometry
+        extends RelationalOperator {
+
+    /**
+     * 获取被预处理的几何对象
+     *
+     * @return 几何对象，不会返回null
+     */
+    @NotNull
+    Geometry getGeometry();
+
+    /**
+     * 判断当前对象是否严格包含另一个几何对象，即另一个几何对象位于当前对象的内部，且不与当前对象的边界接触
+     *
+     * <p>严格包含判断的DE-9IM矩阵为[T**FF*FF*]
+     *
+     * @param other 几何对象，不允许为null
+     * @return 若满足断言，则返回true，否则返回false
+     */
+    boolean containsProperly(@NotNull Geometry other);
+
+    /**
+     * 判断当前对象是否与一个点相交，不会创建点对象
+     *
+     * @param x 点的X坐标值
+     * @param y 点的Y坐标值
+     * @return 若满足断言，则返回true，否则返回false
+     */
+    boolean intersects(double x, double y);
+
+    /**
+     * 判断当前对象是否包含一个点，即点位于当前对象的内部，不会创建点对象
+     *
+     * @param x 点的X坐标值
+     * @param y 点的Y坐标值
+     * @return 若满足断言，则返回true，否则返回false
+     */
+    boolean contains(double x, double y);
+
+    /**
+     * 判断当前对象是否覆盖一个点，即点位于当前对象的内部或边界上，不会创建点对象
+     *
+     * @param x 点的X坐标值
+     * @param y 点的Y坐标值
+     * @return 若满足断言，则返回true，否则返回false
+     */
+    default boolean covers(double x, double y) {
+        return intersects(x, y);
+    }
+
+    @Override
+    default boolean topologicallyEquals(@NotNull Geometry other) {
+        return getGeometry().topologicallyEquals(other);
+    }
+
+}
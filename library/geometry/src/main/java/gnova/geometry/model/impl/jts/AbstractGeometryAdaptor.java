@@ -7,6 +7,9 @@ import gnova.geometry.model.*;
 import gnova.geometry.model.AbstractGeometry;
 import gnova.geometry.model.operator.SimplifierFunction;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by Birderyu on 2017/6/22.
  */
@@ -16,8 +19,18 @@ abstract class AbstractGeometryAdaptor
     @NotNull
     private final org.locationtech.jts.geom.Geometry jtsGeometry;
 
+    /**
+     * 包围盒，在第一次调用{@link #getBoundingBox()}时创建
+     */
+    private volatile BoundingBox boundingBox;
+
+    /**
+     * 预处理的几何对象，在第一次调用{@link #prepare()}时创建
+     */
+    private volatile PreparedGeometry prepared;
+
     protected AbstractGeometryAdaptor(@NotNull org.locationtech.jts.geom.Geometry jtsGeometry) {
-        super(new GeometryFactoryAdaptor(jtsGeometry.getFactory()));
+        super(GeometryFactoryAdaptor.of(jtsGeometry.getFactory()));
         this.jtsGeometry = jtsGeometry;
     }
 
@@ -28,9 +41,40 @@ abstract class AbstractGeometryAdaptor
 
     @Override
     public BoundingBox getBoundingBox() {
+        BoundingBox result = boundingBox;
+        if (result == null) {
+            org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
+            result = envelope.isNull() ? BoundingBox.NONE :
+                    new BoundingBox(envelope.getMinX(), envelope.getMaxX(),
+                            envelope.getMinY(), envelope.getMaxY());
+            boundingBox = result;
+        }
+        return result;
+    }
+
+    @Override
+    public double getMinX() {
+        // JTS会缓存几何对象的外包矩形，因此这里不会创建新的对象
+        org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
+        return envelope.isNull() ? Double.NaN : envelope.getMinX();
+    }
+
+    @Override
+    public double getMaxX() {
+        org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
+        return envelope.isNull() ? Double.NaN : envelope.getMaxX();
+    }
+
+    @Override
+    public double getMinY() {
+        org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
+        return envelope.isNull() ? Double.NaN : envelope.getMinY();
+    }
+
+    @Override
+    public double getMaxY() {
         org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
-        return new BoundingBox(envelope.getMinX(), envelope.getMaxX(),
-                envelope.getMinY(), envelope.getMaxY());
+        return envelope.isNull() ? Double.NaN : envelope.getMaxY();
     }
 
     @Override
@@ -62,7 +106,7 @@ abstract class AbstractGeometryAdaptor
     @Override
     public Coordinate getCoordinate() {
         org.locationtech.jts.geom.Coordinate jtsCoordinate = jtsGeometry.getCoordinate();
-        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z);
+        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z, jtsCoordinate.getM());
     }
 
     @Override
@@ -70,7 +114,8 @@ abstract class AbstractGeometryAdaptor
         org.locationtech.jts.geom.Coordinate[] jtsCoordinates = jtsGeometry.getCoordinates();
         return () -> new ConvertIterator<>(
                 new ArrayIterator<>(jtsCoordinates),
-                jtsCoordinate -> new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z));
+                jtsCoordinate -> new Coordinate(jtsCoordinate.x, jtsCoordinate.y,
+                        jtsCoordinate.z, jtsCoordinate.getM()));
     }
 
     @Override
@@ -81,7 +126,7 @@ abstract class AbstractGeometryAdaptor
     @Override
     @NotNull
     public Precision getPrecision() {
-        return getFactory().fromJtsPrecisionModel(getFactory().getJts().getPrecisionModel());
+        return getFactory().getPrecision();
     }
 
     @Override
@@ -106,6 +151,17 @@ abstract class AbstractGeometryAdaptor
         return jtsGeometry.equalsExact(getFactory().toJtsGeometry(other), tolerance);
     }
 
+    @Override
+    public PreparedGeometry prepare() {
+        PreparedGeometry result = prepared;
+        if (result == null) {
+            // 并发调用时可能会重复创建，但结果是等价的
+            result = new PreparedGeometryAdaptor(this);
+            prepared = result;
+        }
+        return result;
+    }
+
     ////////////////////////////////////
     // RelationalOperator
     ////////////////////////////////////
@@ -216,7 +272,57 @@ abstract class AbstractGeometryAdaptor
 
     @Override
     public Geometry clip(BoundingBox bbox) {
-        throw new UnsupportedOperationException("clip");
+        if (jtsGeometry.isEmpty() || Double.isNaN(bbox.getMinX()) || Double.isNaN(bbox.getMinY())) {
+            return Geometry.NONE;
+        }
+        org.locationtech.jts.geom.Envelope clipEnvelope = new org.locationtech.jts.geom.Envelope(
+                bbox.getMinX(), bbox.getMaxX(), bbox.getMinY(), bbox.getMaxY());
+        org.locationtech.jts.geom.Envelope envelope = jtsGeometry.getEnvelopeInternal();
+        if (!clipEnvelope.intersects(envelope)) {
+            return Geometry.NONE;
+        }
+        if (clipEnvelope.covers(envelope)) {
+            // 包围盒完全覆盖几何对象，不需要裁剪
+            return this;
+        }
+        org.locationtech.jts.geom.Geometry result = clip(jtsGeometry, clipEnvelope,
+                jtsGeometry.getFactory().toGeometry(clipEnvelope));
+        return result == null ? Geometry.NONE : getFactory().fromJtsGeometry(result);
+    }
+
+    /**
+     * 使用矩形裁剪JTS几何对象
+     *
+     * <p>异构的几何集合无法直接参与叠加运算，因此逐个裁剪其中的成员，再将结果重新组合。
+     *
+     * @return 裁剪后的几何对象，若结果为空，则返回null
+     */
+    private static org.locationtech.jts.geom.Geometry clip(org.locationtech.jts.geom.Geometry geometry,
+                                                           org.locationtech.jts.geom.Envelope clipEnvelope,
+                                                           org.locationtech.jts.geom.Geometry clipGeometry) {
+        org.locationtech.jts.geom.Envelope envelope = geometry.getEnvelopeInternal();
+        if (geometry.isEmpty() || !clipEnvelope.intersects(envelope)) {
+            return null;
+        }
+        if (clipEnvelope.covers(envelope)) {
+            return geometry;
+        }
+        if (geometry.getClass() == org.locationtech.jts.geom.GeometryCollection.class) {
+            int size = geometry.getNumGeometries();
+            List<org.locationtech.jts.geom.Geometry> parts = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                org.locationtech.jts.geom.Geometry part = clip(geometry.getGeometryN(i), clipEnvelope, clipGeometry);
+                if (part != null) {
+                    parts.add(part);
+                }
+            }
+            // 成员的类型相同时会组合为对应的多几何对象
+            return parts.isEmpty() ? null : geometry.getFactory().buildGeometry(parts);
+        }
+        // 使用EnhancedPrecisionOp可以解决鲁棒性问题，避免抛出TopologyException异常
+        org.locationtech.jts.geom.Geometry result =
+                org.locationtech.jts.precision.EnhancedPrecisionOp.intersection(geometry, clipGeometry);
+        return result.isEmpty() ? null : result;
     }
 
     @Override
@@ -349,59 +455,67 @@ abstract class AbstractGeometryAdaptor
     @Override
     @NotNull
     public Geometry translate(double offsetX, double offsetY) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.translationInstance(offsetX, offsetX);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.translation(offsetX, offsetY));
     }
 
     @Override
     @NotNull
     public Geometry scale(double baseX, double baseY, double scaleX, double scaleY) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.scaleInstance(scaleX, scaleY, baseX, baseY);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.scaling(baseX, baseY, scaleX, scaleY));
     }
 
     @Override
     @NotNull
     public Geometry scale(double scaleX, double scaleY) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.scaleInstance(scaleX, scaleY);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.scaling(scaleX, scaleY));
     }
 
     @Override
     @NotNull
     public Geometry rotate(double baseX, double baseY, double angle) {
-        double radian = angle * Math.PI / 180.0;
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.rotationInstance(radian, baseX, baseY);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.rotation(baseX, baseY, angle));
     }
 
     @Override
     @NotNull
     public Geometry rotate(double angle) {
-        double radian = angle * Math.PI / 180.0;
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.rotationInstance(radian);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.rotation(angle));
     }
 
     @Override
     @NotNull
     public Geometry shear(double shearX, double shearY) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.shearInstance(shearX, shearY);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.shearing(shearX, shearY));
     }
 
     @Override
     @NotNull
     public Geometry reflection(double baseX, double baseY, double x, double y) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.reflectionInstance(baseX, baseY, x, y);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.reflection(baseX, baseY, x, y));
     }
 
     @Override
     @NotNull
     public Geometry reflection(double x, double y) {
-        org.locationtech.jts.geom.util.AffineTransformation at = org.locationtech.jts.geom.util.AffineTransformation.reflectionInstance(x, y);
-        return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        return transform(AffineTransform.reflection(x, y));
+    }
+
+    @Override
+    @NotNull
+    public Geometry transform(@NotNull AffineTransform transform, boolean inPlace) {
+        org.locationtech.jts.geom.util.AffineTransformation at = new org.locationtech.jts.geom.util.AffineTransformation(
+                transform.getM00(), transform.getM01(), transform.getM02(),
+                transform.getM10(), transform.getM11(), transform.getM12());
+        if (!inPlace) {
+            return getFactory().fromJtsGeometry(at.transform(jtsGeometry));
+        }
+        // 直接修改当前的JTS几何对象，并清除依赖于坐标的缓存
+        // 组成部分与其所在的几何对象共享JTS几何对象，所在几何对象的缓存无法在此清除，因此不能对组成部分在原位变换
+        jtsGeometry.apply(at);
+        jtsGeometry.geometryChanged();
+        boundingBox = null;
+        prepared = null;
+        return this;
     }
 
 
@@ -0,0 +1,234 @@
+package gnova.geometry.model.impl.jts;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.geometry.model.FactoryFinder;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryFactory;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.util.PolygonExtracter;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+import org.locationtech.jts.precision.EnhancedPrecisionOp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 并行的级联融合
+ *
+ * <p>输入的几何对象（几何集合会被展开为其中的元素）按照包围盒的中心进行STR排序：
+ * 先按X坐标排序并切分为若干个竖条，每个竖条内再按Y坐标排序，因此相邻的几何对象在空间上也是相邻的。
+ * 排序后的序列被递归地对半切分，元素个数不超过{@link #getThreshold() 阈值}的区间在一个任务中使用JTS的级联融合完成，
+ * 较大的区间切分为两个子任务在{@link ForkJoinPool}中并行执行，再将两个子结果融合。
+ * 两个多边形的子结果的包围盒不相交时，直接组合为多多边形，不需要进行叠加分析。
+ *
+ * <p>若在ForkJoinPool的任务中调用，则使用当前的线程池，否则使用构造时指定的线程池。
+ *
+ * @see gnova.geometry.model.operator.CollectionOperator#union()
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public final class CascadedUnion {
+
+    /**
+     * 默认的阈值
+     */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    /**
+     * 使用默认阈值与公共线程池的级联融合
+     */
+    public static final CascadedUnion DEFAULT = new CascadedUnion(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+
+    /**
+     * STR排序时，每个竖条中期望的几何对象个数
+     */
+    private static final int SLICE_CAPACITY = 64;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * 构造一个级联融合
+     *
+     * @param threshold 阈值，不超过阈值的几何对象在一个任务中顺序融合，不能小于2
+     * @param pool 执行并行任务的线程池，不允许为null
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public CascadedUnion(int threshold, @NotNull ForkJoinPool pool) throws IllegalArgumentException {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("阈值不能小于2：" + threshold);
+        }
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * 获取顺序融合的阈值
+     *
+     * @return 阈值
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 融合多个几何对象
+     *
+     * <p>输入只会被遍历一次，因此可以是一个流式的数据源。
+     *
+     * @param geometries 几何对象，不允许为null，其中为null或为空的几何对象会被忽略
+     * @return 融合后的几何对象，若没有任何非空的几何对象，则返回{@link Geometry#NONE}，不会返回null
+     */
+    @NotNull
+    public Geometry union(@NotNull Iterable<? extends Geometry> geometries) {
+        List<org.locationtech.jts.geom.Geometry> items = new ArrayList<>();
+        for (Geometry geometry : geometries) {
+            if (geometry != null && !geometry.isEmpty()) {
+                addComponents(toJts(geometry), items);
+            }
+        }
+        if (items.isEmpty()) {
+            return Geometry.NONE;
+        }
+        return GeometryFactoryAdaptor.fromJtsGeometry(union(items));
+    }
+
+    /**
+     * 融合JTS几何集合中的全部元素
+     *
+     * @param geometry JTS几何对象，不允许为null
+     * @return 融合后的JTS几何对象，若没有任何非空的元素，则返回空的几何集合，不会返回null
+     */
+    org.locationtech.jts.geom.Geometry union(@NotNull org.locationtech.jts.geom.Geometry geometry) {
+        List<org.locationtech.jts.geom.Geometry> items = new ArrayList<>();
+        addComponents(geometry, items);
+        if (items.isEmpty()) {
+            return geometry.getFactory().createGeometryCollection();
+        }
+        return union(items);
+    }
+
+    private org.locationtech.jts.geom.Geometry union(List<org.locationtech.jts.geom.Geometry> items) {
+        if (items.size() <= threshold) {
+            return UnaryUnionOp.union(items);
+        }
+        org.locationtech.jts.geom.Geometry[] sorted = sortByStr(items);
+        UnionTask task = new UnionTask(sorted, 0, sorted.length);
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    /**
+     * 按照包围盒的中心进行STR排序
+     */
+    private static org.locationtech.jts.geom.Geometry[] sortByStr(List<org.locationtech.jts.geom.Geometry> items) {
+        int size = items.size();
+        org.locationtech.jts.geom.Geometry[] sorted = items.toArray(new org.locationtech.jts.geom.Geometry[size]);
+        double[] centreXs = new double[size];
+        double[] centreYs = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Envelope envelope = sorted[i].getEnvelopeInternal();
+            centreXs[i] = (envelope.getMinX() + envelope.getMaxX()) / 2;
+            centreYs[i] = (envelope.getMinY() + envelope.getMaxY()) / 2;
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> centreXs[i]));
+        int sliceCount = (int) Math.ceil(Math.sqrt((double) size / SLICE_CAPACITY));
+        int sliceSize = (size + sliceCount - 1) / sliceCount;
+        for (int start = 0; start < size; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(size, start + sliceSize),
+                    Comparator.comparingDouble(i -> centreYs[i]));
+        }
+        org.locationtech.jts.geom.Geometry[] result = new org.locationtech.jts.geom.Geometry[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = sorted[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 融合两个子结果
+     */
+    private static org.locationtech.jts.geom.Geometry merge(org.locationtech.jts.geom.Geometry left,
+                                                             org.locationtech.jts.geom.Geometry right) {
+        if (!(left instanceof Polygonal) || !(right instanceof Polygonal)) {
+            // 包含点或线的结果交给JTS处理，JTS的二元叠加分析不支持几何集合
+            return UnaryUnionOp.union(Arrays.asList(left, right));
+        }
+        if (!left.getEnvelopeInternal().intersects(right.getEnvelopeInternal())) {
+            // 包围盒不相交的多边形不可能重叠，直接组合
+            List<org.locationtech.jts.geom.Geometry> polygons = new ArrayList<>();
+            addComponents(left, polygons);
+            addComponents(right, polygons);
+            return left.getFactory().buildGeometry(polygons);
+        }
+        // 使用EnhancedPrecisionOp可以解决鲁棒性问题，避免抛出TopologyException异常
+        org.locationtech.jts.geom.Geometry result = EnhancedPrecisionOp.union(left, right);
+        if (result instanceof Polygonal) {
+            return result;
+        }
+        // 只保留叠加分析产生的多边形，与JTS的级联融合一致
+        return left.getFactory().buildGeometry(PolygonExtracter.getPolygons(result));
+    }
+
+    private static void addComponents(org.locationtech.jts.geom.Geometry geometry,
+                                      List<org.locationtech.jts.geom.Geometry> components) {
+        if (geometry instanceof org.locationtech.jts.geom.GeometryCollection) {
+            for (int i = 0, size = geometry.getNumGeometries(); i < size; i++) {
+                addComponents(geometry.getGeometryN(i), components);
+            }
+        } else if (!geometry.isEmpty()) {
+            components.add(geometry);
+        }
+    }
+
+    private static org.locationtech.jts.geom.Geometry toJts(Geometry geometry) {
+        if (geometry instanceof AbstractGeometryAdaptor) {
+            return ((AbstractGeometryAdaptor) geometry).getJts();
+        }
+        GeometryFactory factory = geometry.getFactory();
+        if (!(factory instanceof GeometryFactoryAdaptor)) {
+            factory = FactoryFinder.getDefaultGeometryFactory();
+        }
+        return ((GeometryFactoryAdaptor) factory).toJtsGeometry(geometry);
+    }
+
+    /**
+     * 融合排序后的序列中的一个区间
+     */
+    private final class UnionTask extends RecursiveTask<org.locationtech.jts.geom.Geometry> {
+
+        private final org.locationtech.jts.geom.Geometry[] items;
+        private final int start;
+        private final int end;
+
+        UnionTask(org.locationtech.jts.geom.Geometry[] items, int start, int end) {
+            this.items = items;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected org.locationtech.jts.geom.Geometry compute() {
+            if (end - start <= threshold) {
+                return UnaryUnionOp.union(Arrays.asList(items).subList(start, end));
+            }
+            int middle = (start + end) >>> 1;
+            UnionTask left = new UnionTask(items, start, middle);
+            UnionTask right = new UnionTask(items, middle, end);
+            left.fork();
+            org.locationtech.jts.geom.Geometry rightResult = right.compute();
+            return merge(left.join(), rightResult);
+        }
+
+    }
+
+}
@@ -23,8 +23,8 @@ final class CoordinateSequenceAdaptor
 
     @Override
     public Coordinate getCoordinateAt(int n) {
-        org.locationtech.jts.geom.Coordinate jtsCoordinate = jtsCoordinateSequence.getCoordinate(n);
-        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z);
+        return new Coordinate(jtsCoordinateSequence.getX(n), jtsCoordinateSequence.getY(n),
+                getZAt(n), getMAt(n));
     }
 
     @Override
@@ -39,17 +39,25 @@ final class CoordinateSequenceAdaptor
 
     @Override
     public double getZAt(int n) {
-        org.locationtech.jts.geom.Coordinate jtsCoordinate = jtsCoordinateSequence.getCoordinate(n);
-        return jtsCoordinate.z;
+        // 不包含Z坐标值的序列中，JTS的第3个坐标值可能是度量值
+        return jtsCoordinateSequence.hasZ()
+                ? jtsCoordinateSequence.getOrdinate(n, org.locationtech.jts.geom.CoordinateSequence.Z)
+                : Coordinate.NULL_ORDINATE_VALUE;
     }
 
     @Override
     public double getMAt(int n) {
-        return Coordinate.NULL_ORDINATE_VALUE;
+        return jtsCoordinateSequence.getM(n);
     }
 
     @Override
     public double getOrdinateAt(int n, int ordinateId) {
+        switch (ordinateId) {
+            case Coordinate.ORDINATE_Z:
+                return getZAt(n);
+            case Coordinate.ORDINATE_M:
+                return getMAt(n);
+        }
         return jtsCoordinateSequence.getOrdinate(n, ordinateId);
     }
 
@@ -69,9 +77,8 @@ final class CoordinateSequenceAdaptor
     @Override
     public Coordinate[] toArray() {
         Coordinate[] coordinates = new Coordinate[jtsCoordinateSequence.size()];
-        for (int i = 0; i < jtsCoordinateSequence.size(); i++) {
-            org.locationtech.jts.geom.Coordinate jtsCoordinate = jtsCoordinateSequence.getCoordinate(i);
-            coordinates[i] = new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z);
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = getCoordinateAt(i);
         }
         return coordinates;
     }
@@ -3,6 +3,7 @@ package gnova.geometry.model.impl.jts;
 import gnova.geometry.model.CoordinateSequenceFactory;
 import gnova.geometry.model.Coordinate;
 import gnova.geometry.model.CoordinateSequence;
+import gnova.geometry.model.PackedCoordinateSequence;
 
 /**
  * Created by Birderyu on 2017/6/23.
@@ -39,7 +40,14 @@ final class CoordinateSequenceFactoryAdaptor
     }
 
     static public org.locationtech.jts.geom.Coordinate toJtsCoordinate(Coordinate coord) {
-        return new org.locationtech.jts.geom.Coordinate(coord.getX(), coord.getY(), coord.getZ());
+        if (!coord.hasM()) {
+            return new org.locationtech.jts.geom.Coordinate(coord.getX(), coord.getY(), coord.getZ());
+        }
+        // 带有度量值的坐标使用JTS中对应的子类，从而保留M值
+        if (coord.hasZ()) {
+            return new org.locationtech.jts.geom.CoordinateXYZM(coord.getX(), coord.getY(), coord.getZ(), coord.getM());
+        }
+        return new org.locationtech.jts.geom.CoordinateXYM(coord.getX(), coord.getY(), coord.getM());
     }
 
     static public org.locationtech.jts.geom.Coordinate[] toJtsCoordinateArray(Coordinate[] coords) {
@@ -64,9 +72,52 @@ final class CoordinateSequenceFactoryAdaptor
         if (coordinateSequence instanceof CoordinateSequenceAdaptor) {
             return ((CoordinateSequenceAdaptor) coordinateSequence).getJtsCoordinateSequence();
         }
-        return new org.locationtech.jts.geom.impl.CoordinateArraySequence(
-                CoordinateSequenceFactoryAdaptor.toJtsCoordinateArray(coordinateSequence)
-        );
+        // 按坐标值逐个填充交错存储的数组，不创建中间的Coordinate对象，并保留Z坐标值与度量值
+        boolean hasZ;
+        boolean hasM;
+        if (coordinateSequence instanceof PackedCoordinateSequence) {
+            hasZ = ((PackedCoordinateSequence) coordinateSequence).hasZ();
+            hasM = ((PackedCoordinateSequence) coordinateSequence).hasM();
+        } else {
+            int dimension = coordinateSequence.getDimension();
+            hasZ = dimension > 2;
+            hasM = dimension > 3;
+        }
+        int dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        int size = coordinateSequence.size();
+        double[] ordinates = new double[size * dimension];
+        for (int i = 0, j = 0; i < size; i++, j += dimension) {
+            ordinates[j] = coordinateSequence.getXAt(i);
+            ordinates[j + 1] = coordinateSequence.getYAt(i);
+            if (hasZ) {
+                ordinates[j + 2] = coordinateSequence.getZAt(i);
+            }
+            if (hasM) {
+                ordinates[j + dimension - 1] = coordinateSequence.getMAt(i);
+            }
+        }
+        return new org.locationtech.jts.geom.impl.PackedCoordinateSequence.Double(
+                ordinates, dimension, hasM ? 1 : 0);
+    }
+
+    /**
+     * 坐标序列中是否包含空坐标
+     *
+     * @param coordinateSequence 坐标序列，不允许为null
+     * @return 若包含空坐标，则返回true，否则返回false
+     */
+    static public boolean hasNoneCoordinate(CoordinateSequence coordinateSequence) {
+        if (coordinateSequence instanceof CoordinateSequenceAdaptor) {
+            // JTS坐标序列中不会包含空坐标
+            return false;
+        }
+        for (int i = 0; i < coordinateSequence.size(); i++) {
+            if (Double.isNaN(coordinateSequence.getXAt(i))
+                    && Double.isNaN(coordinateSequence.getYAt(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -80,7 +80,7 @@ class GeometryCollectionAdaptor<G extends Geometry>
 
     @Override
     public Geometry union() {
-        return getFactory().fromJtsGeometry(getJts().union());
+        return getFactory().fromJtsGeometry(CascadedUnion.DEFAULT.union(getJts()));
     }
 
     @Override
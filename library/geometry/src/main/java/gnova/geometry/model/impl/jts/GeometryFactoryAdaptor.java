@@ -5,7 +5,10 @@ import gnova.geometry.model.*;
 import gnova.geometry.model.GeometryFactory;
 import org.locationtech.jts.geom.PrecisionModel;
 
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Created by Birderyu on 2017/6/21.
@@ -102,8 +105,20 @@ public final class GeometryFactoryAdaptor
         }
     }
 
+    /**
+     * JTS几何工厂与其适配器的对应关系，键和值均为弱引用，不会阻止工厂被回收
+     */
+    private static final Map<org.locationtech.jts.geom.GeometryFactory, WeakReference<GeometryFactoryAdaptor>> ADAPTORS =
+            new WeakHashMap<>();
+
+    /**
+     * 最近一次获取的适配器，绝大多数情况下所有几何对象都来自同一个JTS几何工厂，此时无需查找和加锁
+     */
+    private static volatile GeometryFactoryAdaptor lastAdaptor;
+
     private final org.locationtech.jts.geom.GeometryFactory jtsGeometryFactory;
     private final CoordinateSequenceFactory coordinateSequenceFactory;
+    private final Precision precision;
 
     public GeometryFactoryAdaptor() {
         this(new org.locationtech.jts.geom.GeometryFactory());
@@ -124,6 +139,35 @@ public final class GeometryFactoryAdaptor
     public GeometryFactoryAdaptor(org.locationtech.jts.geom.GeometryFactory jtsGeometryFactory) {
         this.jtsGeometryFactory = jtsGeometryFactory;
         coordinateSequenceFactory = new CoordinateSequenceFactoryAdaptor(jtsGeometryFactory.getCoordinateSequenceFactory());
+        precision = fromJtsPrecisionModel(jtsGeometryFactory.getPrecisionModel());
+        synchronized (ADAPTORS) {
+            // 由该工厂创建的几何对象，其getFactory()返回的应该就是该工厂
+            ADAPTORS.putIfAbsent(jtsGeometryFactory, new WeakReference<>(this));
+        }
+    }
+
+    /**
+     * 获取JTS几何工厂的适配器，同一个JTS几何工厂总是返回同一个适配器（除非该适配器已经被回收）
+     *
+     * @param jtsGeometryFactory JTS几何工厂，不允许为null
+     * @return 几何工厂适配器，不会返回null
+     */
+    @NotNull
+    static GeometryFactoryAdaptor of(@NotNull org.locationtech.jts.geom.GeometryFactory jtsGeometryFactory) {
+        GeometryFactoryAdaptor adaptor = lastAdaptor;
+        if (adaptor != null && adaptor.jtsGeometryFactory == jtsGeometryFactory) {
+            return adaptor;
+        }
+        synchronized (ADAPTORS) {
+            WeakReference<GeometryFactoryAdaptor> reference = ADAPTORS.get(jtsGeometryFactory);
+            adaptor = reference == null ? null : reference.get();
+            if (adaptor == null) {
+                ADAPTORS.remove(jtsGeometryFactory);
+                adaptor = new GeometryFactoryAdaptor(jtsGeometryFactory);
+            }
+        }
+        lastAdaptor = adaptor;
+        return adaptor;
     }
 
     public org.locationtech.jts.geom.GeometryFactory getJts() {
@@ -137,7 +181,7 @@ public final class GeometryFactoryAdaptor
 
     @Override
     public Precision getPrecision() {
-        return fromJtsPrecisionModel(jtsGeometryFactory.getPrecisionModel());
+        return precision;
     }
 
     @Override
@@ -160,6 +204,14 @@ public final class GeometryFactoryAdaptor
                 jtsGeometryFactory.createGeometry(toJtsGeometry(geometry)));
     }
 
+    /**
+     * 使用{@link CascadedUnion#DEFAULT 并行的级联融合}融合多个几何对象
+     */
+    @Override
+    public Geometry union(Iterable<? extends Geometry> geometries) {
+        return CascadedUnion.DEFAULT.union(geometries);
+    }
+
     @Override
     public Point createPoint(Coordinate coordinate) {
         return GeometryFactoryAdaptor.fromJtsPoint(
@@ -193,13 +245,9 @@ public final class GeometryFactoryAdaptor
         if (coordinates.size() < 2) {
             throw new IllegalArgumentException("Invalid number of points in LineString (must not less than 2): "
                     + coordinates);
-        } else {
-            for (Coordinate coordinate : coordinates) {
-                if (coordinate == null || coordinate == Coordinate.NONE) {
-                    throw new IllegalArgumentException("Invalid number of coordinates in LineString (must not be null or NONE): "
-                            + coordinates);
-                }
-            }
+        } else if (CoordinateSequenceFactoryAdaptor.hasNoneCoordinate(coordinates)) {
+            throw new IllegalArgumentException("Invalid number of coordinates in LineString (must not be null or NONE): "
+                    + coordinates);
         }
         return GeometryFactoryAdaptor.fromJtsLineString(
                 jtsGeometryFactory.createLineString(
@@ -231,13 +279,9 @@ public final class GeometryFactoryAdaptor
         if (coordinates.size() < 4) {
             throw new IllegalArgumentException("Invalid number of points in LinearRing (must not less than 4): "
                     + coordinates);
-        } else {
-            for (Coordinate coordinate : coordinates) {
-                if (coordinate == null || coordinate == Coordinate.NONE) {
-                    throw new IllegalArgumentException("Invalid number of coordinates in LinearRing (must not be null or NONE): "
-                            + coordinates);
-                }
-            }
+        } else if (CoordinateSequenceFactoryAdaptor.hasNoneCoordinate(coordinates)) {
+            throw new IllegalArgumentException("Invalid number of coordinates in LinearRing (must not be null or NONE): "
+                    + coordinates);
         }
         return GeometryFactoryAdaptor.fromJtsLinearRing(
                 jtsGeometryFactory.createLinearRing(
@@ -297,10 +341,8 @@ public final class GeometryFactoryAdaptor
 
     @Override
     public MultiPoint createMultiPoint(CoordinateSequence coordinates) {
-        for (Coordinate coordinate : coordinates) {
-            if (coordinate == null || coordinate == Coordinate.NONE) {
-                throw new IllegalArgumentException("coordinates has null or NONE");
-            }
+        if (CoordinateSequenceFactoryAdaptor.hasNoneCoordinate(coordinates)) {
+            throw new IllegalArgumentException("coordinates has null or NONE");
         }
         return GeometryFactoryAdaptor.fromJtsMultiPoint(
                 jtsGeometryFactory.createMultiPoint(
@@ -501,7 +543,9 @@ public final class GeometryFactoryAdaptor
 
         if (geometry == Geometry.NONE) {
             throw new IllegalArgumentException("geometry is NONE");
-        } else if (geometry instanceof AbstractGeometryAdaptor) {
+        }
+        geometry = geometry.unwrap();
+        if (geometry instanceof AbstractGeometryAdaptor) {
             return ((AbstractGeometryAdaptor) geometry).getJts();
         }
         switch (geometry.getType()) {
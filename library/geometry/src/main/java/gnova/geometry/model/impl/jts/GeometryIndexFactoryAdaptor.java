@@ -4,6 +4,8 @@ import gnova.geometry.model.GeometryIndexFactory;
 import gnova.geometry.index.GeometryIndex;
 import gnova.geometry.index.GeometryIndexType;
 import gnova.geometry.index.impl.jts.GeometryIndexAdaptor;
+import gnova.geometry.index.impl.packed.ConcurrentPackedRTree;
+import gnova.geometry.index.impl.packed.PackedRTree;
 
 public final class GeometryIndexFactoryAdaptor
         implements GeometryIndexFactory {
@@ -17,6 +19,10 @@ public final class GeometryIndexFactoryAdaptor
                 return new GeometryIndexAdaptor<>(new org.locationtech.jts.index.quadtree.Quadtree());
             case RTree:
                 return new GeometryIndexAdaptor<>(new org.locationtech.jts.index.strtree.STRtree());
+            case PackedRTree:
+                return new PackedRTree<>();
+            case ConcurrentRTree:
+                return new ConcurrentPackedRTree<>();
         }
         throw new IllegalArgumentException("不支持的索引类型：" + type);
     }
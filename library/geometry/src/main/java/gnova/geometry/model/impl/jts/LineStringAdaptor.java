@@ -24,7 +24,7 @@ class LineStringAdaptor
     @Override
     public Coordinate getCoordinateAt(int n) {
         org.locationtech.jts.geom.Coordinate jtsCoordinate = getJts().getCoordinateN(n);
-        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z);
+        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z, jtsCoordinate.getM());
     }
 
     @Override
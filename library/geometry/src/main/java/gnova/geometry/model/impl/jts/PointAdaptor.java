@@ -37,7 +37,7 @@ final class PointAdaptor
         if (jtsCoordinate == null) {
             return Coordinate.NONE;
         }
-        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z);
+        return new Coordinate(jtsCoordinate.x, jtsCoordinate.y, jtsCoordinate.z, jtsCoordinate.getM());
     }
 
     @Override
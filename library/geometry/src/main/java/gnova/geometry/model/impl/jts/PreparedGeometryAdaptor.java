@@ -0,0 +1,159 @@
+package gnova.geometry.model.impl.jts;
+
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.PreparedGeometry;
+
+/**
+ * 基于JTS PreparedGeometry的预处理几何对象
+ *
+ * <p>对于多边形与多多边形，点的判断直接使用JTS的点在面内定位器，不会创建点对象。
+ */
+final class PreparedGeometryAdaptor
+        implements PreparedGeometry {
+
+    private final AbstractGeometryAdaptor geometry;
+    private final org.locationtech.jts.geom.prep.PreparedGeometry jtsPreparedGeometry;
+
+    /**
+     * 点在面内定位器，仅对多边形与多多边形有效，在第一次使用时创建
+     */
+    private volatile org.locationtech.jts.algorithm.locate.PointOnGeometryLocator pointLocator;
+
+    PreparedGeometryAdaptor(@NotNull AbstractGeometryAdaptor geometry) {
+        this.geometry = geometry;
+        this.jtsPreparedGeometry = org.locationtech.jts.geom.prep.PreparedGeometryFactory.prepare(geometry.getJts());
+    }
+
+    @Override
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    @Override
+    public boolean containsProperly(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.containsProperly(toJts(other));
+    }
+
+    @Override
+    public boolean intersects(double x, double y) {
+        org.locationtech.jts.algorithm.locate.PointOnGeometryLocator locator = getPointLocator();
+        if (locator != null) {
+            return locator.locate(new org.locationtech.jts.geom.Coordinate(x, y))
+                    != org.locationtech.jts.geom.Location.EXTERIOR;
+        }
+        return jtsPreparedGeometry.intersects(toJtsPoint(x, y));
+    }
+
+    @Override
+    public boolean contains(double x, double y) {
+        org.locationtech.jts.algorithm.locate.PointOnGeometryLocator locator = getPointLocator();
+        if (locator != null) {
+            return locator.locate(new org.locationtech.jts.geom.Coordinate(x, y))
+                    == org.locationtech.jts.geom.Location.INTERIOR;
+        }
+        return jtsPreparedGeometry.contains(toJtsPoint(x, y));
+    }
+
+    @Override
+    public boolean contains(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.contains(toJts(other));
+    }
+
+    @Override
+    public boolean crosses(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.crosses(toJts(other));
+    }
+
+    @Override
+    public boolean touches(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.touches(toJts(other));
+    }
+
+    @Override
+    public boolean intersects(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.intersects(toJts(other));
+    }
+
+    @Override
+    public boolean disjoint(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.disjoint(toJts(other));
+    }
+
+    @Override
+    public boolean within(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.within(toJts(other));
+    }
+
+    @Override
+    public boolean overlaps(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.overlaps(toJts(other));
+    }
+
+    @Override
+    public boolean covers(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.covers(toJts(other));
+    }
+
+    @Override
+    public boolean coveredBy(@NotNull Geometry other) {
+        if (other == Geometry.NONE) {
+            return false;
+        }
+        return jtsPreparedGeometry.coveredBy(toJts(other));
+    }
+
+    @Override
+    public String toString() {
+        return jtsPreparedGeometry.toString();
+    }
+
+    private org.locationtech.jts.algorithm.locate.PointOnGeometryLocator getPointLocator() {
+        if (!(jtsPreparedGeometry instanceof org.locationtech.jts.geom.prep.PreparedPolygon)) {
+            return null;
+        }
+        org.locationtech.jts.algorithm.locate.PointOnGeometryLocator locator = pointLocator;
+        if (locator == null) {
+            // PreparedPolygon.getPointLocator是同步方法，缓存其结果以避免每次判断时加锁
+            locator = ((org.locationtech.jts.geom.prep.PreparedPolygon) jtsPreparedGeometry).getPointLocator();
+            pointLocator = locator;
+        }
+        return locator;
+    }
+
+    private org.locationtech.jts.geom.Geometry toJts(Geometry other) {
+        return geometry.getFactory().toJtsGeometry(other);
+    }
+
+    private org.locationtech.jts.geom.Point toJtsPoint(double x, double y) {
+        return geometry.getJts().getFactory().createPoint(new org.locationtech.jts.geom.Coordinate(x, y));
+    }
+
+}
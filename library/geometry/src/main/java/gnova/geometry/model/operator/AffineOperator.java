@@ -1,6 +1,7 @@
 package gnova.geometry.model.operator;
 
 import gnova.core.annotation.NotNull;
+import gnova.geometry.model.AffineTransform;
 import gnova.geometry.model.Geometry;
 
 /**
@@ -44,4 +45,35 @@ public interface AffineOperator {
     @NotNull
     Geometry reflection(double x, double y);
 
+    /**
+     * 使用一个仿射变换变换几何对象
+     *
+     * <p>多个变换应先{@link AffineTransform#then(AffineTransform) 组合}为一个仿射变换，
+     * 这样只需要复制并遍历一次坐标。
+     *
+     * @param transform 仿射变换，不允许为null
+     * @return 变换后的几何对象，不会返回null
+     */
+    @NotNull
+    default Geometry transform(@NotNull AffineTransform transform) {
+        return transform(transform, false);
+    }
+
+    /**
+     * 使用一个仿射变换变换几何对象
+     *
+     * <p>若允许在原位变换，则直接修改当前几何对象的坐标，不再复制坐标，清除其缓存的包围盒与预备几何对象，
+     * 并返回当前几何对象。此前通过{@link Geometry#prepare()}获取的预备几何对象不会随之更新，
+     * 调用者必须保证当前几何对象没有被其他线程同时使用。
+     * 通过{@link gnova.geometry.model.GeometryCollection#getGeometryAt(int)}、
+     * {@link gnova.geometry.model.Polygon#getInteriorRingAt(int)}等方法获取的组成部分与其所在的几何对象共享坐标，
+     * 不能在原位变换：所在几何对象缓存的包围盒与预备几何对象不会被清除，若需要变换，应变换其所在的几何对象。
+     *
+     * @param transform 仿射变换，不允许为null
+     * @param inPlace 是否允许在原位变换
+     * @return 变换后的几何对象，不会返回null
+     */
+    @NotNull
+    Geometry transform(@NotNull AffineTransform transform, boolean inPlace);
+
 }
@@ -1,8 +1,10 @@
 package gnova.geometry.model.operator;
 
 import gnova.core.annotation.NotNull;
+import gnova.geometry.model.FactoryFinder;
 import gnova.geometry.model.Geometry;
 import gnova.geometry.model.GeometryCollection;
+import gnova.geometry.model.GeometryFactory;
 import gnova.geometry.model.MultiLineString;
 import gnova.geometry.model.MultiPolygon;
 
@@ -17,11 +19,28 @@ public interface CollectionOperator {
     /**
      * 将集合类型的几何对象融合成一个几何对象
      *
+     * <p>元素较多时，融合会按照空间位置切分并在多个线程中并行执行。
+     *
      * @return 几何对象，不允许为null
      */
     @NotNull
     Geometry union();
 
+    /**
+     * 将多个几何对象融合成一个几何对象
+     *
+     * <p>输入只会被遍历一次，不需要先构造几何集合。融合由{@link FactoryFinder#getDefaultGeometryFactory() 默认的几何工厂}完成，
+     * 默认的几何工厂在元素较多时会在多个线程中并行执行。
+     *
+     * @param geometries 几何对象，不允许为null，其中为null或为空的几何对象会被忽略
+     * @return 几何对象，若没有任何非空的几何对象，则返回{@link Geometry#NONE}，不会返回null
+     * @see GeometryFactory#union(Iterable)
+     */
+    @NotNull
+    static Geometry union(@NotNull Iterable<? extends Geometry> geometries) {
+        return FactoryFinder.getDefaultGeometryFactory().union(geometries);
+    }
+
     /**
      * 合并线操作
      *
@@ -54,8 +54,11 @@ public interface TopologicalOperator {
     /**
      * 空间裁剪
      *
-     * @param bbox
-     * @return
+     * <p>只使用包围盒的X、Y坐标进行裁剪。
+     * 若需要将同一个几何对象裁剪为多个层级的瓦片，可以使用{@link gnova.geometry.tile.TilePipeline}。
+     *
+     * @param bbox 裁剪的包围盒，不允许为null
+     * @return 几何对象位于包围盒内的部分，若不相交，则返回{@link Geometry#NONE}，不会返回null
      */
     @NotNull
     Geometry clip(@NotNull BoundingBox bbox);
@@ -0,0 +1,42 @@
+package gnova.geometry.tile;
+
+import java.util.Arrays;
+
+/**
+ * 可增长的二维坐标数组，X、Y坐标值交错存储
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class Ordinates {
+
+    double[] data;
+    int size = 0;
+
+    Ordinates(int capacity) {
+        this.data = new double[Math.max(capacity, 4) << 1];
+    }
+
+    void add(double x, double y) {
+        int i = size << 1;
+        if (i + 2 > data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 2);
+        }
+        data[i] = x;
+        data[i + 1] = y;
+        size++;
+    }
+
+    double x(int i) {
+        return data[i << 1];
+    }
+
+    double y(int i) {
+        return data[(i << 1) + 1];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+}
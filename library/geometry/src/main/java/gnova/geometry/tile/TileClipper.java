@@ -0,0 +1,125 @@
+package gnova.geometry.tile;
+
+import java.util.List;
+
+/**
+ * 沿坐标轴方向的快速裁剪
+ *
+ * <p>每次裁剪只针对一个坐标轴上的区间[k1, k2]，即两条平行的裁剪线，
+ * 先按列裁剪、再按行裁剪，即可得到瓦片矩形内的部分。
+ * 多边形的线环使用Sutherland–Hodgman算法，结果仍然是一个闭合的线环，凹多边形在裁剪边界上可能产生零宽度的连接边，
+ * 这对于渲染是无害的；线串按照Liang–Barsky的方式计算交点，每次离开裁剪区间时切分为一个新的部分。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class TileClipper {
+
+    static final int AXIS_X = 0;
+    static final int AXIS_Y = 1;
+
+    private TileClipper() {
+    }
+
+    /**
+     * 裁剪一个闭合的线环
+     *
+     * @param ring 线环，首尾坐标相同
+     * @param axis 坐标轴
+     * @param k1 区间的最小值
+     * @param k2 区间的最大值
+     * @param out 存放结果的坐标数组，会先被清空
+     */
+    static void clipRing(Ordinates ring, int axis, double k1, double k2, Ordinates out) {
+        out.clear();
+        clip(ring, axis, k1, k2, out, null);
+        int n = out.size;
+        if (n >= 3 && (out.x(0) != out.x(n - 1) || out.y(0) != out.y(n - 1))) {
+            out.add(out.x(0), out.y(0));
+        }
+    }
+
+    /**
+     * 裁剪一个线串，结果可能被切分为多个部分
+     *
+     * @param line 线串
+     * @param axis 坐标轴
+     * @param k1 区间的最小值
+     * @param k2 区间的最大值
+     * @param parts 存放结果的列表，裁剪后的部分被追加到列表的末尾
+     */
+    static void clipLine(Ordinates line, int axis, double k1, double k2, List<Ordinates> parts) {
+        Ordinates last = clip(line, axis, k1, k2, new Ordinates(line.size), parts);
+        if (last.size > 0) {
+            parts.add(last);
+        }
+    }
+
+    /**
+     * @param slice 存放当前部分的坐标数组
+     * @param parts 若为null，则按线环处理，否则按线串处理，离开区间时将当前部分追加到列表中，并开始一个新的部分
+     * @return 最后一个部分
+     */
+    private static Ordinates clip(Ordinates in, int axis, double k1, double k2,
+                                  Ordinates slice, List<Ordinates> parts) {
+        int n = in.size;
+        double[] d = in.data;
+        for (int i = 0; i < n - 1; i++) {
+            int ia = i << 1;
+            int ib = ia + 2;
+            double ax = d[ia], ay = d[ia + 1];
+            double bx = d[ib], by = d[ib + 1];
+            double a = axis == AXIS_X ? ax : ay;
+            double b = axis == AXIS_X ? bx : by;
+            boolean exited = false;
+
+            if (a < k1) {
+                // 从区间的左侧进入
+                if (b > k1) {
+                    intersect(slice, axis, ax, ay, bx, by, k1);
+                }
+            } else if (a > k2) {
+                // 从区间的右侧进入
+                if (b < k2) {
+                    intersect(slice, axis, ax, ay, bx, by, k2);
+                }
+            } else {
+                slice.add(ax, ay);
+            }
+            if (b < k1 && a >= k1) {
+                // 从区间的左侧离开
+                intersect(slice, axis, ax, ay, bx, by, k1);
+                exited = true;
+            }
+            if (b > k2 && a <= k2) {
+                // 从区间的右侧离开
+                intersect(slice, axis, ax, ay, bx, by, k2);
+                exited = true;
+            }
+            if (parts != null && exited) {
+                parts.add(slice);
+                slice = new Ordinates(4);
+            }
+        }
+        if (n > 0) {
+            int last = (n - 1) << 1;
+            double a = axis == AXIS_X ? d[last] : d[last + 1];
+            if (a >= k1 && a <= k2) {
+                slice.add(d[last], d[last + 1]);
+            }
+        }
+        return slice;
+    }
+
+    private static void intersect(Ordinates out, int axis,
+                                  double ax, double ay, double bx, double by, double k) {
+        if (axis == AXIS_X) {
+            double t = (k - ax) / (bx - ax);
+            out.add(k, ay + (by - ay) * t);
+        } else {
+            double t = (k - ay) / (by - ay);
+            out.add(ax + (bx - ax) * t, k);
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package gnova.geometry.tile;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryFactory;
+import gnova.geometry.model.GeometryType;
+import gnova.geometry.model.LineString;
+import gnova.geometry.model.LinearRing;
+import gnova.geometry.model.PackedCoordinateSequence;
+import gnova.geometry.model.Polygon;
+
+import java.util.Arrays;
+
+/**
+ * 瓦片要素，即一个几何对象在一个瓦片中的部分
+ *
+ * <p>坐标为瓦片内的整数坐标，原点位于瓦片的左上角，X轴向右，Y轴向下，
+ * 瓦片内的坐标范围为[0, extent]，缓冲区内的坐标可能为负数或大于extent。
+ * 坐标值按照X、Y交错存储在一个整数数组中，部件的划分以偏移量数组表示：
+ * <ul>
+ *     <li>{@link GeometryType#MultiPoint}：每个坐标为一个点，没有偏移量数组；</li>
+ *     <li>{@link GeometryType#MultiLineString}：第i条线串的坐标为[lineOffsets[i], lineOffsets[i + 1])；</li>
+ *     <li>{@link GeometryType#MultiPolygon}：第i个线环的坐标为[lineOffsets[i], lineOffsets[i + 1])，
+ *     第j个多边形的线环为[polygonOffsets[j], polygonOffsets[j + 1])，其中第一个线环为外环。</li>
+ * </ul>
+ * 多边形的外环在瓦片坐标系中的有向面积为正数（即在屏幕上为顺时针方向），内环为负数，与Mapbox Vector Tile规范一致。
+ *
+ * @see TilePipeline
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class TileFeature {
+
+    private static final int[] EMPTY_OFFSETS = new int[0];
+
+    private final int zoom;
+    private final int x;
+    private final int y;
+    private final GeometryType type;
+    private final int[] coordinates;
+    private final int[] lineOffsets;
+    private final int[] polygonOffsets;
+
+    TileFeature(int zoom, int x, int y, GeometryType type,
+                int[] coordinates, int[] lineOffsets, int[] polygonOffsets) {
+        this.zoom = zoom;
+        this.x = x;
+        this.y = y;
+        this.type = type;
+        this.coordinates = coordinates;
+        this.lineOffsets = lineOffsets == null ? EMPTY_OFFSETS : lineOffsets;
+        this.polygonOffsets = polygonOffsets == null ? EMPTY_OFFSETS : polygonOffsets;
+    }
+
+    /**
+     * 获取瓦片的层级
+     *
+     * @return 层级
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * 获取瓦片的列号，从左向右递增
+     *
+     * @return 列号
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * 获取瓦片的行号，从上向下递增
+     *
+     * @return 行号
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * 获取几何类型
+     *
+     * @return {@link GeometryType#MultiPoint}、{@link GeometryType#MultiLineString}
+     * 或{@link GeometryType#MultiPolygon}，不会返回null
+     */
+    @NotNull
+    public GeometryType getType() {
+        return type;
+    }
+
+    /**
+     * 获取坐标的个数
+     *
+     * @return 坐标的个数
+     */
+    public int getCoordinateSize() {
+        return coordinates.length >> 1;
+    }
+
+    /**
+     * 获取第n个坐标的X坐标值
+     *
+     * @param n 坐标的序号
+     * @return X坐标值
+     */
+    public int getXAt(int n) {
+        return coordinates[n << 1];
+    }
+
+    /**
+     * 获取第n个坐标的Y坐标值
+     *
+     * @param n 坐标的序号
+     * @return Y坐标值
+     */
+    public int getYAt(int n) {
+        return coordinates[(n << 1) + 1];
+    }
+
+    /**
+     * 获取交错存储的坐标值的副本
+     *
+     * @return 坐标值，不会返回null
+     */
+    @NotNull
+    public int[] getCoordinates() {
+        return coordinates.clone();
+    }
+
+    /**
+     * 获取线串或线环的偏移量的副本
+     *
+     * @return 偏移量，长度为线串或线环的个数加1，若几何类型为多点，则返回空数组，不会返回null
+     */
+    @NotNull
+    public int[] getLineOffsets() {
+        return lineOffsets.clone();
+    }
+
+    /**
+     * 获取多边形的偏移量的副本
+     *
+     * @return 偏移量，长度为多边形的个数加1，若几何类型不为多多边形，则返回空数组，不会返回null
+     */
+    @NotNull
+    public int[] getPolygonOffsets() {
+        return polygonOffsets.clone();
+    }
+
+    /**
+     * 使用瓦片内的坐标构造几何对象
+     *
+     * @param factory 几何工厂，不允许为null
+     * @return 几何对象，不会返回null
+     */
+    @NotNull
+    public Geometry toGeometry(@NotNull GeometryFactory factory) {
+        switch (type) {
+            case MultiPoint:
+                return factory.createMultiPoint(sequence(0, getCoordinateSize()));
+            case MultiLineString: {
+                LineString[] lines = new LineString[lineOffsets.length - 1];
+                for (int i = 0; i < lines.length; i++) {
+                    lines[i] = factory.createLineString(sequence(lineOffsets[i], lineOffsets[i + 1]));
+                }
+                return factory.createMultiLineString(lines);
+            }
+            default: {
+                Polygon[] polygons = new Polygon[polygonOffsets.length - 1];
+                for (int i = 0; i < polygons.length; i++) {
+                    int first = polygonOffsets[i];
+                    LinearRing[] holes = new LinearRing[polygonOffsets[i + 1] - first - 1];
+                    for (int j = 0; j < holes.length; j++) {
+                        holes[j] = ring(factory, first + 1 + j);
+                    }
+                    polygons[i] = factory.createPolygon(ring(factory, first), holes);
+                }
+                return factory.createMultiPolygon(polygons);
+            }
+        }
+    }
+
+    private LinearRing ring(GeometryFactory factory, int index) {
+        return factory.createLinearRing(sequence(lineOffsets[index], lineOffsets[index + 1]));
+    }
+
+    private PackedCoordinateSequence sequence(int from, int to) {
+        double[] ordinates = new double[(to - from) << 1];
+        for (int i = 0, j = from << 1; i < ordinates.length; i++, j++) {
+            ordinates[i] = coordinates[j];
+        }
+        return new PackedCoordinateSequence(ordinates, false, false);
+    }
+
+    @Override
+    public String toString() {
+        return "TileFeature{" + zoom + "/" + x + "/" + y + ", " + type +
+                ", coordinates=" + Arrays.toString(coordinates) + "}";
+    }
+
+}
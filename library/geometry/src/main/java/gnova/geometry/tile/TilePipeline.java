@@ -0,0 +1,719 @@
+package gnova.geometry.tile;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.CoordinateSequence;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.GeometryCollection;
+import gnova.geometry.model.GeometryType;
+import gnova.geometry.model.LineString;
+import gnova.geometry.model.Polygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 矢量瓦片的切片流水线，将几何对象一次性地裁剪、简化并量化为多个层级的瓦片
+ *
+ * <p>与对每个层级、每个瓦片分别调用{@link gnova.geometry.model.operator.TopologicalOperator#clip(BoundingBox)}
+ * 与{@link gnova.geometry.model.operator.SimplifierOperator#simplify(gnova.geometry.model.operator.SimplifierFunction, double)}
+ * 不同，流水线直接处理原始的坐标数组，不会创建中间的几何对象：
+ * <ol>
+ *     <li>将坐标归一化到[0, 1]的范围内，Y轴向下，并展开为点、线串与多边形的线环；</li>
+ *     <li>为每个线串与线环计算一次道格拉斯-普克的顶点重要度，
+ *     之后每个层级的简化只是按照该层级的容差过滤顶点，结果与直接使用该容差进行简化相同；</li>
+ *     <li>每个层级先按列、再按行对半切分，使用与坐标轴平行的Sutherland-Hodgman算法裁剪，
+ *     包围盒完全位于区间内的部件直接复用，完全位于区间外的部件直接丢弃；</li>
+ *     <li>将每个瓦片内的坐标量化为整数，去掉相邻的重复坐标，并调整多边形线环的方向。</li>
+ * </ol>
+ *
+ * <p>与瓦片相交的缓冲区范围内的部分也会被保留。裁剪后的多边形沿瓦片的边界闭合，
+ * 凹多边形被裁剪为多个部分时，各部分之间可能以宽度为0的边相连，不影响渲染的结果。
+ *
+ * @see TileFeature
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public final class TilePipeline {
+
+    /**
+     * 默认的瓦片范围
+     */
+    public static final int DEFAULT_EXTENT = 4096;
+
+    /**
+     * 默认的缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER = 64;
+
+    /**
+     * 默认的简化容差
+     */
+    public static final double DEFAULT_TOLERANCE = 1;
+
+    /**
+     * 支持的最大层级
+     */
+    public static final int MAX_ZOOM = 30;
+
+    private final double minX;
+    private final double maxY;
+    private final double width;
+    private final double height;
+    private final int minZoom;
+    private final int maxZoom;
+    private final int extent;
+    private final int buffer;
+    private final double tolerance;
+
+    /**
+     * 使用默认的瓦片范围、缓冲区大小与简化容差构造一个切片流水线
+     *
+     * @param world 第0级瓦片的范围，不允许为null
+     * @param minZoom 最小层级
+     * @param maxZoom 最大层级
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public TilePipeline(@NotNull BoundingBox world, int minZoom, int maxZoom)
+            throws IllegalArgumentException {
+        this(world, minZoom, maxZoom, DEFAULT_EXTENT, DEFAULT_BUFFER, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * 构造一个切片流水线
+     *
+     * @param world 第0级瓦片的范围，不允许为null
+     * @param minZoom 最小层级
+     * @param maxZoom 最大层级，不能大于{@link #MAX_ZOOM}
+     * @param extent 瓦片范围，即瓦片的边长对应的整数坐标的跨度
+     * @param buffer 缓冲区大小，以瓦片坐标为单位
+     * @param tolerance 简化容差，以瓦片坐标为单位，若为0，则只去掉共线的顶点
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public TilePipeline(@NotNull BoundingBox world, int minZoom, int maxZoom,
+                        int extent, int buffer, double tolerance) throws IllegalArgumentException {
+        if (!(world.getMaxX() > world.getMinX()) || !(world.getMaxY() > world.getMinY())) {
+            throw new IllegalArgumentException("第0级瓦片的范围在X与Y方向上的跨度必须为正数：" + world);
+        }
+        if (minZoom < 0 || maxZoom > MAX_ZOOM || minZoom > maxZoom) {
+            throw new IllegalArgumentException("层级必须满足0 <= minZoom <= maxZoom <= " + MAX_ZOOM + "：" + minZoom + ", " + maxZoom);
+        }
+        if (extent <= 0) {
+            throw new IllegalArgumentException("瓦片范围必须为正数：" + extent);
+        }
+        if (buffer < 0 || buffer > extent) {
+            throw new IllegalArgumentException("缓冲区大小必须在0与瓦片范围之间：" + buffer);
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("简化容差不能为负数：" + tolerance);
+        }
+        this.minX = world.getMinX();
+        this.maxY = world.getMaxY();
+        this.width = world.getMaxX() - world.getMinX();
+        this.height = world.getMaxY() - world.getMinY();
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.extent = extent;
+        this.buffer = buffer;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 获取最小层级
+     *
+     * @return 最小层级
+     */
+    public int getMinZoom() {
+        return minZoom;
+    }
+
+    /**
+     * 获取最大层级
+     *
+     * @return 最大层级
+     */
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * 获取瓦片范围
+     *
+     * @return 瓦片范围
+     */
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * 获取缓冲区大小
+     *
+     * @return 缓冲区大小
+     */
+    public int getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * 获取简化容差
+     *
+     * @return 简化容差
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * 将一个几何对象切分为所有层级的瓦片要素
+     *
+     * <p>按照层级、列号、行号的顺序输出，同一个瓦片中依次输出多点、多线串与多多边形，
+     * 不包含某种几何类型的瓦片不会输出该类型的要素。只使用几何对象的X、Y坐标。
+     *
+     * @param geometry 几何对象，不允许为null
+     * @param consumer 接收瓦片要素的函数，不允许为null
+     */
+    public void process(@NotNull Geometry geometry, @NotNull Consumer<? super TileFeature> consumer) {
+        Source source = new Source();
+        source.add(geometry.unwrap());
+        if (source.isEmpty()) {
+            return;
+        }
+        double minSqTolerance = sqTolerance(maxZoom);
+        for (Line line : source.lines) {
+            line.importance = TileSimplifier.importance(line.ordinates.data, line.ordinates.size, minSqTolerance);
+        }
+        for (Line[] polygon : source.polygons) {
+            for (Line ring : polygon) {
+                ring.importance = TileSimplifier.importance(ring.ordinates.data, ring.ordinates.size, minSqTolerance);
+            }
+        }
+        for (int z = minZoom; z <= maxZoom; z++) {
+            Shapes shapes = source.simplify(sqTolerance(z));
+            if (shapes != null) {
+                new Tiler(z, consumer).columns(shapes);
+            }
+        }
+    }
+
+    /**
+     * 获取一个层级的简化容差的平方，以归一化的坐标为单位
+     */
+    private double sqTolerance(int zoom) {
+        double t = tolerance / ((double) extent * (1L << zoom));
+        return t * t;
+    }
+
+    /**
+     * 原始的线串或线环
+     */
+    private static final class Line {
+
+        final Ordinates ordinates;
+        final double measure;
+        double[] importance;
+
+        Line(Ordinates ordinates, double measure) {
+            this.ordinates = ordinates;
+            this.measure = measure;
+        }
+
+    }
+
+    /**
+     * 归一化后的几何对象
+     */
+    private final class Source {
+
+        final Ordinates points = new Ordinates(4);
+        final List<Line> lines = new ArrayList<>();
+        final List<Line[]> polygons = new ArrayList<>();
+
+        boolean isEmpty() {
+            return points.size == 0 && lines.isEmpty() && polygons.isEmpty();
+        }
+
+        void add(Geometry geometry) {
+            if (geometry.isEmpty()) {
+                return;
+            }
+            switch (geometry.getType()) {
+                case None:
+                    break;
+                case Point: {
+                    double x = geometry.getCoordinate().getX();
+                    double y = geometry.getCoordinate().getY();
+                    points.add((x - minX) / width, (maxY - y) / height);
+                    break;
+                }
+                case LineString:
+                case LinearRing: {
+                    Ordinates ordinates = normalize(((LineString) geometry).getCoordinateSequence());
+                    if (ordinates.size >= 2) {
+                        lines.add(new Line(ordinates, length(ordinates)));
+                    }
+                    break;
+                }
+                case Polygon: {
+                    Polygon polygon = (Polygon) geometry;
+                    Line[] rings = new Line[polygon.getInteriorRingSize() + 1];
+                    for (int i = 0; i < rings.length; i++) {
+                        LineString ring = i == 0 ? polygon.getExteriorRing() : polygon.getInteriorRingAt(i - 1);
+                        Ordinates ordinates = normalize(ring.getCoordinateSequence());
+                        if (ordinates.size > 0 && (ordinates.x(0) != ordinates.x(ordinates.size - 1)
+                                || ordinates.y(0) != ordinates.y(ordinates.size - 1))) {
+                            ordinates.add(ordinates.x(0), ordinates.y(0));
+                        }
+                        rings[i] = new Line(ordinates, Math.abs(area(ordinates)));
+                    }
+                    if (rings[0].ordinates.size >= 4) {
+                        polygons.add(rings);
+                    }
+                    break;
+                }
+                default: {
+                    GeometryCollection<?> collection = (GeometryCollection<?>) geometry;
+                    for (int i = 0, size = collection.size(); i < size; i++) {
+                        add(collection.getGeometryAt(i));
+                    }
+                    break;
+                }
+            }
+        }
+
+        Ordinates normalize(CoordinateSequence sequence) {
+            int size = sequence.size();
+            Ordinates ordinates = new Ordinates(size + 1);
+            for (int i = 0; i < size; i++) {
+                ordinates.add((sequence.getXAt(i) - minX) / width, (maxY - sequence.getYAt(i)) / height);
+            }
+            return ordinates;
+        }
+
+        /**
+         * 按照容差简化，并丢弃长度或面积小于容差的线串与线环
+         *
+         * @return 简化后的几何对象，若全部被丢弃，则返回null
+         */
+        Shapes simplify(double sqTolerance) {
+            Shapes shapes = new Shapes();
+            if (points.size > 0) {
+                shapes.points = points;
+            }
+            double lengthTolerance = Math.sqrt(sqTolerance);
+            for (Line line : lines) {
+                if (line.measure >= lengthTolerance) {
+                    shapes.lines.add(simplify(line, sqTolerance));
+                }
+            }
+            for (Line[] polygon : polygons) {
+                if (polygon[0].measure < sqTolerance) {
+                    continue;
+                }
+                List<Part> rings = new ArrayList<>(polygon.length);
+                for (Line ring : polygon) {
+                    if (ring.measure >= sqTolerance) {
+                        Part part = simplify(ring, sqTolerance);
+                        if (part.ordinates.size >= 4) {
+                            rings.add(part);
+                        } else if (rings.isEmpty()) {
+                            break;
+                        }
+                    } else if (rings.isEmpty()) {
+                        break;
+                    }
+                }
+                if (!rings.isEmpty()) {
+                    shapes.polygons.add(rings);
+                }
+            }
+            return shapes.computeBounds() ? shapes : null;
+        }
+
+        Part simplify(Line line, double sqTolerance) {
+            Ordinates in = line.ordinates;
+            double[] importance = line.importance;
+            Ordinates out = new Ordinates(in.size);
+            for (int i = 0; i < in.size; i++) {
+                if (importance[i] > sqTolerance) {
+                    out.add(in.x(i), in.y(i));
+                }
+            }
+            return new Part(out);
+        }
+
+    }
+
+    private static double length(Ordinates ordinates) {
+        double length = 0;
+        for (int i = 1; i < ordinates.size; i++) {
+            length += Math.hypot(ordinates.x(i) - ordinates.x(i - 1), ordinates.y(i) - ordinates.y(i - 1));
+        }
+        return length;
+    }
+
+    private static double area(Ordinates ordinates) {
+        double sum = 0;
+        for (int i = 1; i < ordinates.size; i++) {
+            sum += ordinates.x(i - 1) * ordinates.y(i) - ordinates.x(i) * ordinates.y(i - 1);
+        }
+        return sum / 2;
+    }
+
+    /**
+     * 带有包围盒的线串、线环或点集
+     */
+    private static final class Part {
+
+        final Ordinates ordinates;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        Part(Ordinates ordinates) {
+            this.ordinates = ordinates;
+            double[] data = ordinates.data;
+            for (int i = 0, n = ordinates.size << 1; i < n; i += 2) {
+                double x = data[i], y = data[i + 1];
+                if (x < minX) minX = x;
+                if (x > maxX) maxX = x;
+                if (y < minY) minY = y;
+                if (y > maxY) maxY = y;
+            }
+        }
+
+        double min(int axis) {
+            return axis == TileClipper.AXIS_X ? minX : minY;
+        }
+
+        double max(int axis) {
+            return axis == TileClipper.AXIS_X ? maxX : maxY;
+        }
+
+    }
+
+    /**
+     * 一个瓦片区间内的几何对象
+     */
+    private static final class Shapes {
+
+        Ordinates points;
+        final List<Part> lines = new ArrayList<>();
+        final List<List<Part>> polygons = new ArrayList<>();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        /**
+         * 计算包围盒
+         *
+         * @return 若不包含任何部件，则返回false
+         */
+        boolean computeBounds() {
+            if (points != null) {
+                include(new Part(points));
+            }
+            for (Part line : lines) {
+                include(line);
+            }
+            for (List<Part> polygon : polygons) {
+                include(polygon.get(0));
+            }
+            return minX <= maxX;
+        }
+
+        private void include(Part part) {
+            minX = Math.min(minX, part.minX);
+            minY = Math.min(minY, part.minY);
+            maxX = Math.max(maxX, part.maxX);
+            maxY = Math.max(maxY, part.maxY);
+        }
+
+        /**
+         * 裁剪到坐标轴上的一个区间
+         *
+         * @return 裁剪后的几何对象，若完全位于区间外，则返回null
+         */
+        Shapes clip(int axis, double k1, double k2) {
+            double min = axis == TileClipper.AXIS_X ? minX : minY;
+            double max = axis == TileClipper.AXIS_X ? maxX : maxY;
+            if (min >= k1 && max <= k2) {
+                return this;
+            }
+            if (max < k1 || min > k2) {
+                return null;
+            }
+            Shapes result = new Shapes();
+            if (points != null) {
+                Ordinates clipped = new Ordinates(points.size);
+                for (int i = 0; i < points.size; i++) {
+                    double k = axis == TileClipper.AXIS_X ? points.x(i) : points.y(i);
+                    if (k >= k1 && k <= k2) {
+                        clipped.add(points.x(i), points.y(i));
+                    }
+                }
+                if (clipped.size > 0) {
+                    result.points = clipped;
+                }
+            }
+            List<Ordinates> slices = new ArrayList<>();
+            for (Part line : lines) {
+                if (line.min(axis) >= k1 && line.max(axis) <= k2) {
+                    result.lines.add(line);
+                } else if (line.max(axis) >= k1 && line.min(axis) <= k2) {
+                    slices.clear();
+                    TileClipper.clipLine(line.ordinates, axis, k1, k2, slices);
+                    for (Ordinates slice : slices) {
+                        if (slice.size >= 2) {
+                            result.lines.add(new Part(slice));
+                        }
+                    }
+                }
+            }
+            for (List<Part> polygon : polygons) {
+                Part shell = polygon.get(0);
+                if (shell.min(axis) >= k1 && shell.max(axis) <= k2) {
+                    result.polygons.add(polygon);
+                } else if (shell.max(axis) >= k1 && shell.min(axis) <= k2) {
+                    List<Part> rings = new ArrayList<>(polygon.size());
+                    for (Part ring : polygon) {
+                        if (ring.min(axis) >= k1 && ring.max(axis) <= k2) {
+                            rings.add(ring);
+                        } else if (ring.max(axis) >= k1 && ring.min(axis) <= k2) {
+                            Ordinates clipped = new Ordinates(ring.ordinates.size);
+                            TileClipper.clipRing(ring.ordinates, axis, k1, k2, clipped);
+                            if (clipped.size >= 4) {
+                                rings.add(new Part(clipped));
+                            } else if (rings.isEmpty()) {
+                                // 外环被裁剪掉，则整个多边形被裁剪掉
+                                break;
+                            }
+                        } else if (rings.isEmpty()) {
+                            break;
+                        }
+                    }
+                    if (!rings.isEmpty()) {
+                        result.polygons.add(rings);
+                    }
+                }
+            }
+            return result.computeBounds() ? result : null;
+        }
+
+    }
+
+    /**
+     * 一个层级的切片过程
+     */
+    private final class Tiler {
+
+        final int zoom;
+        final double scale;
+        final double margin;
+        final int maxIndex;
+        final Consumer<? super TileFeature> consumer;
+        final IntArray coordinates = new IntArray();
+        final IntArray lineOffsets = new IntArray();
+        final IntArray polygonOffsets = new IntArray();
+
+        Tiler(int zoom, Consumer<? super TileFeature> consumer) {
+            this.zoom = zoom;
+            this.scale = 1L << zoom;
+            this.margin = (double) buffer / extent;
+            this.maxIndex = (1 << zoom) - 1;
+            this.consumer = consumer;
+        }
+
+        void columns(Shapes shapes) {
+            int first = Math.max(0, (int) Math.ceil(shapes.minX * scale - 1 - margin));
+            int last = Math.min(maxIndex, (int) Math.floor(shapes.maxX * scale + margin));
+            if (first <= last) {
+                columns(shapes, first, last + 1);
+            }
+        }
+
+        /**
+         * 裁剪到[from, to)列，并对半切分
+         */
+        private void columns(Shapes shapes, int from, int to) {
+            shapes = shapes.clip(TileClipper.AXIS_X, (from - margin) / scale, (to + margin) / scale);
+            if (shapes == null) {
+                return;
+            }
+            if (to - from == 1) {
+                int first = Math.max(0, (int) Math.ceil(shapes.minY * scale - 1 - margin));
+                int last = Math.min(maxIndex, (int) Math.floor(shapes.maxY * scale + margin));
+                if (first <= last) {
+                    rows(shapes, from, first, last + 1);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            columns(shapes, from, middle);
+            columns(shapes, middle, to);
+        }
+
+        /**
+         * 裁剪到第x列的[from, to)行，并对半切分
+         */
+        private void rows(Shapes shapes, int x, int from, int to) {
+            shapes = shapes.clip(TileClipper.AXIS_Y, (from - margin) / scale, (to + margin) / scale);
+            if (shapes == null) {
+                return;
+            }
+            if (to - from == 1) {
+                emit(shapes, x, from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            rows(shapes, x, from, middle);
+            rows(shapes, x, middle, to);
+        }
+
+        private void emit(Shapes shapes, int x, int y) {
+            if (shapes.points != null) {
+                coordinates.clear();
+                for (int i = 0; i < shapes.points.size; i++) {
+                    coordinates.add(quantize(shapes.points.x(i), x), quantize(shapes.points.y(i), y));
+                }
+                consumer.accept(new TileFeature(zoom, x, y, GeometryType.MultiPoint,
+                        coordinates.toArray(), null, null));
+            }
+            if (!shapes.lines.isEmpty()) {
+                coordinates.clear();
+                lineOffsets.clear();
+                for (Part line : shapes.lines) {
+                    int start = coordinates.size >> 1;
+                    if (quantize(line.ordinates, x, y) - start >= 2) {
+                        lineOffsets.add(start);
+                    } else {
+                        coordinates.size = start << 1;
+                    }
+                }
+                if (lineOffsets.size > 0) {
+                    lineOffsets.add(coordinates.size >> 1);
+                    consumer.accept(new TileFeature(zoom, x, y, GeometryType.MultiLineString,
+                            coordinates.toArray(), lineOffsets.toArray(), null));
+                }
+            }
+            if (!shapes.polygons.isEmpty()) {
+                coordinates.clear();
+                lineOffsets.clear();
+                polygonOffsets.clear();
+                for (List<Part> polygon : shapes.polygons) {
+                    int firstRing = lineOffsets.size;
+                    for (Part ring : polygon) {
+                        int start = coordinates.size >> 1;
+                        boolean shell = lineOffsets.size == firstRing;
+                        int end = quantize(ring.ordinates, x, y);
+                        long area = end - start >= 4 ? orient(start, end, shell) : 0;
+                        if (area != 0) {
+                            lineOffsets.add(start);
+                        } else {
+                            coordinates.size = start << 1;
+                            if (shell) {
+                                break;
+                            }
+                        }
+                    }
+                    if (lineOffsets.size > firstRing) {
+                        polygonOffsets.add(firstRing);
+                    }
+                }
+                if (polygonOffsets.size > 0) {
+                    lineOffsets.add(coordinates.size >> 1);
+                    polygonOffsets.add(lineOffsets.size - 1);
+                    consumer.accept(new TileFeature(zoom, x, y, GeometryType.MultiPolygon,
+                            coordinates.toArray(), lineOffsets.toArray(), polygonOffsets.toArray()));
+                }
+            }
+        }
+
+        private int quantize(double value, int tile) {
+            return (int) Math.round((value * scale - tile) * extent);
+        }
+
+        /**
+         * 量化坐标并追加到坐标数组中，相邻的重复坐标只保留一个
+         *
+         * @return 追加后的坐标个数
+         */
+        private int quantize(Ordinates ordinates, int x, int y) {
+            int previousX = 0, previousY = 0;
+            boolean first = true;
+            for (int i = 0; i < ordinates.size; i++) {
+                int tx = quantize(ordinates.x(i), x);
+                int ty = quantize(ordinates.y(i), y);
+                if (first || tx != previousX || ty != previousY) {
+                    coordinates.add(tx, ty);
+                    previousX = tx;
+                    previousY = ty;
+                    first = false;
+                }
+            }
+            return coordinates.size >> 1;
+        }
+
+        /**
+         * 调整线环的方向，使外环的有向面积为正数，内环为负数
+         *
+         * @return 调整前的有向面积的两倍
+         */
+        private long orient(int start, int end, boolean shell) {
+            int[] data = coordinates.data;
+            long sum = 0;
+            for (int i = start + 1; i < end; i++) {
+                int a = (i - 1) << 1, b = i << 1;
+                sum += (long) data[a] * data[b + 1] - (long) data[b] * data[a + 1];
+            }
+            if (sum != 0 && (sum > 0) != shell) {
+                for (int i = start, j = end - 1; i < j; i++, j--) {
+                    int a = i << 1, b = j << 1;
+                    int tx = data[a], ty = data[a + 1];
+                    data[a] = data[b];
+                    data[a + 1] = data[b + 1];
+                    data[b] = tx;
+                    data[b + 1] = ty;
+                }
+            }
+            return sum;
+        }
+
+    }
+
+    /**
+     * 可增长的整数数组
+     */
+    private static final class IntArray {
+
+        int[] data = new int[64];
+        int size = 0;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+
+        void add(int x, int y) {
+            add(x);
+            add(y);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package gnova.geometry.tile;
+
+import java.util.Arrays;
+
+/**
+ * 为所有层级一次性计算的道格拉斯-普克简化
+ *
+ * <p>对每个顶点计算一个重要度，即在道格拉斯-普克算法中该顶点到其所在线段的距离的平方，
+ * 并限制为不大于其所有祖先顶点的重要度。因此对于任意的容差，保留重要度大于容差的平方的顶点，
+ * 与直接使用该容差执行道格拉斯-普克算法的结果相同，每个层级只需要一次线性的过滤。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class TileSimplifier {
+
+    private TileSimplifier() {
+    }
+
+    /**
+     * 计算坐标的重要度
+     *
+     * @param xy 交错存储的坐标值
+     * @param n 坐标的个数
+     * @param minSqTolerance 最小的容差的平方，重要度不大于此值的顶点不会被继续细分，其子顶点的重要度为0
+     * @return 重要度数组，首尾两个顶点的重要度为正无穷
+     */
+    static double[] importance(double[] xy, int n, double minSqTolerance) {
+        double[] importance = new double[n];
+        if (n == 0) {
+            return importance;
+        }
+        importance[0] = Double.POSITIVE_INFINITY;
+        importance[n - 1] = Double.POSITIVE_INFINITY;
+        // 栈中存放待细分的区间与其上限
+        int[] stack = new int[64];
+        double[] limits = new double[32];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        limits[0] = Double.POSITIVE_INFINITY;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            double limit = limits[top >> 1];
+            if (last - first < 2) {
+                continue;
+            }
+            double maxSqDistance = -1;
+            int index = first;
+            double ax = xy[first << 1], ay = xy[(first << 1) + 1];
+            double bx = xy[last << 1], by = xy[(last << 1) + 1];
+            for (int i = first + 1; i < last; i++) {
+                double d = sqSegmentDistance(xy[i << 1], xy[(i << 1) + 1], ax, ay, bx, by);
+                if (d > maxSqDistance) {
+                    maxSqDistance = d;
+                    index = i;
+                }
+            }
+            if (maxSqDistance <= minSqTolerance) {
+                continue;
+            }
+            double value = Math.min(maxSqDistance, limit);
+            importance[index] = value;
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+                limits = Arrays.copyOf(limits, limits.length << 1);
+            }
+            limits[top >> 1] = value;
+            stack[top++] = first;
+            stack[top++] = index;
+            limits[top >> 1] = value;
+            stack[top++] = index;
+            stack[top++] = last;
+        }
+        return importance;
+    }
+
+    /**
+     * 计算点到线段的距离的平方
+     */
+    static double sqSegmentDistance(double px, double py,
+                                    double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        if (dx != 0 || dy != 0) {
+            double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+            if (t > 1) {
+                ax = bx;
+                ay = by;
+            } else if (t > 0) {
+                ax += dx * t;
+                ay += dy * t;
+            }
+        }
+        dx = px - ax;
+        dy = py - ay;
+        return dx * dx + dy * dy;
+    }
+
+}
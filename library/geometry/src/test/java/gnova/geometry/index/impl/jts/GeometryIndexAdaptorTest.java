@@ -0,0 +1,41 @@
+package gnova.geometry.index.impl.jts;
+
+import gnova.geometry.index.GeometryIndex;
+import gnova.geometry.model.BoundingBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+public class GeometryIndexAdaptorTest {
+
+    @Test
+    public void testQuadtreeStopsAtLimit() {
+        assertStopsAtLimit(new GeometryIndexAdaptor<>(new org.locationtech.jts.index.quadtree.Quadtree()));
+    }
+
+    @Test
+    public void testSTRtreeStopsAtLimit() {
+        assertStopsAtLimit(new GeometryIndexAdaptor<>(new org.locationtech.jts.index.strtree.STRtree()));
+    }
+
+    private static void assertStopsAtLimit(GeometryIndex<Integer> index) {
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            index.insert(new BoundingBox(x, x + 1, y, y + 1), i);
+        }
+        BoundingBox all = new BoundingBox(0, 101, 0, 101);
+        int[] visited = {0};
+        index.query(all, (Predicate<Integer>) value -> ++visited[0] < 3);
+        Assert.assertEquals(3, visited[0]);
+
+        List<Integer> limited = index.query(all, 5);
+        Assert.assertEquals(5, limited.size());
+        Assert.assertTrue(index.query(all).containsAll(limited));
+    }
+
+}
@@ -0,0 +1,96 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.geometry.model.BoundingBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentPackedRTreeTest {
+
+    @Test
+    public void testInsertDeleteQuery() {
+        Random random = new Random(1);
+        ConcurrentPackedRTree<Integer> tree = new ConcurrentPackedRTree<>(8, 32);
+        List<BoundingBox> boxes = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 400; i++) {
+                BoundingBox box = PackedRTreeTest.randomBox(random, 20);
+                boxes.add(box);
+                tree.insert(box, boxes.size() - 1);
+            }
+            // 同时删除分段中与尾部数组中的数据
+            for (int i = 0; i < boxes.size(); i++) {
+                if (boxes.get(i) != null && random.nextInt(3) == 0) {
+                    Assert.assertTrue(tree.delete(boxes.get(i), i));
+                    Assert.assertFalse(tree.delete(boxes.get(i), i));
+                    boxes.set(i, null);
+                }
+            }
+            assertMatches(random, boxes, tree);
+        }
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        Random random = new Random(2);
+        ConcurrentPackedRTree<Integer> tree = new ConcurrentPackedRTree<>(8, 16);
+        List<BoundingBox> boxes = PackedRTreeTest.randomBoxes(random, 3000);
+        BoundingBox all = new BoundingBox(0, 1100, 0, 1100);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    // 写操作只会插入，每次查询看到的数据量不会减少
+                    int last = 0;
+                    while (writing.get()) {
+                        int count = tree.query(all).size();
+                        Assert.assertTrue(count >= last);
+                        Assert.assertTrue(count <= boxes.size());
+                        last = count;
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < boxes.size(); i++) {
+                tree.insert(boxes.get(i), i);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertMatches(random, boxes, tree);
+    }
+
+    private static void assertMatches(Random random, List<BoundingBox> boxes, ConcurrentPackedRTree<Integer> tree) {
+        int live = 0;
+        for (BoundingBox box : boxes) {
+            if (box != null) {
+                live++;
+            }
+        }
+        Assert.assertEquals(live, tree.size());
+        for (int q = 0; q < 50; q++) {
+            BoundingBox query = PackedRTreeTest.randomBox(random, 150);
+            List<Integer> expected = PackedRTreeTest.bruteForce(boxes, query);
+            Assert.assertEquals(expected, PackedRTreeTest.sorted(tree.query(query)));
+            Assert.assertEquals(expected.size(), tree.count(query));
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            PackedRTreeTest.assertNearest(boxes, tree.nearest(x, y, 8), x, y, 8);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.geometry.model.BoundingBox;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+public class MappedPackedRTreeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testQuery() throws IOException {
+        Random random = new Random(1);
+        List<BoundingBox> boxes = PackedRTreeTest.randomBoxes(random, 3000);
+        try (MappedPackedRTree tree = write(boxes)) {
+            Assert.assertEquals(boxes.size(), tree.size());
+            assertMatches(random, boxes, tree);
+        }
+    }
+
+    @Test
+    public void testWriteAfterDelete() throws IOException {
+        Random random = new Random(2);
+        List<BoundingBox> boxes = PackedRTreeTest.randomBoxes(random, 1000);
+        PackedRTree<Long> source = build(boxes);
+        for (int i = 0; i < boxes.size(); i += 5) {
+            Assert.assertTrue(source.delete(boxes.get(i), (long) i));
+            boxes.set(i, null);
+        }
+        Path path = folder.newFile().toPath();
+        MappedPackedRTree.write(source, Long::longValue, path);
+        try (MappedPackedRTree tree = MappedPackedRTree.open(path)) {
+            Assert.assertEquals(source.size(), tree.size());
+            assertMatches(random, boxes, tree);
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        try (MappedPackedRTree tree = write(new ArrayList<>())) {
+            Assert.assertEquals(0, tree.size());
+            Assert.assertTrue(tree.query(new BoundingBox(0, 1, 0, 1)).isEmpty());
+            Assert.assertTrue(tree.nearest(0, 0, 1).isEmpty());
+        }
+    }
+
+    private static void assertMatches(Random random, List<BoundingBox> boxes, MappedPackedRTree tree) {
+        for (int q = 0; q < 50; q++) {
+            BoundingBox query = PackedRTreeTest.randomBox(random, 150);
+            List<Integer> expected = PackedRTreeTest.bruteForce(boxes, query);
+            Assert.assertEquals(expected, PackedRTreeTest.sorted(toIntegers(tree.query(query))));
+            Assert.assertEquals(expected.size(), tree.count(query));
+
+            List<Integer> ids = new ArrayList<>();
+            tree.queryIds(query, id -> ids.add((int) id));
+            Assert.assertEquals(expected, PackedRTreeTest.sorted(ids));
+
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            PackedRTreeTest.assertNearest(boxes, toIntegers(tree.nearest(x, y, 8)), x, y, 8);
+        }
+    }
+
+    private MappedPackedRTree write(List<BoundingBox> boxes) throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedPackedRTree.write(build(boxes), Long::longValue, path);
+        return MappedPackedRTree.open(path);
+    }
+
+    private static PackedRTree<Long> build(List<BoundingBox> boxes) {
+        PackedRTreeBuilder<Long> builder = new PackedRTreeBuilder<>(8, boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            builder.add(boxes.get(i), (long) i);
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> toIntegers(Collection<Long> values) {
+        List<Integer> result = new ArrayList<>(values.size());
+        for (Long value : values) {
+            result.add(value.intValue());
+        }
+        return result;
+    }
+
+}
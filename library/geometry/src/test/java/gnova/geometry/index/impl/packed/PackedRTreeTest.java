@@ -0,0 +1,182 @@
+package gnova.geometry.index.impl.packed;
+
+import gnova.geometry.model.BoundingBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class PackedRTreeTest {
+
+    private static final int SIZE = 2000;
+
+    @Test
+    public void testQuery() {
+        Random random = new Random(1);
+        List<BoundingBox> boxes = randomBoxes(random, SIZE);
+        PackedRTree<Integer> tree = build(boxes);
+        Assert.assertEquals(SIZE, tree.size());
+        for (int q = 0; q < 100; q++) {
+            BoundingBox query = randomBox(random, 100);
+            Assert.assertEquals(bruteForce(boxes, query), sorted(tree.query(query)));
+            Assert.assertEquals(bruteForce(boxes, query).size(), tree.count(query));
+        }
+    }
+
+    @Test
+    public void testQueryLimit() {
+        Random random = new Random(2);
+        List<BoundingBox> boxes = randomBoxes(random, SIZE);
+        PackedRTree<Integer> tree = build(boxes);
+        for (int q = 0; q < 50; q++) {
+            BoundingBox query = randomBox(random, 200);
+            List<Integer> expected = bruteForce(boxes, query);
+            List<Integer> limited = tree.query(query, 5);
+            Assert.assertEquals(Math.min(5, expected.size()), limited.size());
+            Assert.assertTrue(expected.containsAll(limited));
+        }
+    }
+
+    @Test
+    public void testNearest() {
+        Random random = new Random(3);
+        List<BoundingBox> boxes = randomBoxes(random, SIZE);
+        PackedRTree<Integer> tree = build(boxes);
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            assertNearest(boxes, tree.nearest(x, y, 10), x, y, 10);
+        }
+    }
+
+    @Test
+    public void testDelete() {
+        Random random = new Random(4);
+        List<BoundingBox> boxes = randomBoxes(random, SIZE);
+        PackedRTree<Integer> tree = build(boxes);
+        // 删除少量数据时不会重新打包
+        for (int i = 0; i < SIZE; i += 7) {
+            Assert.assertTrue(tree.delete(boxes.get(i), i));
+            Assert.assertFalse(tree.delete(boxes.get(i), i));
+            boxes.set(i, null);
+        }
+        assertMatches(random, boxes, tree);
+
+        // 删除超过一半的数据后会在下一次查询时重新打包
+        for (int i = 1; i < SIZE; i += 2) {
+            if (boxes.get(i) != null) {
+                Assert.assertTrue(tree.delete(boxes.get(i), i));
+                boxes.set(i, null);
+            }
+        }
+        assertMatches(random, boxes, tree);
+
+        for (int i = 0; i < 100; i++) {
+            BoundingBox box = randomBox(random, 20);
+            boxes.add(box);
+            tree.insert(box, boxes.size() - 1);
+        }
+        assertMatches(random, boxes, tree);
+    }
+
+    @Test
+    public void testDeleteAll() {
+        Random random = new Random(5);
+        List<BoundingBox> boxes = randomBoxes(random, 100);
+        PackedRTree<Integer> tree = build(boxes);
+        for (int i = 0; i < boxes.size(); i++) {
+            Assert.assertTrue(tree.delete(boxes.get(i), i));
+        }
+        Assert.assertEquals(0, tree.size());
+        Assert.assertTrue(tree.query(new BoundingBox(0, 1000, 0, 1000)).isEmpty());
+        Assert.assertTrue(tree.nearest(500, 500, 3).isEmpty());
+    }
+
+    private static void assertMatches(Random random, List<BoundingBox> boxes, PackedRTree<Integer> tree) {
+        int live = 0;
+        for (BoundingBox box : boxes) {
+            if (box != null) {
+                live++;
+            }
+        }
+        Assert.assertEquals(live, tree.size());
+        for (int q = 0; q < 50; q++) {
+            BoundingBox query = randomBox(random, 150);
+            Assert.assertEquals(bruteForce(boxes, query), sorted(tree.query(query)));
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            assertNearest(boxes, tree.nearest(x, y, 8), x, y, 8);
+        }
+    }
+
+    /**
+     * 比较最近邻查询的距离，距离相同的数据之间的顺序不确定
+     */
+    static void assertNearest(List<BoundingBox> boxes, List<Integer> actual,
+                              double x, double y, int k) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            if (boxes.get(i) != null) {
+                expected.add(i);
+            }
+        }
+        expected.sort(Comparator.comparingDouble(i -> distance(boxes.get(i), x, y)));
+        Assert.assertEquals(Math.min(k, expected.size()), actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            Assert.assertEquals(distance(boxes.get(expected.get(i)), x, y),
+                    distance(boxes.get(actual.get(i)), x, y), 1e-9);
+        }
+    }
+
+    private static double distance(BoundingBox box, double x, double y) {
+        double dx = Math.max(0, Math.max(box.getMinX() - x, x - box.getMaxX()));
+        double dy = Math.max(0, Math.max(box.getMinY() - y, y - box.getMaxY()));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    static List<Integer> bruteForce(List<BoundingBox> boxes, BoundingBox query) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            BoundingBox box = boxes.get(i);
+            if (box != null && box.getMinX() <= query.getMaxX() && box.getMaxX() >= query.getMinX()
+                    && box.getMinY() <= query.getMaxY() && box.getMaxY() >= query.getMinY()) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    static List<Integer> sorted(Collection<Integer> values) {
+        List<Integer> result = new ArrayList<>(values);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static PackedRTree<Integer> build(List<BoundingBox> boxes) {
+        PackedRTreeBuilder<Integer> builder = new PackedRTreeBuilder<>(8, boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            builder.add(boxes.get(i), i);
+        }
+        return builder.build();
+    }
+
+    static List<BoundingBox> randomBoxes(Random random, int size) {
+        List<BoundingBox> boxes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boxes.add(randomBox(random, 20));
+        }
+        return boxes;
+    }
+
+    static BoundingBox randomBox(Random random, double extent) {
+        double x = random.nextDouble() * 1000;
+        double y = random.nextDouble() * 1000;
+        return new BoundingBox(x, x + random.nextDouble() * extent, y, y + random.nextDouble() * extent);
+    }
+
+}
@@ -0,0 +1,153 @@
+package gnova.geometry.io.twkb;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.impl.jts.GeometryFactoryAdaptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.precision.GeometryPrecisionReducer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+public class TwkbGeometryIOTest {
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    private static final String[] WKTS = {
+            "POINT (1.23456 -2.34567)",
+            "LINESTRING (0 0, 1.0001 1.0002, 2.1234 0.5678)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 3, 3 3, 3 2, 2 2))",
+            "MULTIPOINT ((1.11 1.22), (2.33 2.44))",
+            "MULTILINESTRING ((0 0, 1 1), (2.5 2.5, 3.25 3.125, 4 2))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+            "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 1 1), POLYGON ((0 0, 1 0, 1 1, 0 0)))"
+    };
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        TwkbGeometryReader reader = new TwkbGeometryReader(JTS);
+        TwkbGeometryWriter writer = new TwkbGeometryWriter(3);
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            Geometry decoded = reader.read(writer.write(GeometryFactoryAdaptor.fromJtsGeometry(jts)));
+            assertEquals(wkt, reduce(jts, 1000), decoded);
+        }
+    }
+
+    @Test
+    public void testHugeCount() throws Exception {
+        TwkbGeometryReader reader = new TwkbGeometryReader(JTS);
+        // 依次为线串的坐标个数、多边形的环个数、多边形的外环的坐标个数、多线串与几何集合的元素个数
+        int[][] headers = {{2}, {3}, {3, 1}, {5}, {7}};
+        for (long count : new long[]{Integer.MAX_VALUE, 100000000, 1 << 29}) {
+            for (int[] header : headers) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                output.write(header[0]);
+                output.write(0);
+                for (int i = 1; i < header.length; i++) {
+                    writeVarInt(output, header[i]);
+                }
+                writeVarInt(output, count);
+                output.write(2);
+                output.write(4);
+                byte[] binaries = output.toByteArray();
+                try {
+                    reader.read(new ByteArrayInputStream(binaries));
+                    Assert.fail();
+                } catch (GeometryIOException e) {
+                    // 数据不完整
+                }
+                try {
+                    reader.read(binaries);
+                    Assert.fail();
+                } catch (GeometryIOException e) {
+                    // 元素个数超出了数据的长度
+                }
+            }
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    @Test
+    public void testPrecisionFromGeometry() throws Exception {
+        TwkbGeometryReader reader = new TwkbGeometryReader(JTS);
+        TwkbGeometryWriter writer = new TwkbGeometryWriter();
+        String wkt = "LINESTRING (1.23456789 2.3456789, 3.456789 4.56789123)";
+
+        // 缩放系数为10的幂次时，与makePrecise的结果相同
+        org.locationtech.jts.geom.Geometry fixed = read(wkt, new PrecisionModel(100));
+        assertEquals(wkt, fixed, reader.read(writer.write(GeometryFactoryAdaptor.fromJtsGeometry(fixed))));
+
+        // 缩放系数不是10的幂次时，向上取整为1位小数
+        org.locationtech.jts.geom.Geometry quarter = read(wkt, new PrecisionModel(4));
+        assertEquals(wkt, reduce(quarter, 10),
+                reader.read(writer.write(GeometryFactoryAdaptor.fromJtsGeometry(quarter))));
+
+        // 浮点精度时使用默认精度
+        org.locationtech.jts.geom.Geometry floating = read(wkt, new PrecisionModel());
+        assertEquals(wkt, reduce(floating, 1e7),
+                reader.read(writer.write(GeometryFactoryAdaptor.fromJtsGeometry(floating))));
+    }
+
+    @Test
+    public void testExtendedDimensions() throws Exception {
+        org.locationtech.jts.geom.Geometry jts = new WKTReader().read("LINESTRING (0.12 0.34 5.6, 1.23 2.34 7.891)");
+        TwkbGeometryWriter writer = new TwkbGeometryWriter(2, 3, 1, 0, false, false);
+        Geometry decoded = new TwkbGeometryReader(JTS).read(writer.write(GeometryFactoryAdaptor.fromJtsGeometry(jts)));
+        org.locationtech.jts.geom.Geometry actual = JTS.toJtsGeometry(decoded);
+        Assert.assertTrue(actual.equalsExact(jts, 1e-9));
+        Assert.assertEquals(5.6, actual.getCoordinates()[0].z, 1e-9);
+        Assert.assertEquals(7.9, actual.getCoordinates()[1].z, 1e-9);
+    }
+
+    @Test
+    public void testBoundingBoxAndStream() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        TwkbGeometryWriter writer = new TwkbGeometryWriter(2, 2, 0, 0, true, true);
+        TwkbGeometryReader reader = new TwkbGeometryReader(JTS);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            byte[] binaries = writer.write(GeometryFactoryAdaptor.fromJtsGeometry(jts));
+            BoundingBox bbox = reader.readBoundingBox(binaries);
+            org.locationtech.jts.geom.Envelope envelope = jts.getEnvelopeInternal();
+            Assert.assertEquals(wkt, envelope.getMinX(), bbox.getMinX(), 0.005);
+            Assert.assertEquals(wkt, envelope.getMaxY(), bbox.getMaxY(), 0.005);
+            stream.write(binaries);
+        }
+        ByteArrayInputStream input = new ByteArrayInputStream(stream.toByteArray());
+        for (String wkt : WKTS) {
+            assertEquals(wkt, reduce(wktReader.read(wkt), 100), reader.read(input));
+        }
+    }
+
+    private static org.locationtech.jts.geom.Geometry read(String wkt, PrecisionModel precisionModel)
+            throws Exception {
+        return new WKTReader(new org.locationtech.jts.geom.GeometryFactory(precisionModel)).read(wkt);
+    }
+
+    /**
+     * 使用JTS将坐标值按缩放系数取整，作为期望的结果
+     */
+    private static org.locationtech.jts.geom.Geometry reduce(org.locationtech.jts.geom.Geometry geometry, double scale) {
+        return GeometryPrecisionReducer.reducePointwise(geometry, new PrecisionModel(scale));
+    }
+
+    private static void assertEquals(String message, org.locationtech.jts.geom.Geometry expected, Geometry actual) {
+        org.locationtech.jts.geom.Geometry jts = JTS.toJtsGeometry(actual);
+        Assert.assertTrue(message + " != " + jts, expected.equalsExact(jts, 1e-9));
+    }
+
+}
@@ -0,0 +1,204 @@
+package gnova.geometry.io.wkb;
+
+import gnova.core.Endian;
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.impl.jts.GeometryFactoryAdaptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class WkbGeometryIOTest {
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    private static final String[] WKTS = {
+            "POINT (1 2)",
+            "LINESTRING (0 0, 1 1, 2 0.5)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 3, 3 3, 3 2, 2 2))",
+            "MULTIPOINT ((1 1), (2 2))",
+            "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3, 4 2))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+            "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 1 1), POLYGON ((0 0, 1 0, 1 1, 0 0)))"
+    };
+
+    private static final String[] WKTS_3D = {
+            "POINT (1 2 3)",
+            "LINESTRING (0 0 1, 1 1 2, 2 0.5 3)",
+            "POLYGON ((0 0 1, 10 0 2, 10 10 3, 0 0 1))",
+            "MULTIPOINT ((1 1 1), (2 2 2))"
+    };
+
+    @Test
+    public void testWriteMatchesJts() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            Geometry geometry = GeometryFactoryAdaptor.fromJtsGeometry(jts);
+            Assert.assertArrayEquals(wkt,
+                    new WKBWriter(2, ByteOrderValues.BIG_ENDIAN).write(jts),
+                    new WkbGeometryWriter(Endian.BIG_ENDIAN).write(geometry));
+            Assert.assertArrayEquals(wkt,
+                    new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN).write(jts),
+                    new WkbGeometryWriter(Endian.LITTLE_ENDIAN).write(geometry));
+        }
+        for (String wkt : WKTS_3D) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            Geometry geometry = GeometryFactoryAdaptor.fromJtsGeometry(jts);
+            Assert.assertArrayEquals(wkt,
+                    new WKBWriter(3, ByteOrderValues.BIG_ENDIAN).write(jts),
+                    new WkbGeometryWriter(Endian.BIG_ENDIAN, 3).write(geometry));
+        }
+    }
+
+    @Test
+    public void testWriteLazy() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        WkbGeometryReader reader = new WkbGeometryReader();
+        WkbGeometryWriter writer = new WkbGeometryWriter(Endian.BIG_ENDIAN);
+        for (String wkt : WKTS) {
+            byte[] binaries = new WKBWriter(2, ByteOrderValues.BIG_ENDIAN).write(wktReader.read(wkt));
+            // 计算字节数与写出时都会先解码延迟解码的几何对象
+            Geometry lazy = reader.readLazy(binaries);
+            Assert.assertEquals(wkt, binaries.length, writer.sizeOf(lazy));
+            Assert.assertArrayEquals(wkt, binaries, writer.write(lazy));
+        }
+    }
+
+    @Test
+    public void testReadJtsOutput() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        WkbGeometryReader reader = new WkbGeometryReader();
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            Geometry big = reader.read(new WKBWriter(2, ByteOrderValues.BIG_ENDIAN).write(jts));
+            Geometry little = reader.read(new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN).write(jts));
+            Assert.assertTrue(wkt, jts.equalsExact(toJts(big)));
+            Assert.assertTrue(wkt, jts.equalsExact(toJts(little)));
+        }
+        for (String wkt : WKTS_3D) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            Geometry geometry = reader.read(new WKBWriter(3, ByteOrderValues.BIG_ENDIAN).write(jts));
+            assertEquals3D(wkt, jts, toJts(geometry));
+        }
+    }
+
+    @Test
+    public void testEwkbSrid() throws Exception {
+        org.locationtech.jts.geom.Geometry jts = new WKTReader().read(WKTS[2]);
+        jts.setSRID(4326);
+        byte[] ewkb = new WKBWriter(2, ByteOrderValues.BIG_ENDIAN, true).write(jts);
+        Geometry geometry = new WkbGeometryReader().read(ewkb);
+        Assert.assertTrue(jts.equalsExact(toJts(geometry)));
+
+        byte[] written = new WkbGeometryWriter(Endian.BIG_ENDIAN, 2, true).write(geometry);
+        org.locationtech.jts.geom.Geometry decoded = new WKBReader().read(written);
+        Assert.assertTrue(jts.equalsExact(decoded));
+        Assert.assertEquals(geometry.getSrid(), decoded.getSRID());
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        WkbGeometryWriter writer = new WkbGeometryWriter(Endian.LITTLE_ENDIAN);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<org.locationtech.jts.geom.Geometry> expected = new ArrayList<>();
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = wktReader.read(wkt);
+            expected.add(jts);
+            writer.write(GeometryFactoryAdaptor.fromJtsGeometry(jts), output);
+        }
+        WkbGeometryReader reader = new WkbGeometryReader();
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        for (org.locationtech.jts.geom.Geometry jts : expected) {
+            Assert.assertTrue(jts.equalsExact(toJts(reader.read(input))));
+        }
+        Assert.assertEquals(-1, input.read());
+    }
+
+    @Test
+    public void testHugeCount() throws Exception {
+        WkbGeometryReader reader = new WkbGeometryReader();
+        // 依次为线串的坐标个数、多边形的环个数、多边形的外环的坐标个数、多点的元素个数
+        int[][] headers = {{2}, {3}, {3, 1}, {4}, {7}};
+        for (int count : new int[]{Integer.MAX_VALUE, 100000000, 1 << 28}) {
+            for (int[] header : headers) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                DataOutputStream data = new DataOutputStream(output);
+                data.writeByte(0);
+                data.writeInt(header[0]);
+                for (int i = 1; i < header.length; i++) {
+                    data.writeInt(header[i]);
+                }
+                data.writeInt(count);
+                data.writeDouble(1);
+                byte[] binaries = output.toByteArray();
+                assertCorrupt(() -> reader.read(new ByteArrayInputStream(binaries)));
+                assertCorrupt(() -> reader.readBatch(new ByteArrayInputStream(binaries)));
+                assertCorrupt(() -> reader.read(binaries));
+            }
+        }
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        WkbGeometryReader reader = new WkbGeometryReader();
+        for (String wkt : WKTS) {
+            byte[] binaries = new WKBWriter(2, ByteOrderValues.BIG_ENDIAN).write(wktReader.read(wkt));
+            for (int length = 0; length < binaries.length; length++) {
+                byte[] truncated = Arrays.copyOf(binaries, length);
+                assertCorrupt(() -> reader.read(new ByteArrayInputStream(truncated)));
+                assertCorrupt(() -> reader.read(truncated));
+                if (length > 0) {
+                    // 空的输入流是一个空的几何批
+                    assertCorrupt(() -> reader.readBatch(new ByteArrayInputStream(truncated)));
+                }
+            }
+        }
+    }
+
+    private interface Read {
+
+        void read() throws GeometryIOException;
+
+    }
+
+    /**
+     * 错误的数据只能以GeometryIOException的形式失败
+     */
+    private static void assertCorrupt(Read read) {
+        try {
+            read.read();
+            Assert.fail();
+        } catch (GeometryIOException e) {
+            // 预期的异常
+        }
+    }
+
+    private static org.locationtech.jts.geom.Geometry toJts(Geometry geometry) {
+        return JTS.toJtsGeometry(geometry);
+    }
+
+    private static void assertEquals3D(String message,
+                                       org.locationtech.jts.geom.Geometry expected,
+                                       org.locationtech.jts.geom.Geometry actual) {
+        Assert.assertTrue(message, expected.equalsExact(actual));
+        org.locationtech.jts.geom.Coordinate[] e = expected.getCoordinates();
+        org.locationtech.jts.geom.Coordinate[] a = actual.getCoordinates();
+        for (int i = 0; i < e.length; i++) {
+            Assert.assertEquals(message, e[i].z, a[i].z, 0);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package gnova.geometry.io.wkt;
+
+import gnova.geometry.io.GeometryIOException;
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.impl.jts.GeometryFactoryAdaptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * WKT读写与JTS的WKTReader、WKTWriter的性能对比
+ *
+ * <p>类名不符合surefire默认的测试类的命名规则，因此不会在构建时运行，需要单独执行：
+ * <pre>
+ * mvn -pl geometry -am test -Dtest=WktGeometryBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ * 数据为{@value #SIZE}个各有{@value #VERTICES}个顶点的随机多边形，每一轮依次读取或写出全部数据，
+ * 先预热{@value #WARMUP}轮，再输出之后{@value #ROUNDS}轮的耗时的中位数。
+ */
+public class WktGeometryBenchmark {
+
+    private static final int SIZE = 20000;
+    private static final int VERTICES = 21;
+    private static final int WARMUP = 10;
+    private static final int ROUNDS = 10;
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    @Test
+    public void benchmark() throws Exception {
+        List<String> wkts = new ArrayList<>(SIZE);
+        List<org.locationtech.jts.geom.Geometry> jtsGeometries = new ArrayList<>(SIZE);
+        List<Geometry> geometries = new ArrayList<>(SIZE);
+        WKTWriter jtsWriter = new WKTWriter();
+        Random random = new Random(1);
+        for (int i = 0; i < SIZE; i++) {
+            org.locationtech.jts.geom.Geometry polygon = randomPolygon(random);
+            wkts.add(jtsWriter.write(polygon));
+            jtsGeometries.add(polygon);
+            geometries.add(GeometryFactoryAdaptor.fromJtsGeometry(polygon));
+        }
+
+        WKTReader jtsReader = new WKTReader();
+        WktGeometryReader reader = new WktGeometryReader(JTS);
+        WktGeometryWriter writer = new WktGeometryWriter();
+        // 两种实现的结果应当一致
+        Assert.assertEquals(wkts.get(0), writer.write(geometries.get(0)));
+        Assert.assertTrue(jtsGeometries.get(0).equalsExact(JTS.toJtsGeometry(reader.read(wkts.get(0)))));
+
+        report("read", median(() -> {
+            long count = 0;
+            for (String wkt : wkts) {
+                count += jtsReader.read(wkt).getNumPoints();
+            }
+            return count;
+        }), median(() -> {
+            long count = 0;
+            for (String wkt : wkts) {
+                count += reader.read(wkt).getType().ordinal() + 1;
+            }
+            return count;
+        }));
+        report("write", median(() -> {
+            long length = 0;
+            for (org.locationtech.jts.geom.Geometry geometry : jtsGeometries) {
+                length += jtsWriter.write(geometry).length();
+            }
+            return length;
+        }), median(() -> {
+            long length = 0;
+            for (Geometry geometry : geometries) {
+                length += writer.write(geometry).length();
+            }
+            return length;
+        }));
+    }
+
+    private interface Round {
+
+        long run() throws GeometryIOException, ParseException;
+
+    }
+
+    /**
+     * 执行多轮并返回耗时的中位数，单位为毫秒
+     */
+    private static double median(Round round) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += round.run();
+        }
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.run();
+            times[i] = System.nanoTime() - start;
+        }
+        // 使用结果，避免被优化掉
+        Assert.assertTrue(sink > 0);
+        Arrays.sort(times);
+        return times[ROUNDS / 2] / 1e6;
+    }
+
+    private static void report(String operation, double jts, double gnova) {
+        System.out.printf("WKT %-5s  JTS %8.1f ms  gnova %8.1f ms  (%.2fx)%n", operation, jts, gnova, jts / gnova);
+    }
+
+    private static org.locationtech.jts.geom.Geometry randomPolygon(Random random) {
+        double x = random.nextDouble() * 360 - 180;
+        double y = random.nextDouble() * 180 - 90;
+        org.locationtech.jts.geom.Coordinate[] coordinates = new org.locationtech.jts.geom.Coordinate[VERTICES];
+        for (int i = 0; i < VERTICES - 1; i++) {
+            double angle = 2 * Math.PI * i / (VERTICES - 1);
+            double radius = 0.01 + random.nextDouble() * 0.01;
+            coordinates[i] = new org.locationtech.jts.geom.Coordinate(
+                    x + radius * Math.cos(angle), y + radius * Math.sin(angle));
+        }
+        coordinates[VERTICES - 1] = coordinates[0];
+        return new org.locationtech.jts.geom.GeometryFactory().createPolygon(coordinates);
+    }
+
+}
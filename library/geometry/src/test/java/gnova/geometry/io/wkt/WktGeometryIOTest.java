@@ -0,0 +1,122 @@
+package gnova.geometry.io.wkt;
+
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.impl.jts.GeometryFactoryAdaptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class WktGeometryIOTest {
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    private static final String[] WKTS = {
+            "POINT (1 2)",
+            "LINESTRING (0 0, 1 1, 2 0.5)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 3, 3 3, 3 2, 2 2))",
+            "MULTIPOINT ((1 1), (2 2))",
+            "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3, 4 2))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+            "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 1 1), POLYGON ((0 0, 1 0, 1 1, 0 0)))"
+    };
+
+    private static final String[] WKTS_3D = {
+            "POINT (1 2 3)",
+            "LINESTRING (0 0 1, 1 1 2, 2 0.5 3)",
+            "POLYGON ((0 0 1, 10 0 2, 10 10 3, 0 0 1))",
+            "MULTIPOINT ((1 1 1), (2 2 2))"
+    };
+
+    @Test
+    public void testWriteMatchesJts() throws Exception {
+        WKTReader jtsReader = new WKTReader();
+        WKTWriter jtsWriter = new WKTWriter(2);
+        WktGeometryWriter writer = new WktGeometryWriter();
+        for (String wkt : WKTS) {
+            org.locationtech.jts.geom.Geometry jts = jtsReader.read(wkt);
+            Assert.assertEquals(jtsWriter.write(jts), writer.write(GeometryFactoryAdaptor.fromJtsGeometry(jts)));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        WKTReader jtsReader = new WKTReader();
+        WktGeometryReader reader = new WktGeometryReader(JTS);
+        WktGeometryWriter writer = new WktGeometryWriter(3);
+        for (String wkt : concat(WKTS, WKTS_3D)) {
+            org.locationtech.jts.geom.Geometry expected = jtsReader.read(wkt);
+            // JTS读取本写入器的输出
+            String text = writer.write(GeometryFactoryAdaptor.fromJtsGeometry(expected));
+            assertEquals(wkt, expected, GeometryFactoryAdaptor.fromJtsGeometry(jtsReader.read(text)));
+            // 本读取器读取JTS的输出
+            assertEquals(wkt, expected, reader.read(new WKTWriter(3).write(expected)));
+            assertEquals(wkt, expected, reader.read(text));
+        }
+    }
+
+    @Test
+    public void testOutputDimension() throws Exception {
+        WktGeometryReader reader = new WktGeometryReader(JTS);
+        // 二维的几何对象不会写出NaN的Z值
+        Assert.assertEquals("POINT (1 2)", new WktGeometryWriter(3).write(reader.read("POINT (1 2)")));
+        Assert.assertEquals("LINESTRING (0 0, 1 1)",
+                new WktGeometryWriter(4).write(reader.read("LINESTRING (0 0, 1 1)")));
+        Assert.assertEquals("POINT Z (1 2 3)", new WktGeometryWriter(3).write(reader.read("POINT Z (1 2 3)")));
+        Assert.assertEquals("POINT (1 2)", new WktGeometryWriter(2).write(reader.read("POINT Z (1 2 3)")));
+        Assert.assertEquals("POINT ZM (1 2 3 4)",
+                new WktGeometryWriter(4).write(reader.read("POINT ZM (1 2 3 4)")));
+        Assert.assertEquals("POINT Z (1 2 3)", new WktGeometryWriter(3).write(reader.read("POINT ZM (1 2 3 4)")));
+        Assert.assertEquals("POINT M (1 2 4)", new WktGeometryWriter(4).write(reader.read("POINT M (1 2 4)")));
+        Assert.assertEquals("GEOMETRYCOLLECTION (POINT Z (1 2 3), POINT (4 5))",
+                new WktGeometryWriter(3).write(reader.read("GEOMETRYCOLLECTION (POINT Z (1 2 3), POINT (4 5))")));
+        Assert.assertEquals("POINT EMPTY", new WktGeometryWriter(3).write(reader.read("POINT Z EMPTY")));
+    }
+
+    @Test
+    public void testSrid() throws Exception {
+        // 读取器不保留空间参考标识，其由几何工厂决定
+        Geometry geometry = new WktGeometryReader(new GeometryFactoryAdaptor(4326)).read("SRID=4326;POINT (1 2)");
+        Assert.assertEquals(4326, geometry.getSrid());
+        Assert.assertEquals("SRID=4326;POINT (1 2)", new WktGeometryWriter(2, true).write(geometry));
+    }
+
+    @Test
+    public void testWriteAll() throws Exception {
+        WKTReader jtsReader = new WKTReader();
+        List<Geometry> geometries = new ArrayList<>();
+        for (String wkt : concat(WKTS, WKTS_3D)) {
+            geometries.add(GeometryFactoryAdaptor.fromJtsGeometry(jtsReader.read(wkt)));
+        }
+        StringWriter text = new StringWriter();
+        new WktGeometryWriter(3).writeAll(geometries.iterator(), text);
+        List<Geometry> read = StreamSupport.stream(
+                new WktGeometryReader(JTS).readSpliterator(new StringReader(text.toString())), true)
+                .collect(Collectors.toList());
+        Assert.assertEquals(geometries.size(), read.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(text.toString(), JTS.toJtsGeometry(geometries.get(i)), read.get(i));
+        }
+    }
+
+    private static void assertEquals(String message, org.locationtech.jts.geom.Geometry expected, Geometry actual) {
+        org.locationtech.jts.geom.Geometry jts = JTS.toJtsGeometry(actual);
+        Assert.assertTrue(message + " != " + jts, expected.equalsExact(jts));
+        Assert.assertEquals(message, expected.getCoordinate().z, jts.getCoordinate().z, 0);
+    }
+
+    private static List<String> concat(String[] first, String[] second) {
+        List<String> result = new ArrayList<>(Arrays.asList(first));
+        result.addAll(Arrays.asList(second));
+        return result;
+    }
+
+}
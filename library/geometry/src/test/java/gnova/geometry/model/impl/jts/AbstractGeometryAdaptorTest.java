@@ -0,0 +1,61 @@
+package gnova.geometry.model.impl.jts;
+
+import gnova.geometry.model.AffineTransform;
+import gnova.geometry.model.BoundingBox;
+import gnova.geometry.model.Geometry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+public class AbstractGeometryAdaptorTest {
+
+    private static Geometry square() {
+        org.locationtech.jts.geom.GeometryFactory factory = new org.locationtech.jts.geom.GeometryFactory();
+        return GeometryFactoryAdaptor.fromJtsGeometry(
+                factory.toGeometry(new org.locationtech.jts.geom.Envelope(0, 1, 0, 1)));
+    }
+
+    @Test
+    public void testTransform() {
+        Geometry geometry = square();
+        Assert.assertEquals(new BoundingBox(0, 1, 0, 1), geometry.getBoundingBox());
+        Geometry moved = geometry.transform(AffineTransform.translation(10, 20));
+        Assert.assertEquals(new BoundingBox(10, 11, 20, 21), moved.getBoundingBox());
+        Assert.assertEquals(new BoundingBox(0, 1, 0, 1), geometry.getBoundingBox());
+    }
+
+    @Test
+    public void testTransformInPlace() {
+        Geometry geometry = square();
+        // 先填充包围盒与预备几何对象的缓存
+        Assert.assertEquals(new BoundingBox(0, 1, 0, 1), geometry.getBoundingBox());
+        Assert.assertTrue(geometry.prepare().contains(0.5, 0.5));
+
+        Geometry moved = geometry.transform(AffineTransform.translation(10, 20), true);
+        Assert.assertSame(geometry, moved);
+        Assert.assertEquals(new BoundingBox(10, 11, 20, 21), geometry.getBoundingBox());
+        Assert.assertEquals(10, geometry.getMinX(), 0);
+        Assert.assertFalse(geometry.prepare().contains(0.5, 0.5));
+        Assert.assertTrue(geometry.prepare().contains(10.5, 20.5));
+    }
+
+    @Test
+    public void testClipCollection() throws ParseException {
+        org.locationtech.jts.geom.Geometry collection = new WKTReader().read("GEOMETRYCOLLECTION("
+                + "POINT(1 1), POINT(20 20), LINESTRING(0 0, 10 10), "
+                + "POLYGON((0 0, 5 0, 5 5, 0 5, 0 0)), POLYGON((3 3, 8 3, 8 8, 3 8, 3 3)))");
+        Geometry clipped = GeometryFactoryAdaptor.fromJtsGeometry(collection).clip(new BoundingBox(2, 6, 2, 6));
+        org.locationtech.jts.geom.Geometry result = new GeometryFactoryAdaptor().toJtsGeometry(clipped);
+        // 点不在范围内，重叠的多边形分别裁剪，不会被融合
+        Assert.assertEquals(3, result.getNumGeometries());
+        Assert.assertEquals("LineString", result.getGeometryN(0).getGeometryType());
+        Assert.assertEquals(9, result.getGeometryN(1).getArea(), 1e-9);
+        Assert.assertEquals(9, result.getGeometryN(2).getArea(), 1e-9);
+        Assert.assertEquals(new BoundingBox(2, 6, 2, 6), clipped.getBoundingBox());
+
+        Assert.assertSame(Geometry.NONE,
+                GeometryFactoryAdaptor.fromJtsGeometry(collection).clip(new BoundingBox(30, 40, 30, 40)));
+    }
+
+}
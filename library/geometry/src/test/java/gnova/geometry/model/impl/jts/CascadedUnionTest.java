@@ -0,0 +1,60 @@
+package gnova.geometry.model.impl.jts;
+
+import gnova.geometry.model.Geometry;
+import gnova.geometry.model.operator.CollectionOperator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class CascadedUnionTest {
+
+    private static final GeometryFactoryAdaptor JTS = new GeometryFactoryAdaptor();
+
+    @Test
+    public void testUnionMatchesJts() {
+        Random random = new Random(1);
+        org.locationtech.jts.geom.GeometryFactory factory = new org.locationtech.jts.geom.GeometryFactory();
+        List<org.locationtech.jts.geom.Geometry> jts = new ArrayList<>();
+        List<Geometry> geometries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            double size = 0.5 + random.nextDouble() * 3;
+            org.locationtech.jts.geom.Geometry square = factory.toGeometry(
+                    new org.locationtech.jts.geom.Envelope(x, x + size, y, y + size));
+            jts.add(square);
+            geometries.add(GeometryFactoryAdaptor.fromJtsGeometry(square));
+        }
+        org.locationtech.jts.geom.Geometry expected = UnaryUnionOp.union(jts);
+
+        // 较小的阈值使融合被切分为多个并行的任务
+        Geometry parallel = new CascadedUnion(8, ForkJoinPool.commonPool()).union(geometries);
+        assertSameArea(expected, JTS.toJtsGeometry(parallel));
+        assertSameArea(expected, JTS.toJtsGeometry(CollectionOperator.union(geometries)));
+    }
+
+    @Test
+    public void testEmpty() {
+        List<Geometry> geometries = new ArrayList<>();
+        geometries.add(null);
+        geometries.add(Geometry.NONE);
+        Assert.assertSame(Geometry.NONE, CollectionOperator.union(geometries));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThreshold() {
+        new CascadedUnion(1, ForkJoinPool.commonPool());
+    }
+
+    private static void assertSameArea(org.locationtech.jts.geom.Geometry expected,
+                                       org.locationtech.jts.geom.Geometry actual) {
+        Assert.assertEquals(expected.getArea(), actual.getArea(), 1e-6);
+        Assert.assertEquals(0, expected.symDifference(actual).getArea(), 1e-6);
+    }
+
+}
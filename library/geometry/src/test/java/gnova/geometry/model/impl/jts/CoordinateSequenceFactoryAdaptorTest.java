@@ -0,0 +1,57 @@
+package gnova.geometry.model.impl.jts;
+
+import gnova.geometry.model.CoordinateSequence;
+import gnova.geometry.model.PackedCoordinateSequence;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoordinateSequenceFactoryAdaptorTest {
+
+    @Test
+    public void testPackedXYM() {
+        PackedCoordinateSequence sequence = new PackedCoordinateSequence(
+                new double[]{0, 1, 10, 2, 3, 20}, false, true);
+        org.locationtech.jts.geom.CoordinateSequence jts =
+                CoordinateSequenceFactoryAdaptor.toJtsCoordinateSequence(sequence);
+        Assert.assertEquals(3, jts.getDimension());
+        Assert.assertEquals(1, jts.getMeasures());
+        Assert.assertFalse(jts.hasZ());
+        Assert.assertEquals(2, jts.getX(1), 0);
+        Assert.assertEquals(3, jts.getY(1), 0);
+        Assert.assertEquals(20, jts.getM(1), 0);
+
+        CoordinateSequence adaptor = new CoordinateSequenceAdaptor(jts);
+        Assert.assertTrue(Double.isNaN(adaptor.getZAt(0)));
+        Assert.assertEquals(10, adaptor.getMAt(0), 0);
+        Assert.assertEquals(10, adaptor.getCoordinateAt(0).getM(), 0);
+    }
+
+    @Test
+    public void testPackedXYZM() {
+        PackedCoordinateSequence sequence = new PackedCoordinateSequence(
+                new double[]{0, 1, 2, 3, 4, 5, 6, 7}, true, true);
+        org.locationtech.jts.geom.CoordinateSequence jts =
+                CoordinateSequenceFactoryAdaptor.toJtsCoordinateSequence(sequence);
+        Assert.assertEquals(4, jts.getDimension());
+        Assert.assertEquals(1, jts.getMeasures());
+        Assert.assertEquals(6, jts.getZ(1), 0);
+        Assert.assertEquals(7, jts.getM(1), 0);
+
+        CoordinateSequence adaptor = new CoordinateSequenceAdaptor(jts);
+        Assert.assertEquals(2, adaptor.getZAt(0), 0);
+        Assert.assertEquals(3, adaptor.getMAt(0), 0);
+    }
+
+    @Test
+    public void testPackedXY() {
+        PackedCoordinateSequence sequence = new PackedCoordinateSequence(
+                new double[]{0, 1, 2, 3}, false, false);
+        org.locationtech.jts.geom.CoordinateSequence jts =
+                CoordinateSequenceFactoryAdaptor.toJtsCoordinateSequence(sequence);
+        Assert.assertEquals(2, jts.getDimension());
+        Assert.assertEquals(2, jts.size());
+        Assert.assertTrue(Double.isNaN(jts.getZ(0)));
+        Assert.assertEquals(3, jts.getY(1), 0);
+    }
+
+}
@@ -0,0 +1,120 @@
+package gnova.graph.analysis;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+/**
+ * 广度优先搜索树
+ *
+ * <p>记录从源点出发可以到达的每个节点的层级（经过的边的数量）以及到达该节点的边。
+ * 对于有向图，搜索沿边的方向进行。
+ *
+ * @see ParallelBreadthFirstSearch
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class BreadthFirstTree {
+
+    private final AbstractCsrGraph<?, ?> graph;
+    private final int source;
+    private final int[] levels;
+    private final int[] parentEdges;
+    private final int reachedSize;
+    private final int depth;
+
+    BreadthFirstTree(AbstractCsrGraph<?, ?> graph, int source,
+                     int[] levels, int[] parentEdges,
+                     int reachedSize, int depth) {
+        this.graph = graph;
+        this.source = source;
+        this.levels = levels;
+        this.parentEdges = parentEdges;
+        this.reachedSize = reachedSize;
+        this.depth = depth;
+    }
+
+    /**
+     * 获取搜索所在的图
+     *
+     * @return 图，不会返回null
+     */
+    @NotNull
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取源点
+     *
+     * @return 源点的ID
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * 获取可以到达的节点的数量，包括源点
+     *
+     * @return 节点的数量
+     */
+    public int getReachedSize() {
+        return reachedSize;
+    }
+
+    /**
+     * 获取搜索树的深度，即最大的层级
+     *
+     * @return 深度
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 判断节点是否可以从源点到达
+     *
+     * @param node 节点的ID
+     * @return 是否可以到达
+     */
+    public boolean isReached(int node) {
+        return levels[node] >= 0;
+    }
+
+    /**
+     * 获取节点的层级
+     *
+     * @param node 节点的ID
+     * @return 层级，源点的层级为0，若节点不可到达，则返回-1
+     */
+    public int getLevel(int node) {
+        return levels[node];
+    }
+
+    /**
+     * 获取到达节点的边
+     *
+     * @param node 节点的ID
+     * @return 边的ID，若节点为源点或不可到达，则返回-1
+     */
+    public int getParentEdge(int node) {
+        return parentEdges[node];
+    }
+
+    /**
+     * 获取节点在搜索树中的父节点
+     *
+     * @param node 节点的ID
+     * @return 父节点的ID，若节点为源点或不可到达，则返回-1
+     */
+    public int getParent(int node) {
+        int edge = parentEdges[node];
+        if (edge < 0) {
+            return -1;
+        }
+        int a = graph.getNodeA(edge);
+        return a == node ? graph.getNodeB(edge) : a;
+    }
+
+}
@@ -0,0 +1,103 @@
+package gnova.graph.analysis;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+/**
+ * 图的连通分量
+ *
+ * <p>连通分量按其中ID最小的节点的顺序从0开始编号。对于有向图，连通分量为忽略边的方向后的弱连通分量。
+ *
+ * @see ParallelConnectedComponents
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class ConnectedComponents {
+
+    private final AbstractCsrGraph<?, ?> graph;
+    private final int[] labels;
+    private final int[] sizes;
+
+    ConnectedComponents(AbstractCsrGraph<?, ?> graph, int[] labels, int[] sizes) {
+        this.graph = graph;
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    /**
+     * 获取连通分量所在的图
+     *
+     * @return 图，不会返回null
+     */
+    @NotNull
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取连通分量的数量
+     *
+     * @return 连通分量的数量
+     */
+    public int getComponentSize() {
+        return sizes.length;
+    }
+
+    /**
+     * 获取节点所在的连通分量
+     *
+     * @param node 节点的ID
+     * @return 连通分量的编号
+     */
+    public int getComponent(int node) {
+        return labels[node];
+    }
+
+    /**
+     * 获取连通分量中节点的数量
+     *
+     * @param component 连通分量的编号
+     * @return 节点的数量
+     */
+    public int getNodeSize(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * 获取节点数量最多的连通分量
+     *
+     * @return 连通分量的编号，若图中没有节点，则返回-1
+     */
+    public int getLargestComponent() {
+        int largest = -1;
+        for (int c = 0; c < sizes.length; c++) {
+            if (largest < 0 || sizes[c] > sizes[largest]) {
+                largest = c;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * 判断两个节点是否连通
+     *
+     * @param nodeA 节点的ID
+     * @param nodeB 节点的ID
+     * @return 是否连通
+     */
+    public boolean isConnected(int nodeA, int nodeB) {
+        return labels[nodeA] == labels[nodeB];
+    }
+
+    /**
+     * 判断整张图是否连通
+     *
+     * @return 若图中至多有一个连通分量，则返回true
+     */
+    public boolean isConnected() {
+        return sizes.length <= 1;
+    }
+
+}
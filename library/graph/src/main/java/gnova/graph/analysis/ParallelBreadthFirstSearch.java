@@ -0,0 +1,296 @@
+package gnova.graph.analysis;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * 并行的层级同步广度优先搜索
+ *
+ * <p>搜索逐层进行，每一层在{@link ForkJoinPool}中并行地扩展，节点的访问状态保存在原子的位图中。
+ * 每一层根据前沿的规模在两种方向之间切换（direction-optimizing）：
+ * <ul>
+ *     <li>自顶向下：遍历前沿中每个节点的出边，以CAS抢占尚未访问的邻居，适用于前沿较小的层；</li>
+ *     <li>自底向上：遍历每个尚未访问的节点的入边，找到任意一个位于前沿中的邻居即停止，适用于前沿很大的层。</li>
+ * </ul>
+ * 当前沿的出边数量超过未访问节点的边数量的1/{@value #ALPHA}时切换为自底向上，
+ * 当前沿的节点数量少于节点总数的1/{@value #BETA}时切换回自顶向下。
+ *
+ * <p>若在ForkJoinPool的任务中调用，则使用当前的线程池，否则使用构造时指定的线程池。
+ *
+ * @see BreadthFirstTree
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public final class ParallelBreadthFirstSearch {
+
+    /**
+     * 默认的阈值
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * 使用默认阈值与公共线程池的广度优先搜索
+     */
+    public static final ParallelBreadthFirstSearch DEFAULT =
+            new ParallelBreadthFirstSearch(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+
+    /**
+     * 切换为自底向上的参数
+     */
+    static final int ALPHA = 14;
+
+    /**
+     * 切换回自顶向下的参数
+     */
+    static final int BETA = 24;
+
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * 构造一个广度优先搜索
+     *
+     * @param threshold 阈值，每个任务顺序处理的节点数量不超过该值，必须为正数
+     * @param pool 执行并行任务的线程池，不允许为null
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public ParallelBreadthFirstSearch(int threshold, @NotNull ForkJoinPool pool) throws IllegalArgumentException {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold should be positive.");
+        }
+        this.threshold = threshold;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * 获取阈值
+     *
+     * @return 阈值
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 从源点出发进行广度优先搜索
+     *
+     * @param graph 图，不允许为null
+     * @param source 源点的ID
+     * @return 广度优先搜索树，不会返回null
+     * @throws IllegalArgumentException 若源点的ID不存在，则抛出此异常
+     */
+    @NotNull
+    public BreadthFirstTree search(@NotNull AbstractCsrGraph<?, ?> graph, int source) {
+        int nodeSize = graph.nodeSize();
+        if (source < 0 || source >= nodeSize) {
+            throw new IllegalArgumentException("node id should be in [0, " + nodeSize + ").");
+        }
+        return new Search(graph, source).run();
+    }
+
+    private static boolean isSet(AtomicLongArray bits, int i) {
+        return (bits.get(i >>> 6) & (1L << i)) != 0;
+    }
+
+    /**
+     * 设置位图中的一位
+     *
+     * @return 若该位之前未被设置，则返回true
+     */
+    private static boolean set(AtomicLongArray bits, int i) {
+        long bit = 1L << i;
+        return (bits.getAndAccumulate(i >>> 6, bit, OR) & bit) == 0;
+    }
+
+    /**
+     * 一次搜索的状态
+     */
+    private final class Search {
+
+        private final AbstractCsrGraph<?, ?> graph;
+        private final CsrDirectedGraph directed;
+        private final int nodeSize;
+        private final int source;
+
+        private final int[] levels;
+        private final int[] parentEdges;
+        private final AtomicLongArray visited;
+
+        /**
+         * 自顶向下时的前沿，以节点列表表示
+         */
+        private int[] frontier;
+        private int[] next;
+        private int frontierSize;
+
+        /**
+         * 自底向上时的前沿，以位图表示
+         */
+        private AtomicLongArray frontierBits;
+
+        private final AtomicInteger nextSize = new AtomicInteger();
+        private final AtomicLong nextDegree = new AtomicLong();
+
+        Search(AbstractCsrGraph<?, ?> graph, int source) {
+            this.graph = graph;
+            this.directed = graph instanceof CsrDirectedGraph ? (CsrDirectedGraph) graph : null;
+            this.nodeSize = graph.nodeSize();
+            this.source = source;
+            levels = new int[nodeSize];
+            parentEdges = new int[nodeSize];
+            visited = new AtomicLongArray((nodeSize + 63) >>> 6);
+        }
+
+        BreadthFirstTree run() {
+            Arrays.fill(levels, -1);
+            Arrays.fill(parentEdges, -1);
+            set(visited, source);
+            levels[source] = 0;
+            frontier = new int[nodeSize];
+            next = new int[nodeSize];
+            frontier[0] = source;
+            frontierSize = 1;
+
+            long frontierDegree = graph.getAdjacencySize(source);
+            long unexploredDegree = graph.getAdjacencyEnd(nodeSize - 1) - frontierDegree;
+            boolean bottomUp = false;
+            int reachedSize = 1;
+            int level = 0;
+            while (frontierSize > 0) {
+                if (!bottomUp && frontierDegree > unexploredDegree / ALPHA) {
+                    toBits();
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < nodeSize / BETA) {
+                    toList();
+                    bottomUp = false;
+                }
+                nextSize.set(0);
+                nextDegree.set(0);
+                if (bottomUp) {
+                    bottomUp(level + 1);
+                } else {
+                    topDown(level + 1);
+                }
+                level++;
+                frontierSize = nextSize.get();
+                frontierDegree = nextDegree.get();
+                unexploredDegree -= frontierDegree;
+                reachedSize += frontierSize;
+            }
+            return new BreadthFirstTree(graph, source, levels, parentEdges, reachedSize, level - 1);
+        }
+
+        /**
+         * 自顶向下地扩展一层，前沿与下一层均以节点列表表示
+         */
+        private void topDown(int level) {
+            final int[] current = frontier;
+            final int[] target = next;
+            RangeAction.run(pool, (start, end) -> {
+                int[] buffer = new int[Math.min(64, nodeSize)];
+                int count = 0;
+                long degree = 0;
+                for (int i = start; i < end; i++) {
+                    int u = current[i];
+                    for (int slot = graph.getAdjacencyStart(u), last = graph.getAdjacencyEnd(u); slot < last; slot++) {
+                        int v = graph.getAdjacentNode(slot);
+                        if (isSet(visited, v) || !set(visited, v)) {
+                            continue;
+                        }
+                        levels[v] = level;
+                        parentEdges[v] = graph.getAdjacentEdge(slot);
+                        degree += graph.getAdjacencySize(v);
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count << 1);
+                        }
+                        buffer[count++] = v;
+                    }
+                }
+                if (count > 0) {
+                    System.arraycopy(buffer, 0, target, nextSize.getAndAdd(count), count);
+                    nextDegree.addAndGet(degree);
+                }
+            }, 0, frontierSize, threshold);
+            frontier = target;
+            next = current;
+        }
+
+        /**
+         * 自底向上地扩展一层，前沿与下一层均以位图表示
+         */
+        private void bottomUp(int level) {
+            final AtomicLongArray current = frontierBits;
+            final AtomicLongArray target = new AtomicLongArray(current.length());
+            RangeAction.run(pool, (start, end) -> {
+                int count = 0;
+                long degree = 0;
+                for (int v = start; v < end; v++) {
+                    if (isSet(visited, v)) {
+                        continue;
+                    }
+                    int first = directed == null ? graph.getAdjacencyStart(v) : directed.getInAdjacencyStart(v);
+                    int last = directed == null ? graph.getAdjacencyEnd(v) : directed.getInAdjacencyEnd(v);
+                    for (int slot = first; slot < last; slot++) {
+                        int u = directed == null ? graph.getAdjacentNode(slot) : directed.getInAdjacentNode(slot);
+                        if (!isSet(current, u)) {
+                            continue;
+                        }
+                        // 只有当前任务会处理节点v，不存在竞争
+                        set(visited, v);
+                        set(target, v);
+                        levels[v] = level;
+                        parentEdges[v] = directed == null ? graph.getAdjacentEdge(slot) : directed.getInAdjacentEdge(slot);
+                        degree += graph.getAdjacencySize(v);
+                        count++;
+                        break;
+                    }
+                }
+                if (count > 0) {
+                    nextSize.addAndGet(count);
+                    nextDegree.addAndGet(degree);
+                }
+            }, 0, nodeSize, threshold);
+            frontierBits = target;
+        }
+
+        /**
+         * 将节点列表表示的前沿转换为位图
+         */
+        private void toBits() {
+            frontierBits = new AtomicLongArray(visited.length());
+            for (int i = 0; i < frontierSize; i++) {
+                set(frontierBits, frontier[i]);
+            }
+        }
+
+        /**
+         * 将位图表示的前沿转换为节点列表
+         */
+        private void toList() {
+            int size = 0;
+            for (int w = 0, words = frontierBits.length(); w < words; w++) {
+                long word = frontierBits.get(w);
+                while (word != 0) {
+                    frontier[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            frontierSize = size;
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package gnova.graph.analysis;
+
+import gnova.core.annotation.NotNull;
+import gnova.core.annotation.ThreadSafe;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 并行的连通分量计算
+ *
+ * <p>使用无锁的并查集：所有的边在{@link ForkJoinPool}中并行地合并其两个节点所在的集合，
+ * 合并时以CAS将ID较大的根节点链接到ID较小的根节点之下，查找时进行路径减半。
+ * 由于父节点的ID只会减小，每个集合的根节点即为其中ID最小的节点，最后顺序地为每个根节点分配连通分量的编号。
+ *
+ * <p>若在ForkJoinPool的任务中调用，则使用当前的线程池，否则使用构造时指定的线程池。
+ *
+ * @see ConnectedComponents
+ * @author birderyu
+ * @version 1.0.0
+ */
+@ThreadSafe
+public final class ParallelConnectedComponents {
+
+    /**
+     * 默认的阈值
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    /**
+     * 使用默认阈值与公共线程池的连通分量计算
+     */
+    public static final ParallelConnectedComponents DEFAULT =
+            new ParallelConnectedComponents(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * 构造一个连通分量计算
+     *
+     * @param threshold 阈值，每个任务顺序处理的节点或边的数量不超过该值，必须为正数
+     * @param pool 执行并行任务的线程池，不允许为null
+     * @throws IllegalArgumentException 若参数不合法，则抛出此异常
+     */
+    public ParallelConnectedComponents(int threshold, @NotNull ForkJoinPool pool) throws IllegalArgumentException {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold should be positive.");
+        }
+        this.threshold = threshold;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * 获取阈值
+     *
+     * @return 阈值
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 计算图的连通分量
+     *
+     * @param graph 图，不允许为null
+     * @return 连通分量，不会返回null
+     */
+    @NotNull
+    public ConnectedComponents find(@NotNull AbstractCsrGraph<?, ?> graph) {
+        int nodeSize = graph.nodeSize();
+        AtomicIntegerArray parents = new AtomicIntegerArray(nodeSize);
+        RangeAction.run(pool, (start, end) -> {
+            for (int n = start; n < end; n++) {
+                parents.set(n, n);
+            }
+        }, 0, nodeSize, threshold);
+        RangeAction.run(pool, (start, end) -> {
+            for (int e = start; e < end; e++) {
+                union(parents, graph.getNodeA(e), graph.getNodeB(e));
+            }
+        }, 0, graph.edgeSize(), threshold);
+
+        int[] labels = new int[nodeSize];
+        RangeAction.run(pool, (start, end) -> {
+            for (int n = start; n < end; n++) {
+                labels[n] = find(parents, n);
+            }
+        }, 0, nodeSize, threshold);
+
+        // 根节点是集合中ID最小的节点，因此在访问其他节点之前已被分配了编号
+        int[] sizes = new int[16];
+        int componentSize = 0;
+        for (int n = 0; n < nodeSize; n++) {
+            if (labels[n] == n) {
+                if (componentSize == sizes.length) {
+                    sizes = Arrays.copyOf(sizes, componentSize << 1);
+                }
+                labels[n] = componentSize++;
+            } else {
+                labels[n] = labels[labels[n]];
+            }
+            sizes[labels[n]]++;
+        }
+        return new ConnectedComponents(graph, labels, Arrays.copyOf(sizes, componentSize));
+    }
+
+    private static int find(AtomicIntegerArray parents, int node) {
+        while (true) {
+            int parent = parents.get(node);
+            if (parent == node) {
+                return node;
+            }
+            int grandparent = parents.get(parent);
+            if (parent != grandparent) {
+                // 路径减半，失败时说明已被其他线程压缩，可以忽略
+                parents.compareAndSet(node, parent, grandparent);
+            }
+            node = grandparent;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parents, int a, int b) {
+        while (true) {
+            int rootA = find(parents, a);
+            int rootB = find(parents, b);
+            if (rootA == rootB) {
+                return;
+            }
+            // 将ID较大的根节点链接到ID较小的根节点之下
+            int high = Math.max(rootA, rootB);
+            int low = Math.min(rootA, rootB);
+            if (parents.compareAndSet(high, high, low)) {
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package gnova.graph.analysis;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 对整数区间[start, end)并行执行的任务
+ *
+ * <p>区间被递归地对半切分，长度不超过粒度的区间在一个任务中顺序执行。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class RangeAction extends RecursiveAction {
+
+    /**
+     * 在一个区间上顺序执行的操作
+     */
+    @FunctionalInterface
+    interface Body {
+
+        void apply(int start, int end);
+
+    }
+
+    private final Body body;
+    private final int start;
+    private final int end;
+    private final int grain;
+
+    private RangeAction(Body body, int start, int end, int grain) {
+        this.body = body;
+        this.start = start;
+        this.end = end;
+        this.grain = grain;
+    }
+
+    /**
+     * 并行执行操作，若在ForkJoinPool的任务中调用，则使用当前的线程池，否则使用指定的线程池
+     *
+     * @param pool 线程池
+     * @param body 操作
+     * @param start 区间的起点
+     * @param end 区间的终点（不包含）
+     * @param grain 粒度
+     */
+    static void run(ForkJoinPool pool, Body body, int start, int end, int grain) {
+        if (end - start <= grain) {
+            // 区间较小时直接在当前线程中执行
+            body.apply(start, end);
+            return;
+        }
+        RangeAction action = new RangeAction(body, start, end, grain);
+        if (ForkJoinTask.inForkJoinPool()) {
+            action.invoke();
+        } else {
+            pool.invoke(action);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= grain) {
+            body.apply(start, end);
+            return;
+        }
+        int middle = (start + end) >>> 1;
+        RangeAction left = new RangeAction(body, start, middle, grain);
+        left.fork();
+        new RangeAction(body, middle, end, grain).compute();
+        left.join();
+    }
+
+}
@@ -0,0 +1,160 @@
+package gnova.graph.io;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.route.ContractionHierarchy;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import gnova.graph.structure.csr.CsrGraphBuilder;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 读取{@link BinaryGraphWriter}写出的图
+ *
+ * <p>根据写出时的类型，读取的结果为{@link gnova.graph.structure.csr.CsrGraph}、
+ * {@link CsrDirectedGraph}或{@link ContractionHierarchy}。
+ *
+ * <p>数组按块读取，只有在数据确实存在时才会扩大，输入被截断时抛出{@link java.io.EOFException}，
+ * 而不会按照头部声明的数量预先分配内存。节点、边与捷径的数量不能超过构造时指定的上限。
+ * 读取时不会预读超出图的内容，读取完成后输入流恰好位于图的末尾，且不会被关闭，
+ * 因此同一个输入流中可以依次存放多张图或其他内容。由于不使用缓冲，对于文件等输入流，
+ * 调用者可以自行使用{@link java.io.BufferedInputStream}包装。
+ *
+ * @see BinaryGraphWriter
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class BinaryGraphReader
+        implements GraphReader {
+
+    /**
+     * 节点、边与捷径的数量的默认上限
+     */
+    public static final int DEFAULT_MAX_SIZE = 1 << 28;
+
+    /**
+     * 每次读取的整数的数量
+     */
+    private static final int CHUNK = 1 << 14;
+
+    private final DataInputStream input;
+    private final int maxSize;
+    private final byte[] buffer = new byte[CHUNK << 2];
+
+    /**
+     * 构造图的读取器，节点、边与捷径的数量不能超过{@link #DEFAULT_MAX_SIZE}
+     *
+     * @param input 输入流，不允许为null
+     */
+    public BinaryGraphReader(@NotNull InputStream input) {
+        this(input, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * 构造图的读取器
+     *
+     * @param input 输入流，不允许为null
+     * @param maxSize 节点、边与捷径的数量的上限，必须为正数
+     * @throws IllegalArgumentException 若上限不为正数，则抛出此异常
+     */
+    public BinaryGraphReader(@NotNull InputStream input, int maxSize) throws IllegalArgumentException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("max size should be positive.");
+        }
+        this.input = new DataInputStream(Objects.requireNonNull(input));
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 读取一张图
+     *
+     * @return 图，不会返回null
+     * @throws IOException 若读取失败，或输入的内容不是合法的图，则抛出此异常
+     */
+    @Override
+    public Graph read() throws IOException {
+        if (input.readInt() != BinaryGraphWriter.MAGIC) {
+            throw new IOException("input is not a binary graph.");
+        }
+        byte version = input.readByte();
+        if (version != BinaryGraphWriter.VERSION) {
+            throw new IOException("unsupported binary graph version: " + version);
+        }
+        byte type = input.readByte();
+        if (type < BinaryGraphWriter.TYPE_GRAPH || type > BinaryGraphWriter.TYPE_CONTRACTION_HIERARCHY) {
+            throw new IOException("unsupported binary graph type: " + type);
+        }
+        int nodeSize = input.readInt();
+        int edgeSize = input.readInt();
+        if (nodeSize < 0 || edgeSize < 0 || nodeSize > maxSize || edgeSize > maxSize) {
+            throw new IOException("invalid graph size: " + nodeSize + ", " + edgeSize);
+        }
+        byte flags = input.readByte();
+
+        int[] nodesA = readInts(edgeSize);
+        int[] nodesB = readInts(edgeSize);
+        int[] nodeWeights = (flags & BinaryGraphWriter.FLAG_NODE_WEIGHTS) != 0 ? readInts(nodeSize) : null;
+        int[] edgeWeights = (flags & BinaryGraphWriter.FLAG_EDGE_WEIGHTS) != 0 ? readInts(edgeSize) : null;
+
+        // 边已经全部读取，节点的数量已受上限约束
+        CsrGraphBuilder builder = new CsrGraphBuilder(nodeSize, edgeSize);
+        try {
+            if (nodeWeights == null) {
+                builder.addNodes(nodeSize);
+            } else {
+                for (int weight : nodeWeights) {
+                    builder.addNode(weight);
+                }
+            }
+            for (int e = 0; e < edgeSize; e++) {
+                builder.addEdge(nodesA[e], nodesB[e], edgeWeights == null ? 1 : edgeWeights[e]);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid graph content.", e);
+        }
+        if (type == BinaryGraphWriter.TYPE_GRAPH) {
+            return builder.build();
+        }
+        CsrDirectedGraph graph = builder.buildDirected();
+        if (type == BinaryGraphWriter.TYPE_DIRECTED_GRAPH) {
+            return graph;
+        }
+
+        int[] ranks = readInts(nodeSize);
+        int shortcutSize = input.readInt();
+        if (shortcutSize < 0 || shortcutSize > maxSize) {
+            throw new IOException("invalid shortcut size: " + shortcutSize);
+        }
+        int[] firsts = readInts(shortcutSize);
+        int[] seconds = readInts(shortcutSize);
+        try {
+            return new ContractionHierarchy(graph, ranks, firsts, seconds);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new IOException("invalid contraction hierarchy content.", e);
+        }
+    }
+
+    /**
+     * 按块读取整数数组，数组的容量随着读取到的数据增长
+     */
+    private int[] readInts(int size) throws IOException {
+        int[] values = new int[Math.min(size, CHUNK)];
+        int count = 0;
+        while (count < size) {
+            int n = Math.min(size - count, CHUNK);
+            input.readFully(buffer, 0, n << 2);
+            if (count + n > values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(size, Math.max(count + n, (long) values.length << 1)));
+            }
+            ByteBuffer.wrap(buffer, 0, n << 2).asIntBuffer().get(values, count, n);
+            count += n;
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,135 @@
+package gnova.graph.io;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.route.ContractionHierarchy;
+import gnova.graph.structure.DirectedGraph;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import gnova.graph.structure.csr.CsrGraph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * 以二进制格式写出图
+ *
+ * <p>图会先被转换为{@link AbstractCsrGraph 压缩稀疏行格式}，写出的内容包括节点的数量、每条边的两个节点以及节点与边的权重，
+ * 节点与边关联的对象不会被写出。若图为{@link ContractionHierarchy 收缩层次}，则还会写出节点的等级与所有的捷径。
+ * 所有的整数均以大端序写出，格式为：
+ * <pre>
+ * int     魔数 0x474E4752
+ * byte    版本号 1
+ * byte    类型：0为无向图，1为有向图，2为收缩层次
+ * int     节点的数量n
+ * int     边的数量m
+ * byte    标志位：1表示包含节点的权重，2表示包含边的权重
+ * int[m]  每条边的节点A
+ * int[m]  每条边的节点B
+ * int[n]  节点的权重（可选）
+ * int[m]  边的权重（可选）
+ * int[n]  节点的等级（收缩层次）
+ * int     捷径的数量k（收缩层次）
+ * int[k]  每条捷径的第一条弧（收缩层次）
+ * int[k]  每条捷径的第二条弧（收缩层次）
+ * </pre>
+ * 写出完成后会刷新输出流，但不会关闭它。
+ *
+ * @see BinaryGraphReader
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class BinaryGraphWriter
+        implements GraphWriter {
+
+    static final int MAGIC = 0x474E4752;
+    static final byte VERSION = 1;
+
+    static final byte TYPE_GRAPH = 0;
+    static final byte TYPE_DIRECTED_GRAPH = 1;
+    static final byte TYPE_CONTRACTION_HIERARCHY = 2;
+
+    static final byte FLAG_NODE_WEIGHTS = 1;
+    static final byte FLAG_EDGE_WEIGHTS = 2;
+
+    private final DataOutputStream output;
+
+    /**
+     * 构造图的写出器
+     *
+     * @param output 输出流，不允许为null
+     */
+    public BinaryGraphWriter(@NotNull OutputStream output) {
+        this.output = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(output), 1 << 16));
+    }
+
+    @Override
+    public void write(Graph g) throws IOException {
+        Objects.requireNonNull(g);
+        AbstractCsrGraph<?, ?> graph;
+        byte type;
+        if (g instanceof ContractionHierarchy) {
+            graph = ((ContractionHierarchy) g).getGraph();
+            type = TYPE_CONTRACTION_HIERARCHY;
+        } else if (g instanceof DirectedGraph) {
+            graph = CsrDirectedGraph.of((DirectedGraph<?, ?>) g);
+            type = TYPE_DIRECTED_GRAPH;
+        } else {
+            graph = CsrGraph.of((Graph<?, ?>) g);
+            type = TYPE_GRAPH;
+        }
+
+        int nodeSize = graph.nodeSize();
+        int edgeSize = graph.edgeSize();
+        boolean nodeWeighted = false;
+        for (int n = 0; n < nodeSize && !nodeWeighted; n++) {
+            nodeWeighted = graph.getNodeWeight(n) != 1;
+        }
+        boolean edgeWeighted = false;
+        for (int e = 0; e < edgeSize && !edgeWeighted; e++) {
+            edgeWeighted = graph.getEdgeWeight(e) != 1;
+        }
+
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(type);
+        output.writeInt(nodeSize);
+        output.writeInt(edgeSize);
+        output.writeByte((nodeWeighted ? FLAG_NODE_WEIGHTS : 0) | (edgeWeighted ? FLAG_EDGE_WEIGHTS : 0));
+        for (int e = 0; e < edgeSize; e++) {
+            output.writeInt(graph.getNodeA(e));
+        }
+        for (int e = 0; e < edgeSize; e++) {
+            output.writeInt(graph.getNodeB(e));
+        }
+        if (nodeWeighted) {
+            for (int n = 0; n < nodeSize; n++) {
+                output.writeInt(graph.getNodeWeight(n));
+            }
+        }
+        if (edgeWeighted) {
+            for (int e = 0; e < edgeSize; e++) {
+                output.writeInt(graph.getEdgeWeight(e));
+            }
+        }
+        if (type == TYPE_CONTRACTION_HIERARCHY) {
+            ContractionHierarchy hierarchy = (ContractionHierarchy) g;
+            for (int n = 0; n < nodeSize; n++) {
+                output.writeInt(hierarchy.getRank(n));
+            }
+            int shortcutSize = hierarchy.getShortcutSize();
+            output.writeInt(shortcutSize);
+            for (int i = 0; i < shortcutSize; i++) {
+                output.writeInt(hierarchy.getShortcutFirst(i));
+            }
+            for (int i = 0; i < shortcutSize; i++) {
+                output.writeInt(hierarchy.getShortcutSecond(i));
+            }
+        }
+        output.flush();
+    }
+
+}
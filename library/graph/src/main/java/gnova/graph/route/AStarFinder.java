@@ -0,0 +1,75 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+import java.util.Objects;
+
+/**
+ * 使用A*算法的最短路径查找器
+ *
+ * <p>与{@link DijkstraFinder}相同，但节点的访问顺序为当前距离与{@link Heuristic 启发函数}的估计值之和，
+ * 使搜索朝向终点进行。若启发函数的估计值不大于实际的长度，则找到的路径一定是最短路径。
+ *
+ * @see Heuristic
+ * @see GeometricHeuristic
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class AStarFinder
+        extends AbstractShortestPathFinder {
+
+    private final Heuristic heuristic;
+    private final SearchSpace space;
+
+    /**
+     * 构造查找器
+     *
+     * @param graph 图，不允许为null
+     * @param heuristic 启发函数，不允许为null
+     * @throws IllegalArgumentException 若图中存在权重为负数的边，则抛出此异常
+     */
+    public AStarFinder(@NotNull AbstractCsrGraph<?, ?> graph,
+                       @NotNull Heuristic heuristic) {
+        super(graph);
+        this.heuristic = Objects.requireNonNull(heuristic);
+        space = new SearchSpace(graph.nodeSize());
+    }
+
+    /**
+     * 获取启发函数
+     *
+     * @return 启发函数，不会返回null
+     */
+    @NotNull
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    ShortestPath doFind(int source, int target) {
+        SearchSpace s = space;
+        IntPriorityQueue queue = s.queue;
+        s.reset();
+        s.relax(source, 0, -1);
+        queue.offer(source, heuristic.estimate(source, target));
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return path(s, source, target);
+            }
+            long du = s.getDistance(u);
+            for (int i = graph.getAdjacencyStart(u), end = graph.getAdjacencyEnd(u); i < end; i++) {
+                int v = graph.getAdjacentNode(i);
+                int e = graph.getAdjacentEdge(i);
+                long dv = du + graph.getEdgeWeight(e);
+                if (s.relax(v, dv, e)) {
+                    // 若启发函数不满足三角不等式，已访问过的节点可能被重新加入堆中
+                    queue.offer(v, dv + heuristic.estimate(v, target));
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,119 @@
+package gnova.graph.route;
+
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+
+import java.util.Objects;
+
+/**
+ * 最短路径查找器的基类，负责参数检查、反向邻接关系的访问与路径的还原
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+abstract class AbstractShortestPathFinder
+        implements ShortestPathFinder {
+
+    final AbstractCsrGraph<?, ?> graph;
+
+    /**
+     * 若图为有向图，则为该图，反向搜索沿入边进行；否则为null，反向搜索与正向搜索相同
+     */
+    private final CsrDirectedGraph directed;
+
+    AbstractShortestPathFinder(AbstractCsrGraph<?, ?> graph) {
+        this.graph = Objects.requireNonNull(graph);
+        this.directed = graph instanceof CsrDirectedGraph ? (CsrDirectedGraph) graph : null;
+        for (int e = 0, n = graph.edgeSize(); e < n; e++) {
+            if (graph.getEdgeWeight(e) < 0) {
+                throw new IllegalArgumentException("edge weight should not be negative: " + e);
+            }
+        }
+    }
+
+    @Override
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    @Override
+    public ShortestPath find(int source, int target) {
+        int nodeSize = graph.nodeSize();
+        if (source < 0 || source >= nodeSize || target < 0 || target >= nodeSize) {
+            throw new IllegalArgumentException("node id should be in [0, " + nodeSize + ").");
+        }
+        if (source == target) {
+            return new ShortestPath(graph, 0, new int[]{source}, new int[0]);
+        }
+        return doFind(source, target);
+    }
+
+    /**
+     * 查找两个不同节点之间的最短路径
+     *
+     * @return 最短路径，若终点不可达，则返回null
+     */
+    abstract ShortestPath doFind(int source, int target);
+
+    int reverseStart(int node) {
+        return directed == null ? graph.getAdjacencyStart(node) : directed.getInAdjacencyStart(node);
+    }
+
+    int reverseEnd(int node) {
+        return directed == null ? graph.getAdjacencyEnd(node) : directed.getInAdjacencyEnd(node);
+    }
+
+    int reverseNode(int slot) {
+        return directed == null ? graph.getAdjacentNode(slot) : directed.getInAdjacentNode(slot);
+    }
+
+    int reverseEdge(int slot) {
+        return directed == null ? graph.getAdjacentEdge(slot) : directed.getInAdjacentEdge(slot);
+    }
+
+    /**
+     * 获取边的另一个节点
+     */
+    int otherNode(int edge, int node) {
+        int a = graph.getNodeA(edge);
+        return a == node ? graph.getNodeB(edge) : a;
+    }
+
+    /**
+     * 沿正向搜索空间中的来边，还原从起点到终点的路径
+     */
+    ShortestPath path(SearchSpace forward, int source, int target) {
+        return path(forward, null, source, target, target);
+    }
+
+    /**
+     * 沿正向搜索空间还原从起点到相遇点的路径，再沿反向搜索空间还原从相遇点到终点的路径
+     */
+    ShortestPath path(SearchSpace forward, SearchSpace backward,
+                      int source, int meet, int target) {
+        int forwardSize = 0;
+        for (int node = meet; node != source; forwardSize++) {
+            node = otherNode(forward.getParentEdge(node), node);
+        }
+        int backwardSize = 0;
+        for (int node = meet; node != target; backwardSize++) {
+            node = otherNode(backward.getParentEdge(node), node);
+        }
+        int[] nodes = new int[forwardSize + backwardSize + 1];
+        int[] edges = new int[forwardSize + backwardSize];
+        nodes[forwardSize] = meet;
+        for (int i = forwardSize - 1, node = meet; i >= 0; i--) {
+            edges[i] = forward.getParentEdge(node);
+            node = otherNode(edges[i], node);
+            nodes[i] = node;
+        }
+        for (int i = forwardSize, node = meet; i < edges.length; i++) {
+            edges[i] = backward.getParentEdge(node);
+            node = otherNode(edges[i], node);
+            nodes[i + 1] = node;
+        }
+        long distance = forward.getDistance(meet) + (backward == null ? 0 : backward.getDistance(meet));
+        return new ShortestPath(graph, distance, nodes, edges);
+    }
+
+}
@@ -0,0 +1,88 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+/**
+ * 使用双向Dijkstra算法的最短路径查找器
+ *
+ * <p>同时从起点沿正向、从终点沿反向（有向图中沿入边）进行搜索，每次扩展堆顶距离较小的一侧，
+ * 当两侧堆顶的距离之和不小于已知的最短路径长度时停止。
+ * 与{@link DijkstraFinder}相比，访问的节点数量通常会显著减少。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class BidirectionalDijkstraFinder
+        extends AbstractShortestPathFinder {
+
+    private final SearchSpace forward;
+    private final SearchSpace backward;
+
+    /**
+     * 构造查找器
+     *
+     * @param graph 图，不允许为null
+     * @throws IllegalArgumentException 若图中存在权重为负数的边，则抛出此异常
+     */
+    public BidirectionalDijkstraFinder(@NotNull AbstractCsrGraph<?, ?> graph) {
+        super(graph);
+        forward = new SearchSpace(graph.nodeSize());
+        backward = new SearchSpace(graph.nodeSize());
+    }
+
+    @Override
+    ShortestPath doFind(int source, int target) {
+        SearchSpace f = forward;
+        SearchSpace b = backward;
+        f.reset();
+        b.reset();
+        f.relax(source, 0, -1);
+        f.queue.offer(source, 0);
+        b.relax(target, 0, -1);
+        b.queue.offer(target, 0);
+
+        long best = Long.MAX_VALUE;
+        int meet = -1;
+        while (!f.queue.isEmpty() && !b.queue.isEmpty()) {
+            long fk = f.queue.peekKey();
+            long bk = b.queue.peekKey();
+            if (fk + bk >= best) {
+                break;
+            }
+            if (fk <= bk) {
+                int u = f.queue.poll();
+                long du = f.getDistance(u);
+                for (int i = graph.getAdjacencyStart(u), end = graph.getAdjacencyEnd(u); i < end; i++) {
+                    int v = graph.getAdjacentNode(i);
+                    int e = graph.getAdjacentEdge(i);
+                    long dv = du + graph.getEdgeWeight(e);
+                    if (f.relax(v, dv, e)) {
+                        f.queue.offer(v, dv);
+                        if (b.isReached(v) && dv + b.getDistance(v) < best) {
+                            best = dv + b.getDistance(v);
+                            meet = v;
+                        }
+                    }
+                }
+            } else {
+                int u = b.queue.poll();
+                long du = b.getDistance(u);
+                for (int i = reverseStart(u), end = reverseEnd(u); i < end; i++) {
+                    int v = reverseNode(i);
+                    int e = reverseEdge(i);
+                    long dv = du + graph.getEdgeWeight(e);
+                    if (b.relax(v, dv, e)) {
+                        b.queue.offer(v, dv);
+                        if (f.isReached(v) && dv + f.getDistance(v) < best) {
+                            best = dv + f.getDistance(v);
+                            meet = v;
+                        }
+                    }
+                }
+            }
+        }
+        return meet < 0 ? null : path(f, b, source, meet, target);
+    }
+
+}
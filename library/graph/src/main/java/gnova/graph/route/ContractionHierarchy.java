@@ -0,0 +1,329 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.DirectedGraph;
+import gnova.graph.structure.csr.CsrDirectedEdge;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import gnova.graph.structure.csr.CsrDirectedNode;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 收缩层次（Contraction Hierarchies）
+ *
+ * <p>收缩层次是对有向图的预处理结果，由节点的收缩顺序（等级）和一组捷径组成。
+ * 按照等级从低到高依次收缩每个节点，若两个邻居节点之间的最短路径必须经过该节点，则在它们之间添加一条捷径。
+ * 查询时只需从起点与终点分别沿等级升高的方向搜索，搜索空间远小于原图。
+ *
+ * <p>原图的边与捷径统一以弧的ID标识：ID小于原图边数量的弧即为原图中ID相同的边，
+ * 其余的弧为捷径，第i条捷径的弧ID为原图边的数量加i。每条捷径由两条相连的弧组成，
+ * 这两条弧的ID均小于该捷径的弧ID。
+ *
+ * <p>作为一张{@link DirectedGraph 有向图}，收缩层次的节点与边即为原图的节点与边，
+ * 因此可以通过{@link gnova.graph.io.GraphWriter}与{@link gnova.graph.io.GraphReader}进行持久化。
+ *
+ * @see ContractionHierarchyBuilder
+ * @see ContractionHierarchyFinder
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class ContractionHierarchy
+        implements DirectedGraph<CsrDirectedNode, CsrDirectedEdge> {
+
+    private final CsrDirectedGraph graph;
+    private final int[] ranks;
+
+    /**
+     * 捷径的组成部分
+     */
+    private final int[] firsts;
+    private final int[] seconds;
+
+    /**
+     * 捷径的入节点、出节点与权重
+     */
+    private final int[] shortcutNodesA;
+    private final int[] shortcutNodesB;
+    private final int[] shortcutWeights;
+
+    /**
+     * 向上的弧：从节点出发、到达等级更高的节点的弧
+     */
+    final int[] upOffsets;
+    final int[] upNodes;
+    final int[] upArcs;
+    final int[] upWeights;
+
+    /**
+     * 向下的弧：到达节点、从等级更高的节点出发的弧，以到达的节点为索引
+     */
+    final int[] downOffsets;
+    final int[] downNodes;
+    final int[] downArcs;
+    final int[] downWeights;
+
+    /**
+     * 构造收缩层次
+     *
+     * @param graph 原图，不允许为null
+     * @param ranks 每个节点的等级，必须是[0, nodeSize)的一个排列，不允许为null
+     * @param firsts 每条捷径的第一条弧的ID，不允许为null
+     * @param seconds 每条捷径的第二条弧的ID，不允许为null
+     * @throws IllegalArgumentException 若等级不是一个排列，或捷径的组成部分不相连，则抛出此异常
+     * @throws ArithmeticException 若捷径的权重超出整数的范围，则抛出此异常
+     */
+    public ContractionHierarchy(@NotNull CsrDirectedGraph graph,
+                                @NotNull int[] ranks,
+                                @NotNull int[] firsts,
+                                @NotNull int[] seconds) {
+        this.graph = Objects.requireNonNull(graph);
+        int nodeSize = graph.nodeSize();
+        int edgeSize = graph.edgeSize();
+        if (ranks.length != nodeSize) {
+            throw new IllegalArgumentException("ranks should have one entry per node.");
+        }
+        boolean[] used = new boolean[nodeSize];
+        for (int rank : ranks) {
+            if (rank < 0 || rank >= nodeSize || used[rank]) {
+                throw new IllegalArgumentException("ranks should be a permutation of [0, " + nodeSize + ").");
+            }
+            used[rank] = true;
+        }
+        if (firsts.length != seconds.length) {
+            throw new IllegalArgumentException("firsts and seconds should have the same length.");
+        }
+        this.ranks = ranks.clone();
+        this.firsts = firsts.clone();
+        this.seconds = seconds.clone();
+
+        int shortcutSize = firsts.length;
+        shortcutNodesA = new int[shortcutSize];
+        shortcutNodesB = new int[shortcutSize];
+        shortcutWeights = new int[shortcutSize];
+        for (int i = 0; i < shortcutSize; i++) {
+            int arc = edgeSize + i;
+            int first = firsts[i];
+            int second = seconds[i];
+            if (first < 0 || first >= arc || second < 0 || second >= arc
+                    || getArcNodeB(first) != getArcNodeA(second)) {
+                throw new IllegalArgumentException("shortcut " + i + " is not made of two connected arcs.");
+            }
+            shortcutNodesA[i] = getArcNodeA(first);
+            shortcutNodesB[i] = getArcNodeB(second);
+            shortcutWeights[i] = Math.addExact(getArcWeight(first), getArcWeight(second));
+        }
+
+        int arcSize = edgeSize + shortcutSize;
+        upOffsets = new int[nodeSize + 1];
+        downOffsets = new int[nodeSize + 1];
+        for (int arc = 0; arc < arcSize; arc++) {
+            int a = getArcNodeA(arc);
+            int b = getArcNodeB(arc);
+            if (a == b) {
+                // 自环不会出现在最短路径中
+                continue;
+            }
+            if (this.ranks[b] > this.ranks[a]) {
+                upOffsets[a + 1]++;
+            } else {
+                downOffsets[b + 1]++;
+            }
+        }
+        for (int n = 0; n < nodeSize; n++) {
+            upOffsets[n + 1] += upOffsets[n];
+            downOffsets[n + 1] += downOffsets[n];
+        }
+        upNodes = new int[upOffsets[nodeSize]];
+        upArcs = new int[upNodes.length];
+        upWeights = new int[upNodes.length];
+        downNodes = new int[downOffsets[nodeSize]];
+        downArcs = new int[downNodes.length];
+        downWeights = new int[downNodes.length];
+        int[] upCursors = new int[nodeSize];
+        int[] downCursors = new int[nodeSize];
+        System.arraycopy(upOffsets, 0, upCursors, 0, nodeSize);
+        System.arraycopy(downOffsets, 0, downCursors, 0, nodeSize);
+        for (int arc = 0; arc < arcSize; arc++) {
+            int a = getArcNodeA(arc);
+            int b = getArcNodeB(arc);
+            if (a == b) {
+                continue;
+            }
+            if (this.ranks[b] > this.ranks[a]) {
+                int slot = upCursors[a]++;
+                upNodes[slot] = b;
+                upArcs[slot] = arc;
+                upWeights[slot] = getArcWeight(arc);
+            } else {
+                int slot = downCursors[b]++;
+                downNodes[slot] = a;
+                downArcs[slot] = arc;
+                downWeights[slot] = getArcWeight(arc);
+            }
+        }
+    }
+
+    /**
+     * 对有向图进行预处理，使用默认的参数构造收缩层次
+     *
+     * @param graph 有向图，不允许为null
+     * @return 收缩层次，不会返回null
+     * @throws IllegalArgumentException 若图中存在权重为负数的边，则抛出此异常
+     * @see ContractionHierarchyBuilder
+     */
+    @NotNull
+    public static ContractionHierarchy build(@NotNull DirectedGraph<?, ?> graph) {
+        return new ContractionHierarchyBuilder().build(CsrDirectedGraph.of(graph));
+    }
+
+    /**
+     * 获取原图
+     *
+     * @return 原图，不会返回null
+     */
+    @NotNull
+    public CsrDirectedGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取节点的等级，即节点被收缩的顺序
+     *
+     * @param node 节点的ID
+     * @return 等级
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+
+    /**
+     * 获取捷径的数量
+     *
+     * @return 捷径的数量
+     */
+    public int getShortcutSize() {
+        return firsts.length;
+    }
+
+    /**
+     * 获取捷径的第一条弧的ID
+     *
+     * @param shortcut 捷径的序号
+     * @return 弧的ID
+     */
+    public int getShortcutFirst(int shortcut) {
+        return firsts[shortcut];
+    }
+
+    /**
+     * 获取捷径的第二条弧的ID
+     *
+     * @param shortcut 捷径的序号
+     * @return 弧的ID
+     */
+    public int getShortcutSecond(int shortcut) {
+        return seconds[shortcut];
+    }
+
+    /**
+     * 获取弧的数量，即原图边的数量与捷径的数量之和
+     *
+     * @return 弧的数量
+     */
+    public int getArcSize() {
+        return graph.edgeSize() + firsts.length;
+    }
+
+    /**
+     * 获取弧的入节点
+     *
+     * @param arc 弧的ID
+     * @return 节点的ID
+     */
+    public int getArcNodeA(int arc) {
+        int edgeSize = graph.edgeSize();
+        return arc < edgeSize ? graph.getNodeA(arc) : shortcutNodesA[arc - edgeSize];
+    }
+
+    /**
+     * 获取弧的出节点
+     *
+     * @param arc 弧的ID
+     * @return 节点的ID
+     */
+    public int getArcNodeB(int arc) {
+        int edgeSize = graph.edgeSize();
+        return arc < edgeSize ? graph.getNodeB(arc) : shortcutNodesB[arc - edgeSize];
+    }
+
+    /**
+     * 获取弧的权重
+     *
+     * @param arc 弧的ID
+     * @return 权重
+     */
+    public int getArcWeight(int arc) {
+        int edgeSize = graph.edgeSize();
+        return arc < edgeSize ? graph.getEdgeWeight(arc) : shortcutWeights[arc - edgeSize];
+    }
+
+    /**
+     * 将依次相连的弧展开为原图中的边
+     *
+     * @param arcs 弧的ID
+     * @param size 弧的数量
+     * @return 边的ID
+     */
+    int[] unpack(int[] arcs, int size) {
+        int edgeSize = graph.edgeSize();
+        int[] edges = new int[Math.max(size, 16)];
+        int[] stack = new int[16];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int top = 0;
+            stack[top++] = arcs[i];
+            while (top > 0) {
+                int current = stack[--top];
+                if (current < edgeSize) {
+                    if (count == edges.length) {
+                        edges = Arrays.copyOf(edges, count << 1);
+                    }
+                    edges[count++] = current;
+                } else {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length << 1);
+                    }
+                    // 先压入第二条弧，使第一条弧先被展开
+                    stack[top++] = seconds[current - edgeSize];
+                    stack[top++] = firsts[current - edgeSize];
+                }
+            }
+        }
+        return Arrays.copyOf(edges, count);
+    }
+
+    @Override
+    public int nodeSize() {
+        return graph.nodeSize();
+    }
+
+    @Override
+    public int edgeSize() {
+        return graph.edgeSize();
+    }
+
+    @Override
+    public Set<CsrDirectedNode> nodeSet() {
+        return graph.nodeSet();
+    }
+
+    @Override
+    public Set<CsrDirectedEdge> edgeSet() {
+        return graph.edgeSet();
+    }
+
+}
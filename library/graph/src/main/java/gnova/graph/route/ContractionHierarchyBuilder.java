@@ -0,0 +1,384 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+
+import java.util.Arrays;
+
+/**
+ * 收缩层次的构造器
+ *
+ * <p>节点的收缩顺序由优先级决定，优先级综合考虑了收缩该节点需要添加的捷径数量与移除的弧数量之差、
+ * 已被收缩的邻居数量以及节点在层次中的深度，优先级在节点出队时惰性地重新计算。
+ * 收缩节点v时，对每个入邻居u执行一次不经过v的局部搜索（见证搜索），
+ * 若找不到从u到出邻居w的不长于u-v-w的路径，则添加捷径u-w。
+ * 见证搜索访问的节点数量受{@link #getWitnessLimit() 上限}约束，上限越小，预处理越快，但捷径越多。
+ *
+ * <p>预处理通常是离线进行的，结果可以通过{@link gnova.graph.io.GraphWriter}持久化。
+ * 构造器本身没有状态，可以在多个线程中同时使用。
+ *
+ * @see ContractionHierarchy
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class ContractionHierarchyBuilder {
+
+    /**
+     * 默认的见证搜索访问的节点数量上限
+     */
+    public static final int DEFAULT_WITNESS_LIMIT = 500;
+
+    private final int witnessLimit;
+
+    public ContractionHierarchyBuilder() {
+        this(DEFAULT_WITNESS_LIMIT);
+    }
+
+    /**
+     * 构造收缩层次的构造器
+     *
+     * @param witnessLimit 见证搜索访问的节点数量上限，必须为正数
+     */
+    public ContractionHierarchyBuilder(int witnessLimit) {
+        if (witnessLimit <= 0) {
+            throw new IllegalArgumentException("witnessLimit should be positive.");
+        }
+        this.witnessLimit = witnessLimit;
+    }
+
+    /**
+     * 获取见证搜索访问的节点数量上限
+     *
+     * @return 节点数量上限
+     */
+    public int getWitnessLimit() {
+        return witnessLimit;
+    }
+
+    /**
+     * 对有向图进行预处理
+     *
+     * @param graph 有向图，不允许为null
+     * @return 收缩层次，不会返回null
+     * @throws IllegalArgumentException 若图中存在权重为负数的边，则抛出此异常
+     */
+    @NotNull
+    public ContractionHierarchy build(@NotNull CsrDirectedGraph graph) {
+        return new Contraction(graph, witnessLimit).run();
+    }
+
+    /**
+     * 一次预处理的状态
+     */
+    private static final class Contraction {
+
+        private final CsrDirectedGraph graph;
+        private final int nodeSize;
+        private final int edgeSize;
+        private final int witnessLimit;
+
+        /**
+         * 所有弧的入节点、出节点与权重，前edgeSize条弧为原图的边
+         */
+        private int[] arcsA;
+        private int[] arcsB;
+        private int[] weights;
+        private int arcSize;
+
+        /**
+         * 捷径的组成部分
+         */
+        private int[] firsts;
+        private int[] seconds;
+
+        /**
+         * 每个节点尚未被收缩的出弧与入弧
+         */
+        private final int[][] outs;
+        private final int[] outSizes;
+        private final int[][] ins;
+        private final int[] inSizes;
+
+        private final int[] contractedNeighbors;
+        private final int[] depths;
+
+        private final SearchSpace witness;
+
+        /**
+         * 用于在收缩时去除平行弧的标记
+         */
+        private final int[] bestIns;
+        private final int[] bestOuts;
+        private final int[] inMarks;
+        private final int[] outMarks;
+        private int mark = 0;
+
+        /**
+         * 用于在更新邻居的优先级时去除重复的邻居的标记
+         */
+        private final int[] neighborMarks;
+        private int neighborMark = 0;
+
+        Contraction(CsrDirectedGraph graph, int witnessLimit) {
+            this.graph = graph;
+            this.nodeSize = graph.nodeSize();
+            this.edgeSize = graph.edgeSize();
+            this.witnessLimit = witnessLimit;
+            int capacity = Math.max(16, edgeSize + (edgeSize >> 1));
+            arcsA = new int[capacity];
+            arcsB = new int[capacity];
+            weights = new int[capacity];
+            firsts = new int[16];
+            seconds = new int[16];
+            outs = new int[nodeSize][];
+            outSizes = new int[nodeSize];
+            ins = new int[nodeSize][];
+            inSizes = new int[nodeSize];
+            neighborMarks = new int[nodeSize];
+            contractedNeighbors = new int[nodeSize];
+            depths = new int[nodeSize];
+            witness = new SearchSpace(nodeSize);
+            bestIns = new int[nodeSize];
+            bestOuts = new int[nodeSize];
+            inMarks = new int[nodeSize];
+            outMarks = new int[nodeSize];
+        }
+
+        ContractionHierarchy run() {
+            for (int n = 0; n < nodeSize; n++) {
+                outs[n] = new int[Math.max(2, graph.getOutDegree(n))];
+                ins[n] = new int[Math.max(2, graph.getInDegree(n))];
+            }
+            for (int e = 0; e < edgeSize; e++) {
+                int weight = graph.getEdgeWeight(e);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("edge weight should not be negative: " + e);
+                }
+                int a = graph.getNodeA(e);
+                int b = graph.getNodeB(e);
+                arcsA[e] = a;
+                arcsB[e] = b;
+                weights[e] = weight;
+                if (a != b) {
+                    // 自环不会出现在最短路径中
+                    outs[a][outSizes[a]++] = e;
+                    ins[b][inSizes[b]++] = e;
+                }
+            }
+            arcSize = edgeSize;
+
+            IntPriorityQueue order = new IntPriorityQueue(nodeSize);
+            for (int n = 0; n < nodeSize; n++) {
+                order.offer(n, priority(n));
+            }
+            int[] ranks = new int[nodeSize];
+            int rank = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                long priority = priority(v);
+                if (!order.isEmpty() && priority > order.peekKey()) {
+                    // 优先级已过期，重新入队
+                    order.offer(v, priority);
+                    continue;
+                }
+                contract(v, false);
+                ranks[v] = rank++;
+                // 更新邻居的优先级
+                neighborMark++;
+                for (int i = 0; i < inSizes[v]; i++) {
+                    updateNeighbor(order, v, arcsA[ins[v][i]]);
+                }
+                for (int i = 0; i < outSizes[v]; i++) {
+                    updateNeighbor(order, v, arcsB[outs[v][i]]);
+                }
+                outs[v] = null;
+                ins[v] = null;
+            }
+            int shortcutSize = arcSize - edgeSize;
+            return new ContractionHierarchy(graph, ranks,
+                    Arrays.copyOf(firsts, shortcutSize), Arrays.copyOf(seconds, shortcutSize));
+        }
+
+        private void updateNeighbor(IntPriorityQueue order, int v, int neighbor) {
+            if (neighborMarks[neighbor] == neighborMark) {
+                return;
+            }
+            neighborMarks[neighbor] = neighborMark;
+            contractedNeighbors[neighbor]++;
+            depths[neighbor] = Math.max(depths[neighbor], depths[v] + 1);
+            order.update(neighbor, priority(neighbor));
+        }
+
+        private long priority(int v) {
+            int shortcuts = contract(v, true);
+            int removed = inSizes[v] + outSizes[v];
+            return 2L * (shortcuts - removed) + contractedNeighbors[v] + depths[v];
+        }
+
+        /**
+         * 收缩节点
+         *
+         * @param v 节点
+         * @param simulate 若为true，则只统计需要添加的捷径数量，不修改图
+         * @return 需要添加的捷径数量，不包括已存在不长于捷径的弧的情况
+         */
+        private int contract(int v, boolean simulate) {
+            int[] in = ins[v];
+            int[] out = outs[v];
+            int inSize = inSizes[v];
+            int outSize = outSizes[v];
+
+            // 对于平行的弧，只保留权重最小的一条
+            mark++;
+            for (int i = 0; i < inSize; i++) {
+                int arc = in[i];
+                int u = arcsA[arc];
+                if (inMarks[u] != mark || weights[arc] < weights[bestIns[u]]) {
+                    inMarks[u] = mark;
+                    bestIns[u] = arc;
+                }
+            }
+            long maxOut = 0;
+            for (int i = 0; i < outSize; i++) {
+                int arc = out[i];
+                int w = arcsB[arc];
+                if (outMarks[w] != mark || weights[arc] < weights[bestOuts[w]]) {
+                    outMarks[w] = mark;
+                    bestOuts[w] = arc;
+                }
+                maxOut = Math.max(maxOut, weights[arc]);
+            }
+
+            int shortcuts = 0;
+            for (int i = 0; i < inSize; i++) {
+                int first = in[i];
+                int u = arcsA[first];
+                if (bestIns[u] != first) {
+                    continue;
+                }
+                search(u, v, weights[first] + maxOut);
+                for (int j = 0; j < outSize; j++) {
+                    int second = out[j];
+                    int w = arcsB[second];
+                    if (w == u || bestOuts[w] != second) {
+                        continue;
+                    }
+                    long via = (long) weights[first] + weights[second];
+                    if (witness.getDistance(w) <= via) {
+                        continue;
+                    }
+                    if (simulate ? !hasArc(u, w, via) : addShortcut(u, w, first, second, via)) {
+                        shortcuts++;
+                    }
+                }
+            }
+
+            if (!simulate) {
+                for (int i = 0; i < inSize; i++) {
+                    int u = arcsA[in[i]];
+                    outSizes[u] = remove(outs[u], outSizes[u], in[i]);
+                }
+                for (int i = 0; i < outSize; i++) {
+                    int w = arcsB[out[i]];
+                    inSizes[w] = remove(ins[w], inSizes[w], out[i]);
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * 见证搜索：从节点u出发，不经过节点v，搜索距离不超过limit的节点
+         */
+        private void search(int u, int v, long limit) {
+            SearchSpace s = witness;
+            IntPriorityQueue queue = s.queue;
+            s.reset();
+            s.relax(u, 0, -1);
+            queue.offer(u, 0);
+            int settled = 0;
+            while (!queue.isEmpty() && queue.peekKey() <= limit && settled++ < witnessLimit) {
+                int x = queue.poll();
+                long dx = s.getDistance(x);
+                int[] out = outs[x];
+                for (int i = 0, size = outSizes[x]; i < size; i++) {
+                    int arc = out[i];
+                    int y = arcsB[arc];
+                    if (y == v) {
+                        continue;
+                    }
+                    long dy = dx + weights[arc];
+                    if (s.relax(y, dy, arc)) {
+                        queue.offer(y, dy);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 判断是否已存在从节点u到节点w、权重不超过via的弧
+         */
+        private boolean hasArc(int u, int w, long via) {
+            int[] out = outs[u];
+            for (int i = 0, size = outSizes[u]; i < size; i++) {
+                if (arcsB[out[i]] == w && weights[out[i]] <= via) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 添加从节点u到节点w的捷径
+         *
+         * @return 若已存在不长于捷径的弧而没有添加，则返回false
+         */
+        private boolean addShortcut(int u, int w, int first, int second, long via) {
+            if (hasArc(u, w, via)) {
+                return false;
+            }
+            if (via > Integer.MAX_VALUE) {
+                throw new ArithmeticException("shortcut weight overflows: " + via);
+            }
+            if (arcSize == arcsA.length) {
+                int capacity = arcSize + (arcSize >> 1);
+                arcsA = Arrays.copyOf(arcsA, capacity);
+                arcsB = Arrays.copyOf(arcsB, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            int shortcut = arcSize - edgeSize;
+            if (shortcut == firsts.length) {
+                firsts = Arrays.copyOf(firsts, shortcut << 1);
+                seconds = Arrays.copyOf(seconds, shortcut << 1);
+            }
+            int arc = arcSize++;
+            arcsA[arc] = u;
+            arcsB[arc] = w;
+            weights[arc] = (int) via;
+            firsts[shortcut] = first;
+            seconds[shortcut] = second;
+            outs[u] = add(outs[u], outSizes[u]++, arc);
+            ins[w] = add(ins[w], inSizes[w]++, arc);
+            return true;
+        }
+
+        private static int[] add(int[] list, int size, int arc) {
+            if (size == list.length) {
+                list = Arrays.copyOf(list, size + (size >> 1) + 1);
+            }
+            list[size] = arc;
+            return list;
+        }
+
+        private static int remove(int[] list, int size, int arc) {
+            for (int i = 0; i < size; i++) {
+                if (list[i] == arc) {
+                    list[i] = list[--size];
+                    return size;
+                }
+            }
+            return size;
+        }
+
+    }
+
+}
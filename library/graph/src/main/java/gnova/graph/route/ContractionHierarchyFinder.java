@@ -0,0 +1,186 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+
+/**
+ * 基于收缩层次的最短路径查找器
+ *
+ * <p>同时从起点沿向上的弧、从终点沿向下的弧的反方向进行搜索，两侧都只访问等级更高的节点，
+ * 当一侧堆顶的距离不小于已知的最短路径长度时该侧停止。若一个节点可以经由等级更高的节点以更短的距离到达，
+ * 则该节点不会被继续扩展（stall-on-demand）。找到的路径中的捷径会被展开为原图中的边。
+ *
+ * @see ContractionHierarchy
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class ContractionHierarchyFinder
+        extends AbstractShortestPathFinder {
+
+    private final ContractionHierarchy hierarchy;
+    private final SearchSpace forward;
+    private final SearchSpace backward;
+
+    /**
+     * 相遇点，由{@link #search(int, int)}设置
+     */
+    private int meet;
+
+    /**
+     * 构造查找器
+     *
+     * @param hierarchy 收缩层次，不允许为null
+     */
+    public ContractionHierarchyFinder(@NotNull ContractionHierarchy hierarchy) {
+        super(hierarchy.getGraph());
+        this.hierarchy = hierarchy;
+        forward = new SearchSpace(hierarchy.nodeSize());
+        backward = new SearchSpace(hierarchy.nodeSize());
+    }
+
+    /**
+     * 获取收缩层次
+     *
+     * @return 收缩层次，不会返回null
+     */
+    @NotNull
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * 查找两个节点之间的最短路径的长度，不展开路径
+     *
+     * @param source 起点的ID
+     * @param target 终点的ID
+     * @return 最短路径的长度，若终点不可达，则返回-1
+     * @throws IllegalArgumentException 若节点的ID不存在，则抛出此异常
+     */
+    public long findDistance(int source, int target) {
+        int nodeSize = hierarchy.nodeSize();
+        if (source < 0 || source >= nodeSize || target < 0 || target >= nodeSize) {
+            throw new IllegalArgumentException("node id should be in [0, " + nodeSize + ").");
+        }
+        if (source == target) {
+            return 0;
+        }
+        long distance = search(source, target);
+        return distance == Long.MAX_VALUE ? -1 : distance;
+    }
+
+    @Override
+    ShortestPath doFind(int source, int target) {
+        long distance = search(source, target);
+        if (distance == Long.MAX_VALUE) {
+            return null;
+        }
+
+        // 收集从起点到相遇点、再到终点的弧
+        int forwardSize = 0;
+        for (int node = meet; node != source; forwardSize++) {
+            node = hierarchy.getArcNodeA(forward.getParentEdge(node));
+        }
+        int backwardSize = 0;
+        for (int node = meet; node != target; backwardSize++) {
+            node = hierarchy.getArcNodeB(backward.getParentEdge(node));
+        }
+        int[] arcs = new int[forwardSize + backwardSize];
+        for (int i = forwardSize - 1, node = meet; i >= 0; i--) {
+            arcs[i] = forward.getParentEdge(node);
+            node = hierarchy.getArcNodeA(arcs[i]);
+        }
+        for (int i = forwardSize, node = meet; i < arcs.length; i++) {
+            arcs[i] = backward.getParentEdge(node);
+            node = hierarchy.getArcNodeB(arcs[i]);
+        }
+
+        int[] edges = hierarchy.unpack(arcs, arcs.length);
+        int[] nodes = new int[edges.length + 1];
+        nodes[0] = source;
+        for (int i = 0; i < edges.length; i++) {
+            nodes[i + 1] = graph.getNodeB(edges[i]);
+        }
+        return new ShortestPath(graph, distance, nodes, edges);
+    }
+
+    /**
+     * 执行双向的向上搜索
+     *
+     * @return 最短路径的长度，若终点不可达，则返回{@link Long#MAX_VALUE}
+     */
+    private long search(int source, int target) {
+        ContractionHierarchy h = hierarchy;
+        SearchSpace f = forward;
+        SearchSpace b = backward;
+        f.reset();
+        b.reset();
+        f.relax(source, 0, -1);
+        f.queue.offer(source, 0);
+        b.relax(target, 0, -1);
+        b.queue.offer(target, 0);
+
+        long best = Long.MAX_VALUE;
+        meet = -1;
+        while (true) {
+            long fk = f.queue.peekKey();
+            long bk = b.queue.peekKey();
+            boolean forwardActive = fk < best;
+            boolean backwardActive = bk < best;
+            if (!forwardActive && !backwardActive) {
+                break;
+            }
+            if (forwardActive && (!backwardActive || fk <= bk)) {
+                int u = f.queue.poll();
+                long du = f.getDistance(u);
+                if (b.isReached(u) && du + b.getDistance(u) < best) {
+                    best = du + b.getDistance(u);
+                    meet = u;
+                }
+                if (stalled(f, u, du, h.downOffsets, h.downNodes, h.downWeights)) {
+                    continue;
+                }
+                for (int i = h.upOffsets[u], end = h.upOffsets[u + 1]; i < end; i++) {
+                    int v = h.upNodes[i];
+                    long dv = du + h.upWeights[i];
+                    if (f.relax(v, dv, h.upArcs[i])) {
+                        f.queue.offer(v, dv);
+                    }
+                }
+            } else {
+                int u = b.queue.poll();
+                long du = b.getDistance(u);
+                if (f.isReached(u) && du + f.getDistance(u) < best) {
+                    best = du + f.getDistance(u);
+                    meet = u;
+                }
+                if (stalled(b, u, du, h.upOffsets, h.upNodes, h.upWeights)) {
+                    continue;
+                }
+                for (int i = h.downOffsets[u], end = h.downOffsets[u + 1]; i < end; i++) {
+                    int v = h.downNodes[i];
+                    long dv = du + h.downWeights[i];
+                    if (b.relax(v, dv, h.downArcs[i])) {
+                        b.queue.offer(v, dv);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 判断节点是否可以经由等级更高的、已到达的节点以更短的距离到达
+     *
+     * @param offsets 以节点为索引的、连接等级更高的节点的反方向的弧
+     */
+    private static boolean stalled(SearchSpace s, int u, long du,
+                                   int[] offsets, int[] nodes, int[] weights) {
+        for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+            int v = nodes[i];
+            if (s.isReached(v) && s.getDistance(v) + weights[i] < du) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
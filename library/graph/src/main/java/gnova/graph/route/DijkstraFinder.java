@@ -0,0 +1,56 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+/**
+ * 使用Dijkstra算法的最短路径查找器
+ *
+ * <p>搜索从起点开始，按照距离从小到大的顺序访问节点，直到访问到终点为止。
+ * 距离以索引二叉堆维护，搜索空间在多次查找之间复用，单次查找的开销仅与访问过的节点数量有关。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class DijkstraFinder
+        extends AbstractShortestPathFinder {
+
+    private final SearchSpace space;
+
+    /**
+     * 构造查找器
+     *
+     * @param graph 图，不允许为null
+     * @throws IllegalArgumentException 若图中存在权重为负数的边，则抛出此异常
+     */
+    public DijkstraFinder(@NotNull AbstractCsrGraph<?, ?> graph) {
+        super(graph);
+        space = new SearchSpace(graph.nodeSize());
+    }
+
+    @Override
+    ShortestPath doFind(int source, int target) {
+        SearchSpace s = space;
+        IntPriorityQueue queue = s.queue;
+        s.reset();
+        s.relax(source, 0, -1);
+        queue.offer(source, 0);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return path(s, source, target);
+            }
+            long du = s.getDistance(u);
+            for (int i = graph.getAdjacencyStart(u), end = graph.getAdjacencyEnd(u); i < end; i++) {
+                int v = graph.getAdjacentNode(i);
+                int e = graph.getAdjacentEdge(i);
+                long dv = du + graph.getEdgeWeight(e);
+                if (s.relax(v, dv, e)) {
+                    queue.offer(v, dv);
+                }
+            }
+        }
+        return null;
+    }
+
+}
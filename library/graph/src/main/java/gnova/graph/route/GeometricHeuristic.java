@@ -0,0 +1,71 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.geometry.model.Coordinate;
+
+/**
+ * 基于节点坐标的启发函数
+ *
+ * <p>估计值为两个节点之间的平面直线距离乘以系数并向下取整，系数应为单位直线距离所对应的最小边权重，
+ * 例如边的权重为以秒计的通行时间、坐标以米为单位时，系数为最大速度（米/秒）的倒数。
+ * 系数不大于任何一条边的权重与其两个节点之间直线距离的比值时，估计值满足三角不等式。
+ * 坐标未知的节点的估计值为0。
+ *
+ * <p>使用该启发函数需要依赖gnova-geometry。
+ *
+ * @see AStarFinder
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class GeometricHeuristic
+        implements Heuristic {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double factor;
+
+    /**
+     * 构造启发函数
+     *
+     * @param coordinates 按照节点的ID排列的坐标，不允许为null，若元素为null，则表示该节点的坐标未知
+     * @param factor 单位直线距离所对应的最小边权重，必须为非负的有限值
+     * @throws IllegalArgumentException 若系数为负数或不是有限值，则抛出此异常
+     */
+    public GeometricHeuristic(@NotNull Coordinate[] coordinates, double factor) {
+        if (!(factor >= 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("factor should be a non-negative finite number.");
+        }
+        this.factor = factor;
+        xs = new double[coordinates.length];
+        ys = new double[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            Coordinate c = coordinates[i];
+            xs[i] = c == null ? Double.NaN : c.getX();
+            ys[i] = c == null ? Double.NaN : c.getY();
+        }
+    }
+
+    /**
+     * 获取系数
+     *
+     * @return 单位直线距离所对应的最小边权重
+     */
+    public double getFactor() {
+        return factor;
+    }
+
+    @Override
+    public long estimate(int node, int target) {
+        if (node >= xs.length || target >= xs.length) {
+            return 0;
+        }
+        double dx = xs[node] - xs[target];
+        double dy = ys[node] - ys[target];
+        double estimate = Math.sqrt(dx * dx + dy * dy) * factor;
+        // 坐标未知时为NaN
+        return estimate >= 0 ? (long) estimate : 0;
+    }
+
+}
@@ -0,0 +1,31 @@
+package gnova.graph.route;
+
+/**
+ * A*算法的启发函数
+ *
+ * <p>启发函数估计从一个节点到终点的最短路径的长度，估计值不能大于实际的长度，否则A*算法无法保证找到最短路径。
+ * 若估计值还满足三角不等式（即对任意边(u, v)，h(u) &lt;= w(u, v) + h(v)），则每个节点只会被访问一次。
+ *
+ * @see AStarFinder
+ * @see GeometricHeuristic
+ * @author birderyu
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * 不提供任何估计的启发函数，此时A*算法等同于Dijkstra算法
+     */
+    Heuristic ZERO = (node, target) -> 0;
+
+    /**
+     * 估计从节点到终点的最短路径的长度
+     *
+     * @param node 节点的ID
+     * @param target 终点的ID
+     * @return 估计的长度，不能为负数
+     */
+    long estimate(int node, int target);
+
+}
@@ -0,0 +1,149 @@
+package gnova.graph.route;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * 以整数ID为元素、以长整数为键的索引二叉最小堆
+ *
+ * <p>元素的取值范围为[0, capacity)，每个元素在堆中最多出现一次，支持降低键值。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class IntPriorityQueue {
+
+    private final int[] heap;
+    private final long[] keys;
+
+    /**
+     * 元素在堆中的位置，若元素不在堆中，则为-1
+     */
+    private final int[] positions;
+
+    private int size = 0;
+
+    IntPriorityQueue(int capacity) {
+        heap = new int[capacity];
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * 获取堆顶的键值
+     *
+     * @return 键值，若堆为空，则返回{@link Long#MAX_VALUE}
+     */
+    long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[0];
+    }
+
+    /**
+     * 插入一个元素，若元素已在堆中且新的键值更小，则降低其键值
+     *
+     * @param element 元素
+     * @param key 键值
+     */
+    void offer(int element, long key) {
+        int position = positions[element];
+        if (position < 0) {
+            position = size++;
+        } else if (key >= keys[position]) {
+            return;
+        }
+        siftUp(position, element, key);
+    }
+
+    /**
+     * 插入一个元素，若元素已在堆中，则将其键值修改为新的键值
+     *
+     * @param element 元素
+     * @param key 键值
+     */
+    void update(int element, long key) {
+        int position = positions[element];
+        if (position < 0) {
+            siftUp(size++, element, key);
+        } else if (key < keys[position]) {
+            siftUp(position, element, key);
+        } else {
+            siftDown(position, element, key);
+        }
+    }
+
+    /**
+     * 弹出键值最小的元素
+     *
+     * @return 元素
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int top = heap[0];
+        positions[top] = -1;
+        if (--size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return top;
+    }
+
+    /**
+     * 清空堆，时间复杂度与堆中元素的数量成正比
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position, int element, long key) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(position, heap[parent], keys[parent]);
+            position = parent;
+        }
+        place(position, element, key);
+    }
+
+    private void siftDown(int position, int element, long key) {
+        int half = size >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            place(position, heap[child], keys[child]);
+            position = child;
+        }
+        place(position, element, key);
+    }
+
+    private void place(int position, int element, long key) {
+        heap[position] = element;
+        keys[position] = key;
+        positions[element] = position;
+    }
+
+}
@@ -0,0 +1,69 @@
+package gnova.graph.route;
+
+import java.util.Arrays;
+
+/**
+ * 单向最短路径搜索的搜索空间
+ *
+ * <p>记录每个节点的当前距离与到达该节点的边，以版本号标记节点是否在本次搜索中被访问过，
+ * 因此每次搜索前的重置不需要清空整个数组。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+final class SearchSpace {
+
+    private final long[] distances;
+    private final int[] parentEdges;
+    private final int[] versions;
+    private int version = 0;
+
+    final IntPriorityQueue queue;
+
+    SearchSpace(int capacity) {
+        distances = new long[capacity];
+        parentEdges = new int[capacity];
+        versions = new int[capacity];
+        queue = new IntPriorityQueue(capacity);
+    }
+
+    /**
+     * 开始一次新的搜索
+     */
+    void reset() {
+        queue.clear();
+        if (++version == 0) {
+            // 版本号溢出后重新开始计数
+            Arrays.fill(versions, 0);
+            version = 1;
+        }
+    }
+
+    boolean isReached(int node) {
+        return versions[node] == version;
+    }
+
+    long getDistance(int node) {
+        return versions[node] == version ? distances[node] : Long.MAX_VALUE;
+    }
+
+    int getParentEdge(int node) {
+        return parentEdges[node];
+    }
+
+    /**
+     * 若新的距离更短，则更新节点的距离与到达该节点的边
+     *
+     * @return 是否更新
+     */
+    boolean relax(int node, long distance, int parentEdge) {
+        if (versions[node] == version && distances[node] <= distance) {
+            return false;
+        }
+        versions[node] = version;
+        distances[node] = distance;
+        parentEdges[node] = parentEdge;
+        return true;
+    }
+
+}
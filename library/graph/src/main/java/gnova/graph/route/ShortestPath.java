@@ -0,0 +1,144 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.Immutable;
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.util.GraphPath;
+import gnova.graph.util.SimpleGraphPath;
+
+import java.util.Arrays;
+
+/**
+ * 最短路径
+ *
+ * <p>最短路径由k + 1个节点和k条边组成，第i条边连接第i个节点与第i + 1个节点，
+ * 路径的长度为所有边的权重之和。
+ *
+ * @see ShortestPathFinder
+ * @author birderyu
+ * @version 1.0.0
+ */
+@Immutable
+public final class ShortestPath {
+
+    private final AbstractCsrGraph<?, ?> graph;
+    private final long distance;
+    private final int[] nodes;
+    private final int[] edges;
+
+    ShortestPath(AbstractCsrGraph<?, ?> graph, long distance, int[] nodes, int[] edges) {
+        this.graph = graph;
+        this.distance = distance;
+        this.nodes = nodes;
+        this.edges = edges;
+    }
+
+    /**
+     * 获取路径所在的图
+     *
+     * @return 图，不会返回null
+     */
+    @NotNull
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取路径的长度，即所有边的权重之和
+     *
+     * @return 路径的长度
+     */
+    public long getDistance() {
+        return distance;
+    }
+
+    /**
+     * 获取起点的ID
+     *
+     * @return 节点的ID
+     */
+    public int getSource() {
+        return nodes[0];
+    }
+
+    /**
+     * 获取终点的ID
+     *
+     * @return 节点的ID
+     */
+    public int getTarget() {
+        return nodes[nodes.length - 1];
+    }
+
+    /**
+     * 获取路径所经过的边的数量
+     *
+     * @return 边的数量
+     */
+    public int getEdgeSize() {
+        return edges.length;
+    }
+
+    /**
+     * 获取路径所经过的第n个节点的ID
+     *
+     * @param n 节点的序号，取值范围为[0, getEdgeSize()]
+     * @return 节点的ID
+     */
+    public int getNodeAt(int n) {
+        return nodes[n];
+    }
+
+    /**
+     * 获取路径所经过的第n条边的ID
+     *
+     * @param n 边的序号，取值范围为[0, getEdgeSize())
+     * @return 边的ID
+     */
+    public int getEdgeAt(int n) {
+        return edges[n];
+    }
+
+    /**
+     * 获取路径所经过的节点的ID的副本
+     *
+     * @return 节点的ID，不会返回null
+     */
+    @NotNull
+    public int[] getNodes() {
+        return nodes.clone();
+    }
+
+    /**
+     * 获取路径所经过的边的ID的副本
+     *
+     * @return 边的ID，不会返回null
+     */
+    @NotNull
+    public int[] getEdges() {
+        return edges.clone();
+    }
+
+    /**
+     * 转换为轨迹，轨迹中依次为起点、第一条边、第二个节点……终点
+     *
+     * @return 轨迹，不会返回null
+     */
+    @NotNull
+    public GraphPath<Graphable> toGraphPath() {
+        GraphPath<Graphable> path = new SimpleGraphPath<>();
+        path.push(graph.getNode(nodes[0]));
+        for (int i = 0; i < edges.length; i++) {
+            path.push(graph.getEdge(edges[i]));
+            path.push(graph.getNode(nodes[i + 1]));
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "ShortestPath{distance=" + distance + ", nodes=" + Arrays.toString(nodes) + "}";
+    }
+
+}
@@ -0,0 +1,59 @@
+package gnova.graph.route;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.Node;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.util.GraphPath;
+
+/**
+ * 最短路径查找器
+ *
+ * <p>查找器工作在{@link AbstractCsrGraph 压缩稀疏行格式的图}上，路径的长度为所经过的边的权重之和，
+ * 边的权重不能为负数。其他格式的图可以通过{@link gnova.graph.structure.csr.CsrGraph#of}
+ * 或{@link gnova.graph.structure.csr.CsrDirectedGraph#of}转换。
+ * 查找器会复用内部的搜索空间，不是线程安全的，每个线程应使用独立的实例。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public interface ShortestPathFinder {
+
+    /**
+     * 获取查找器所在的图
+     *
+     * @return 图，不会返回null
+     */
+    @NotNull
+    AbstractCsrGraph<?, ?> getGraph();
+
+    /**
+     * 查找两个节点之间的最短路径
+     *
+     * @param source 起点的ID
+     * @param target 终点的ID
+     * @return 最短路径，若终点不可达，则返回null
+     * @throws IllegalArgumentException 若节点的ID不存在，则抛出此异常
+     */
+    ShortestPath find(int source, int target);
+
+    /**
+     * 查找两个节点之间的最短路径，并以轨迹的形式返回
+     *
+     * @param source 起点，必须是{@link #getGraph()}中的节点，不允许为null
+     * @param target 终点，必须是{@link #getGraph()}中的节点，不允许为null
+     * @return 轨迹，若终点不可达，则返回null
+     * @throws IllegalArgumentException 若节点不属于图，则抛出此异常
+     * @see ShortestPath#toGraphPath()
+     */
+    default GraphPath<Graphable> findPath(@NotNull Node source, @NotNull Node target) {
+        int s = getGraph().getNodeId(source);
+        int t = getGraph().getNodeId(target);
+        if (s < 0 || t < 0) {
+            throw new IllegalArgumentException("node should belong to the graph of the finder.");
+        }
+        ShortestPath path = find(s, t);
+        return path == null ? null : path.toGraphPath();
+    }
+
+}
@@ -30,6 +30,15 @@ public abstract class AbstractGraphable
         this.id = id;
     }
 
+    /**
+     * 获取当前图单元的ID
+     *
+     * @return 图单元的ID
+     */
+    public int getId() {
+        return id;
+    }
+
     @Override
     public Object getObject() {
         return this.object;
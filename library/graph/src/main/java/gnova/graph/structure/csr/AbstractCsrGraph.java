@@ -0,0 +1,412 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.Graph;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 以压缩稀疏行（Compressed Sparse Row）格式存储的不可变图
+ *
+ * <p>节点与边均以从0开始的连续整数ID标识，边的两个端点与权重存储在整数数组中，
+ * 邻接关系存储为偏移量数组与邻接数组：节点n的邻接位置为[offsets[n], offsets[n + 1])，
+ * 每个邻接位置记录了相邻的节点和所经过的边。遍历时应优先使用以整数ID为参数的方法，
+ * {@link #nodeSet()}与{@link #edgeSet()}中的节点和边均为按需创建的只读视图，
+ * 它们不保存关联对象，修改操作将抛出{@link UnsupportedOperationException}。
+ *
+ * @param <N> 节点的类型
+ * @param <E> 边的类型
+ * @see CsrGraphBuilder
+ * @author birderyu
+ * @version 1.0.0
+ */
+public abstract class AbstractCsrGraph<N extends CsrNode, E extends CsrEdge>
+        implements Graph<N, E>, Serializable {
+
+    private static final long serialVersionUID = -3317429463104561052L;
+
+    /**
+     * 默认的权重，与{@link gnova.graph.structure.AbstractGraphable}保持一致
+     */
+    static final int DEFAULT_WEIGHT = 1;
+
+    private final int nodeSize;
+    private final int edgeSize;
+
+    /**
+     * 边的节点A与节点B
+     */
+    private final int[] nodesA;
+    private final int[] nodesB;
+
+    /**
+     * 节点与边的权重，若所有权重均为默认值，则为null
+     */
+    private final int[] nodeWeights;
+    private final int[] edgeWeights;
+
+    /**
+     * 邻接关系
+     */
+    private final int[] offsets;
+    private final int[] adjacentNodes;
+    private final int[] adjacentEdges;
+
+    private transient Set<N> nodeSet;
+    private transient Set<E> edgeSet;
+
+    AbstractCsrGraph(int nodeSize, int edgeSize,
+                     int[] nodesA, int[] nodesB,
+                     int[] nodeWeights, int[] edgeWeights,
+                     boolean directed) {
+        this.nodeSize = nodeSize;
+        this.edgeSize = edgeSize;
+        this.nodesA = nodesA;
+        this.nodesB = nodesB;
+        this.nodeWeights = nodeWeights;
+        this.edgeWeights = edgeWeights;
+        this.offsets = new int[nodeSize + 1];
+        int slotSize = count(offsets, nodesA, nodesB, edgeSize, !directed);
+        this.adjacentNodes = new int[slotSize];
+        this.adjacentEdges = new int[slotSize];
+        fill(offsets, adjacentNodes, adjacentEdges, nodesA, nodesB, edgeSize, !directed);
+    }
+
+    /**
+     * 统计每个节点的邻接数量，并将其累加为偏移量
+     *
+     * @return 邻接位置的总数
+     */
+    static int count(int[] offsets, int[] from, int[] to, int edgeSize, boolean both) {
+        for (int e = 0; e < edgeSize; e++) {
+            offsets[from[e] + 1]++;
+            if (both && from[e] != to[e]) {
+                // 无向图中，自环只在其节点上记录一次
+                offsets[to[e] + 1]++;
+            }
+        }
+        for (int n = 1; n < offsets.length; n++) {
+            offsets[n] += offsets[n - 1];
+        }
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * 按边ID的顺序填充邻接数组，offsets必须已由{@link #count}计算
+     */
+    static void fill(int[] offsets, int[] adjacentNodes, int[] adjacentEdges,
+                     int[] from, int[] to, int edgeSize, boolean both) {
+        int[] cursors = new int[offsets.length - 1];
+        System.arraycopy(offsets, 0, cursors, 0, cursors.length);
+        for (int e = 0; e < edgeSize; e++) {
+            int a = from[e];
+            int b = to[e];
+            int slot = cursors[a]++;
+            adjacentNodes[slot] = b;
+            adjacentEdges[slot] = e;
+            if (both && a != b) {
+                slot = cursors[b]++;
+                adjacentNodes[slot] = a;
+                adjacentEdges[slot] = e;
+            }
+        }
+    }
+
+    @Override
+    public int nodeSize() {
+        return nodeSize;
+    }
+
+    @Override
+    public int edgeSize() {
+        return edgeSize;
+    }
+
+    /**
+     * 获取边的节点A的ID
+     *
+     * @param edge 边的ID
+     * @return 节点的ID
+     */
+    public int getNodeA(int edge) {
+        return nodesA[checkEdge(edge)];
+    }
+
+    /**
+     * 获取边的节点B的ID
+     *
+     * @param edge 边的ID
+     * @return 节点的ID
+     */
+    public int getNodeB(int edge) {
+        return nodesB[checkEdge(edge)];
+    }
+
+    /**
+     * 获取节点的权重
+     *
+     * @param node 节点的ID
+     * @return 权重
+     */
+    public int getNodeWeight(int node) {
+        checkNode(node);
+        return nodeWeights == null ? DEFAULT_WEIGHT : nodeWeights[node];
+    }
+
+    /**
+     * 获取边的权重
+     *
+     * @param edge 边的ID
+     * @return 权重
+     */
+    public int getEdgeWeight(int edge) {
+        checkEdge(edge);
+        return edgeWeights == null ? DEFAULT_WEIGHT : edgeWeights[edge];
+    }
+
+    /**
+     * 获取节点的第一个邻接位置
+     *
+     * <p>对于无向图，节点的邻接位置包含所有与之关联的边；对于有向图，仅包含以该节点为入节点的边，
+     * 即从该节点出发的边。遍历节点n的邻接关系的方式为：
+     * <pre>
+     * for (int i = graph.getAdjacencyStart(n), end = graph.getAdjacencyEnd(n); i &lt; end; i++) {
+     *     int node = graph.getAdjacentNode(i);
+     *     int edge = graph.getAdjacentEdge(i);
+     * }
+     * </pre>
+     *
+     * @param node 节点的ID
+     * @return 邻接位置
+     */
+    public int getAdjacencyStart(int node) {
+        return offsets[checkNode(node)];
+    }
+
+    /**
+     * 获取节点的最后一个邻接位置之后的位置
+     *
+     * @param node 节点的ID
+     * @return 邻接位置
+     * @see #getAdjacencyStart(int)
+     */
+    public int getAdjacencyEnd(int node) {
+        return offsets[checkNode(node) + 1];
+    }
+
+    /**
+     * 获取节点的邻接数量
+     *
+     * @param node 节点的ID
+     * @return 邻接数量
+     */
+    public int getAdjacencySize(int node) {
+        checkNode(node);
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * 获取邻接位置上的相邻节点
+     *
+     * @param slot 邻接位置
+     * @return 节点的ID
+     */
+    public int getAdjacentNode(int slot) {
+        return adjacentNodes[slot];
+    }
+
+    /**
+     * 获取邻接位置上所经过的边
+     *
+     * @param slot 邻接位置
+     * @return 边的ID
+     */
+    public int getAdjacentEdge(int slot) {
+        return adjacentEdges[slot];
+    }
+
+    /**
+     * 获取节点的度，自环计为2
+     *
+     * @param node 节点的ID
+     * @return 节点的度
+     */
+    public int getDegree(int node) {
+        int start = getAdjacencyStart(node);
+        int end = offsets[node + 1];
+        int degree = end - start;
+        for (int i = start; i < end; i++) {
+            if (adjacentNodes[i] == node) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * 查找从节点a的邻接位置到达节点b的第一条边
+     *
+     * @param a 节点的ID
+     * @param b 节点的ID
+     * @return 边的ID，若不存在这样的边，则返回-1
+     */
+    public int findEdge(int a, int b) {
+        checkNode(b);
+        for (int i = getAdjacencyStart(a), end = offsets[a + 1]; i < end; i++) {
+            if (adjacentNodes[i] == b) {
+                return adjacentEdges[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取节点的只读视图
+     *
+     * @param node 节点的ID
+     * @return 节点，不会返回null
+     */
+    public N getNode(int node) {
+        return createNode(checkNode(node));
+    }
+
+    /**
+     * 获取边的只读视图
+     *
+     * @param edge 边的ID
+     * @return 边，不会返回null
+     */
+    public E getEdge(int edge) {
+        return createEdge(checkEdge(edge));
+    }
+
+    /**
+     * 获取节点的ID
+     *
+     * @param node 节点
+     * @return 节点的ID，若该节点不属于当前图，则返回-1
+     */
+    public int getNodeId(Object node) {
+        if (node instanceof CsrNode && ((CsrNode) node).graph == this) {
+            return ((CsrNode) node).getId();
+        }
+        return -1;
+    }
+
+    /**
+     * 获取边的ID
+     *
+     * @param edge 边
+     * @return 边的ID，若该边不属于当前图，则返回-1
+     */
+    public int getEdgeId(Object edge) {
+        if (edge instanceof CsrEdge && ((CsrEdge) edge).graph == this) {
+            return ((CsrEdge) edge).getId();
+        }
+        return -1;
+    }
+
+    @Override
+    public Set<N> nodeSet() {
+        if (nodeSet == null) {
+            nodeSet = new ComponentSet<N>(nodeSize) {
+
+                @Override
+                N get(int id) {
+                    return createNode(id);
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return getNodeId(o) >= 0;
+                }
+
+            };
+        }
+        return nodeSet;
+    }
+
+    @Override
+    public Set<E> edgeSet() {
+        if (edgeSet == null) {
+            edgeSet = new ComponentSet<E>(edgeSize) {
+
+                @Override
+                E get(int id) {
+                    return createEdge(id);
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return getEdgeId(o) >= 0;
+                }
+
+            };
+        }
+        return edgeSet;
+    }
+
+    abstract N createNode(int node);
+
+    abstract E createEdge(int edge);
+
+    int checkNode(int node) {
+        if (node < 0 || node >= nodeSize) {
+            throw new IndexOutOfBoundsException("node id " + node + " out of range [0, " + nodeSize + ")");
+        }
+        return node;
+    }
+
+    int checkEdge(int edge) {
+        if (edge < 0 || edge >= edgeSize) {
+            throw new IndexOutOfBoundsException("edge id " + edge + " out of range [0, " + edgeSize + ")");
+        }
+        return edge;
+    }
+
+    /**
+     * 按ID顺序创建只读视图的集合
+     */
+    private static abstract class ComponentSet<T> extends AbstractSet<T> {
+
+        private final int size;
+
+        ComponentSet(int size) {
+            this.size = size;
+        }
+
+        abstract T get(int id);
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public T next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(next++);
+                }
+
+            };
+        }
+
+    }
+
+}
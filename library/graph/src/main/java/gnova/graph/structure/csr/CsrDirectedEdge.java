@@ -0,0 +1,44 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.DirectedEdge;
+
+/**
+ * 压缩稀疏行格式的有向图中的边
+ *
+ * @see CsrDirectedGraph
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class CsrDirectedEdge
+        extends CsrEdge implements DirectedEdge {
+
+    CsrDirectedEdge(CsrDirectedGraph graph, int id) {
+        super(graph, id);
+    }
+
+    @Override
+    public CsrDirectedGraph getGraph() {
+        return (CsrDirectedGraph) graph;
+    }
+
+    @Override
+    public CsrDirectedNode getNodeA() {
+        return (CsrDirectedNode) super.getNodeA();
+    }
+
+    @Override
+    public CsrDirectedNode getNodeB() {
+        return (CsrDirectedNode) super.getNodeB();
+    }
+
+    @Override
+    public CsrDirectedNode getInNode() {
+        return getNodeA();
+    }
+
+    @Override
+    public CsrDirectedNode getOutNode() {
+        return getNodeB();
+    }
+
+}
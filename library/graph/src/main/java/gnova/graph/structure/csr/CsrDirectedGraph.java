@@ -0,0 +1,167 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.build.DirectedGraphBuilder;
+import gnova.graph.structure.DirectedGraph;
+import gnova.graph.structure.Graph;
+
+/**
+ * 以压缩稀疏行格式存储的不可变有向图
+ *
+ * <p>{@link #getAdjacencyStart(int) 邻接位置}仅包含从节点出发的边（出边），
+ * 另外以{@link #getInAdjacencyStart(int) 反向邻接位置}存储到达节点的边（入边），
+ * 以支持反向的遍历。边的{@link #getNodeA(int) 节点A}为入节点，{@link #getNodeB(int) 节点B}为出节点。
+ *
+ * @see CsrGraphBuilder
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class CsrDirectedGraph
+        extends AbstractCsrGraph<CsrDirectedNode, CsrDirectedEdge>
+        implements DirectedGraph<CsrDirectedNode, CsrDirectedEdge> {
+
+    private static final long serialVersionUID = -6186329745120905375L;
+
+    /**
+     * 反向的邻接关系
+     */
+    private final int[] inOffsets;
+    private final int[] inAdjacentNodes;
+    private final int[] inAdjacentEdges;
+
+    CsrDirectedGraph(int nodeSize, int edgeSize,
+                     int[] nodesA, int[] nodesB,
+                     int[] nodeWeights, int[] edgeWeights) {
+        super(nodeSize, edgeSize, nodesA, nodesB, nodeWeights, edgeWeights, true);
+        inOffsets = new int[nodeSize + 1];
+        int slotSize = count(inOffsets, nodesB, nodesA, edgeSize, false);
+        inAdjacentNodes = new int[slotSize];
+        inAdjacentEdges = new int[slotSize];
+        fill(inOffsets, inAdjacentNodes, inAdjacentEdges, nodesB, nodesA, edgeSize, false);
+    }
+
+    /**
+     * 将一张有向图冻结
+     *
+     * @param graph 有向图，不允许为null
+     * @return 有向图，不会返回null
+     * @throws IllegalArgumentException 若图中存在一条边，其节点不属于该图，则抛出此异常
+     * @see CsrGraphBuilder#copyOf(Graph)
+     */
+    public static CsrDirectedGraph of(DirectedGraph<?, ?> graph) {
+        if (graph instanceof CsrDirectedGraph) {
+            return (CsrDirectedGraph) graph;
+        }
+        return CsrGraphBuilder.copyOf(graph).buildDirected();
+    }
+
+    /**
+     * 使用有向图构造器构造一张图，并将其冻结
+     *
+     * @param builder 有向图构造器，不允许为null
+     * @return 有向图，不会返回null
+     */
+    public static CsrDirectedGraph of(DirectedGraphBuilder<?, ?> builder) {
+        return of((DirectedGraph<?, ?>) builder.build());
+    }
+
+    /**
+     * 获取节点的第一个反向邻接位置，即到达该节点的第一条边的位置
+     *
+     * @param node 节点的ID
+     * @return 反向邻接位置
+     * @see #getAdjacencyStart(int)
+     */
+    public int getInAdjacencyStart(int node) {
+        return inOffsets[checkNode(node)];
+    }
+
+    /**
+     * 获取节点的最后一个反向邻接位置之后的位置
+     *
+     * @param node 节点的ID
+     * @return 反向邻接位置
+     */
+    public int getInAdjacencyEnd(int node) {
+        return inOffsets[checkNode(node) + 1];
+    }
+
+    /**
+     * 获取反向邻接位置上的相邻节点，即边的入节点
+     *
+     * @param slot 反向邻接位置
+     * @return 节点的ID
+     */
+    public int getInAdjacentNode(int slot) {
+        return inAdjacentNodes[slot];
+    }
+
+    /**
+     * 获取反向邻接位置上所经过的边
+     *
+     * @param slot 反向邻接位置
+     * @return 边的ID
+     */
+    public int getInAdjacentEdge(int slot) {
+        return inAdjacentEdges[slot];
+    }
+
+    /**
+     * 获取节点的入度
+     *
+     * @param node 节点的ID
+     * @return 入度
+     */
+    public int getInDegree(int node) {
+        checkNode(node);
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /**
+     * 获取节点的出度
+     *
+     * @param node 节点的ID
+     * @return 出度
+     */
+    public int getOutDegree(int node) {
+        return getAdjacencySize(node);
+    }
+
+    /**
+     * 获取节点的度，即入度与出度之和
+     *
+     * @param node 节点的ID
+     * @return 节点的度
+     */
+    @Override
+    public int getDegree(int node) {
+        return getInDegree(node) + getOutDegree(node);
+    }
+
+    /**
+     * 查找从节点b到达节点a的第一条边
+     *
+     * @param a 出节点的ID
+     * @param b 入节点的ID
+     * @return 边的ID，若不存在这样的边，则返回-1
+     */
+    public int findInEdge(int a, int b) {
+        checkNode(b);
+        for (int i = getInAdjacencyStart(a), end = inOffsets[a + 1]; i < end; i++) {
+            if (inAdjacentNodes[i] == b) {
+                return inAdjacentEdges[i];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    CsrDirectedNode createNode(int node) {
+        return new CsrDirectedNode(this, node);
+    }
+
+    @Override
+    CsrDirectedEdge createEdge(int edge) {
+        return new CsrDirectedEdge(this, edge);
+    }
+
+}
@@ -0,0 +1,203 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.DirectedEdge;
+import gnova.graph.structure.DirectedGraphable;
+import gnova.graph.structure.DirectedNode;
+import gnova.graph.structure.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 压缩稀疏行格式的有向图中的节点
+ *
+ * <p>节点的出边为以该节点为入节点的边，入边为以该节点为出节点的边。
+ *
+ * @see CsrDirectedGraph
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class CsrDirectedNode
+        extends CsrNode implements DirectedNode {
+
+    CsrDirectedNode(CsrDirectedGraph graph, int id) {
+        super(graph, id);
+    }
+
+    @Override
+    public CsrDirectedGraph getGraph() {
+        return (CsrDirectedGraph) graph;
+    }
+
+    @Override
+    public void addIn(DirectedEdge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public void addOut(DirectedEdge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public void removeIn(DirectedEdge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public void removeOut(DirectedEdge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public CsrDirectedEdge getInEdge(DirectedNode other) {
+        int node = graph.getNodeId(other);
+        if (node < 0) {
+            return null;
+        }
+        int edge = getGraph().findInEdge(id, node);
+        return edge < 0 ? null : getGraph().getEdge(edge);
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getInEdges(DirectedNode other) {
+        int node = graph.getNodeId(other);
+        return node < 0 ? new ArrayList<>() : collectIn(node);
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getInEdges() {
+        return collectIn(-1);
+    }
+
+    @Override
+    public CsrDirectedEdge getOutEdge(DirectedNode other) {
+        int node = graph.getNodeId(other);
+        if (node < 0) {
+            return null;
+        }
+        int edge = graph.findEdge(id, node);
+        return edge < 0 ? null : getGraph().getEdge(edge);
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getOutEdges(DirectedNode other) {
+        int node = graph.getNodeId(other);
+        return node < 0 ? new ArrayList<>() : collectOut(node);
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getOutEdges() {
+        return collectOut(-1);
+    }
+
+    @Override
+    public int getInDegree() {
+        return getGraph().getInDegree(id);
+    }
+
+    @Override
+    public int getOutDegree() {
+        return getGraph().getOutDegree(id);
+    }
+
+    @Override
+    public int size() {
+        return getInDegree() + getOutDegree();
+    }
+
+    @Override
+    public CsrDirectedEdge getEdge(Node node) {
+        if (!(node instanceof DirectedNode)) {
+            return null;
+        }
+        CsrDirectedEdge edge = getInEdge((DirectedNode) node);
+        return edge != null ? edge : getOutEdge((DirectedNode) node);
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getEdges(Node node) {
+        int other = graph.getNodeId(node);
+        if (other < 0) {
+            return new ArrayList<>();
+        }
+        Collection<CsrDirectedEdge> edges = collectIn(other);
+        edges.addAll(collectOut(other));
+        return edges;
+    }
+
+    @Override
+    public Collection<CsrDirectedEdge> getEdges() {
+        Collection<CsrDirectedEdge> edges = collectIn(-1);
+        edges.addAll(collectOut(-1));
+        return edges;
+    }
+
+    @Override
+    public Collection<? extends DirectedGraphable> getRelated() {
+        // 为了能查找到edge，令node的临界元件为edge
+        return getEdges();
+    }
+
+    @Override
+    public Collection<? extends DirectedGraphable> getInRelated() {
+        return getInEdges();
+    }
+
+    @Override
+    public Collection<? extends DirectedGraphable> getOutRelated() {
+        return getOutEdges();
+    }
+
+    @Override
+    public boolean relateToIn(DirectedGraphable component) {
+        // node只与edge相邻接
+        int edge = graph.getEdgeId(component);
+        return edge >= 0 && graph.getNodeB(edge) == id;
+    }
+
+    @Override
+    public boolean relateToOut(DirectedGraphable component) {
+        // node只与edge相邻接
+        int edge = graph.getEdgeId(component);
+        return edge >= 0 && graph.getNodeA(edge) == id;
+    }
+
+    /**
+     * 收集入边
+     *
+     * @param other 入边的入节点，若为负数，则收集所有的入边
+     */
+    private List<CsrDirectedEdge> collectIn(int other) {
+        CsrDirectedGraph g = getGraph();
+        int start = g.getInAdjacencyStart(id);
+        int end = g.getInAdjacencyEnd(id);
+        List<CsrDirectedEdge> edges = new ArrayList<>(other < 0 ? end - start : 4);
+        for (int i = start; i < end; i++) {
+            if (other < 0 || g.getInAdjacentNode(i) == other) {
+                edges.add(g.getEdge(g.getInAdjacentEdge(i)));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * 收集出边
+     *
+     * @param other 出边的出节点，若为负数，则收集所有的出边
+     */
+    private List<CsrDirectedEdge> collectOut(int other) {
+        CsrDirectedGraph g = getGraph();
+        int start = g.getAdjacencyStart(id);
+        int end = g.getAdjacencyEnd(id);
+        List<CsrDirectedEdge> edges = new ArrayList<>(other < 0 ? end - start : 4);
+        for (int i = start; i < end; i++) {
+            if (other < 0 || g.getAdjacentNode(i) == other) {
+                edges.add(g.getEdge(g.getAdjacentEdge(i)));
+            }
+        }
+        return edges;
+    }
+
+}
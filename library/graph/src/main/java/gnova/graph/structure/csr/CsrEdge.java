@@ -0,0 +1,128 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.Edge;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * 压缩稀疏行格式的图中的边
+ *
+ * <p>边是图中数据的只读视图，仅持有所属的图与边的ID，两条边相等当且仅当它们属于同一张图且ID相同。
+ * 边不保存关联的对象，所有的修改操作均会抛出{@link UnsupportedOperationException}。
+ *
+ * @see AbstractCsrGraph
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class CsrEdge
+        implements Edge {
+
+    final AbstractCsrGraph<?, ?> graph;
+    final int id;
+
+    CsrEdge(AbstractCsrGraph<?, ?> graph, int id) {
+        this.graph = graph;
+        this.id = id;
+    }
+
+    /**
+     * 获取边的ID
+     *
+     * @return 边的ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * 获取边所属的图
+     *
+     * @return 图，不会返回null
+     */
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    @Override
+    public CsrNode getNodeA() {
+        return graph.getNode(graph.getNodeA(id));
+    }
+
+    @Override
+    public void setNodeA(Node nodeA) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public CsrNode getNodeB() {
+        return graph.getNode(graph.getNodeB(id));
+    }
+
+    @Override
+    public void setNodeB(Node nodeB) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    /**
+     * 压缩稀疏行格式的图不保存关联的对象
+     *
+     * @return null
+     */
+    @Override
+    public Object getObject() {
+        return null;
+    }
+
+    @Override
+    public void setObject(Object obj) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public int getWeight() {
+        return graph.getEdgeWeight(id);
+    }
+
+    @Override
+    public void setWeight(int weight) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public Collection<? extends Graphable> getRelated() {
+        // 为了能查找到node，令edge的临界元件为node
+        Collection<CsrNode> related = new ArrayList<>(2);
+        related.add(getNodeA());
+        related.add(getNodeB());
+        return related;
+    }
+
+    @Override
+    public boolean relateTo(Graphable component) {
+        // edge只与node相邻接
+        int node = graph.getNodeId(component);
+        return node >= 0 && (graph.getNodeA(id) == node || graph.getNodeB(id) == node);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CsrEdge that = (CsrEdge) o;
+        return graph == that.graph && id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return graph.getNodeA(id) + "-" + graph.getNodeB(id);
+    }
+
+}
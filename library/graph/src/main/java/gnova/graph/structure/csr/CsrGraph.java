@@ -0,0 +1,61 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.build.GraphBuilder;
+import gnova.graph.structure.Graph;
+
+/**
+ * 以压缩稀疏行格式存储的不可变无向图
+ *
+ * <p>每条边同时记录在其两个节点的邻接位置中，自环仅记录一次。
+ *
+ * @see CsrGraphBuilder
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class CsrGraph
+        extends AbstractCsrGraph<CsrNode, CsrEdge> {
+
+    private static final long serialVersionUID = 2404398136585530118L;
+
+    CsrGraph(int nodeSize, int edgeSize,
+             int[] nodesA, int[] nodesB,
+             int[] nodeWeights, int[] edgeWeights) {
+        super(nodeSize, edgeSize, nodesA, nodesB, nodeWeights, edgeWeights, false);
+    }
+
+    /**
+     * 将一张图冻结为无向图
+     *
+     * @param graph 图，不允许为null
+     * @return 无向图，不会返回null
+     * @throws IllegalArgumentException 若图中存在一条边，其节点不属于该图，则抛出此异常
+     * @see CsrGraphBuilder#copyOf(Graph)
+     */
+    public static CsrGraph of(Graph<?, ?> graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph) graph;
+        }
+        return CsrGraphBuilder.copyOf(graph).build();
+    }
+
+    /**
+     * 使用图构造器构造一张图，并将其冻结为无向图
+     *
+     * @param builder 图构造器，不允许为null
+     * @return 无向图，不会返回null
+     */
+    public static CsrGraph of(GraphBuilder<?, ?> builder) {
+        return of((Graph<?, ?>) builder.build());
+    }
+
+    @Override
+    CsrNode createNode(int node) {
+        return new CsrNode(this, node);
+    }
+
+    @Override
+    CsrEdge createEdge(int edge) {
+        return new CsrEdge(this, edge);
+    }
+
+}
@@ -0,0 +1,237 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.Edge;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 压缩稀疏行格式的图构造器
+ *
+ * <p>节点与边均以整数ID添加，ID按添加的顺序从0开始分配，构造过程中不会创建任何节点或边对象。
+ * 该构造器不是线程安全的。
+ *
+ * @see CsrGraph
+ * @see CsrDirectedGraph
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class CsrGraphBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int nodeSize = 0;
+    private int edgeSize = 0;
+    private int[] nodeWeights;
+    private int[] nodesA;
+    private int[] nodesB;
+    private int[] edgeWeights;
+
+    /**
+     * 是否存在非默认的权重
+     */
+    private boolean nodeWeighted = false;
+    private boolean edgeWeighted = false;
+
+    public CsrGraphBuilder() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造图构造器
+     *
+     * @param nodeCapacity 预计的节点数量
+     * @param edgeCapacity 预计的边数量
+     */
+    public CsrGraphBuilder(int nodeCapacity, int edgeCapacity) {
+        if (nodeCapacity < 0 || edgeCapacity < 0) {
+            throw new IllegalArgumentException("capacity should not be negative.");
+        }
+        nodeWeights = new int[Math.max(nodeCapacity, 1)];
+        nodesA = new int[Math.max(edgeCapacity, 1)];
+        nodesB = new int[nodesA.length];
+        edgeWeights = new int[nodesA.length];
+    }
+
+    /**
+     * 从一张图中复制节点与边
+     *
+     * <p>节点的ID按照{@link Graph#nodeSet()}的迭代顺序分配，边的ID按照{@link Graph#edgeSet()}的迭代顺序分配，
+     * 节点与边的权重会被保留，关联的对象不会被保留。
+     *
+     * @param graph 图，不允许为null
+     * @return 图构造器，不会返回null
+     * @throws IllegalArgumentException 若图中存在一条边，其节点不属于该图，则抛出此异常
+     */
+    public static CsrGraphBuilder copyOf(Graph<?, ?> graph) {
+        CsrGraphBuilder builder = new CsrGraphBuilder(graph.nodeSize(), graph.edgeSize());
+        Map<Node, Integer> ids = new HashMap<>(Math.max(16, (int) (graph.nodeSize() / 0.75f) + 1));
+        for (Node node : graph.nodeSet()) {
+            ids.put(node, builder.addNode(node.getWeight()));
+        }
+        for (Edge edge : graph.edgeSet()) {
+            Integer a = ids.get(edge.getNodeA());
+            Integer b = ids.get(edge.getNodeB());
+            if (a == null || b == null) {
+                throw new IllegalArgumentException("edge " + edge + " refers to a node not in the graph.");
+            }
+            builder.addEdge(a, b, edge.getWeight());
+        }
+        return builder;
+    }
+
+    /**
+     * 获取已添加的节点数量
+     *
+     * @return 节点数量
+     */
+    public int nodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * 获取已添加的边数量
+     *
+     * @return 边数量
+     */
+    public int edgeSize() {
+        return edgeSize;
+    }
+
+    /**
+     * 添加一个权重为默认值的节点
+     *
+     * @return 节点的ID
+     */
+    public int addNode() {
+        return addNode(AbstractCsrGraph.DEFAULT_WEIGHT);
+    }
+
+    /**
+     * 添加一个节点
+     *
+     * @param weight 节点的权重
+     * @return 节点的ID
+     */
+    public int addNode(int weight) {
+        if (nodeSize == nodeWeights.length) {
+            nodeWeights = Arrays.copyOf(nodeWeights, grow(nodeSize));
+        }
+        nodeWeights[nodeSize] = weight;
+        nodeWeighted |= weight != AbstractCsrGraph.DEFAULT_WEIGHT;
+        return nodeSize++;
+    }
+
+    /**
+     * 添加多个权重为默认值的节点
+     *
+     * @param count 节点的数量
+     * @return 第一个节点的ID，所添加的节点的ID是连续的
+     */
+    public int addNodes(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count should not be negative.");
+        }
+        int first = nodeSize;
+        if (nodeSize + count > nodeWeights.length) {
+            nodeWeights = Arrays.copyOf(nodeWeights, Math.max(grow(nodeSize), nodeSize + count));
+        }
+        Arrays.fill(nodeWeights, nodeSize, nodeSize + count, AbstractCsrGraph.DEFAULT_WEIGHT);
+        nodeSize += count;
+        return first;
+    }
+
+    /**
+     * 添加一条权重为默认值的边
+     *
+     * @param nodeA 节点A的ID，对于有向图即为入节点
+     * @param nodeB 节点B的ID，对于有向图即为出节点
+     * @return 边的ID
+     * @throws IllegalArgumentException 若节点的ID不存在，则抛出此异常
+     */
+    public int addEdge(int nodeA, int nodeB) {
+        return addEdge(nodeA, nodeB, AbstractCsrGraph.DEFAULT_WEIGHT);
+    }
+
+    /**
+     * 添加一条边
+     *
+     * @param nodeA 节点A的ID，对于有向图即为入节点
+     * @param nodeB 节点B的ID，对于有向图即为出节点
+     * @param weight 边的权重
+     * @return 边的ID
+     * @throws IllegalArgumentException 若节点的ID不存在，则抛出此异常
+     */
+    public int addEdge(int nodeA, int nodeB, int weight) {
+        if (nodeA < 0 || nodeA >= nodeSize || nodeB < 0 || nodeB >= nodeSize) {
+            throw new IllegalArgumentException("node id should be in [0, " + nodeSize + ").");
+        }
+        if (edgeSize == nodesA.length) {
+            int capacity = grow(edgeSize);
+            nodesA = Arrays.copyOf(nodesA, capacity);
+            nodesB = Arrays.copyOf(nodesB, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+        }
+        nodesA[edgeSize] = nodeA;
+        nodesB[edgeSize] = nodeB;
+        edgeWeights[edgeSize] = weight;
+        edgeWeighted |= weight != AbstractCsrGraph.DEFAULT_WEIGHT;
+        return edgeSize++;
+    }
+
+    /**
+     * 清空所有的节点与边
+     */
+    public void clear() {
+        nodeSize = 0;
+        edgeSize = 0;
+        nodeWeighted = false;
+        edgeWeighted = false;
+    }
+
+    /**
+     * 构造无向图
+     *
+     * <p>构造器中的数据会被复制，构造完成后可继续使用该构造器。
+     *
+     * @return 无向图，不会返回null
+     */
+    public CsrGraph build() {
+        return new CsrGraph(nodeSize, edgeSize,
+                Arrays.copyOf(nodesA, edgeSize), Arrays.copyOf(nodesB, edgeSize),
+                nodeWeights(), edgeWeights());
+    }
+
+    /**
+     * 构造有向图，每条边的方向为从节点A到节点B
+     *
+     * <p>构造器中的数据会被复制，构造完成后可继续使用该构造器。
+     *
+     * @return 有向图，不会返回null
+     */
+    public CsrDirectedGraph buildDirected() {
+        return new CsrDirectedGraph(nodeSize, edgeSize,
+                Arrays.copyOf(nodesA, edgeSize), Arrays.copyOf(nodesB, edgeSize),
+                nodeWeights(), edgeWeights());
+    }
+
+    private int[] nodeWeights() {
+        return nodeWeighted ? Arrays.copyOf(nodeWeights, nodeSize) : null;
+    }
+
+    private int[] edgeWeights() {
+        return edgeWeighted ? Arrays.copyOf(edgeWeights, edgeSize) : null;
+    }
+
+    private static int grow(int size) {
+        int capacity = size + (size >> 1) + 1;
+        if (capacity < 0) {
+            throw new OutOfMemoryError("graph is too large.");
+        }
+        return capacity;
+    }
+
+}
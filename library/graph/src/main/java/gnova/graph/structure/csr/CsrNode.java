@@ -0,0 +1,172 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.structure.Edge;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 压缩稀疏行格式的图中的节点
+ *
+ * <p>节点是图中数据的只读视图，仅持有所属的图与节点的ID，两个节点相等当且仅当它们属于同一张图且ID相同。
+ * 节点不保存关联的对象，所有的修改操作均会抛出{@link UnsupportedOperationException}。
+ *
+ * @see AbstractCsrGraph
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class CsrNode
+        implements Node {
+
+    final AbstractCsrGraph<?, ?> graph;
+    final int id;
+
+    CsrNode(AbstractCsrGraph<?, ?> graph, int id) {
+        this.graph = graph;
+        this.id = id;
+    }
+
+    /**
+     * 获取节点的ID
+     *
+     * @return 节点的ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * 获取节点所属的图
+     *
+     * @return 图，不会返回null
+     */
+    public AbstractCsrGraph<?, ?> getGraph() {
+        return graph;
+    }
+
+    /**
+     * 压缩稀疏行格式的图不保存关联的对象
+     *
+     * @return null
+     */
+    @Override
+    public Object getObject() {
+        return null;
+    }
+
+    @Override
+    public void setObject(Object obj) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public int getWeight() {
+        return graph.getNodeWeight(id);
+    }
+
+    @Override
+    public void setWeight(int weight) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public void add(Edge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public void remove(Edge edge) {
+        throw new UnsupportedOperationException("csr graph is immutable.");
+    }
+
+    @Override
+    public int size() {
+        return graph.getAdjacencySize(id);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public CsrEdge getEdge(Node node) {
+        int other = graph.getNodeId(node);
+        if (other < 0) {
+            return null;
+        }
+        int edge = graph.findEdge(id, other);
+        return edge < 0 ? null : graph.getEdge(edge);
+    }
+
+    @Override
+    public Collection<? extends CsrEdge> getEdges(Node node) {
+        List<CsrEdge> edges = new ArrayList<>();
+        int other = graph.getNodeId(node);
+        if (other < 0) {
+            return edges;
+        }
+        for (int i = graph.getAdjacencyStart(id), end = graph.getAdjacencyEnd(id); i < end; i++) {
+            if (graph.getAdjacentNode(i) == other) {
+                edges.add(graph.getEdge(graph.getAdjacentEdge(i)));
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public Collection<? extends CsrEdge> getEdges() {
+        int start = graph.getAdjacencyStart(id);
+        int end = graph.getAdjacencyEnd(id);
+        List<CsrEdge> edges = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            edges.add(graph.getEdge(graph.getAdjacentEdge(i)));
+        }
+        return edges;
+    }
+
+    @Override
+    public int getDegree() {
+        return graph.getDegree(id);
+    }
+
+    @Override
+    public Collection<? extends Graphable> getRelated() {
+        return getEdges();
+    }
+
+    @Override
+    public boolean relateTo(Graphable component) {
+        // node只与edge相邻接
+        int edge = graph.getEdgeId(component);
+        return edge >= 0 && (graph.getNodeA(edge) == id || graph.getNodeB(edge) == id);
+    }
+
+    @Override
+    public Iterator<CsrEdge> iterator() {
+        return ((Collection<CsrEdge>) getEdges()).iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CsrNode that = (CsrNode) o;
+        return graph == that.graph && id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(id);
+    }
+
+}
@@ -0,0 +1,208 @@
+package gnova.graph.traverse;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.Graphable;
+import gnova.graph.util.GraphPath;
+import gnova.graph.util.GraphableIndex;
+import gnova.graph.util.SimpleGraphPath;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * 基于稠密索引的单源广度优先遍历
+ *
+ * <p>与{@link BreadthFirstIterator}的遍历顺序与轨迹的选择规则相同，但不为每个单元保存一条轨迹：
+ * 待访问的单元保存在以{@link GraphableIndex 索引}为元素的整数队列中，每个单元只记录轨迹上的上一个单元与轨迹的长度，
+ * 轨迹仅在{@link #getPath(Graphable)}被调用时才沿上一个单元回溯重建。
+ * 每个单元在一次遍历中至多入队一次，遍历的状态以版本号标记，因此{@link #initialize(Graphable)}不需要清空数组。
+ *
+ * @see IndexedGraphTracker
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class IndexedBreadthFirstIterator<T extends Graphable>
+        extends AbstractGraphIterator<T> {
+
+    private final GraphableIndex index;
+
+    /**
+     * 待访问的单元，每个单元至多入队一次，因此容量等于索引的容量
+     */
+    private final int[] frontier;
+    private int head = 0;
+    private int tail = 0;
+
+    /**
+     * 轨迹上的上一个单元，-1表示该单元为源点
+     */
+    private final int[] parents;
+
+    /**
+     * 轨迹的长度
+     */
+    private final int[] lengths;
+
+    /**
+     * 单元在本次遍历中是否已入队、是否已有轨迹
+     */
+    private final int[] queuedVersions;
+    private final int[] pathVersions;
+    private int version = 0;
+
+    /**
+     * 构造迭代器
+     *
+     * @param index 图单元的索引，不允许为null
+     */
+    public IndexedBreadthFirstIterator(@NotNull GraphableIndex index) {
+        super();
+        this.index = Objects.requireNonNull(index);
+        int capacity = index.capacity();
+        frontier = new int[capacity];
+        parents = new int[capacity];
+        lengths = new int[capacity];
+        queuedVersions = new int[capacity];
+        pathVersions = new int[capacity];
+    }
+
+    @Override
+    public void initialize(T source) {
+        super.initialize(source);
+        if (++version == 0) {
+            // 版本号溢出后重新开始计数
+            Arrays.fill(queuedVersions, 0);
+            Arrays.fill(pathVersions, 0);
+            version = 1;
+        }
+        head = 0;
+        tail = 0;
+        enqueue(indexOf(source));
+    }
+
+    @Override
+    public T next(GraphTracker<T> tracker) {
+        while (head < tail) {
+            // 从队列中找到一个未访问的图元
+            T next = (T) index.get(frontier[head++]);
+            if (!tracker.isWalked(next)) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void process(GraphTracker<T> tracker, T current, Collection nexts) {
+        for (Object o : nexts) {
+            T component = (T) o;
+            if (tracker.isWalked(component)) {
+                continue;
+            }
+            int i = indexOf(component);
+            if (queuedVersions[i] != version) {
+                enqueue(i);
+            }
+        }
+    }
+
+    @Override
+    public void addToPath(T component, Collection relateds) {
+        int i = indexOf(component);
+        if (pathVersions[i] == version) {
+            return;
+        }
+
+        // 从相邻的最短轨迹中选出一条最优轨迹：长度相同时选择权重最小的相邻单元
+        int best = -1;
+        int minLength = -1;
+        int minWeight = -1;
+        if (relateds != null) {
+            for (Object o : relateds) {
+                Graphable related = (Graphable) o;
+                int r = index.indexOf(related);
+                if (r < 0 || pathVersions[r] != version) {
+                    continue;
+                }
+                int length = lengths[r];
+                int weight = related.getWeight();
+                if (best < 0 || length < minLength || (length == minLength && weight < minWeight)) {
+                    best = r;
+                    minLength = length;
+                    minWeight = weight;
+                }
+            }
+        }
+
+        pathVersions[i] = version;
+        parents[i] = best;
+        lengths[i] = best < 0 ? 0 : minLength + component.getWeight();
+    }
+
+    @Override
+    public T getLast(T component) {
+        int i = indexOf(component);
+        if (pathVersions[i] != version || parents[i] < 0) {
+            return null;
+        }
+        return (T) index.get(parents[i]);
+    }
+
+    /**
+     * 沿上一个单元回溯，重建从源点到单元的轨迹
+     *
+     * @param component 单元，不允许为null
+     * @return 轨迹，若单元在本次遍历中还没有轨迹，则返回null
+     * @throws IllegalArgumentException 若单元为null，或不属于索引所在的图，则抛出此异常
+     */
+    @Override
+    public GraphPath<T> getPath(T component) {
+        int i = indexOf(component);
+        if (pathVersions[i] != version) {
+            return null;
+        }
+        int size = 0;
+        for (int p = i; p >= 0; p = parents[p]) {
+            size++;
+        }
+        Object[] components = new Object[size];
+        for (int p = i, k = size - 1; p >= 0; p = parents[p], k--) {
+            components[k] = index.get(p);
+        }
+        GraphPath<T> path = new SimpleGraphPath<>();
+        for (Object c : components) {
+            path.push((T) c);
+        }
+        return path;
+    }
+
+    /**
+     * 获取单元的轨迹的长度
+     *
+     * @param component 单元，不允许为null
+     * @return 轨迹的长度，若单元在本次遍历中还没有轨迹，则返回-1
+     * @throws IllegalArgumentException 若单元为null，或不属于索引所在的图，则抛出此异常
+     */
+    public int getLength(T component) {
+        int i = indexOf(component);
+        return pathVersions[i] == version ? lengths[i] : -1;
+    }
+
+    private void enqueue(int i) {
+        queuedVersions[i] = version;
+        frontier[tail++] = i;
+    }
+
+    private int indexOf(T component) {
+        if (null == component) {
+            throw new IllegalArgumentException("component should not be null.");
+        }
+        int i = index.indexOf(component);
+        if (i < 0) {
+            throw new IllegalArgumentException("component should belong to the indexed graph.");
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,87 @@
+package gnova.graph.traverse;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.DirectedGraphable;
+import gnova.graph.util.GraphableIndex;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 以位图记录访问状态的有向图追踪者
+ *
+ * <p>图单元的访问状态以{@link GraphableIndex 稠密索引}为下标保存在位图中，
+ * 标记一个单元不会产生任何对象分配，适用于节点数量巨大的图。
+ *
+ * @see IndexedBreadthFirstIterator
+ * @author birderyu
+ * @version 1.0.0
+ */
+public class IndexedDirectedGraphTracker<T extends DirectedGraphable>
+        extends AbstractDirectedGraphTracker<T> {
+
+    private final GraphableIndex index;
+    private final BitSet walked;
+
+    /**
+     * 构造图追踪者
+     *
+     * @param index 图单元的索引，不允许为null
+     */
+    public IndexedDirectedGraphTracker(@NotNull GraphableIndex index) {
+        this.index = Objects.requireNonNull(index);
+        this.walked = new BitSet(index.capacity());
+    }
+
+    /**
+     * 获取图单元的索引
+     *
+     * @return 图单元的索引，不会返回null
+     */
+    @NotNull
+    public GraphableIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * 获取已访问过的单元的数量
+     *
+     * @return 单元的数量
+     */
+    public int walkedSize() {
+        return walked.cardinality();
+    }
+
+    @Override
+    protected void setWalked(T component, boolean visited) {
+        int i = index.indexOf(component);
+        if (i < 0) {
+            throw new IllegalArgumentException("component should belong to the indexed graph.");
+        }
+        walked.set(i, visited);
+    }
+
+    @Override
+    public boolean isWalked(T component) {
+        int i = index.indexOf(component);
+        return i >= 0 && walked.get(i);
+    }
+
+    @Override
+    public void beforeTrack() {
+        walked.clear();
+    }
+
+    /**
+     * 访问状态保存在位图中，不使用映射表
+     *
+     * @return 空的映射表
+     */
+    @Override
+    protected Map<T, Boolean> buildMap() {
+        return Collections.emptyMap();
+    }
+
+}
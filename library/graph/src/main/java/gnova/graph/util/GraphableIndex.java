@@ -0,0 +1,157 @@
+package gnova.graph.util;
+
+import gnova.core.annotation.NotNull;
+import gnova.graph.structure.AbstractGraphable;
+import gnova.graph.structure.Edge;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.Node;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+
+import java.util.Objects;
+
+/**
+ * 图单元的稠密索引
+ *
+ * <p>将图中的每个节点与每条边映射为[0, {@link #capacity()})之间互不相同的整数，
+ * 节点占据索引的前一部分，边占据索引的后一部分，遍历时可以据此使用位图与整数数组代替映射表。
+ *
+ * <p>对于{@link AbstractCsrGraph 压缩稀疏行格式的图}，索引直接由节点与边的ID计算得到，不需要额外的存储；
+ * 对于其他的图，所有单元都必须是{@link AbstractGraphable}，索引由单元的{@link AbstractGraphable#getId() ID}
+ * 计算得到，构造时需要扫描一次图，ID应尽可能地稠密。
+ *
+ * @author birderyu
+ * @version 1.0.0
+ */
+public final class GraphableIndex {
+
+    /**
+     * 压缩稀疏行格式的图，若图不是压缩稀疏行格式，则为null
+     */
+    private final AbstractCsrGraph<?, ?> csr;
+
+    /**
+     * 以ID为下标的节点与边，仅在图不是压缩稀疏行格式时使用
+     */
+    private final Graphable[] nodes;
+    private final Graphable[] edges;
+
+    private final int nodeCapacity;
+    private final int capacity;
+
+    private GraphableIndex(AbstractCsrGraph<?, ?> csr) {
+        this.csr = csr;
+        this.nodes = null;
+        this.edges = null;
+        this.nodeCapacity = csr.nodeSize();
+        this.capacity = csr.nodeSize() + csr.edgeSize();
+    }
+
+    private GraphableIndex(Graphable[] nodes, Graphable[] edges) {
+        this.csr = null;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.nodeCapacity = nodes.length;
+        this.capacity = nodes.length + edges.length;
+    }
+
+    /**
+     * 构造图单元的索引
+     *
+     * @param graph 图，不允许为null
+     * @return 图单元的索引，不会返回null
+     * @throws IllegalArgumentException 若图中存在不是{@link AbstractGraphable}的单元，
+     *                                  或存在ID为负数或ID重复的单元，则抛出此异常
+     */
+    @NotNull
+    public static GraphableIndex of(@NotNull Graph<?, ?> graph) {
+        Objects.requireNonNull(graph);
+        if (graph instanceof AbstractCsrGraph) {
+            return new GraphableIndex((AbstractCsrGraph<?, ?>) graph);
+        }
+        return new GraphableIndex(
+                toArray(graph.isNodeEmpty() ? null : graph.nodeSet()),
+                toArray(graph.isEdgeEmpty() ? null : graph.edgeSet()));
+    }
+
+    private static Graphable[] toArray(Iterable<? extends Graphable> components) {
+        if (components == null) {
+            return new Graphable[0];
+        }
+        int max = -1;
+        for (Graphable component : components) {
+            max = Math.max(max, idOf(component));
+        }
+        Graphable[] array = new Graphable[max + 1];
+        for (Graphable component : components) {
+            int id = idOf(component);
+            if (array[id] != null) {
+                throw new IllegalArgumentException("duplicate graphable id: " + id);
+            }
+            array[id] = component;
+        }
+        return array;
+    }
+
+    private static int idOf(Graphable component) {
+        if (!(component instanceof AbstractGraphable)) {
+            throw new IllegalArgumentException("graphable should be an AbstractGraphable.");
+        }
+        int id = ((AbstractGraphable) component).getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("graphable id should not be negative: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * 获取索引的容量，所有的索引都小于该值
+     *
+     * @return 索引的容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取图单元的索引
+     *
+     * @param component 图单元
+     * @return 索引，若图单元不属于当前的图，则返回-1
+     */
+    public int indexOf(Graphable component) {
+        if (csr != null) {
+            int node = csr.getNodeId(component);
+            if (node >= 0) {
+                return node;
+            }
+            int edge = csr.getEdgeId(component);
+            return edge < 0 ? -1 : nodeCapacity + edge;
+        }
+        if (!(component instanceof AbstractGraphable)) {
+            return -1;
+        }
+        int id = ((AbstractGraphable) component).getId();
+        if (component instanceof Node) {
+            return id >= 0 && id < nodes.length && component.equals(nodes[id]) ? id : -1;
+        }
+        if (component instanceof Edge) {
+            return id >= 0 && id < edges.length && component.equals(edges[id]) ? nodeCapacity + id : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取索引对应的图单元
+     *
+     * @param index 索引，必须在[0, {@link #capacity()})之间
+     * @return 图单元，若索引处没有图单元，则返回null
+     */
+    public Graphable get(int index) {
+        if (csr != null) {
+            return index < nodeCapacity ? csr.getNode(index) : csr.getEdge(index - nodeCapacity);
+        }
+        return index < nodeCapacity ? nodes[index] : edges[index - nodeCapacity];
+    }
+
+}
@@ -1,20 +1,32 @@
 package gnova.graph.util;
 
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import gnova.graph.structure.Graphable;
 
+/**
+ * 以{@link ArrayDeque}实现的轨迹栈
+ *
+ * <p>轨迹中不允许包含null元素，因此{@link #pop()}、{@link #top()}与{@link #top2()}返回null时表示元素不存在。
+ *
+ */
 public class SimpleGraphPath<T extends Graphable>
 	implements GraphPath<T> {
 
 	private Deque<T> components;
 
 	public SimpleGraphPath() {
-		components = new LinkedList<T>();
+		components = new ArrayDeque<T>();
 	}
 
+	/**
+	 * 构造只包含一个元素的轨迹
+	 *
+	 * @param component 元素，不允许为null
+	 * @throws IllegalArgumentException 若元素为null，则抛出此异常
+	 */
 	public SimpleGraphPath(T component) {
 		this();
 		push(component);
@@ -35,8 +47,17 @@ public class SimpleGraphPath<T extends Graphable>
 		return components.size();
 	}
 
+	/**
+	 * 将元素压入栈顶
+	 *
+	 * @param component 元素，不允许为null
+	 * @throws IllegalArgumentException 若元素为null，则抛出此异常
+	 */
 	@Override
 	public void push(T component) {
+		if (null == component) {
+			throw new IllegalArgumentException("component should not be null.");
+		}
 		components.addLast(component);
 	}
 
@@ -0,0 +1,164 @@
+package gnova.graph.analysis;
+
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrGraphBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelAnalysisTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    /**
+     * 较小的阈值使每一层都被切分为多个并行的任务
+     */
+    private static final int THRESHOLD = 32;
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testBreadthFirstSearch() {
+        Random random = new Random(1);
+        ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(THRESHOLD, POOL);
+        // 稀疏的图以自顶向下为主，稠密的图会切换为自底向上
+        for (int degree : new int[]{1, 3, 20}) {
+            CsrGraphBuilder builder = randomGraph(random, 5000, degree);
+            assertSameLevels(search, builder.build(), random);
+            assertSameLevels(search, builder.buildDirected(), random);
+        }
+    }
+
+    @Test
+    public void testConnectedComponents() {
+        Random random = new Random(2);
+        ParallelConnectedComponents components = new ParallelConnectedComponents(THRESHOLD, POOL);
+        for (int degree : new int[]{0, 1, 2, 5}) {
+            CsrGraphBuilder builder = randomGraph(random, 5000, degree);
+            assertSameComponents(components, builder.build());
+            assertSameComponents(components, builder.buildDirected());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSource() {
+        ParallelBreadthFirstSearch.DEFAULT.search(randomGraph(new Random(3), 10, 1).build(), 10);
+    }
+
+    private static void assertSameLevels(ParallelBreadthFirstSearch search,
+                                         AbstractCsrGraph<?, ?> graph, Random random) {
+        for (int q = 0; q < 5; q++) {
+            int source = random.nextInt(graph.nodeSize());
+            BreadthFirstTree tree = search.search(graph, source);
+            int[] expected = levels(graph, source);
+            int reached = 0;
+            int depth = 0;
+            for (int n = 0; n < graph.nodeSize(); n++) {
+                Assert.assertEquals(expected[n], tree.getLevel(n));
+                if (expected[n] < 0) {
+                    Assert.assertEquals(-1, tree.getParentEdge(n));
+                    continue;
+                }
+                reached++;
+                depth = Math.max(depth, expected[n]);
+                if (n == source) {
+                    Assert.assertEquals(-1, tree.getParent(n));
+                } else {
+                    // 父节点位于上一层，且通过到达节点的边与节点相连
+                    int parent = tree.getParent(n);
+                    int edge = tree.getParentEdge(n);
+                    Assert.assertEquals(expected[n] - 1, expected[parent]);
+                    Assert.assertTrue(graph.getNodeA(edge) == parent || graph.getNodeB(edge) == parent);
+                }
+            }
+            Assert.assertEquals(reached, tree.getReachedSize());
+            Assert.assertEquals(depth, tree.getDepth());
+        }
+    }
+
+    private static void assertSameComponents(ParallelConnectedComponents components, AbstractCsrGraph<?, ?> graph) {
+        ConnectedComponents actual = components.find(graph);
+        int[] expected = labels(graph);
+        int componentSize = 0;
+        int[] sizes = new int[graph.nodeSize()];
+        for (int n = 0; n < graph.nodeSize(); n++) {
+            Assert.assertEquals(expected[n], actual.getComponent(n));
+            componentSize = Math.max(componentSize, expected[n] + 1);
+            sizes[expected[n]]++;
+        }
+        Assert.assertEquals(componentSize, actual.getComponentSize());
+        for (int c = 0; c < componentSize; c++) {
+            Assert.assertEquals(sizes[c], actual.getNodeSize(c));
+        }
+    }
+
+    /**
+     * 顺序的广度优先搜索，对于有向图沿边的方向进行
+     */
+    private static int[] levels(AbstractCsrGraph<?, ?> graph, int source) {
+        int[] levels = new int[graph.nodeSize()];
+        Arrays.fill(levels, -1);
+        levels[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int slot = graph.getAdjacencyStart(u); slot < graph.getAdjacencyEnd(u); slot++) {
+                int v = graph.getAdjacentNode(slot);
+                if (levels[v] < 0) {
+                    levels[v] = levels[u] + 1;
+                    queue.add(v);
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * 顺序的并查集，连通分量按其中ID最小的节点的顺序编号
+     */
+    private static int[] labels(AbstractCsrGraph<?, ?> graph) {
+        int nodeSize = graph.nodeSize();
+        int[] parents = new int[nodeSize];
+        for (int n = 0; n < nodeSize; n++) {
+            parents[n] = n;
+        }
+        for (int e = 0; e < graph.edgeSize(); e++) {
+            int a = find(parents, graph.getNodeA(e));
+            int b = find(parents, graph.getNodeB(e));
+            parents[Math.max(a, b)] = Math.min(a, b);
+        }
+        int[] labels = new int[nodeSize];
+        int componentSize = 0;
+        for (int n = 0; n < nodeSize; n++) {
+            int root = find(parents, n);
+            labels[n] = root == n ? componentSize++ : labels[root];
+        }
+        return labels;
+    }
+
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            node = parents[node];
+        }
+        return node;
+    }
+
+    private static CsrGraphBuilder randomGraph(Random random, int nodeSize, int degree) {
+        CsrGraphBuilder builder = new CsrGraphBuilder(nodeSize, nodeSize * degree);
+        builder.addNodes(nodeSize);
+        for (int e = 0; e < nodeSize * degree; e++) {
+            builder.addEdge(random.nextInt(nodeSize), random.nextInt(nodeSize));
+        }
+        return builder;
+    }
+
+}
@@ -0,0 +1,154 @@
+package gnova.graph.io;
+
+import gnova.graph.route.ContractionHierarchy;
+import gnova.graph.route.ContractionHierarchyBuilder;
+import gnova.graph.route.ContractionHierarchyFinder;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import gnova.graph.structure.csr.CsrGraph;
+import gnova.graph.structure.csr.CsrGraphBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class BinaryGraphIOTest {
+
+    @Test
+    public void testGraph() throws IOException {
+        CsrGraph graph = randomGraph(new Random(1), 200, 600, true).build();
+        CsrGraph read = (CsrGraph) roundTrip(graph);
+        assertSameGraph(graph, read);
+    }
+
+    @Test
+    public void testDirectedGraph() throws IOException {
+        CsrDirectedGraph graph = randomGraph(new Random(2), 200, 600, false).buildDirected();
+        CsrDirectedGraph read = (CsrDirectedGraph) roundTrip(graph);
+        assertSameGraph(graph, read);
+    }
+
+    @Test
+    public void testContractionHierarchy() throws IOException {
+        Random random = new Random(3);
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder()
+                .build(randomGraph(random, 300, 900, true).buildDirected());
+        ContractionHierarchy read = (ContractionHierarchy) roundTrip(hierarchy);
+        assertSameGraph(hierarchy.getGraph(), read.getGraph());
+        Assert.assertEquals(hierarchy.getShortcutSize(), read.getShortcutSize());
+        for (int n = 0; n < hierarchy.nodeSize(); n++) {
+            Assert.assertEquals(hierarchy.getRank(n), read.getRank(n));
+        }
+        ContractionHierarchyFinder expected = new ContractionHierarchyFinder(hierarchy);
+        ContractionHierarchyFinder actual = new ContractionHierarchyFinder(read);
+        for (int q = 0; q < 200; q++) {
+            int source = random.nextInt(hierarchy.nodeSize());
+            int target = random.nextInt(hierarchy.nodeSize());
+            Assert.assertEquals(expected.findDistance(source, target), actual.findDistance(source, target));
+        }
+    }
+
+    @Test
+    public void testConsecutiveGraphs() throws IOException {
+        // 读取器不会预读，同一个输入流中的多张图可以依次读取
+        CsrGraph first = randomGraph(new Random(4), 50, 100, true).build();
+        CsrDirectedGraph second = randomGraph(new Random(5), 60, 150, false).buildDirected();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryGraphWriter(output).write(first);
+        new BinaryGraphWriter(output).write(second);
+        output.write(42);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        assertSameGraph(first, (CsrGraph) new BinaryGraphReader(input).read());
+        assertSameGraph(second, (CsrDirectedGraph) new BinaryGraphReader(input).read());
+        Assert.assertEquals(42, input.read());
+        Assert.assertEquals(-1, input.read());
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryGraphWriter(output).write(randomGraph(new Random(6), 100, 300, true).build());
+        byte[] binaries = output.toByteArray();
+        for (int length : new int[]{0, 3, 14, 15, binaries.length / 2, binaries.length - 1}) {
+            try {
+                new BinaryGraphReader(new ByteArrayInputStream(Arrays.copyOf(binaries, length))).read();
+                Assert.fail("truncated at " + length);
+            } catch (EOFException e) {
+                // 截断的输入
+            }
+        }
+    }
+
+    @Test
+    public void testHugeSize() throws IOException {
+        // 头部声明了接近上限的边数，但没有对应的数据，不会按照声明的数量分配内存
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(BinaryGraphWriter.MAGIC);
+        data.writeByte(BinaryGraphWriter.VERSION);
+        data.writeByte(BinaryGraphWriter.TYPE_GRAPH);
+        data.writeInt(10);
+        data.writeInt(BinaryGraphReader.DEFAULT_MAX_SIZE);
+        data.writeByte(0);
+        data.writeInt(0);
+        try {
+            new BinaryGraphReader(new ByteArrayInputStream(output.toByteArray())).read();
+            Assert.fail();
+        } catch (EOFException e) {
+            // 截断的输入
+        }
+
+        output.reset();
+        data.writeInt(BinaryGraphWriter.MAGIC);
+        data.writeByte(BinaryGraphWriter.VERSION);
+        data.writeByte(BinaryGraphWriter.TYPE_GRAPH);
+        data.writeInt(Integer.MAX_VALUE);
+        data.writeInt(0);
+        data.writeByte(0);
+        try {
+            new BinaryGraphReader(new ByteArrayInputStream(output.toByteArray())).read();
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertFalse(e instanceof EOFException);
+        }
+    }
+
+    private static Graph roundTrip(Graph graph) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryGraphWriter(output).write(graph);
+        return new BinaryGraphReader(new ByteArrayInputStream(output.toByteArray())).read();
+    }
+
+    private static void assertSameGraph(AbstractCsrGraph<?, ?> expected, AbstractCsrGraph<?, ?> actual) {
+        Assert.assertEquals(expected.nodeSize(), actual.nodeSize());
+        Assert.assertEquals(expected.edgeSize(), actual.edgeSize());
+        for (int n = 0; n < expected.nodeSize(); n++) {
+            Assert.assertEquals(expected.getNodeWeight(n), actual.getNodeWeight(n));
+        }
+        for (int e = 0; e < expected.edgeSize(); e++) {
+            Assert.assertEquals(expected.getNodeA(e), actual.getNodeA(e));
+            Assert.assertEquals(expected.getNodeB(e), actual.getNodeB(e));
+            Assert.assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e));
+        }
+    }
+
+    private static CsrGraphBuilder randomGraph(Random random, int nodeSize, int edgeSize, boolean weighted) {
+        CsrGraphBuilder builder = new CsrGraphBuilder(nodeSize, edgeSize);
+        for (int n = 0; n < nodeSize; n++) {
+            builder.addNode(weighted ? 1 + random.nextInt(5) : 1);
+        }
+        for (int e = 0; e < edgeSize; e++) {
+            builder.addEdge(random.nextInt(nodeSize), random.nextInt(nodeSize), weighted ? random.nextInt(100) : 1);
+        }
+        return builder;
+    }
+
+}
@@ -0,0 +1,56 @@
+package gnova.graph.route;
+
+import gnova.geometry.model.Coordinate;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ContractionHierarchyFinderTest {
+
+    @Test
+    public void testDirected() {
+        Random random = new Random(1);
+        CsrDirectedGraph graph = randomGraph(random);
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder().build(graph);
+        assertFinderAgrees(random, graph, new ContractionHierarchyFinder(hierarchy));
+    }
+
+    @Test
+    public void testDirectedSmallWitnessLimit() {
+        // 见证搜索受限时会添加多余的捷径，但距离仍然正确
+        Random random = new Random(3);
+        CsrDirectedGraph graph = randomGraph(random);
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(1).build(graph);
+        assertFinderAgrees(random, graph, new ContractionHierarchyFinder(hierarchy));
+    }
+
+    private static CsrDirectedGraph randomGraph(Random random) {
+        Coordinate[] coordinates = ShortestPathFinderTest.randomCoordinates(random, ShortestPathFinderTest.NODE_SIZE);
+        return ShortestPathFinderTest.randomGraph(random, coordinates, ShortestPathFinderTest.EDGE_SIZE)
+                .buildDirected();
+    }
+
+    /**
+     * 检查收缩层次在随机的起点与终点之间找到的路径与距离和Dijkstra一致
+     */
+    private static void assertFinderAgrees(Random random, CsrDirectedGraph graph,
+                                           ContractionHierarchyFinder hierarchy) {
+        DijkstraFinder dijkstra = new DijkstraFinder(graph);
+        int reached = 0;
+        for (int q = 0; q < 300; q++) {
+            int source = random.nextInt(graph.nodeSize());
+            int target = random.nextInt(graph.nodeSize());
+            ShortestPath expected = dijkstra.find(source, target);
+            long distance = expected == null ? -1 : expected.getDistance();
+            if (expected != null) {
+                reached++;
+            }
+            ShortestPathFinderTest.assertPath(graph, hierarchy.find(source, target), source, target, distance);
+            Assert.assertEquals(distance, hierarchy.findDistance(source, target));
+        }
+        Assert.assertTrue(reached > 0);
+    }
+
+}
@@ -0,0 +1,116 @@
+package gnova.graph.route;
+
+import gnova.geometry.model.Coordinate;
+import gnova.graph.structure.csr.AbstractCsrGraph;
+import gnova.graph.structure.csr.CsrDirectedGraph;
+import gnova.graph.structure.csr.CsrGraph;
+import gnova.graph.structure.csr.CsrGraphBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ShortestPathFinderTest {
+
+    static final int NODE_SIZE = 400;
+    static final int EDGE_SIZE = 1200;
+
+    @Test
+    public void testDirected() {
+        Random random = new Random(1);
+        Coordinate[] coordinates = randomCoordinates(random, NODE_SIZE);
+        CsrDirectedGraph graph = randomGraph(random, coordinates, EDGE_SIZE).buildDirected();
+        assertFindersAgree(random, graph, coordinates);
+    }
+
+    @Test
+    public void testUndirected() {
+        Random random = new Random(2);
+        Coordinate[] coordinates = randomCoordinates(random, NODE_SIZE);
+        CsrGraph graph = randomGraph(random, coordinates, EDGE_SIZE).build();
+        assertFindersAgree(random, graph, coordinates);
+    }
+
+    /**
+     * 检查A*与双向Dijkstra在随机的起点与终点之间找到的路径的长度与Dijkstra一致
+     */
+    private static void assertFindersAgree(Random random, AbstractCsrGraph<?, ?> graph, Coordinate[] coordinates) {
+        DijkstraFinder dijkstra = new DijkstraFinder(graph);
+        AStarFinder astar = new AStarFinder(graph, new GeometricHeuristic(coordinates, 1));
+        BidirectionalDijkstraFinder bidirectional = new BidirectionalDijkstraFinder(graph);
+        int reached = 0;
+        for (int q = 0; q < 300; q++) {
+            int source = random.nextInt(graph.nodeSize());
+            int target = random.nextInt(graph.nodeSize());
+            ShortestPath expected = dijkstra.find(source, target);
+            long distance = expected == null ? -1 : expected.getDistance();
+            if (expected != null) {
+                reached++;
+                assertValidPath(graph, expected, source, target);
+            }
+            assertPath(graph, astar.find(source, target), source, target, distance);
+            assertPath(graph, bidirectional.find(source, target), source, target, distance);
+        }
+        Assert.assertTrue(reached > 0);
+    }
+
+    static void assertPath(AbstractCsrGraph<?, ?> graph, ShortestPath path,
+                           int source, int target, long distance) {
+        if (distance < 0) {
+            Assert.assertNull(path);
+            return;
+        }
+        Assert.assertNotNull(path);
+        Assert.assertEquals(distance, path.getDistance());
+        assertValidPath(graph, path, source, target);
+    }
+
+    /**
+     * 检查路径的节点与边首尾相接，且边的权重之和等于路径的长度
+     */
+    static void assertValidPath(AbstractCsrGraph<?, ?> graph, ShortestPath path, int source, int target) {
+        boolean directed = graph instanceof CsrDirectedGraph;
+        Assert.assertEquals(source, path.getSource());
+        Assert.assertEquals(target, path.getTarget());
+        Assert.assertEquals(source, path.getNodeAt(0));
+        Assert.assertEquals(target, path.getNodeAt(path.getEdgeSize()));
+        long length = 0;
+        for (int i = 0; i < path.getEdgeSize(); i++) {
+            int edge = path.getEdgeAt(i);
+            int from = path.getNodeAt(i);
+            int to = path.getNodeAt(i + 1);
+            int a = graph.getNodeA(edge);
+            int b = graph.getNodeB(edge);
+            Assert.assertTrue((a == from && b == to) || (!directed && a == to && b == from));
+            length += graph.getEdgeWeight(edge);
+        }
+        Assert.assertEquals(path.getDistance(), length);
+    }
+
+    static Coordinate[] randomCoordinates(Random random, int size) {
+        Coordinate[] coordinates = new Coordinate[size];
+        for (int i = 0; i < size; i++) {
+            coordinates[i] = new Coordinate(random.nextDouble() * 1000, random.nextDouble() * 1000);
+        }
+        return coordinates;
+    }
+
+    /**
+     * 构造随机的图，边的权重不小于两个节点之间的直线距离，因此系数为1的几何启发函数是可采纳的
+     */
+    static CsrGraphBuilder randomGraph(Random random, Coordinate[] coordinates, int edgeSize) {
+        CsrGraphBuilder builder = new CsrGraphBuilder(coordinates.length, edgeSize);
+        builder.addNodes(coordinates.length);
+        for (int e = 0; e < edgeSize; e++) {
+            int a = random.nextInt(coordinates.length);
+            // 倾向于连接ID相近的节点，使图中存在较长的路径
+            int b = Math.floorMod(a + random.nextInt(21) - 10, coordinates.length);
+            double dx = coordinates[a].getX() - coordinates[b].getX();
+            double dy = coordinates[a].getY() - coordinates[b].getY();
+            int weight = (int) Math.ceil(Math.sqrt(dx * dx + dy * dy)) + random.nextInt(50);
+            builder.addEdge(a, b, weight);
+        }
+        return builder;
+    }
+
+}
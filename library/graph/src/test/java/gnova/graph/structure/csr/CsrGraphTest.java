@@ -0,0 +1,252 @@
+package gnova.graph.structure.csr;
+
+import gnova.graph.build.basic.SimpleBasicDirectedGraphBuilder;
+import gnova.graph.build.basic.SimpleBasicGraphBuilder;
+import gnova.graph.structure.basic.BasicDirectedEdge;
+import gnova.graph.structure.basic.BasicDirectedNode;
+import gnova.graph.structure.basic.BasicEdge;
+import gnova.graph.structure.basic.BasicNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class CsrGraphTest {
+
+    private static final int NODE_SIZE = 100;
+    private static final int EDGE_SIZE = 300;
+
+    /**
+     * 节点的权重为其在构造器中的ID，边的权重为EDGE_WEIGHT加上其在构造器中的ID，
+     * 因此无论转换时以何种顺序分配ID，都可以通过权重找到对应的节点与边
+     */
+    private static final int EDGE_WEIGHT = 1000;
+
+    @Test
+    public void testOfGraph() {
+        Random random = new Random(1);
+        int[][] edges = randomEdges(random);
+        SimpleBasicGraphBuilder basic = new SimpleBasicGraphBuilder();
+        List<BasicNode> nodes = new ArrayList<>(NODE_SIZE);
+        for (int n = 0; n < NODE_SIZE; n++) {
+            BasicNode node = basic.buildNode();
+            node.setWeight(n);
+            basic.addNode(node);
+            nodes.add(node);
+        }
+        for (int e = 0; e < edges.length; e++) {
+            BasicEdge edge = basic.buildEdge(nodes.get(edges[e][0]), nodes.get(edges[e][1]));
+            edge.setWeight(EDGE_WEIGHT + e);
+            basic.addEdge(edge);
+        }
+
+        CsrGraph expected = toBuilder(edges).build();
+        CsrGraph actual = CsrGraph.of(basic.build());
+        assertSameGraph(expected, actual);
+        Assert.assertSame(actual, CsrGraph.of(actual));
+    }
+
+    @Test
+    public void testOfDirectedGraph() {
+        Random random = new Random(2);
+        int[][] edges = randomEdges(random);
+        SimpleBasicDirectedGraphBuilder basic = new SimpleBasicDirectedGraphBuilder();
+        List<BasicDirectedNode> nodes = new ArrayList<>(NODE_SIZE);
+        for (int n = 0; n < NODE_SIZE; n++) {
+            BasicDirectedNode node = basic.buildNode();
+            node.setWeight(n);
+            basic.addNode(node);
+            nodes.add(node);
+        }
+        for (int e = 0; e < edges.length; e++) {
+            BasicDirectedEdge edge = basic.buildEdge(nodes.get(edges[e][0]), nodes.get(edges[e][1]));
+            edge.setWeight(EDGE_WEIGHT + e);
+            basic.addEdge(edge);
+        }
+
+        CsrDirectedGraph expected = toBuilder(edges).buildDirected();
+        CsrDirectedGraph actual = CsrDirectedGraph.of(basic.build());
+        assertSameGraph(expected, actual);
+        Assert.assertEquals(adjacency(expected, true), adjacency(actual, true));
+        for (int n = 0; n < expected.nodeSize(); n++) {
+            Assert.assertEquals(expected.getInDegree(n) + expected.getOutDegree(n), expected.getDegree(n));
+        }
+        Assert.assertSame(actual, CsrDirectedGraph.of(actual));
+    }
+
+    @Test
+    public void testInAdjacency() {
+        CsrGraphBuilder builder = new CsrGraphBuilder();
+        builder.addNodes(4);
+        int e01 = builder.addEdge(0, 1, 5);
+        int e21 = builder.addEdge(2, 1, 7);
+        int e12 = builder.addEdge(1, 2, 9);
+        CsrDirectedGraph graph = builder.buildDirected();
+
+        Assert.assertEquals(2, graph.getInDegree(1));
+        Assert.assertEquals(1, graph.getOutDegree(1));
+        Assert.assertEquals(3, graph.getDegree(1));
+        Assert.assertEquals(0, graph.getInDegree(0));
+        Assert.assertEquals(0, graph.getDegree(3));
+        Assert.assertEquals(e01, graph.findEdge(0, 1));
+        Assert.assertEquals(-1, graph.findEdge(1, 0));
+        Assert.assertEquals(e01, graph.findInEdge(1, 0));
+        Assert.assertEquals(e21, graph.findInEdge(1, 2));
+        Assert.assertEquals(e12, graph.findInEdge(2, 1));
+        Assert.assertEquals(-1, graph.findInEdge(0, 1));
+        for (int slot = graph.getInAdjacencyStart(1); slot < graph.getInAdjacencyEnd(1); slot++) {
+            Assert.assertEquals(1, graph.getNodeB(graph.getInAdjacentEdge(slot)));
+            Assert.assertEquals(graph.getInAdjacentNode(slot), graph.getNodeA(graph.getInAdjacentEdge(slot)));
+        }
+
+        CsrDirectedNode node = graph.getNode(1);
+        Assert.assertEquals(2, node.getInEdges().size());
+        Assert.assertEquals(1, node.getOutEdges().size());
+        Assert.assertEquals(graph.getEdge(e01), node.getInEdge(graph.getNode(0)));
+        Assert.assertNull(node.getOutEdge(graph.getNode(0)));
+        Assert.assertEquals(graph.getEdge(e12), node.getOutEdge(graph.getNode(2)));
+    }
+
+    @Test
+    public void testReadOnlyViews() {
+        CsrGraph graph = toBuilder(randomEdges(new Random(3))).build();
+        CsrGraph other = toBuilder(randomEdges(new Random(3))).build();
+
+        Assert.assertEquals(NODE_SIZE, graph.nodeSet().size());
+        Assert.assertEquals(EDGE_SIZE, graph.edgeSet().size());
+        int id = 0;
+        for (CsrNode node : graph.nodeSet()) {
+            Assert.assertEquals(id, node.getId());
+            Assert.assertEquals(graph.getNodeWeight(id), node.getWeight());
+            Assert.assertEquals(graph.getDegree(id), node.getDegree());
+            Assert.assertEquals(node, graph.getNode(id));
+            Assert.assertTrue(graph.nodeSet().contains(node));
+            Assert.assertFalse(other.nodeSet().contains(node));
+            Assert.assertEquals(-1, other.getNodeId(node));
+            id++;
+        }
+        Assert.assertEquals(NODE_SIZE, id);
+        id = 0;
+        for (CsrEdge edge : graph.edgeSet()) {
+            Assert.assertEquals(id, edge.getId());
+            Assert.assertEquals(graph.getEdgeWeight(id), edge.getWeight());
+            Assert.assertEquals(graph.getNodeA(id), edge.getNodeA().getId());
+            Assert.assertEquals(graph.getNodeB(id), edge.getNodeB().getId());
+            Assert.assertTrue(graph.edgeSet().contains(edge));
+            Assert.assertFalse(other.edgeSet().contains(edge));
+            id++;
+        }
+        Assert.assertEquals(EDGE_SIZE, id);
+
+        Iterator<CsrNode> iterator = graph.nodeSet().iterator();
+        try {
+            iterator.remove();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 预期的异常
+        }
+        try {
+            graph.nodeSet().clear();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 预期的异常
+        }
+        try {
+            graph.getNode(0).setWeight(1);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 预期的异常
+        }
+        try {
+            graph.getEdge(0).setNodeA(graph.getNode(1));
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // 预期的异常
+        }
+        try {
+            graph.getNode(NODE_SIZE);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // 预期的异常
+        }
+    }
+
+    /**
+     * 生成随机的边，不包含自环
+     */
+    private static int[][] randomEdges(Random random) {
+        int[][] edges = new int[EDGE_SIZE][];
+        for (int e = 0; e < EDGE_SIZE; e++) {
+            int a = random.nextInt(NODE_SIZE);
+            int b = (a + 1 + random.nextInt(NODE_SIZE - 1)) % NODE_SIZE;
+            edges[e] = new int[]{a, b};
+        }
+        return edges;
+    }
+
+    private static CsrGraphBuilder toBuilder(int[][] edges) {
+        CsrGraphBuilder builder = new CsrGraphBuilder();
+        for (int n = 0; n < NODE_SIZE; n++) {
+            builder.addNode(n);
+        }
+        for (int e = 0; e < edges.length; e++) {
+            builder.addEdge(edges[e][0], edges[e][1], EDGE_WEIGHT + e);
+        }
+        return builder;
+    }
+
+    /**
+     * 通过权重比较两张图的节点、边与邻接关系，与ID的分配顺序无关
+     */
+    private static void assertSameGraph(AbstractCsrGraph<?, ?> expected, AbstractCsrGraph<?, ?> actual) {
+        Assert.assertEquals(expected.nodeSize(), actual.nodeSize());
+        Assert.assertEquals(expected.edgeSize(), actual.edgeSize());
+        Assert.assertEquals(edges(expected), edges(actual));
+        Assert.assertEquals(adjacency(expected, false), adjacency(actual, false));
+    }
+
+    /**
+     * 以“节点A的权重 节点B的权重 边的权重”的形式列出全部边
+     */
+    private static List<String> edges(AbstractCsrGraph<?, ?> graph) {
+        List<String> edges = new ArrayList<>(graph.edgeSize());
+        for (int e = 0; e < graph.edgeSize(); e++) {
+            edges.add(graph.getNodeWeight(graph.getNodeA(e)) + " "
+                    + graph.getNodeWeight(graph.getNodeB(e)) + " " + graph.getEdgeWeight(e));
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    /**
+     * 以“节点的权重 邻接节点的权重 边的权重”的形式列出全部邻接关系，并检查其与边的端点一致
+     */
+    private static List<String> adjacency(AbstractCsrGraph<?, ?> graph, boolean in) {
+        List<String> adjacency = new ArrayList<>();
+        for (int n = 0; n < graph.nodeSize(); n++) {
+            int start = in ? ((CsrDirectedGraph) graph).getInAdjacencyStart(n) : graph.getAdjacencyStart(n);
+            int end = in ? ((CsrDirectedGraph) graph).getInAdjacencyEnd(n) : graph.getAdjacencyEnd(n);
+            for (int slot = start; slot < end; slot++) {
+                int node = in ? ((CsrDirectedGraph) graph).getInAdjacentNode(slot) : graph.getAdjacentNode(slot);
+                int edge = in ? ((CsrDirectedGraph) graph).getInAdjacentEdge(slot) : graph.getAdjacentEdge(slot);
+                int a = graph.getNodeA(edge);
+                int b = graph.getNodeB(edge);
+                if (in) {
+                    Assert.assertTrue(a == node && b == n);
+                } else if (graph instanceof CsrDirectedGraph) {
+                    Assert.assertTrue(a == n && b == node);
+                } else {
+                    Assert.assertTrue((a == n && b == node) || (a == node && b == n));
+                }
+                adjacency.add(graph.getNodeWeight(n) + " " + graph.getNodeWeight(node) + " " + graph.getEdgeWeight(edge));
+            }
+        }
+        Collections.sort(adjacency);
+        return adjacency;
+    }
+
+}
@@ -0,0 +1,127 @@
+package gnova.graph.traverse;
+
+import gnova.graph.build.basic.SimpleBasicGraphBuilder;
+import gnova.graph.structure.Graph;
+import gnova.graph.structure.Graphable;
+import gnova.graph.structure.basic.BasicEdge;
+import gnova.graph.structure.basic.BasicNode;
+import gnova.graph.structure.csr.CsrGraph;
+import gnova.graph.util.GraphPath;
+import gnova.graph.util.GraphableIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class IndexedBreadthFirstIteratorTest {
+
+    private static final int NODE_SIZE = 200;
+    private static final int EDGE_SIZE = 300;
+
+    @Test
+    public void testBasicGraph() {
+        Graph<?, ?> graph = randomGraph(new Random(1));
+        assertSameTraversal(graph);
+        assertSameTracks(graph, new Random(2));
+    }
+
+    @Test
+    public void testCsrGraph() {
+        Graph<?, ?> graph = CsrGraph.of(randomGraph(new Random(3)));
+        assertSameTraversal(graph);
+        assertSameTracks(graph, new Random(4));
+    }
+
+    /**
+     * 遍历整张图，两种迭代器访问单元的顺序与收集的轨迹应当相同
+     */
+    private static void assertSameTraversal(Graph<?, ?> graph) {
+        GraphTraversal<Graphable> traversal = new SimpleGraphTraversal<>(graph);
+        GraphableIndex index = GraphableIndex.of(graph);
+
+        List<Graphable> expectedOrder = new ArrayList<>();
+        Map<Graphable, GraphPath<Graphable>> expectedTraces = new HashMap<>();
+        traversal.traverse(new SimpleGraphTracker<>(), new BreadthFirstIterator<>(),
+                recorder(expectedOrder), expectedTraces);
+
+        List<Graphable> actualOrder = new ArrayList<>();
+        Map<Graphable, GraphPath<Graphable>> actualTraces = new HashMap<>();
+        traversal.traverse(new IndexedGraphTracker<>(index), new IndexedBreadthFirstIterator<>(index),
+                recorder(actualOrder), actualTraces);
+
+        Assert.assertEquals(graph.nodeSize() + graph.edgeSize(), expectedOrder.size());
+        Assert.assertEquals(expectedOrder, actualOrder);
+        Assert.assertEquals(expectedTraces.keySet(), actualTraces.keySet());
+        for (Map.Entry<Graphable, GraphPath<Graphable>> entry : expectedTraces.entrySet()) {
+            Assert.assertEquals(toList(entry.getValue()), toList(actualTraces.get(entry.getKey())));
+        }
+    }
+
+    /**
+     * 从随机的源点出发追踪，两种迭代器访问单元的顺序、每个单元的轨迹与上一个单元应当相同
+     */
+    private static void assertSameTracks(Graph<?, ?> graph, Random random) {
+        GraphableIndex index = GraphableIndex.of(graph);
+        List<Graphable> nodes = new ArrayList<>(graph.nodeSet());
+        BreadthFirstIterator<Graphable> expected = new BreadthFirstIterator<>();
+        // 同一个迭代器重复使用，以检查重新初始化后不会残留上一次追踪的状态
+        IndexedBreadthFirstIterator<Graphable> actual = new IndexedBreadthFirstIterator<>(index);
+        for (int i = 0; i < 20; i++) {
+            Graphable source = nodes.get(random.nextInt(nodes.size()));
+
+            List<Graphable> expectedOrder = new ArrayList<>();
+            new SimpleGraphTracker<>().track(source, expected, recorder(expectedOrder), null);
+            List<Graphable> actualOrder = new ArrayList<>();
+            new IndexedGraphTracker<>(index).track(source, actual, recorder(actualOrder), null);
+
+            Assert.assertEquals(expectedOrder, actualOrder);
+            for (Graphable component : expectedOrder) {
+                Assert.assertEquals(toList(expected.getPath(component)), toList(actual.getPath(component)));
+                Assert.assertEquals(expected.getLast(component), actual.getLast(component));
+            }
+        }
+    }
+
+    private static GraphWalker<Graphable> recorder(List<Graphable> order) {
+        return (last, current, nexts) -> {
+            order.add(current);
+            return GraphWalker.PROCESS_AND_COLLECT_TRACE;
+        };
+    }
+
+    private static List<Graphable> toList(GraphPath<Graphable> path) {
+        Assert.assertNotNull(path);
+        List<Graphable> list = new ArrayList<>(path.size());
+        for (Graphable component : path) {
+            list.add(component);
+        }
+        return list;
+    }
+
+    /**
+     * 构造随机的图，包含多个连通分量与孤立节点，权重的取值范围很小，以覆盖轨迹长度相同时按权重选择的情况
+     */
+    private static Graph<?, ?> randomGraph(Random random) {
+        SimpleBasicGraphBuilder builder = new SimpleBasicGraphBuilder();
+        List<BasicNode> nodes = new ArrayList<>(NODE_SIZE);
+        for (int n = 0; n < NODE_SIZE; n++) {
+            BasicNode node = builder.buildNode();
+            node.setWeight(random.nextInt(3));
+            builder.addNode(node);
+            nodes.add(node);
+        }
+        for (int e = 0; e < EDGE_SIZE; e++) {
+            int a = random.nextInt(NODE_SIZE);
+            int b = Math.min(NODE_SIZE - 1, a + random.nextInt(5));
+            BasicEdge edge = builder.buildEdge(nodes.get(a), nodes.get(b));
+            edge.setWeight(random.nextInt(3));
+            builder.addEdge(edge);
+        }
+        return builder.build();
+    }
+
+}
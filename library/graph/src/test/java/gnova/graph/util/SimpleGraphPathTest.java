@@ -0,0 +1,35 @@
+package gnova.graph.util;
+
+import gnova.graph.structure.basic.BasicNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimpleGraphPathTest {
+
+    @Test
+    public void testStack() {
+        BasicNode a = new BasicNode(0);
+        BasicNode b = new BasicNode(1);
+        SimpleGraphPath<BasicNode> path = new SimpleGraphPath<>(a);
+        path.push(b);
+        Assert.assertEquals(2, path.size());
+        Assert.assertSame(b, path.top());
+        Assert.assertSame(a, path.top2());
+        Assert.assertSame(b, path.pop());
+        Assert.assertNull(path.top2());
+        Assert.assertSame(a, path.pop());
+        Assert.assertNull(path.pop());
+        Assert.assertTrue(path.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPushNull() {
+        new SimpleGraphPath<BasicNode>().push(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructNull() {
+        new SimpleGraphPath<BasicNode>((BasicNode) null);
+    }
+
+}